@@ -81,6 +81,24 @@ public class BeanRegistry {
         }
     }
 
+    /**
+     * Shares the named context registry of another bean registry with this registry so that beans of the context are visible to both.
+     * The context registry is initialized in the other registry if not already.
+     *
+     * @param contextName      String
+     * @param fromBeanRegistry BeanRegistry
+     */
+    public synchronized void shareNamedContextRegistry(String contextName, BeanRegistry fromBeanRegistry) {
+        if ((contextName == null) || (fromBeanRegistry == null)) {
+            return;
+        }
+
+        synchronized (fromBeanRegistry) {
+            fromBeanRegistry.initNamedContextRegistry(contextName);
+            namedContextBeanMap.put(contextName, fromBeanRegistry.namedContextBeanMap.get(contextName));
+        }
+    }
+
     /**
      * Close the context registry mapped by the name.
      *
@@ -219,7 +237,7 @@ public class BeanRegistry {
      * @param contextName String
      * @return HashMap<String, Object>
      */
-    private HashMap<String, Object> getBeanMap(ContextType contextType, String contextName) {
+    public synchronized HashMap<String, Object> getBeanMap(ContextType contextType, String contextName) {
         switch (contextType) {
             case NAMED:
                 initNamedContextRegistry(contextName);
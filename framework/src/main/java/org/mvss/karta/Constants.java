@@ -16,6 +16,9 @@ public class Constants {
 
     public static final String TEST_CATALOG_FILE_NAME = "KartaTestCatalog.yaml";
     public static final String TEST_CATALOG_FRAGMENT_FILE_NAME = "KartaTestCatalogFragment.yaml";
+    public static final String TEST_DURATION_HISTORY_FILE_NAME = "KartaTestDurationHistory.json";
+    public static final String CHECKPOINTS = "checkpoints";
+    public static final String DOT_CHECKPOINT = ".checkpoint";
 
     public static final String KARTA_RUNTIME = "kartaRuntime";
     public static final String STEP_RUNNER = "stepRunner";
@@ -66,6 +69,10 @@ public class Constants {
     public static final String __GENERIC_SCENARIO__ = "__generic_scenario__";
     public static final String __GENERIC_STEP__ = "__generic_step__";
     public static final String __FEATURE_TEARDOWN__ = "__feature_teardown__";
+    public static final String __FIXTURE_SETUP__ = "__fixture_setup__";
+    public static final String __FIXTURE_TEARDOWN__ = "__fixture_teardown__";
+    public static final String __SCENARIO_DEFINITION_OBJECTS__ = "__scenario_definition_objects__";
+    public static final String __ITERATION_DEFINITION_OBJECTS__ = "__iteration_definition_objects__";
 
     public static final String _SETUP_ = ":Setup:";
     public static final String _TEARDOWN_ = ":TearDown:";
@@ -111,6 +118,9 @@ public class Constants {
     public static final String RESULT = "result";
     public static final String STEP_IDENTIFIER = "stepIdentifier";
     public static final String INCIDENT = "incident";
+    public static final String STAGE_INDEX = "stageIndex";
+    public static final String LOAD_STAGE = "loadStage";
+    public static final String DAEMON_JOB_HEALTH = "daemonJobHealth";
 
     public static final String TEST_STEP = "testStep";
     public static final String TEST_EXECUTION_CONTEXT = "testExecutionContext";
@@ -148,6 +158,13 @@ public class Constants {
     public static final String JAVA_TEST = "javaTest";
     public static final String JAVA_TEST_JAR = "javaTestJar";
     public static final String START_NODE = "startNode";
+    public static final String SHARD = "shard";
+    public static final String BALANCE_SHARDS_BY_DURATION = "balanceShardsByDuration";
+    public static final String RERUN_FAILED = "rerunFailed";
+    public static final String CHECKPOINT_INTERVAL = "checkpointInterval";
+    public static final String RESUME = "resume";
+    public static final String ITERATION_TIMEOUT = "iterationTimeout";
+    public static final String RANDOM_SEED = "randomSeed";
 
     public static final String KARTA_TEST_PROPERTIES = "KartaTestProperties";
     public static final String KARTA_PLUGIN_PROPERTIES_YAML = "KartaPluginProperties.yaml";
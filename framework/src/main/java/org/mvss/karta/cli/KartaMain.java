@@ -8,9 +8,12 @@ import org.mvss.karta.framework.models.result.FeatureResult;
 import org.mvss.karta.framework.models.result.RunResult;
 import org.mvss.karta.framework.models.run.RunInfo;
 import org.mvss.karta.framework.models.run.RunTarget;
+import org.mvss.karta.framework.models.run.TestShard;
 import org.mvss.karta.framework.nodes.KartaNodeServer;
+import org.mvss.karta.framework.runtime.FailedIterations;
 import org.mvss.karta.framework.runtime.KartaRuntime;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -55,6 +58,18 @@ public class KartaMain {
         options.addOption(Constants.ITERATION_THREAD_COUNT, true,
                 "number of threads to run iterations in parallel with. Applicable only for feature file/java test");
 
+        options.addOption(Constants.SHARD, true, "the shard of the tags filtered tests to run as index/count (e.g. 3/8)");
+        options.addOption(Constants.BALANCE_SHARDS_BY_DURATION, false, "balance shards by historical test durations instead of test count");
+
+        options.addOption(Constants.RERUN_FAILED, true, "reruns only the failed iterations from the previous run result file or report directory");
+
+        options.addOption(Constants.CHECKPOINT_INTERVAL, true, "interval (ISO-8601 duration like PT5M) to checkpoint feature progress at for resuming the run");
+        options.addOption(Constants.RESUME, false, "resumes the run with the run name from its last checkpoint");
+
+        options.addOption(Constants.ITERATION_TIMEOUT, true, "maximum time (ISO-8601 duration like PT30S) for an iteration after which it is reported as timed out");
+
+        options.addOption(Constants.RANDOM_SEED, true, "the random seed of the run to replay the randomization of a previous run");
+
         options.addOption(Constants.START_NODE, false, "starts Karta RMI node server");
 
         options.addOption(null, Constants.HELP, false, "prints this help message");
@@ -110,6 +125,12 @@ public class KartaMain {
                     runTarget.setRunTags(tags);
                 }
 
+                if (cmd.hasOption(Constants.SHARD)) {
+                    TestShard testShard = TestShard.parse(cmd.getOptionValue(Constants.SHARD));
+                    testShard.setBalanceByDuration(cmd.hasOption(Constants.BALANCE_SHARDS_BY_DURATION));
+                    runTarget.setShard(testShard);
+                }
+
                 if (cmd.hasOption(Constants.RUN_NAME)) {
                     runInfo.setRunName(cmd.getOptionValue(Constants.RUN_NAME));
                 } else {
@@ -140,6 +161,32 @@ public class KartaMain {
                     }
                 }
 
+                if (cmd.hasOption(Constants.CHECKPOINT_INTERVAL)) {
+                    runInfo.setCheckpointInterval(Duration.parse(cmd.getOptionValue(Constants.CHECKPOINT_INTERVAL)));
+                }
+
+                if (cmd.hasOption(Constants.ITERATION_TIMEOUT)) {
+                    runInfo.setIterationTimeout(Duration.parse(cmd.getOptionValue(Constants.ITERATION_TIMEOUT)));
+                }
+
+                if (cmd.hasOption(Constants.RANDOM_SEED)) {
+                    runInfo.setRandomSeed(Long.parseLong(cmd.getOptionValue(Constants.RANDOM_SEED)));
+                }
+
+                if (cmd.hasOption(Constants.RESUME)) {
+                    if (!cmd.hasOption(Constants.RUN_NAME)) {
+                        log.error("Run name of the run to resume is required");
+                        return false;
+                    }
+                    runInfo.setResume(true);
+                }
+
+                if (cmd.hasOption(Constants.RERUN_FAILED)) {
+                    String previousResult = cmd.getOptionValue(Constants.RERUN_FAILED);
+                    runInfo.setRerunIterations(FailedIterations.load(previousResult));
+                    log.info("Rerunning failed iterations of " + runInfo.getRerunIterations().keySet() + " from " + previousResult);
+                }
+
                 Runtime.getRuntime().addShutdownHook(new Thread(KartaMain::jvmExitHook));
 
                 runTargetAvailable = StringUtils.isNotBlank(runTarget.getFeatureFile());
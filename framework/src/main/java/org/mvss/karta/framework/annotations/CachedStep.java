@@ -0,0 +1,31 @@
+package org.mvss.karta.framework.annotations;
+
+import org.mvss.karta.framework.enums.StepCacheScope;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation marks a step definition method as idempotent so that its step result is cached and reused by the runtime.</br>
+ * The cache field of the step in the feature overrides this annotation.
+ *
+ * @author Manian
+ * @see org.mvss.karta.framework.models.test.StepCachePolicy
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedStep {
+    StepCacheScope scope() default StepCacheScope.FEATURE;
+
+    /**
+     * The number of consecutive iterations sharing a cached result for scope ITERATIONS.
+     */
+    int iterations() default 1;
+
+    /**
+     * The ISO-8601 duration (e.g. PT5M) after which a cached result expires. Does not expire if empty.
+     */
+    String ttl() default "";
+}
@@ -8,7 +8,8 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * This annotation is used by Kriya plug-in to map step definition method call to step identifier
+ * This annotation is used by Kriya plug-in to map step definition method call to step identifier.</br>
+ * Step identifiers with parameter types like {int} or with expression set are matched as step expressions (refer {@link org.mvss.karta.framework.plugins.impl.kriya.StepExpressionIndex}).
  *
  * @author Manian
  */
@@ -20,4 +21,9 @@ public @interface StepDefinition {
     StepOutputType outputType() default StepOutputType.AUTO_RESOLVE;
 
     String outputName() default "";
+
+    /**
+     * Indicates if the step identifier is a step expression even if it does not have parameter types (e.g. only optional text).
+     */
+    boolean expression() default false;
 }
@@ -0,0 +1,21 @@
+package org.mvss.karta.framework.annotations;
+
+import org.mvss.karta.framework.enums.DefinitionScope;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation sets the scope across which an object of the step definition class is reused instead of being created and initialized for every step.</br>
+ * Objects reused across steps running in parallel (scopes ITERATION, SINGLETON) should be thread safe.
+ *
+ * @author Manian
+ * @see DefinitionScope
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StepDefinitionScope {
+    DefinitionScope value() default DefinitionScope.STEP;
+}
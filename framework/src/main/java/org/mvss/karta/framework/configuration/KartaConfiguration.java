@@ -135,6 +135,46 @@ public class KartaConfiguration implements Serializable {
     @Builder.Default
     private HashMap<String, Integer> threadGroups = new HashMap<>();
 
+    /**
+     * The number of core threads kept alive by the shared scheduler used for feature iterations, scenarios and parallel steps.</br>
+     * The scheduler adds threads on demand for blocking step code; the parallelism of each level is limited by its own setting.</br>
+     * Defaults to the number of available processors if not positive.
+     */
+    @Builder.Default
+    private Integer schedulerParallelism = 0;
+
+    /**
+     * Indicates if feature iterations, scenarios and parallel steps should run on virtual threads when supported by the JVM.</br>
+     * Falls back to the shared scheduler if virtual threads are not available.</br>
+     * Refer {@link org.mvss.karta.framework.models.run.RunInfo#getUseVirtualThreads}
+     */
+    @Builder.Default
+    private Boolean useVirtualThreads = false;
+
+    /**
+     * The maximum number of steps and chaos actions executing at a time across all runs on this node. Unbounded if not positive.
+     */
+    @Builder.Default
+    private Integer maxConcurrentSteps = 0;
+
+    /**
+     * The maximum number of steps and chaos actions executing at a time for tests of a thread group mapped to the thread group name.</br>
+     * Thread groups which are not mapped are unbounded.
+     */
+    @Builder.Default
+    private HashMap<String, Integer> threadGroupStepLimits = new HashMap<>();
+
+    /**
+     * The file to persist test durations to for ordering tests in later runs (longest first within a priority).</br>
+     * Test durations are not persisted if empty.
+     */
+    private String testDurationHistoryFile;
+
+    /**
+     * The directory for run checkpoint files. Refer {@link org.mvss.karta.framework.models.run.RunInfo#getCheckpointInterval}
+     */
+    private String checkpointDirectory;
+
     /**
      * The list of Java package names to scan for {@link KartaBean} annotations on public and static methods. </br>
      */
@@ -187,6 +227,11 @@ public class KartaConfiguration implements Serializable {
         kartaConfiguration.minionsEnabled = true;
 
         kartaConfiguration.threadGroups.put(Constants.__DEFAULT__, 1);
+        kartaConfiguration.schedulerParallelism = 0;
+        kartaConfiguration.useVirtualThreads = false;
+        kartaConfiguration.maxConcurrentSteps = 0;
+        kartaConfiguration.testDurationHistoryFile = Constants.TEST_DURATION_HISTORY_FILE_NAME;
+        kartaConfiguration.checkpointDirectory = Constants.CHECKPOINTS;
 
         kartaConfiguration.detailedReport = true;
         return kartaConfiguration;
@@ -224,6 +269,12 @@ public class KartaConfiguration implements Serializable {
         DataUtils.addMissing(nodes, override.nodes);
         minionsEnabled = override.minionsEnabled;
         DataUtils.mergeMapInto(override.threadGroups, threadGroups);
+        schedulerParallelism = NullAwareBeanUtilsBean.getOverriddenValue(schedulerParallelism, override.schedulerParallelism);
+        useVirtualThreads = NullAwareBeanUtilsBean.getOverriddenValue(useVirtualThreads, override.useVirtualThreads);
+        maxConcurrentSteps = NullAwareBeanUtilsBean.getOverriddenValue(maxConcurrentSteps, override.maxConcurrentSteps);
+        DataUtils.mergeMapInto(override.threadGroupStepLimits, threadGroupStepLimits);
+        testDurationHistoryFile = NullAwareBeanUtilsBean.getOverriddenValue(testDurationHistoryFile, override.testDurationHistoryFile);
+        checkpointDirectory = NullAwareBeanUtilsBean.getOverriddenValue(checkpointDirectory, override.checkpointDirectory);
         DataUtils.addMissing(configurationScanPackages, override.configurationScanPackages);
         TestProperties.mergeProperties(properties, override.properties);
         detailedReport = override.detailedReport;
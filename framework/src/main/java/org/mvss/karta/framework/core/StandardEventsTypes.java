@@ -50,6 +50,10 @@ public class StandardEventsTypes {
     public static final String JOB_STEP_COMPLETE_EVENT = "JobStepCompleteEvent";
     public static final String CHAOS_ACTION_JOB_COMPLETE_EVENT = "ChaosActionJobCompleteEvent";
     public static final String CHAOS_ACTION_JOB_START_EVENT = "ChaosActionJobStartEvent";
+    public static final String DAEMON_JOB_HEALTH_EVENT = "DaemonJobHealthEvent";
+
+    public static final String LOAD_STAGE_START_EVENT = "LoadStageStartEvent";
+    public static final String LOAD_STAGE_COMPLETE_EVENT = "LoadStageCompleteEvent";
 
     public static final String TEST_INCIDENT_OCCURRENCE_EVENT = "TestIncidentOccurrenceEvent";
 
@@ -98,6 +102,10 @@ public class StandardEventsTypes {
         eventTypeMap.put(JOB_STEP_COMPLETE_EVENT, JobStepCompleteEvent.class);
         eventTypeMap.put(CHAOS_ACTION_JOB_COMPLETE_EVENT, ChaosActionJobStartEvent.class);
         eventTypeMap.put(CHAOS_ACTION_JOB_START_EVENT, ChaosActionJobCompleteEvent.class);
+        eventTypeMap.put(DAEMON_JOB_HEALTH_EVENT, DaemonJobHealthEvent.class);
+
+        eventTypeMap.put(LOAD_STAGE_START_EVENT, LoadStageStartEvent.class);
+        eventTypeMap.put(LOAD_STAGE_COMPLETE_EVENT, LoadStageCompleteEvent.class);
 
         eventTypeMap.put(TEST_INCIDENT_OCCURRENCE_EVENT, TestIncidentOccurrenceEvent.class);
     }
@@ -0,0 +1,45 @@
+package org.mvss.karta.framework.enums;
+
+/**
+ * Enumeration of health states of supervised daemon test jobs
+ *
+ * @author Manian
+ */
+public enum DaemonJobState {
+    /**
+     * The daemon job is running job iterations
+     */
+    RUNNING,
+
+    /**
+     * The daemon job did not heartbeat within the heartbeat timeout and is being restarted
+     */
+    UNRESPONSIVE,
+
+    /**
+     * The daemon job failed and is waiting for the restart backoff
+     */
+    RESTARTING,
+
+    /**
+     * The daemon job failed after exhausting the restart budget
+     */
+    FAILED,
+
+    /**
+     * The daemon job completed on its own
+     */
+    COMPLETED,
+
+    /**
+     * The daemon job was stopped at the end of the feature
+     */
+    STOPPED;
+
+    /**
+     * Returns if the daemon job is no longer running in this state
+     */
+    public boolean isTerminal() {
+        return (this == FAILED) || (this == COMPLETED) || (this == STOPPED);
+    }
+}
@@ -0,0 +1,33 @@
+package org.mvss.karta.framework.enums;
+
+/**
+ * Enumeration of scopes across which a step definition object is reused
+ *
+ * @author Manian
+ */
+public enum DefinitionScope {
+    /**
+     * Creates a new object for every step, condition or chaos action
+     */
+    STEP,
+
+    /**
+     * Reuses the object for all the steps of the scenario iteration (or feature setup and teardown)
+     */
+    SCENARIO,
+
+    /**
+     * Reuses the object for all the scenarios of the feature iteration
+     */
+    ITERATION,
+
+    /**
+     * Reuses the object within the same thread. Objects are released with their threads and are not closed when the runtime closes
+     */
+    THREAD,
+
+    /**
+     * Reuses the object for the whole runtime
+     */
+    SINGLETON
+}
@@ -0,0 +1,23 @@
+package org.mvss.karta.framework.enums;
+
+/**
+ * Enumeration of policies for fixed rate job fires while the previous job iteration is still running
+ *
+ * @author Manian
+ */
+public enum JobOverlapPolicy {
+    /**
+     * Runs job iterations concurrently
+     */
+    CONCURRENT,
+
+    /**
+     * Skips the fire and counts it as missed
+     */
+    SKIP,
+
+    /**
+     * Runs one more job iteration after the running iteration completes for all fires while running; additional fires are counted as missed
+     */
+    COALESCE
+}
@@ -0,0 +1,18 @@
+package org.mvss.karta.framework.enums;
+
+/**
+ * Enumeration of test job schedule types
+ *
+ * @author Manian
+ */
+public enum JobScheduleType {
+    /**
+     * Fires are at fixed intervals from the start of the job irrespective of the duration of job iterations
+     */
+    FIXED_RATE,
+
+    /**
+     * Fires are at fixed delays after the completion of the previous job iteration
+     */
+    FIXED_DELAY
+}
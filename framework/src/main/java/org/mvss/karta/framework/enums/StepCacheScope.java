@@ -0,0 +1,19 @@
+package org.mvss.karta.framework.enums;
+
+/**
+ * Enumeration of scopes across which the result of a cached step is reused
+ *
+ * @author Manian
+ */
+public enum StepCacheScope {
+    /**
+     * Reuses the result for a fixed number of consecutive iterations of the feature (1 for reuse within an iteration).
+     * Iterations are not bound to worker threads, so results are scoped by iteration rather than by thread
+     */
+    ITERATIONS,
+
+    /**
+     * Reuses the result for the whole feature run
+     */
+    FEATURE
+}
@@ -70,6 +70,14 @@ public class Test implements Serializable, Comparable<Test> {
     @Builder.Default
     private int numberOfThreads = 1;
 
+    private Double arrivalRate;
+
+    @Builder.Default
+    private int maxIterationsInFlight = 0;
+
+    @JsonFormat(shape = Shape.STRING)
+    private Duration iterationTimeout;
+
     public Test addFeatureSourceParser(String featureSourceParser) {
         if (this.featureSourceParsers == null) {
             this.featureSourceParsers = new ArrayList<>();
@@ -0,0 +1,39 @@
+package org.mvss.karta.framework.models.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+import org.mvss.karta.Constants;
+import org.mvss.karta.dependencyinjection.enums.DataFormat;
+import org.mvss.karta.dependencyinjection.utils.ParserUtils;
+import org.mvss.karta.framework.core.StandardEventsTypes;
+import org.mvss.karta.framework.models.result.DaemonJobHealth;
+import org.mvss.karta.framework.models.test.TestJob;
+
+/**
+ * Raised when the health state of a supervised daemon test job changes.
+ *
+ * @author Manian
+ */
+@Getter
+@Setter
+@EqualsAndHashCode(callSuper = true)
+@ToString
+@NoArgsConstructor
+public class DaemonJobHealthEvent extends JobEvent {
+    private static final long serialVersionUID = 1L;
+
+    public DaemonJobHealthEvent(Event event) {
+        super(event);
+        parameters.put(Constants.DAEMON_JOB_HEALTH, ParserUtils.convertValue(DataFormat.JSON, parameters.get(Constants.DAEMON_JOB_HEALTH), DaemonJobHealth.class));
+    }
+
+    public DaemonJobHealthEvent(String runName, String featureName, TestJob job, DaemonJobHealth health) {
+        super(StandardEventsTypes.DAEMON_JOB_HEALTH_EVENT, runName, featureName, job, health.getIterations());
+        this.parameters.put(Constants.DAEMON_JOB_HEALTH, health);
+    }
+
+    @JsonIgnore
+    public DaemonJobHealth getHealth() {
+        return (DaemonJobHealth) parameters.get(Constants.DAEMON_JOB_HEALTH);
+    }
+}
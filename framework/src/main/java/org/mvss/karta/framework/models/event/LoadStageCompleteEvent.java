@@ -0,0 +1,41 @@
+package org.mvss.karta.framework.models.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+import org.mvss.karta.Constants;
+import org.mvss.karta.dependencyinjection.enums.DataFormat;
+import org.mvss.karta.dependencyinjection.utils.DataUtils;
+import org.mvss.karta.dependencyinjection.utils.ParserUtils;
+import org.mvss.karta.framework.core.StandardEventsTypes;
+import org.mvss.karta.framework.models.run.LoadStage;
+
+@Getter
+@Setter
+@EqualsAndHashCode(callSuper = true)
+@ToString
+@NoArgsConstructor
+public class LoadStageCompleteEvent extends FeatureEvent {
+    private static final long serialVersionUID = 1L;
+
+    public LoadStageCompleteEvent(Event event) {
+        super(event);
+        parameters.put(Constants.STAGE_INDEX, ParserUtils.convertValue(DataFormat.JSON, parameters.get(Constants.STAGE_INDEX), Integer.class));
+        parameters.put(Constants.LOAD_STAGE, ParserUtils.convertValue(DataFormat.JSON, parameters.get(Constants.LOAD_STAGE), LoadStage.class));
+    }
+
+    public LoadStageCompleteEvent(String runName, String featureName, int stageIndex, LoadStage loadStage) {
+        super(StandardEventsTypes.LOAD_STAGE_COMPLETE_EVENT, runName, featureName);
+        this.parameters.put(Constants.STAGE_INDEX, stageIndex);
+        this.parameters.put(Constants.LOAD_STAGE, loadStage);
+    }
+
+    @JsonIgnore
+    public int getStageIndex() {
+        return DataUtils.serializableToInteger(parameters.get(Constants.STAGE_INDEX), -1);
+    }
+
+    @JsonIgnore
+    public LoadStage getLoadStage() {
+        return (LoadStage) parameters.get(Constants.LOAD_STAGE);
+    }
+}
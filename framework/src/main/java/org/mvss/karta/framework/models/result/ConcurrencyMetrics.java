@@ -0,0 +1,66 @@
+package org.mvss.karta.framework.models.result;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Snapshot of the metrics of a concurrency limiter.
+ *
+ * @author Manian
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConcurrencyMetrics implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The maximum number of permits. Unbounded if not positive.
+     */
+    private int limit;
+
+    /**
+     * The number of permits currently held.
+     */
+    private int inFlight;
+
+    /**
+     * The maximum number of permits held at a time.
+     */
+    private int peakInFlight;
+
+    /**
+     * The number of permits granted.
+     */
+    private long admitted;
+
+    /**
+     * The sum of time waited for permits in milliseconds.
+     */
+    private long totalQueueingDelay;
+
+    /**
+     * The maximum time waited for a permit in milliseconds.
+     */
+    private long maxQueueingDelay;
+
+    @JsonIgnore
+    public double getUtilization() {
+        return (limit > 0) ? ((double) inFlight / limit) : 0;
+    }
+
+    @JsonIgnore
+    public double getPeakUtilization() {
+        return (limit > 0) ? ((double) peakInFlight / limit) : 0;
+    }
+
+    @JsonIgnore
+    public double getAverageQueueingDelay() {
+        return (admitted > 0) ? ((double) totalQueueingDelay / admitted) : 0;
+    }
+}
@@ -0,0 +1,61 @@
+package org.mvss.karta.framework.models.result;
+
+import lombok.*;
+import org.mvss.karta.framework.enums.DaemonJobState;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * Snapshot of the health of a supervised daemon test job.
+ *
+ * @author Manian
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DaemonJobHealth implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String jobName;
+
+    private DaemonJobState state;
+
+    /**
+     * The number of times the daemon job was restarted after failures or missed heartbeats.
+     */
+    private long restarts;
+
+    /**
+     * The number of job iterations run.
+     */
+    private long iterations;
+
+    /**
+     * The number of job iterations which failed or errored.
+     */
+    private long failures;
+
+    /**
+     * The number of times the daemon job missed the heartbeat timeout.
+     */
+    private long missedHeartbeats;
+
+    /**
+     * The time of the last heartbeat (start or end of a job iteration).
+     */
+    private Date lastHeartbeat;
+
+    /**
+     * The total time in milliseconds the daemon job was paused to stay within the iteration rate and CPU limits.
+     */
+    private long throttledTime;
+
+    /**
+     * The last error which caused a restart or failure of the daemon job.
+     */
+    private String lastError;
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import org.mvss.karta.framework.models.generic.SerializableKVP;
 import org.mvss.karta.framework.models.test.TestIncident;
+import org.mvss.karta.framework.utils.SeededRandom;
 
 import java.io.Serializable;
 import java.util.*;
@@ -51,11 +52,82 @@ public class FeatureResult implements Serializable {
     @Builder.Default
     private ArrayList<Integer> failedIterations = new ArrayList<>();
 
+    /**
+     * The failed iterations which had scenarios stopped at the scenario or iteration deadline.
+     */
+    @Builder.Default
+    private ArrayList<Integer> timedOutIterations = new ArrayList<>();
+
+    /**
+     * The maximum iterations per second sustained within limits when run with adaptive concurrency.
+     */
+    private Double maxSustainableThroughput;
+
+    /**
+     * The iterations in parallel at the maximum sustainable throughput when run with adaptive concurrency.
+     */
+    private Integer maxSustainableParallelism;
+
+    /**
+     * The metrics of the interval jobs of the feature mapped to job name.
+     */
+    @Builder.Default
+    private HashMap<String, JobMetrics> jobMetrics = new HashMap<>();
+
+    /**
+     * The health of the daemon jobs of the feature at the end of the feature mapped to job name.
+     */
+    @Builder.Default
+    private HashMap<String, DaemonJobHealth> daemonJobHealth = new HashMap<>();
+
+    /**
+     * The timing of the feature setup steps when run as a dependency graph.
+     */
+    private StepGraphTiming setupStepGraphTiming;
+
+    /**
+     * The timing of the feature tear down steps when run as a dependency graph.
+     */
+    private StepGraphTiming tearDownStepGraphTiming;
+
+    /**
+     * The hit and miss counters of the cached steps mapped to step identifier.
+     */
+    @Builder.Default
+    private HashMap<String, StepCacheStatistics> stepCacheStatistics = new HashMap<>();
+
+    /**
+     * The results of the shared test fixtures used by the feature mapped to fixture name.
+     */
+    @Builder.Default
+    private HashMap<String, FixtureResult> fixtureResults = new HashMap<>();
+
+    /**
+     * The random seed of the feature from which the iteration seeds are derived.
+     */
+    private Long randomSeed;
+
+    /**
+     * The random seeds of the iterations which are not derived from the feature seed (iterations rerun from a previous run) mapped to iteration index.
+     */
+    @Builder.Default
+    private HashMap<Integer, Long> iterationRandomSeeds = new HashMap<>();
+
     @JsonIgnore
     public boolean isPassed() {
         return successful && !error;
     }
 
+    /**
+     * Returns the random seed of the iteration or null if the feature seed is not known.
+     */
+    public Long getIterationRandomSeed(int iterationIndex) {
+        if ((iterationRandomSeeds != null) && iterationRandomSeeds.containsKey(iterationIndex)) {
+            return iterationRandomSeeds.get(iterationIndex);
+        }
+        return (randomSeed == null) ? null : SeededRandom.deriveSeed(randomSeed, iterationIndex);
+    }
+
     public synchronized void addIterationResult(HashMap<String, ScenarioResult> iterationResults, boolean detailedResults) {
         for (Entry<String, ScenarioResult> entry : iterationResults.entrySet()) {
             addTestScenarioResult(entry.getKey(), entry.getValue(), detailedResults);
@@ -86,6 +158,16 @@ public class FeatureResult implements Serializable {
                     failedIterations.add(failedIteration);
                 }
 
+                if (scenarioResult.isTimedOut()) {
+                    if (timedOutIterations == null) {
+                        timedOutIterations = new ArrayList<>();
+                    }
+
+                    if (!timedOutIterations.contains(failedIteration)) {
+                        timedOutIterations.add(failedIteration);
+                    }
+                }
+
                 ArrayList<TestIncident> scenarioIncidents = scenarioResult.getIncidents();
 
                 if (scenarioIncidents != null) {
@@ -97,6 +179,10 @@ public class FeatureResult implements Serializable {
 
     public synchronized void sortResults() {
         Collections.sort(failedIterations);
+
+        if (timedOutIterations != null) {
+            Collections.sort(timedOutIterations);
+        }
     }
 
     /**
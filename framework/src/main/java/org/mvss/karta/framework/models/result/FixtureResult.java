@@ -0,0 +1,52 @@
+package org.mvss.karta.framework.models.result;
+
+import lombok.*;
+import org.mvss.karta.framework.models.generic.SerializableKVP;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+
+/**
+ * The result of the use of a shared test fixture by a feature.
+ *
+ * @author Manian
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FixtureResult implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String fixtureName;
+
+    /**
+     * Indicates whether the fixture is ready for use.
+     */
+    @Builder.Default
+    private boolean successful = true;
+
+    /**
+     * Indicates whether the fixture was created by this feature. The fixture was reused from another feature otherwise.
+     */
+    private boolean created;
+
+    /**
+     * Indicates whether the fixture was torn down by this feature as the last feature to release it.
+     */
+    private boolean tornDown;
+
+    /**
+     * The setup step results if the fixture was created by this feature.
+     */
+    @Builder.Default
+    private ArrayList<SerializableKVP<String, StepResult>> setupResults = new ArrayList<>();
+
+    /**
+     * The tear down step results if the fixture was torn down by this feature.
+     */
+    @Builder.Default
+    private ArrayList<SerializableKVP<String, StepResult>> tearDownResults = new ArrayList<>();
+}
@@ -0,0 +1,65 @@
+package org.mvss.karta.framework.models.result;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+
+/**
+ * Snapshot of the metrics of a scheduled test job.
+ *
+ * @author Manian
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobMetrics implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String jobName;
+
+    /**
+     * The number of times the job schedule fired.
+     */
+    private long fires;
+
+    /**
+     * The number of job iterations run.
+     */
+    private long runs;
+
+    /**
+     * The number of fires which did not run an iteration due to the overlap policy.
+     */
+    private long missedFires;
+
+    /**
+     * The number of job iterations which failed.
+     */
+    private long failures;
+
+    /**
+     * The maximum delay in milliseconds between the intended and actual start of job iterations.
+     */
+    private long maxLateness;
+
+    /**
+     * The sum of delays in milliseconds between the intended and actual start of job iterations.
+     */
+    private long totalLateness;
+
+    /**
+     * The number of job iterations mapped to the lateness bucket label (upper bound in milliseconds).
+     */
+    @Builder.Default
+    private LinkedHashMap<String, Long> latenessHistogram = new LinkedHashMap<>();
+
+    @JsonIgnore
+    public double getAverageLateness() {
+        return (runs > 0) ? ((double) totalLateness / runs) : 0;
+    }
+}
@@ -1,9 +1,11 @@
 package org.mvss.karta.framework.models.result;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 import java.io.Serializable;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -34,10 +36,33 @@ public class RunResult implements Serializable {
     @Builder.Default
     private ConcurrentHashMap<String, FeatureResult> testResultMap = new ConcurrentHashMap<>();
 
+    /**
+     * The step admission metrics for the host (mapped to __All__) and thread groups at the end of the run.
+     */
+    private HashMap<String, ConcurrencyMetrics> concurrencyMetrics;
+
+    /**
+     * The makespan in milliseconds predicted from test duration history when the tests were scheduled.
+     */
+    private Long predictedMakespan;
+
+    /**
+     * The random seed of the run for replaying the run.
+     */
+    private Long randomSeed;
+
     public static RunResult error() {
         return RunResult.builder().startTime(new Date()).error(true).successful(false).endTime(new Date()).build();
     }
 
+    /**
+     * The actual makespan of the run in milliseconds.
+     */
+    @JsonIgnore
+    public Long getMakespan() {
+        return ((startTime == null) || (endTime == null)) ? null : (endTime.getTime() - startTime.getTime());
+    }
+
     public synchronized void addTestResult(FeatureResult result) {
         this.successful = this.successful && result.isPassed();
         testResultMap.put(result.getFeatureName(), result);
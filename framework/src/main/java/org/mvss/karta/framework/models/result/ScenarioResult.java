@@ -28,17 +28,35 @@ public class ScenarioResult implements Serializable, Comparable<ScenarioResult>
     @Builder.Default
     private int iterationIndex = 0;
 
+    /**
+     * The iteration number of the scenario used for indexing its test data set. </br>
+     * Differs from the iteration index when scenarios are chosen by chance.
+     */
+    private Long scenarioIterationNumber;
+
     @Builder.Default
     private Date startTime = new Date();
 
     private Date endTime;
 
+    /**
+     * The intended start time of the iteration if dispatched at a constant arrival rate. </br>
+     * Used to correct latencies for coordinated omission.
+     */
+    private Date intendedStartTime;
+
     @Builder.Default
     private boolean successful = true;
 
     @Builder.Default
     private boolean error = false;
 
+    /**
+     * Indicates whether the scenario was stopped at the scenario or iteration deadline.
+     */
+    @Builder.Default
+    private boolean timedOut = false;
+
     @Builder.Default
     private ArrayList<TestIncident> incidents = new ArrayList<>();
 
@@ -62,14 +80,47 @@ public class ScenarioResult implements Serializable, Comparable<ScenarioResult>
         return successful && !error;
     }
 
+    /**
+     * Returns the delay in milliseconds between the intended start time of the iteration and the actual start of the scenario.
+     */
+    @JsonIgnore
+    public long getStartDelay() {
+        if ((intendedStartTime == null) || (startTime == null)) {
+            return 0;
+        }
+        return Math.max(0, startTime.getTime() - intendedStartTime.getTime());
+    }
+
+    /**
+     * Returns the scenario duration in milliseconds measured from the intended start time (corrected for coordinated omission).
+     */
+    @JsonIgnore
+    public long getCorrectedDuration() {
+        if ((startTime == null) || (endTime == null)) {
+            return 0;
+        }
+        return (endTime.getTime() - startTime.getTime()) + getStartDelay();
+    }
+
+    /**
+     * Returns the step duration in milliseconds corrected for coordinated omission by adding the start delay of the scenario.
+     */
+    @JsonIgnore
+    public long getCorrectedStepDuration(StepResult stepResult) {
+        if ((stepResult == null) || (stepResult.getStartTime() == null) || (stepResult.getEndTime() == null)) {
+            return 0;
+        }
+        return (stepResult.getEndTime().getTime() - stepResult.getStartTime().getTime()) + getStartDelay();
+    }
+
     @Override
     public int compareTo(ScenarioResult other) {
         return (iterationIndex - other.iterationIndex) % Integer.MAX_VALUE;
     }
 
     public ScenarioResult trimForReport() {
-        ScenarioResult trimmedResult = ScenarioResult.builder().iterationIndex(iterationIndex).startTime(startTime).endTime(endTime)
-                .successful(successful).error(error).events(null).build();
+        ScenarioResult trimmedResult = ScenarioResult.builder().iterationIndex(iterationIndex).scenarioIterationNumber(scenarioIterationNumber).startTime(startTime).endTime(endTime).intendedStartTime(intendedStartTime)
+                .successful(successful).error(error).timedOut(timedOut).events(null).build();
 
         for (SerializableKVP<String, StepResult> setupResult : setupResults) {
             trimmedResult.setupResults.add(new SerializableKVP<>(setupResult.getKey(), setupResult.getValue().trimForReport()));
@@ -0,0 +1,45 @@
+package org.mvss.karta.framework.models.result;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Hit and miss counters of a cached step.
+ *
+ * @author Manian
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StepCacheStatistics implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of times the step result was reused from the cache.
+     */
+    private long hits;
+
+    /**
+     * The number of times the step was run since no reusable result was cached.
+     */
+    private long misses;
+
+    /**
+     * The number of cached results which expired before being reused.
+     */
+    private long expirations;
+
+    /**
+     * Returns the fraction of step runs served from the cache.
+     */
+    @JsonIgnore
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return (lookups > 0) ? ((double) hits / lookups) : 0;
+    }
+}
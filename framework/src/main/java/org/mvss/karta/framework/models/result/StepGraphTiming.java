@@ -0,0 +1,61 @@
+package org.mvss.karta.framework.models.result;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+
+/**
+ * Timing of a run of steps as a dependency graph.
+ *
+ * @author Manian
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StepGraphTiming implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The names of the steps on the critical path (the chain of dependent steps with the longest total duration) in order of execution.
+     */
+    @Builder.Default
+    private ArrayList<String> criticalPath = new ArrayList<>();
+
+    /**
+     * The total duration in milliseconds of the steps on the critical path. This is the shortest possible wall time for the graph with unlimited parallelism.
+     */
+    private long criticalPathDuration;
+
+    /**
+     * The sum of the durations in milliseconds of all the steps run.
+     */
+    private long totalStepDuration;
+
+    /**
+     * The wall time in milliseconds from the start of the first step to the end of the last step.
+     */
+    private long wallDuration;
+
+    /**
+     * The number of steps run.
+     */
+    private int stepsRun;
+
+    /**
+     * The number of steps skipped since a dependency failed or the graph was stopped on failure.
+     */
+    private int stepsSkipped;
+
+    /**
+     * Returns the average number of steps run in parallel.
+     */
+    @JsonIgnore
+    public double getParallelism() {
+        return (wallDuration > 0) ? ((double) totalStepDuration / wallDuration) : 0;
+    }
+}
@@ -80,6 +80,23 @@ public class StepResult implements Serializable {
      */
     private long stepIndex;
 
+    /**
+     * Indicates whether the step was interrupted at the step, scenario or iteration deadline.
+     */
+    @Builder.Default
+    private boolean timedOut = false;
+
+    /**
+     * The timing of the nested steps when run as a dependency graph.
+     */
+    private StepGraphTiming stepGraphTiming;
+
+    /**
+     * Indicates whether the step was not run and the result was reused from the step result cache.
+     */
+    @Builder.Default
+    private boolean cached = false;
+
     /**
      * Indicates if the test passed
      *
@@ -132,6 +149,7 @@ public class StepResult implements Serializable {
 
         successful = successful && stepResult.successful;
         error = error || stepResult.error;
+        timedOut = timedOut || stepResult.timedOut;
 
         if (stepResult.incidents != null) {
             if (incidents == null) {
@@ -196,6 +214,19 @@ public class StepResult implements Serializable {
         successful = false;
     }
 
+    /**
+     * Marks the step as timed out. Timed out steps are not successful but are not errors.
+     */
+    public void timeout(String message) {
+        if (incidents == null) {
+            incidents = new ArrayList<>();
+        }
+        incidents.add(TestIncident.builder().message(message).build());
+        successful = false;
+        error = false;
+        timedOut = true;
+    }
+
     public void error(Throwable t) {
         incidents.add(TestIncident.builder().thrownCause(t).build());
         error = false;
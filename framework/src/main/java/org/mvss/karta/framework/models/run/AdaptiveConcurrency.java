@@ -0,0 +1,73 @@
+package org.mvss.karta.framework.models.run;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+/**
+ * Settings for adjusting iterations in parallel automatically with additive increase and multiplicative decrease (AIMD).</br>
+ * Parallelism grows while the step latency percentile and failure rate are within limits and backs off otherwise.</br>
+ *
+ * @author Manian
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class AdaptiveConcurrency implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The step latency percentile to watch.
+     */
+    @Builder.Default
+    private double latencyPercentile = 99;
+
+    /**
+     * The limit for the watched step latency percentile. Latency is not watched if null.
+     */
+    @JsonFormat(shape = Shape.STRING)
+    private Duration targetLatency;
+
+    /**
+     * The limit for the fraction of failed iterations.
+     */
+    @Builder.Default
+    private double errorBudget = 0.01;
+
+    @Builder.Default
+    private int minParallelism = 1;
+
+    @Builder.Default
+    private int maxParallelism = 1000;
+
+    /**
+     * The number of iterations in parallel to add when within limits.
+     */
+    @Builder.Default
+    private int additiveIncrease = 1;
+
+    /**
+     * The factor to multiply iterations in parallel with when limits are exceeded.
+     */
+    @Builder.Default
+    private double multiplicativeDecrease = 0.5;
+
+    /**
+     * The interval between adjustments.
+     */
+    @JsonFormat(shape = Shape.STRING)
+    @Builder.Default
+    private Duration evaluationInterval = Duration.ofSeconds(5);
+
+    /**
+     * The minimum number of completed iterations needed for an adjustment.
+     */
+    @Builder.Default
+    private int minSamples = 20;
+}
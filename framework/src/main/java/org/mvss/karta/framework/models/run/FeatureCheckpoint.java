@@ -0,0 +1,70 @@
+package org.mvss.karta.framework.models.run;
+
+import lombok.*;
+import org.mvss.karta.framework.models.result.FeatureResult;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+
+/**
+ * Progress of a feature run saved periodically for resuming the run after the process stops.</br>
+ *
+ * @author Manian
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeatureCheckpoint implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String runName;
+
+    private String featureName;
+
+    @Builder.Default
+    private Date checkpointTime = new Date();
+
+    /**
+     * Indicates if the feature run completed including tear down.
+     */
+    @Builder.Default
+    private boolean complete = false;
+
+    /**
+     * The iteration index below which all iterations are complete.
+     */
+    private long iterationWatermark;
+
+    /**
+     * The completed iterations at or above the watermark.
+     */
+    @Builder.Default
+    private ArrayList<Long> completedIterations = new ArrayList<>();
+
+    /**
+     * The time spent running iterations in milliseconds. Used to continue the run duration on resume.
+     */
+    private long elapsedRunDuration;
+
+    /**
+     * The next scenario iteration numbers mapped to scenario name.
+     */
+    @Builder.Default
+    private HashMap<String, Integer> scenarioIterationIndexes = new HashMap<>();
+
+    /**
+     * The number of iterations run for scheduled jobs mapped to job name.
+     */
+    @Builder.Default
+    private HashMap<String, Integer> jobIterationCounters = new HashMap<>();
+
+    /**
+     * The results accumulated so far.
+     */
+    private FeatureResult result;
+}
@@ -0,0 +1,48 @@
+package org.mvss.karta.framework.models.run;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+/**
+ * A stage of a load profile which changes the number of iterations in parallel to the target over the stage duration.</br>
+ * Ramp-up, plateau, ramp-down and spike are described as a sequence of stages.</br>
+ *
+ * @author Manian
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class LoadStage implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The name of the stage used in stage events.
+     */
+    private String name;
+
+    /**
+     * The duration of the stage.
+     */
+    @JsonFormat(shape = Shape.STRING)
+    private Duration duration;
+
+    /**
+     * The number of iterations in parallel at the end of the stage.
+     */
+    @Builder.Default
+    private int target = 1;
+
+    /**
+     * Indicates if the parallelism changes linearly from the previous stage target over the duration.
+     * If false, the target is applied at the start of the stage (spike).
+     */
+    @Builder.Default
+    private boolean ramp = true;
+}
@@ -0,0 +1,59 @@
+package org.mvss.karta.framework.models.run;
+
+import lombok.*;
+import org.mvss.karta.framework.models.test.TestScenario;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * An iteration of a feature from a previous run to be run again with the same iteration index (and hence the same test data).</br>
+ *
+ * @author Manian
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RerunIteration implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The iteration index in the previous run.
+     */
+    private int iterationIndex;
+
+    /**
+     * The names of the scenarios run in the iteration in the previous run. All scenarios are run if empty.
+     */
+    @Builder.Default
+    private ArrayList<String> scenarios = new ArrayList<>();
+
+    /**
+     * The scenario iteration numbers (test data set indexes) of the scenarios in the previous run mapped to scenario name.
+     */
+    @Builder.Default
+    private HashMap<String, Long> scenarioIterationNumbers = new HashMap<>();
+
+    /**
+     * The random seed of the iteration in the previous run. A seed derived from the feature seed of the rerun is used if null.
+     */
+    private Long randomSeed;
+
+    /**
+     * Returns the scenarios of the feature which were run in the iteration or all the scenarios if not known.
+     */
+    public ArrayList<TestScenario> selectScenarios(ArrayList<TestScenario> featureScenarios) {
+        if ((scenarios == null) || scenarios.isEmpty()) {
+            return featureScenarios;
+        }
+
+        List<TestScenario> selectedScenarios = featureScenarios.stream().filter(scenario -> scenarios.contains(scenario.getName())).collect(Collectors.toList());
+        return selectedScenarios.isEmpty() ? featureScenarios : new ArrayList<>(selectedScenarios);
+    }
+}
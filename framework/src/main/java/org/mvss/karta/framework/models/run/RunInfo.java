@@ -4,10 +4,12 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonFormat.Shape;
 import lombok.*;
 import org.mvss.karta.framework.models.catalog.Test;
+import org.mvss.karta.framework.utils.SeededRandom;
 
 import java.io.Serializable;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 
 @Getter
 @Setter
@@ -59,6 +61,78 @@ public class RunInfo implements Serializable {
     @Builder.Default
     private int numberOfIterationsInParallel = 1;
 
+    /**
+     * The number of iterations to start per second (open model). Iterations are started at this rate irrespective of completion of earlier iterations.</br>
+     * numberOfIterationsInParallel and cool down are not used if set to a positive value.
+     */
+    private Double arrivalRate;
+
+    /**
+     * The maximum number of iterations in flight for arrival rate based runs. Unbounded if not positive.</br>
+     * This is the only bound on concurrent arrivals; it is not limited by the scheduler core threads or the available processors.
+     */
+    @Builder.Default
+    private int maxIterationsInFlight = 0;
+
+    /**
+     * The stages of iterations in parallel to follow for feature runs. Overrides the load profile of the feature if not empty.</br>
+     * numberOfIterations, runDuration and cool down are not used when a load profile is followed.
+     */
+    private ArrayList<LoadStage> loadProfile;
+
+    /**
+     * Adjusts iterations in parallel automatically starting from numberOfIterationsInParallel if set.</br>
+     * Not used with arrival rate or a load profile.
+     */
+    private AdaptiveConcurrency adaptiveConcurrency;
+
+    /**
+     * Overrides the KartaConfiguration virtual thread setting for this run if not null.
+     */
+    private Boolean useVirtualThreads;
+
+    /**
+     * The thread group of the test being run. Used for admission control of steps.
+     */
+    private String threadGroup;
+
+    /**
+     * The iterations to rerun mapped to feature name. Features not mapped are skipped and only the mapped iterations are run if set.</br>
+     * Arrival rate, load profile, adaptive concurrency and run duration are not used when rerunning iterations.
+     */
+    private HashMap<String, ArrayList<RerunIteration>> rerunIterations;
+
+    /**
+     * The interval for checkpointing the progress of features to the checkpoint file of the run. Not checkpointed if null.
+     */
+    @JsonFormat(shape = Shape.STRING)
+    private Duration checkpointInterval;
+
+    /**
+     * Indicates if features should continue from the last checkpoint of the run with the same run name.</br>
+     * Features completed before are not run again and completed iterations are skipped.
+     */
+    @Builder.Default
+    private boolean resume = false;
+
+    /**
+     * The maximum time for an iteration after which the running steps are interrupted and the scenarios of the iteration are reported as timed out. Not limited if null.
+     */
+    @JsonFormat(shape = Shape.STRING)
+    private Duration iterationTimeout;
+
+    /**
+     * The seed of the run from which the feature, iteration and scenario random seeds are derived. A new seed is generated when the run starts if null.
+     */
+    private Long randomSeed;
+
+    /**
+     * Returns the random seed of the feature derived from the run seed or a new seed if the run is not seeded.
+     */
+    public long getFeatureRandomSeed(String featureName) {
+        return (randomSeed == null) ? SeededRandom.newSeed() : SeededRandom.deriveSeed(randomSeed, featureName);
+    }
+
     public void setDefaultPlugins(ArrayList<String> featureSourceParserPlugins, ArrayList<String> stepRunnerPlugins, ArrayList<String> testDataSourcePlugins) {
 
         if ((featureSourceParserPlugins != null) && !featureSourceParserPlugins.isEmpty()) {
@@ -100,7 +174,7 @@ public class RunInfo implements Serializable {
     }
 
     public RunInfo getRunInfoForTest(Test test) {
-        RunInfo runInfo = this.toBuilder().tags(test.getTags()).featureSourceParserPlugins(test.getFeatureSourceParsers()).stepRunnerPlugins(test.getStepRunners()).testDataSourcePlugins(test.getTestDataSources()).runAllScenarioParallely(test.getRunAllScenarioParallely()).chanceBasedScenarioExecution(test.getChanceBasedScenarioExecution()).exclusiveScenarioPerIteration(test.getExclusiveScenarioPerIteration()).numberOfIterations(test.getNumberOfIterations()).runDuration(test.getRunDuration()).coolDownBetweenIterations(test.getCoolDownBetweenIterations()).iterationsPerCoolDownPeriod(test.getIterationsPerCoolDownPeriod()).numberOfIterationsInParallel(test.getNumberOfThreads()).build();
+        RunInfo runInfo = this.toBuilder().tags(test.getTags()).featureSourceParserPlugins(test.getFeatureSourceParsers()).stepRunnerPlugins(test.getStepRunners()).testDataSourcePlugins(test.getTestDataSources()).runAllScenarioParallely(test.getRunAllScenarioParallely()).chanceBasedScenarioExecution(test.getChanceBasedScenarioExecution()).exclusiveScenarioPerIteration(test.getExclusiveScenarioPerIteration()).numberOfIterations(test.getNumberOfIterations()).runDuration(test.getRunDuration()).coolDownBetweenIterations(test.getCoolDownBetweenIterations()).iterationsPerCoolDownPeriod(test.getIterationsPerCoolDownPeriod()).numberOfIterationsInParallel(test.getNumberOfThreads()).arrivalRate(test.getArrivalRate()).maxIterationsInFlight(test.getMaxIterationsInFlight()).threadGroup(test.getThreadGroup()).iterationTimeout((test.getIterationTimeout() != null) ? test.getIterationTimeout() : iterationTimeout).build();
 
         runInfo.addPluginsFromTest(test);
 
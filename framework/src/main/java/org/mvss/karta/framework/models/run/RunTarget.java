@@ -20,4 +20,9 @@ public class RunTarget implements Serializable {
     private String javaTestJarFile;
 
     private ArrayList<String> runTags;
+
+    /**
+     * The shard of the tests filtered by runTags to run. All tests are run if null.
+     */
+    private TestShard shard;
 }
@@ -5,6 +5,7 @@ import lombok.*;
 import org.mvss.karta.dependencyinjection.BeanRegistry;
 import org.mvss.karta.dependencyinjection.TestProperties;
 import org.mvss.karta.framework.plugins.TestDataSource;
+import org.mvss.karta.framework.threading.CancellationToken;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -17,7 +18,7 @@ import java.util.HashMap;
 @ToString
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class TestExecutionContext implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
@@ -41,6 +42,13 @@ public class TestExecutionContext implements Serializable {
     @JsonIgnore
     private transient BeanRegistry contextBeanRegistry;
 
+    /**
+     * The cancellation token of the running step. Step code can check it to abort early once the step, scenario or iteration deadline has passed.
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    private transient CancellationToken cancellationToken;
+
     public TestExecutionContext(String runName, String featureName, int iterationIndex, String scenarioName, String stepIdentifier, TestProperties testProperties, HashMap<String, Serializable> testData, HashMap<String, Serializable> contextData) {
         super();
         this.runName = runName;
@@ -53,6 +61,30 @@ public class TestExecutionContext implements Serializable {
         this.contextData = contextData;
     }
 
+    /**
+     * Returns the cancellation token of the running step or a token which is never cancelled if the step is not run with a deadline.
+     */
+    public CancellationToken getCancellationToken() {
+        if (cancellationToken == null) {
+            cancellationToken = CancellationToken.root();
+        }
+        return cancellationToken;
+    }
+
+    /**
+     * Returns a shallow copy of the context with the cancellation token for an invocation of a step.</br>
+     * Steps run concurrently with the same context (e.g. step runs in parallel) get their own token without replacing the token of the shared context.
+     */
+    public TestExecutionContext withCancellationToken(CancellationToken cancellationToken) {
+        TestExecutionContext invocationContext = toBuilder().build();
+        invocationContext.cancellationToken = cancellationToken;
+        return invocationContext;
+    }
+
+    /**
+     * Merges the test data from the test data sources, the test data set value for the iteration and the step test data.</br>
+     * The data returned by the test data sources is copied since test data sources may return maps they modify later.
+     */
     public void mergeTestData(HashMap<String, Serializable> stepTestData, HashMap<String, ArrayList<Serializable>> testDataSet, ArrayList<TestDataSource> testDataSources) throws Throwable {
         this.testData = new HashMap<>();
 
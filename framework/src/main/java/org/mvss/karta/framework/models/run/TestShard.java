@@ -0,0 +1,63 @@
+package org.mvss.karta.framework.models.run;
+
+import lombok.*;
+import org.mvss.karta.Constants;
+
+import java.io.Serializable;
+
+/**
+ * A shard of the tests of a run to be run by one of multiple independent processes.</br>
+ * Specified as index/count (e.g. 3/8) with index starting at 1.</br>
+ *
+ * @author Manian
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TestShard implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The index of this shard starting at 1.
+     */
+    @Builder.Default
+    private int index = 1;
+
+    /**
+     * The total number of shards.
+     */
+    @Builder.Default
+    private int count = 1;
+
+    /**
+     * Indicates if shards should be balanced by historical test durations instead of test count.</br>
+     * All the shards should use the same test duration history for the partitions to be disjoint.
+     */
+    @Builder.Default
+    private boolean balanceByDuration = false;
+
+    /**
+     * Parses the shard specification of the form index/count.
+     */
+    public static TestShard parse(String shardSpecification) {
+        String[] parts = (shardSpecification == null) ? new String[0] : shardSpecification.trim().split(Constants.SLASH);
+
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Shard should be specified as index/count: " + shardSpecification);
+        }
+
+        TestShard testShard = TestShard.builder().index(Integer.parseInt(parts[0].trim())).count(Integer.parseInt(parts[1].trim())).build();
+
+        if ((testShard.count < 1) || (testShard.index < 1) || (testShard.index > testShard.count)) {
+            throw new IllegalArgumentException("Shard index should be between 1 and shard count: " + shardSpecification);
+        }
+        return testShard;
+    }
+
+    @Override
+    public String toString() {
+        return index + Constants.SLASH + count;
+    }
+}
@@ -1,5 +1,7 @@
 package org.mvss.karta.framework.models.test;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import org.mvss.karta.dependencyinjection.BeanRegistry;
@@ -7,6 +9,7 @@ import org.mvss.karta.dependencyinjection.utils.DataUtils;
 import org.mvss.karta.framework.models.run.TestExecutionContext;
 
 import java.io.Serializable;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 
@@ -64,6 +67,12 @@ public class PreparedScenario implements Serializable {
     @Builder.Default
     private ArrayList<PreparedStep> tearDownSteps = new ArrayList<>();
 
+    /**
+     * The maximum time for the setup, chaos and execution steps of the scenario. Not limited if null.
+     */
+    @JsonFormat(shape = Shape.STRING)
+    private Duration timeout;
+
     /**
      * The bean registry for the scenario execution context.
      * This can be used for scenario specific setup and cleanup of resources.
@@ -1,10 +1,16 @@
 package org.mvss.karta.framework.models.test;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import org.mvss.karta.framework.models.run.TestExecutionContext;
+import org.mvss.karta.framework.plugins.StepRunner;
 
 import java.io.Serializable;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Prepared step for execution
@@ -66,4 +72,56 @@ public class PreparedStep implements Serializable {
     @Builder.Default
     private String condition = null;
 
+    /**
+     * The maximum time for running the step (including retries). Not limited if null.
+     */
+    @JsonFormat(shape = Shape.STRING)
+    private Duration timeout;
+
+    /**
+     * The name of the step for declaring dependencies on the step.
+     */
+    private String name;
+
+    /**
+     * The names or output variables of the steps in the same step group which should pass before this step is run.
+     */
+    private ArrayList<String> dependsOn;
+
+    /**
+     * The names of the result variables set by this step which other steps can depend on.
+     */
+    private ArrayList<String> outputs;
+
+    /**
+     * The cache policy for reusing the results of this step. Not cached if null.
+     */
+    private StepCachePolicy cache;
+
+    /**
+     * The step runner bound from the compiled step. Resolved again if not bound (e.g. on remote nodes).
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    private transient StepRunner stepRunner;
+
+    /**
+     * The condition runner bound from the compiled step.
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    private transient StepRunner conditionRunner;
+
+    /**
+     * The step identifier pre-sanitized by the bound step runner.
+     */
+    @JsonIgnore
+    private transient String sanitizedIdentifier;
+
+    /**
+     * The inline arguments pre-parsed by the bound step runner.
+     */
+    @JsonIgnore
+    private transient List<String> inlineArguments;
+
 }
@@ -0,0 +1,52 @@
+package org.mvss.karta.framework.models.test;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+import lombok.*;
+import org.mvss.karta.framework.enums.StepCacheScope;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+
+/**
+ * Describes how the result of an idempotent step is cached and reused instead of running the step again.</br>
+ * A cached result is reused only for the same step identifier and test data (or the test data keys read by the step) in the same feature.
+ * The result variables and the context beans added by the step are restored on reuse while events and attachments are not.</br>
+ * Only passed step results are cached.</br>
+ *
+ * @author Manian
+ */
+@Getter
+@Setter
+@ToString
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class StepCachePolicy implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The scope across which the cached result is reused.
+     */
+    @Builder.Default
+    private StepCacheScope scope = StepCacheScope.FEATURE;
+
+    /**
+     * The number of consecutive iterations sharing a cached result for scope ITERATIONS.
+     */
+    @Builder.Default
+    private Integer iterations = 1;
+
+    /**
+     * The time after which a cached result expires and the step is run again. Does not expire if null.
+     */
+    @JsonFormat(shape = Shape.STRING)
+    private Duration ttl;
+
+    /**
+     * The names of the test data read by the step. Cached results are keyed by the values of these test data only.
+     * Keyed by all the test data if null.
+     */
+    private ArrayList<String> testDataKeys;
+}
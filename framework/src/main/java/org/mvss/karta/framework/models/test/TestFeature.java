@@ -1,6 +1,7 @@
 package org.mvss.karta.framework.models.test;
 
 import lombok.*;
+import org.mvss.karta.framework.models.run.LoadStage;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -45,6 +46,12 @@ public class TestFeature implements Serializable {
     @Builder.Default
     private ArrayList<TestStep> setupSteps = new ArrayList<>();
 
+    /**
+     * The shared test fixtures used by the feature. Acquired before the setup steps and released after the tear-down steps of the feature.
+     */
+    @Builder.Default
+    private ArrayList<TestFixture> fixtures = new ArrayList<>();
+
     /**
      * The list of common setup steps for all the scenarios of the feature. To be run before every scenario run.
      */
@@ -73,4 +80,9 @@ public class TestFeature implements Serializable {
      * The possible set of values for test data at feature level.
      */
     private HashMap<String, ArrayList<Serializable>> testDataSet;
+
+    /**
+     * The stages of iterations in parallel to follow when running the feature (ramp-up, plateau, spike, ramp-down).
+     */
+    private ArrayList<LoadStage> loadProfile;
 }
@@ -0,0 +1,41 @@
+package org.mvss.karta.framework.models.test;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+
+/**
+ * This class describes a named test fixture (e.g. a test tenant or a seeded database) shared by the features of a run.</br>
+ * The first feature acquiring the fixture runs its setup steps while the other features reuse it.
+ * The tear down steps are run when the last feature using the fixture releases it.</br>
+ * Features sharing a fixture should declare the same steps since the steps of the first feature acquiring the fixture are used.</br>
+ *
+ * @author Manian
+ */
+@Getter
+@Setter
+@ToString
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class TestFixture implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The name identifying the fixture across features.
+     */
+    private String name;
+
+    /**
+     * The steps to create the fixture. The result variables and the context beans of the steps are shared with the features using the fixture.
+     */
+    @Builder.Default
+    private ArrayList<TestStep> setupSteps = new ArrayList<>();
+
+    /**
+     * The steps to tear down the fixture after it is released by the last feature using it.
+     */
+    @Builder.Default
+    private ArrayList<TestStep> tearDownSteps = new ArrayList<>();
+}
@@ -1,11 +1,14 @@
 package org.mvss.karta.framework.models.test;
 
 import lombok.*;
+import org.mvss.karta.framework.enums.JobOverlapPolicy;
+import org.mvss.karta.framework.enums.JobScheduleType;
 import org.mvss.karta.framework.enums.JobType;
 import org.mvss.karta.framework.models.chaos.ChaosActionTreeNode;
-import org.quartz.SimpleTrigger;
+import org.mvss.karta.framework.runtime.TestJobScheduler;
 
 import java.io.Serializable;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 
@@ -39,12 +42,65 @@ public class TestJob implements Serializable {
 
     private ChaosActionTreeNode chaosConfiguration;
 
+    /**
+     * The number of times an interval job is repeated after its first iteration, so the job runs iterationCount + 1 iterations.
+     * Runs till the feature completes if negative.</br>
+     * This is the repeat count semantics of the earlier Quartz based scheduler: 0 runs the job once.
+     */
     @Builder.Default
-    private int iterationCount = SimpleTrigger.REPEAT_INDEFINITELY;
+    private int iterationCount = TestJobScheduler.REPEAT_INDEFINITELY;
+
+    /**
+     * The schedule type for interval jobs.
+     */
+    @Builder.Default
+    private JobScheduleType scheduleType = JobScheduleType.FIXED_RATE;
+
+    /**
+     * The policy for fixed rate fires while the previous iteration is still running.
+     */
+    @Builder.Default
+    private JobOverlapPolicy overlapPolicy = JobOverlapPolicy.CONCURRENT;
 
     private String node;
 
     private HashMap<String, ArrayList<Serializable>> testDataSet;
 
     private boolean daemonProcess;
+
+    /**
+     * The number of times a daemon job is restarted after failures or missed heartbeats. Restarted without limit if negative.
+     */
+    @Builder.Default
+    private int maxRestarts = 3;
+
+    /**
+     * The wait before the first restart of a daemon job. Doubled for every consecutive restart without a passing iteration.
+     */
+    @Builder.Default
+    private Duration restartBackoff = Duration.ofSeconds(1);
+
+    /**
+     * The maximum wait before a restart of a daemon job.
+     */
+    @Builder.Default
+    private Duration maxRestartBackoff = Duration.ofMinutes(1);
+
+    /**
+     * The maximum time between heartbeats (start and end of job iterations) before a daemon job is considered unresponsive and restarted.</br>
+     * Liveness is not checked if not set.
+     */
+    private Duration heartbeatTimeout;
+
+    /**
+     * The maximum job iterations per second for repeating daemon jobs. Not limited if not positive.
+     */
+    @Builder.Default
+    private double maxIterationRate = 0;
+
+    /**
+     * The maximum fraction of a CPU core the daemon job thread may use, enforced by pausing between job iterations. Not limited if not positive.
+     */
+    @Builder.Default
+    private double cpuLimit = 0;
 }
@@ -1,10 +1,13 @@
 package org.mvss.karta.framework.models.test;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
 import lombok.*;
 import org.mvss.karta.framework.models.chaos.ChaosActionTreeNode;
 import org.mvss.karta.framework.models.randomization.ObjectWithChance;
 
 import java.io.Serializable;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 
@@ -69,4 +72,11 @@ public class TestScenario implements Serializable, ObjectWithChance {
      * The possible set of values for test data at scenario level.
      */
     private HashMap<String, ArrayList<Serializable>> testDataSet;
+
+    /**
+     * The maximum time for the setup, chaos and execution steps of the scenario after which the scenario is reported as timed out.</br>
+     * Tear down steps are run after the timeout. Not limited if null.
+     */
+    @JsonFormat(shape = Shape.STRING)
+    private Duration timeout;
 }
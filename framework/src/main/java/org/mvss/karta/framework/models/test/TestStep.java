@@ -1,9 +1,12 @@
 package org.mvss.karta.framework.models.test;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
 import lombok.*;
 import org.mvss.karta.framework.models.randomization.ObjectGenerationRule;
 
 import java.io.Serializable;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 
@@ -82,4 +85,30 @@ public class TestStep implements Serializable {
     @Builder.Default
     private String condition = null;
 
+    /**
+     * The maximum time for running the step (including retries) after which the step is interrupted and reported as timed out. Not limited if null.
+     */
+    @JsonFormat(shape = Shape.STRING)
+    private Duration timeout;
+
+    /**
+     * The name of the step for declaring dependencies on the step. The step identifier is used if not set.
+     */
+    private String name;
+
+    /**
+     * The names or output variables of the steps in the same step list which should pass before this step is run.</br>
+     * A step list with any step declaring dependencies is run as a dependency graph with the independent steps run in parallel.
+     */
+    private ArrayList<String> dependsOn;
+
+    /**
+     * The names of the result variables set by this step which other steps can depend on.
+     */
+    private ArrayList<String> outputs;
+
+    /**
+     * The cache policy for reusing the results of this step if idempotent. Overrides the cache policy of the step definition. Not cached if both are null.
+     */
+    private StepCachePolicy cache;
 }
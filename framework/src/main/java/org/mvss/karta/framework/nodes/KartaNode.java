@@ -26,9 +26,9 @@ public interface KartaNode extends Remote, AutoCloseable {
     FeatureResult runFeature(RunInfo runInfo, TestProperties testProperties, TestFeature feature) throws RemoteException, InterruptedException;
 
     /**
-     * Run a test job iteration
+     * Run a test job iteration seeded with the random seed of the feature
      */
-    TestJobResult runJobIteration(RunInfo runInfo, String featureName, TestProperties testProperties, TestJob job, int iterationIndex) throws RemoteException;
+    TestJobResult runJobIteration(RunInfo runInfo, String featureName, long featureRandomSeed, TestProperties testProperties, TestJob job, int iterationIndex) throws RemoteException;
 
     /**
      * Run a scenario iteration
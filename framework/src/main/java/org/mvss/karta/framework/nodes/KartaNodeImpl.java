@@ -45,9 +45,9 @@ public class KartaNodeImpl extends UnicastRemoteObject implements KartaNode, Ser
     }
 
     @Override
-    public TestJobResult runJobIteration(RunInfo runInfo, String featureName, TestProperties testProperties, TestJob job, int iterationIndex) throws RemoteException {
+    public TestJobResult runJobIteration(RunInfo runInfo, String featureName, long featureRandomSeed, TestProperties testProperties, TestJob job, int iterationIndex) throws RemoteException {
         try {
-            return TestJobRunner.run(kartaRuntime, runInfo, featureName, testProperties, job, iterationIndex, null);
+            return TestJobRunner.run(kartaRuntime, runInfo, featureName, featureRandomSeed, testProperties, job, iterationIndex, null);
         } catch (Throwable e) {
             throw new RemoteException("Exception while running job iteration", e);
         }
@@ -66,8 +66,8 @@ public class KartaRestNode implements KartaNode {
     }
 
     @Override
-    public TestJobResult runJobIteration(RunInfo runInfo, String featureName, TestProperties testProperties, TestJob job, int iterationIndex) throws RemoteException {
-        JobIterationRunInfo jobIterationRunInfo = JobIterationRunInfo.builder().runInfo(runInfo).featureName(featureName).testProperties(testProperties).testJob(job).iterationIndex(iterationIndex).build();
+    public TestJobResult runJobIteration(RunInfo runInfo, String featureName, long featureRandomSeed, TestProperties testProperties, TestJob job, int iterationIndex) throws RemoteException {
+        JobIterationRunInfo jobIterationRunInfo = JobIterationRunInfo.builder().runInfo(runInfo).featureName(featureName).featureRandomSeed(featureRandomSeed).testProperties(testProperties).testJob(job).iterationIndex(iterationIndex).build();
 
         TestJobResult result = null;
 
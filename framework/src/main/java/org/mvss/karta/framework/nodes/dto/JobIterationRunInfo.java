@@ -18,6 +18,11 @@ public class JobIterationRunInfo implements Serializable {
 
     private RunInfo runInfo;
     private String featureName;
+
+    /**
+     * The random seed of the feature the job iteration is seeded with. Derived from the run seed of the run info if null.
+     */
+    private Long featureRandomSeed;
     private TestProperties testProperties;
     private TestJob testJob;
     @Builder.Default
@@ -4,8 +4,12 @@ import org.mvss.karta.framework.models.result.StepResult;
 import org.mvss.karta.framework.models.run.TestExecutionContext;
 import org.mvss.karta.framework.models.test.PreparedChaosAction;
 import org.mvss.karta.framework.models.test.PreparedStep;
+import org.mvss.karta.framework.models.test.StepCachePolicy;
 import org.mvss.karta.framework.runtime.TestFailureException;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface StepRunner extends Plugin {
     boolean conditionImplemented(String conditionIdentifier);
 
@@ -17,6 +21,19 @@ public interface StepRunner extends Plugin {
 
     String sanitizeStepIdentifier(String stepDefinition);
 
+    /**
+     * Returns the inline arguments in the step identifier in order. Used for pre-parsing steps while compiling execution plans.
+     */
+    default List<String> getInlineArguments(String stepIdentifier) {
+        return new ArrayList<>();
+    }
+
+    /**
+     * Returns the cache policy declared by the step definition for the step identifier or null if the step is not cacheable.
+     */
+    default StepCachePolicy getStepCachePolicy(String stepIdentifier) {
+        return null;
+    }
 
     boolean chaosActionImplemented(String name);
 
@@ -16,12 +16,11 @@ import org.mvss.karta.framework.models.test.PreparedStep;
 import org.mvss.karta.framework.plugins.StepRunner;
 import org.mvss.karta.framework.runtime.KartaRuntime;
 import org.mvss.karta.framework.runtime.TestFailureException;
+import org.mvss.karta.framework.utils.StepTextTokenizer;
 import org.python.core.PySyntaxError;
 
 import java.io.File;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Log4j2
 public class GroovyStepRunner implements StepRunner {
@@ -32,7 +31,6 @@ public class GroovyStepRunner implements StepRunner {
 
     public static final String INLINE_TEST_DATA_PATTERN = "\"(?:[^\\\\\"]+|\\\\.|\\\\\\\\)*\"";
     public static final List<String> conjunctions = Arrays.asList("Given", "When", "Then", "And", "But");
-    private final static Pattern testDataPattern = Pattern.compile(INLINE_TEST_DATA_PATTERN);
 
     @PropertyMapping(group = PLUGIN_NAME, value = "stepHandlerMap")
     private HashMap<String, String> stepHandlerMap = new HashMap<>();
@@ -64,21 +62,12 @@ public class GroovyStepRunner implements StepRunner {
 
     @Override
     public String sanitizeStepIdentifier(String stepIdentifier) {
-        // Handle null stepIdentifier
-        if (StringUtils.isBlank(stepIdentifier)) {
-            return stepIdentifier;
-        }
-
-        stepIdentifier = stepIdentifier.trim();
-        String[] words = stepIdentifier.split(WORD_FETCH_REGEX);
-        String conjunctionUsed;
-        if (conjunctions.contains(words[0])) {
-            conjunctionUsed = words[0];
-            stepIdentifier = stepIdentifier.substring(conjunctionUsed.length()).trim();
-        }
-        stepIdentifier = stepIdentifier.replaceAll(INLINE_TEST_DATA_PATTERN, INLINE_STEP_DEF_PARAM_INDICATOR_STRING);
+        return StepTextTokenizer.sanitize(stepIdentifier);
+    }
 
-        return stepIdentifier;
+    @Override
+    public List<String> getInlineArguments(String stepIdentifier) {
+        return StepTextTokenizer.getInlineArguments(stepIdentifier);
     }
 
     @Override
@@ -109,11 +98,7 @@ public class GroovyStepRunner implements StepRunner {
         }
 
         // Fetch the positional argument names
-        ArrayList<String> inlineStepDefinitionTestData = new ArrayList<>();
-        Matcher matcher = testDataPattern.matcher(testStep.getIdentifier().trim());
-        while (matcher.find()) {
-            inlineStepDefinitionTestData.add(matcher.group());
-        }
+        List<String> inlineStepDefinitionTestData = getInlineArguments(testStep.getIdentifier());
 
         try {
             String stepMapping = stepHandlerMap.get(stepIdentifier);
@@ -15,6 +15,7 @@ import org.mvss.karta.framework.models.test.PreparedStep;
 import org.mvss.karta.framework.plugins.StepRunner;
 import org.mvss.karta.framework.runtime.KartaRuntime;
 import org.mvss.karta.framework.runtime.TestFailureException;
+import org.mvss.karta.framework.utils.StepTextTokenizer;
 import org.python.core.PySyntaxError;
 import org.python.util.PythonInterpreter;
 
@@ -22,7 +23,6 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
-import java.util.regex.Pattern;
 
 @Log4j2
 public class JythonStepRunner implements StepRunner {
@@ -33,7 +33,6 @@ public class JythonStepRunner implements StepRunner {
 
     public static final String INLINE_TEST_DATA_PATTERN = "\"(?:[^\\\\\"]+|\\\\.|\\\\\\\\)*\"";
     public static final List<String> conjunctions = Arrays.asList("Given", "When", "Then", "And", "But");
-    private final static Pattern testDataPattern = Pattern.compile(INLINE_TEST_DATA_PATTERN);
 
     @PropertyMapping(group = PLUGIN_NAME, value = "stepHandlerMap")
     private HashMap<String, String> stepHandlerMap = new HashMap<>();
@@ -65,21 +64,12 @@ public class JythonStepRunner implements StepRunner {
 
     @Override
     public String sanitizeStepIdentifier(String stepIdentifier) {
-        // Handle null stepIdentifier
-        if (StringUtils.isBlank(stepIdentifier)) {
-            return stepIdentifier;
-        }
-
-        stepIdentifier = stepIdentifier.trim();
-        String[] words = stepIdentifier.split(WORD_FETCH_REGEX);
-        String conjunctionUsed;
-        if (conjunctions.contains(words[0])) {
-            conjunctionUsed = words[0];
-            stepIdentifier = stepIdentifier.substring(conjunctionUsed.length()).trim();
-        }
-        stepIdentifier = stepIdentifier.replaceAll(INLINE_TEST_DATA_PATTERN, INLINE_STEP_DEF_PARAM_INDICATOR_STRING);
+        return StepTextTokenizer.sanitize(stepIdentifier);
+    }
 
-        return stepIdentifier;
+    @Override
+    public List<String> getInlineArguments(String stepIdentifier) {
+        return StepTextTokenizer.getInlineArguments(stepIdentifier);
     }
 
     @Override
@@ -0,0 +1,127 @@
+package org.mvss.karta.framework.plugins.impl.kriya;
+
+import lombok.Getter;
+import org.mvss.karta.framework.annotations.StepDefinitionScope;
+import org.mvss.karta.framework.enums.DefinitionScope;
+import org.mvss.karta.framework.enums.StepOutputType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Invoker for a step, condition or chaos action definition method bound once when the definition is registered.</br>
+ * The definition method and the constructor of the defining class are resolved into method handles adapted to take the definition object and a pre-spread argument array.
+ * This avoids the reflective constructor lookup and Method.invoke access checks and wrapping for every invocation.</br>
+ * Exceptions thrown by the definition method are propagated as is (not wrapped in InvocationTargetException).</br>
+ *
+ * @author Manian
+ */
+@Getter
+public class DefinitionInvoker {
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final Method method;
+
+    private final Class<?> returnType;
+
+    /**
+     * The output type of the definition for processing the return value.
+     */
+    private final StepOutputType outputType;
+
+    private final String outputName;
+
+    /**
+     * The scope across which the definition object is reused as per the annotation on the defining class.
+     */
+    private final DefinitionScope scope;
+
+    /**
+     * Creates a new definition object: () -> Object. Null for static definition methods.
+     */
+    private final MethodHandle constructor;
+
+    /**
+     * Invokes the definition method: (Object definitionObject, Object[] arguments) -> Object.
+     */
+    private final MethodHandle invoker;
+
+    /**
+     * The binders for the arguments of the definition method in the order of the method parameters.
+     */
+    private final ParameterBinder[] parameterBinders;
+
+    private DefinitionInvoker(Method method, StepOutputType outputType, String outputName, MethodHandle constructor, MethodHandle invoker, ParameterBinder[] parameterBinders) {
+        this.method = method;
+        this.returnType = method.getReturnType();
+        this.outputType = (outputType == null) ? StepOutputType.AUTO_RESOLVE : outputType;
+        this.outputName = outputName;
+        StepDefinitionScope stepDefinitionScope = method.getDeclaringClass().getAnnotation(StepDefinitionScope.class);
+        this.scope = (stepDefinitionScope == null) ? DefinitionScope.STEP : stepDefinitionScope.value();
+        this.constructor = constructor;
+        this.invoker = invoker;
+        this.parameterBinders = parameterBinders;
+    }
+
+    /**
+     * Binds the step or condition definition method and the no argument constructor of its class.
+     *
+     * @throws ReflectiveOperationException if the method is not accessible or the defining class does not have a no argument constructor
+     */
+    public static DefinitionInvoker bind(Method method, StepOutputType outputType, String outputName) throws ReflectiveOperationException {
+        return bind(method, outputType, outputName, false);
+    }
+
+    /**
+     * Binds the definition method and the no argument constructor of its class.
+     *
+     * @param chaosAction indicates if the method is a chaos action definition
+     * @throws ReflectiveOperationException if the method is not accessible or the defining class does not have a no argument constructor
+     */
+    public static DefinitionInvoker bind(Method method, StepOutputType outputType, String outputName, boolean chaosAction) throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+
+        method.trySetAccessible();
+        MethodHandle invoker = lookup.unreflect(method).asFixedArity();
+
+        if (isStatic) {
+            invoker = MethodHandles.dropArguments(invoker, 0, Object.class);
+        }
+        invoker = invoker.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+
+        MethodHandle constructor = null;
+
+        if (!isStatic) {
+            Constructor<?> noArgConstructor = method.getDeclaringClass().getDeclaredConstructor();
+            noArgConstructor.trySetAccessible();
+            constructor = lookup.unreflectConstructor(noArgConstructor).asType(CONSTRUCTOR_TYPE);
+        }
+
+        return new DefinitionInvoker(method, outputType, outputName, constructor, invoker, ParameterBinder.compile(method, chaosAction));
+    }
+
+    /**
+     * Returns a new definition object or null if the definition method is static.
+     */
+    public Object newInstance() throws Throwable {
+        return (constructor == null) ? null : (Object) constructor.invokeExact();
+    }
+
+    /**
+     * Invokes the definition method on the definition object with the arguments in the order of the method parameters.
+     */
+    public Object invoke(Object definitionObject, Object[] arguments) throws Throwable {
+        // The argument types should match the invoker type exactly
+        Object[] spreadArguments = (arguments == null) ? NO_ARGUMENTS : arguments;
+        return (Object) invoker.invokeExact(definitionObject, spreadArguments);
+    }
+}
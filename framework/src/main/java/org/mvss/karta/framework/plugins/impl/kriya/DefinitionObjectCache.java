@@ -0,0 +1,218 @@
+package org.mvss.karta.framework.plugins.impl.kriya;
+
+import lombok.extern.log4j.Log4j2;
+import org.mvss.karta.Constants;
+import org.mvss.karta.dependencyinjection.BeanRegistry;
+import org.mvss.karta.dependencyinjection.enums.ContextType;
+import org.mvss.karta.framework.enums.DefinitionScope;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of step definition objects reused across steps as per the scope of the step definition class (refer {@link org.mvss.karta.framework.annotations.StepDefinitionScope}).</br>
+ * Objects are created and initialized once per scope: SINGLETON in the cache, THREAD in a thread local of the cache
+ * and SCENARIO and ITERATION in named contexts of the context bean registry of the step (ITERATION falls back to SCENARIO where the iteration context is not shared like for remote scenarios).</br>
+ * Objects of the shared scopes are created outside any lock: the first caller creates the object and concurrent callers for the same class wait for it,
+ * so a slow constructor only delays the callers for its own class.
+ * Thread scoped objects are released with their threads and are not closed by the cache.</br>
+ * The number of objects created and reused per scope are tracked for diagnostics.</br>
+ *
+ * @author Manian
+ */
+@Log4j2
+public class DefinitionObjectCache implements AutoCloseable {
+    /**
+     * Creates and initializes a new definition object.
+     */
+    @FunctionalInterface
+    public interface DefinitionObjectFactory {
+        Object create() throws Throwable;
+    }
+
+    /**
+     * The singleton objects (or their creation in progress) mapped to class name.
+     */
+    private final ConcurrentHashMap<String, Object> singletonObjects = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<HashMap<String, Object>> threadObjects = ThreadLocal.withInitial(HashMap::new);
+
+    private final EnumMap<DefinitionScope, AtomicLong> createdCounts = new EnumMap<>(DefinitionScope.class);
+
+    private final EnumMap<DefinitionScope, AtomicLong> reusedCounts = new EnumMap<>(DefinitionScope.class);
+
+    public DefinitionObjectCache() {
+        for (DefinitionScope scope : DefinitionScope.values()) {
+            createdCounts.put(scope, new AtomicLong());
+            reusedCounts.put(scope, new AtomicLong());
+        }
+    }
+
+    /**
+     * Returns the definition object of the class for the scope creating it with the factory if not already created in the scope.
+     *
+     * @param contextBeanRegistry the context bean registry of the step for the SCENARIO and ITERATION scopes
+     */
+    public Object get(DefinitionScope scope, Class<?> definitionClass, BeanRegistry contextBeanRegistry, DefinitionObjectFactory factory) throws Throwable {
+        String beanName = definitionClass.getName();
+
+        if (scope == DefinitionScope.THREAD) {
+            HashMap<String, Object> objectsOfThread = threadObjects.get();
+            Object definitionObject = objectsOfThread.get(beanName);
+
+            if (definitionObject != null) {
+                reusedCounts.get(scope).incrementAndGet();
+                return definitionObject;
+            }
+
+            definitionObject = factory.create();
+
+            if (definitionObject != null) {
+                objectsOfThread.put(beanName, definitionObject);
+                createdCounts.get(scope).incrementAndGet();
+            }
+            return definitionObject;
+        }
+
+        Map<String, Object> scopeObjects = getScopeObjects(scope, contextBeanRegistry);
+
+        if (scopeObjects == null) {
+            createdCounts.get(DefinitionScope.STEP).incrementAndGet();
+            return factory.create();
+        }
+
+        while (true) {
+            CompletableFuture<Object> newHolder = new CompletableFuture<>();
+            Object existing = putIfAbsent(scopeObjects, beanName, newHolder);
+
+            if (existing == null) {
+                return create(scope, scopeObjects, beanName, newHolder, factory);
+            }
+
+            if (!(existing instanceof CompletableFuture<?> holder)) {
+                reusedCounts.get(scope).incrementAndGet();
+                return existing;
+            }
+
+            Object definitionObject;
+            try {
+                definitionObject = holder.get();
+            } catch (ExecutionException e) {
+                definitionObject = null;
+            }
+
+            if (definitionObject != null) {
+                reusedCounts.get(scope).incrementAndGet();
+                return definitionObject;
+            }
+
+            // The creation in progress failed; retry as the creator if no other caller did
+            remove(scopeObjects, beanName, holder);
+        }
+    }
+
+    private Object create(DefinitionScope scope, Map<String, Object> scopeObjects, String beanName, CompletableFuture<Object> holder, DefinitionObjectFactory factory) throws Throwable {
+        Object definitionObject = null;
+
+        try {
+            definitionObject = factory.create();
+            return definitionObject;
+        } finally {
+            if (definitionObject == null) {
+                remove(scopeObjects, beanName, holder);
+            } else {
+                createdCounts.get(scope).incrementAndGet();
+            }
+            holder.complete(definitionObject);
+        }
+    }
+
+    /**
+     * Puts the value if absent locking the map only for the put if not a concurrent map.
+     */
+    private static Object putIfAbsent(Map<String, Object> scopeObjects, String beanName, Object value) {
+        if (scopeObjects instanceof ConcurrentMap) {
+            return scopeObjects.putIfAbsent(beanName, value);
+        }
+
+        //noinspection SynchronizationOnLocalVariableOrMethodParameter
+        synchronized (scopeObjects) {
+            return scopeObjects.putIfAbsent(beanName, value);
+        }
+    }
+
+    private static void remove(Map<String, Object> scopeObjects, String beanName, Object value) {
+        if (scopeObjects instanceof ConcurrentMap) {
+            scopeObjects.remove(beanName, value);
+            return;
+        }
+
+        //noinspection SynchronizationOnLocalVariableOrMethodParameter
+        synchronized (scopeObjects) {
+            scopeObjects.remove(beanName, value);
+        }
+    }
+
+    private Map<String, Object> getScopeObjects(DefinitionScope scope, BeanRegistry contextBeanRegistry) {
+        switch ((scope == null) ? DefinitionScope.STEP : scope) {
+            case SINGLETON:
+                return singletonObjects;
+
+            case ITERATION:
+                return (contextBeanRegistry == null) ? null : contextBeanRegistry.getBeanMap(ContextType.NAMED, Constants.__ITERATION_DEFINITION_OBJECTS__);
+
+            case SCENARIO:
+                return (contextBeanRegistry == null) ? null : contextBeanRegistry.getBeanMap(ContextType.NAMED, Constants.__SCENARIO_DEFINITION_OBJECTS__);
+
+            default:
+            case STEP:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the number of definition objects created per scope.
+     */
+    public HashMap<DefinitionScope, Long> getCreatedCounts() {
+        return getCounts(createdCounts);
+    }
+
+    /**
+     * Returns the number of times definition objects were reused per scope.
+     */
+    public HashMap<DefinitionScope, Long> getReusedCounts() {
+        return getCounts(reusedCounts);
+    }
+
+    private static HashMap<DefinitionScope, Long> getCounts(EnumMap<DefinitionScope, AtomicLong> counts) {
+        HashMap<DefinitionScope, Long> countsSnapshot = new HashMap<>();
+        counts.forEach((scope, count) -> countsSnapshot.put(scope, count.get()));
+        return countsSnapshot;
+    }
+
+    /**
+     * Closes the singleton definition objects which are AutoCloseable.
+     */
+    @Override
+    public void close() {
+        log.info("Step definition objects created per scope " + getCreatedCounts() + " and reused per scope " + getReusedCounts());
+
+        for (Object singletonObject : singletonObjects.values()) {
+            Object definitionObject = (singletonObject instanceof CompletableFuture<?> holder) ? holder.getNow(null) : singletonObject;
+
+            if (definitionObject instanceof AutoCloseable autoCloseable) {
+                try {
+                    autoCloseable.close();
+                } catch (Throwable t) {
+                    log.error("Exception while closing step definition object " + definitionObject.getClass().getName(), t);
+                }
+            }
+        }
+    }
+}
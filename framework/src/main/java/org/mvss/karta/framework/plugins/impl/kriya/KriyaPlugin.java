@@ -1,8 +1,6 @@
 package org.mvss.karta.framework.plugins.impl.kriya;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JavaType;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -16,6 +14,7 @@ import org.mvss.karta.dependencyinjection.utils.AnnotationScanner;
 import org.mvss.karta.dependencyinjection.utils.ParserUtils;
 import org.mvss.karta.framework.annotations.*;
 import org.mvss.karta.framework.core.StandardStepResults;
+import org.mvss.karta.framework.enums.DefinitionScope;
 import org.mvss.karta.framework.enums.StepOutputType;
 import org.mvss.karta.framework.models.generic.Pair;
 import org.mvss.karta.framework.models.result.ScenarioResult;
@@ -27,15 +26,17 @@ import org.mvss.karta.framework.plugins.StepRunner;
 import org.mvss.karta.framework.plugins.TestLifeCycleHook;
 import org.mvss.karta.framework.runtime.KartaRuntime;
 import org.mvss.karta.framework.runtime.TestFailureException;
+import org.mvss.karta.framework.utils.StepTextTokenizer;
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.function.Consumer;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Log4j2
@@ -47,8 +48,6 @@ public class KriyaPlugin implements FeatureSourceParser, StepRunner, TestLifeCyc
 
     public static final String INLINE_TEST_DATA_PATTERN = "\"(?:[^\\\\\"]+|\\\\.|\\\\\\\\)*\"";
     public static final List<String> conjunctions = Arrays.asList("Given", "When", "Then", "And", "But");
-    private final static Pattern testDataPattern = Pattern.compile(INLINE_TEST_DATA_PATTERN);
-    private static final ObjectMapper objectMapper = ParserUtils.getObjectMapper();
     private final HashMap<String, Pattern> tagPatternMap = new HashMap<>();
     private final HashMap<Pattern, ArrayList<Pair<Object, Method>>> taggedRunStartHooks = new HashMap<>();
     private final HashMap<Pattern, ArrayList<Pair<Object, Method>>> taggedRunStopHooks = new HashMap<>();
@@ -57,10 +56,13 @@ public class KriyaPlugin implements FeatureSourceParser, StepRunner, TestLifeCyc
     private final HashMap<Pattern, ArrayList<Pair<Object, Method>>> taggedScenarioStartHooks = new HashMap<>();
     private final HashMap<Pattern, ArrayList<Pair<Object, Method>>> taggedScenarioStopHooks = new HashMap<>();
     private final HashMap<Pattern, ArrayList<Pair<Object, Method>>> taggedScenarioFailureHooks = new HashMap<>();
-    private final HashMap<String, Method> stepHandlerMap = new HashMap<>();
-    private final HashMap<String, Method> chaosActionHandlerMap = new HashMap<>();
-    private final HashMap<String, Method> conditionDefinitionMap = new HashMap<>();
+    private final HashMap<String, DefinitionInvoker> stepHandlerMap = new HashMap<>();
+    private final StepExpressionIndex stepExpressionIndex = new StepExpressionIndex();
+    private final HashMap<String, StepCachePolicy> stepCachePolicyMap = new HashMap<>();
+    private final HashMap<String, DefinitionInvoker> chaosActionHandlerMap = new HashMap<>();
+    private final HashMap<String, DefinitionInvoker> conditionDefinitionMap = new HashMap<>();
     private final BeanRegistry initializedClassesRegistry = new BeanRegistry();
+    private final DefinitionObjectCache definitionObjectCache = new DefinitionObjectCache();
     private boolean initialized = false;
     @PropertyMapping(group = PLUGIN_NAME, value = "stepDefinitionPackageNames")
     private ArrayList<String> stepDefinitionPackageNames;
@@ -162,21 +164,68 @@ public class KriyaPlugin implements FeatureSourceParser, StepRunner, TestLifeCyc
                     }
                 }
 
-                if (positionalArgumentsCount != StringUtils.countMatches(stepDefString, INLINE_STEP_DEF_PARAM_INDICATOR_STRING)) {
+                StepExpressionIndex.Expression stepExpression = null;
+
+                if (stepDefinition.expression() || StepExpressionIndex.isExpression(stepDefString)) {
+                    try {
+                        stepExpression = StepExpressionIndex.compile(stepDefString);
+                    } catch (IllegalArgumentException e) {
+                        log.error("Step definition method " + methodDescription + " has an invalid step expression: " + e.getMessage());
+                        continue;
+                    }
+                }
+
+                int identifierArgumentsCount = (stepExpression != null) ? stepExpression.getParameterCount() : StringUtils.countMatches(stepDefString, INLINE_STEP_DEF_PARAM_INDICATOR_STRING);
+
+                if (positionalArgumentsCount != identifierArgumentsCount) {
                     log.error("Step definition method " + methodDescription + " does not match the argument count as per the identifier");
                     continue;
                 }
 
+                Class<?> stepDefinitionClass = candidateStepDefinitionMethod.getDeclaringClass();
+                DefinitionInvoker stepDefinitionInvoker = DefinitionInvoker.bind(candidateStepDefinitionMethod, stepDefinition.outputType(), stepDefinition.outputName());
+                stepHandlerMap.put(stepDefString, stepDefinitionInvoker);
+
+                // Indexed only after the handler is bound so that the index never matches an expression without a handler
+                if ((stepExpression != null) && !stepExpressionIndex.add(stepExpression)) {
+                    stepHandlerMap.remove(stepDefString);
+                    continue;
+                }
+
                 log.debug("Mapping step definition " + stepDefString + " to " + methodDescription);
 
-                Class<?> stepDefinitionClass = candidateStepDefinitionMethod.getDeclaringClass();
-                stepHandlerMap.put(stepDefString, candidateStepDefinitionMethod);
+                CachedStep cachedStep = candidateStepDefinitionMethod.getAnnotation(CachedStep.class);
+                if (cachedStep != null) {
+                    try {
+                        Duration ttl = StringUtils.isBlank(cachedStep.ttl()) ? null : Duration.parse(cachedStep.ttl());
+                        stepCachePolicyMap.put(stepDefString, StepCachePolicy.builder().scope(cachedStep.scope()).iterations(cachedStep.iterations()).ttl(ttl).testDataKeys(getBoundTestDataNames(stepDefinitionInvoker)).build());
+                    } catch (DateTimeParseException e) {
+                        log.error("Cached step definition method " + methodDescription + " has an invalid ttl " + cachedStep.ttl());
+                    }
+                }
             }
         } catch (Throwable t) {
             log.error("Exception while parsing step definition from method  " + candidateStepDefinitionMethod.getName(), t);
         }
     }
 
+    /**
+     * Returns the names of the test data bound to the parameters of the definition method or null if the method takes the test execution context and can read any test data.
+     */
+    private static ArrayList<String> getBoundTestDataNames(DefinitionInvoker definitionInvoker) {
+        ArrayList<String> testDataNames = new ArrayList<>();
+
+        for (ParameterBinder parameterBinder : definitionInvoker.getParameterBinders()) {
+            if (parameterBinder.getSource() == ParameterBinder.Source.TEST_EXECUTION_CONTEXT) {
+                return null;
+            }
+            if ((parameterBinder.getSource() == ParameterBinder.Source.TEST_DATA) && !testDataNames.contains(parameterBinder.getName())) {
+                testDataNames.add(parameterBinder.getName());
+            }
+        }
+        return testDataNames;
+    }
+
     public void processConditionMethod(Method candidateConditionMethod) {
         try {
             for (ConditionDefinition conditionDefinition : candidateConditionMethod.getAnnotationsByType(ConditionDefinition.class)) {
@@ -209,7 +258,7 @@ public class KriyaPlugin implements FeatureSourceParser, StepRunner, TestLifeCyc
                 log.debug("Mapping condition definition " + conditionDefString + " to " + methodDescription);
 
                 Class<?> conditionDefinitionClass = candidateConditionMethod.getDeclaringClass();
-                conditionDefinitionMap.put(conditionDefString, candidateConditionMethod);
+                conditionDefinitionMap.put(conditionDefString, DefinitionInvoker.bind(candidateConditionMethod, null, null));
             }
         } catch (Throwable t) {
             log.error("Exception while parsing condition definition from method  " + candidateConditionMethod.getName(), t);
@@ -247,7 +296,7 @@ public class KriyaPlugin implements FeatureSourceParser, StepRunner, TestLifeCyc
                 log.debug("Mapping chaos action definition " + chaosActionName + " to " + methodDescription);
 
                 Class<?> chaosActionDefinitionClass = candidateChaosActionMethod.getDeclaringClass();
-                chaosActionHandlerMap.put(chaosActionName, candidateChaosActionMethod);
+                chaosActionHandlerMap.put(chaosActionName, DefinitionInvoker.bind(candidateChaosActionMethod, chaosActionDefinition.outputType(), chaosActionDefinition.outputName(), true));
             }
         } catch (Throwable t) {
             log.error("Exception while parsing chaos action definition from method  " + candidateChaosActionMethod.getName(), t);
@@ -319,6 +368,8 @@ public class KriyaPlugin implements FeatureSourceParser, StepRunner, TestLifeCyc
             AnnotationScanner.forEachMethod(stepDefinitionPackageNames, BeforeScenario.class, AnnotationScanner.IS_PUBLIC, null, null, processTaggedScenarioStartHook);
             AnnotationScanner.forEachMethod(stepDefinitionPackageNames, AfterScenario.class, AnnotationScanner.IS_PUBLIC, null, null, processTaggedScenarioStopHook);
             AnnotationScanner.forEachMethod(stepDefinitionPackageNames, ScenarioFailed.class, AnnotationScanner.IS_PUBLIC, null, null, processTaggedScenarioFailedHook);
+
+            reportShadowedStepExpressions();
         } else {
             log.warn("No step definition packages found.");
         }
@@ -326,19 +377,33 @@ public class KriyaPlugin implements FeatureSourceParser, StepRunner, TestLifeCyc
         return true;
     }
 
-    public String getConjunctionUsed(String stepIdentifier) {
-        // Handle null stepIdentifier
-        if (StringUtils.isBlank(stepIdentifier)) {
-            return Constants.EMPTY_STRING;
+    /**
+     * Reports step definitions which are matched exactly in preference to step expressions which match the same steps.
+     */
+    private void reportShadowedStepExpressions() {
+        if (stepExpressionIndex.getExpressionCount() == 0) {
+            return;
         }
 
-        stepIdentifier = stepIdentifier.trim();
-        String[] words = stepIdentifier.split(WORD_FETCH_REGEX);
-        String conjunctionUsed;
-        if (conjunctions.contains(words[0])) {
-            return words[0];
+        for (String stepDefString : stepHandlerMap.keySet()) {
+            int inlineArgumentsCount = StringUtils.countMatches(stepDefString, INLINE_STEP_DEF_PARAM_INDICATOR_STRING);
+            StepExpressionIndex.Match expressionMatch = stepExpressionIndex.match(stepDefString, Collections.nCopies(inlineArgumentsCount, INLINE_STEP_DEF_PARAM_INDICATOR_STRING));
+
+            if ((expressionMatch != null) && !expressionMatch.getDefinition().equals(stepDefString)) {
+                log.warn("Step definition " + stepDefString + " is ambiguous with step expression " + expressionMatch.getDefinition() + "; matching steps are mapped to " + stepDefString);
+            }
         }
-        return Constants.EMPTY_STRING;
+    }
+
+    /**
+     * Returns the step expression matching the step if the step does not match a step definition exactly or null otherwise.
+     */
+    private StepExpressionIndex.Match matchStepExpression(String sanitizedIdentifier, List<String> inlineArguments) {
+        return stepHandlerMap.containsKey(sanitizedIdentifier) ? null : stepExpressionIndex.match(sanitizedIdentifier, inlineArguments);
+    }
+
+    public String getConjunctionUsed(String stepIdentifier) {
+        return StepTextTokenizer.getConjunction(stepIdentifier);
     }
 
     public void setConjunctions(List<TestStep> steps) {
@@ -378,29 +443,29 @@ public class KriyaPlugin implements FeatureSourceParser, StepRunner, TestLifeCyc
 
     @Override
     public String sanitizeStepIdentifier(String stepIdentifier) {
-        // Handle null stepIdentifier
-        if (StringUtils.isBlank(stepIdentifier)) {
-            return stepIdentifier;
-        }
-
-        stepIdentifier = stepIdentifier.trim();
-        String[] words = stepIdentifier.split(WORD_FETCH_REGEX);
-        String conjunctionUsed;
-        if (conjunctions.contains(words[0])) {
-            conjunctionUsed = words[0];
-            stepIdentifier = stepIdentifier.substring(conjunctionUsed.length()).trim();
-        }
-        stepIdentifier = stepIdentifier.replaceAll(INLINE_TEST_DATA_PATTERN, INLINE_STEP_DEF_PARAM_INDICATOR_STRING);
+        return StepTextTokenizer.sanitize(stepIdentifier);
+    }
 
-        return stepIdentifier;
+    @Override
+    public List<String> getInlineArguments(String stepIdentifier) {
+        return StepTextTokenizer.getInlineArguments(stepIdentifier);
     }
 
     @Override
     public boolean stepImplemented(String identifier) {
-        return stepHandlerMap.containsKey(sanitizeStepIdentifier(identifier));
+        StepTextTokenizer.TokenizedStep tokenizedStep = StepTextTokenizer.tokenize(identifier);
+        String stepIdentifier = tokenizedStep.getSanitizedIdentifier();
+        return stepHandlerMap.containsKey(stepIdentifier) || (stepExpressionIndex.match(stepIdentifier, tokenizedStep.getInlineArguments()) != null);
     }
 
 
+    @Override
+    public StepCachePolicy getStepCachePolicy(String stepIdentifier) {
+        StepTextTokenizer.TokenizedStep tokenizedStep = StepTextTokenizer.tokenize(stepIdentifier);
+        StepExpressionIndex.Match expressionMatch = matchStepExpression(tokenizedStep.getSanitizedIdentifier(), tokenizedStep.getInlineArguments());
+        return stepCachePolicyMap.get((expressionMatch != null) ? expressionMatch.getDefinition() : tokenizedStep.getSanitizedIdentifier());
+    }
+
     @Override
     public StepResult runStep(PreparedStep testStep) throws TestFailureException {
         StepResult result = new StepResult();
@@ -413,16 +478,20 @@ public class KriyaPlugin implements FeatureSourceParser, StepRunner, TestLifeCyc
             return result;
         }
 
-        String stepIdentifier = testStep.getIdentifier();
+        // Use the identifier and positional arguments pre-parsed in execution plan if available
+        String stepIdentifier = testStep.getSanitizedIdentifier();
+        List<String> inlineStepDefinitionParameters = testStep.getInlineArguments();
 
-        // Fetch the positional argument names
-        ArrayList<String> inlineStepDefinitionParameters = new ArrayList<>();
-        Matcher matcher = testDataPattern.matcher(testStep.getIdentifier().trim());
-        while (matcher.find()) {
-            inlineStepDefinitionParameters.add(matcher.group());
+        if ((stepIdentifier == null) || (inlineStepDefinitionParameters == null)) {
+            inlineStepDefinitionParameters = getInlineArguments(testStep.getIdentifier());
+            stepIdentifier = sanitizeStepIdentifier(testStep.getIdentifier());
         }
 
-        stepIdentifier = sanitizeStepIdentifier(stepIdentifier);
+        StepExpressionIndex.Match expressionMatch = matchStepExpression(stepIdentifier, inlineStepDefinitionParameters);
+        if (expressionMatch != null) {
+            stepIdentifier = expressionMatch.getDefinition();
+            inlineStepDefinitionParameters = expressionMatch.getArguments();
+        }
         if (!stepHandlerMap.containsKey(stepIdentifier)) {
             // TODO: Handling undefined step to ask manual action(other configured handlers) if possible
             String errorMessage = "Missing step definition: " + stepIdentifier;
@@ -438,32 +507,20 @@ public class KriyaPlugin implements FeatureSourceParser, StepRunner, TestLifeCyc
         }
 
         try {
-            Method stepDefMethodToInvoke = stepHandlerMap.get(stepIdentifier);
+            DefinitionInvoker stepDefInvoker = stepHandlerMap.get(stepIdentifier);
 
-            if (stepDefMethodToInvoke == null) {
+            if (stepDefInvoker == null) {
                 log.fatal("Step definition mapping not found for {}", stepIdentifier);
                 System.exit(-2);
             }
 
-            Object stepDefObject = stepDefMethodToInvoke.getDeclaringClass().getDeclaredConstructor().newInstance();
-            kartaRuntime.initializeObject(testStep.getTestExecutionContext().getTestProperties(), stepDefObject);
+            Object stepDefObject = newDefinitionObject(stepDefInvoker, testExecutionContext);
 
             BeanRegistry beanRegistry = testExecutionContext.getContextBeanRegistry();
 
-            Object returnValue = runStepDefMethodWithParameters(testExecutionContext, inlineStepDefinitionParameters, stepDefMethodToInvoke, stepDefObject);
-
-            Class<?> returnType = stepDefMethodToInvoke.getReturnType();
-
-            StepDefinition stepDefinition = stepDefMethodToInvoke.getAnnotation(StepDefinition.class);
-            StepOutputType stepOutputType = StepOutputType.AUTO_RESOLVE;
-            String outputName = null;
+            Object returnValue = stepDefInvoker.invoke(stepDefObject, ParameterBinder.bindArguments(stepDefInvoker.getParameterBinders(), testExecutionContext, null, inlineStepDefinitionParameters));
 
-            if (stepDefinition != null) {
-                stepOutputType = stepDefinition.outputType();
-                outputName = stepDefinition.outputName();
-            }
-
-            result = extractAndProcessStepResult(result, beanRegistry, returnType, returnValue, stepOutputType, outputName);
+            result = extractAndProcessStepResult(result, beanRegistry, stepDefInvoker.getReturnType(), returnValue, stepDefInvoker.getOutputType(), stepDefInvoker.getOutputName());
         } catch (Throwable t) {
             String errorMessage = "Exception occurred while running step definition " + testStep;
             log.error(errorMessage, t);
@@ -474,45 +531,38 @@ public class KriyaPlugin implements FeatureSourceParser, StepRunner, TestLifeCyc
         return result;
     }
 
-    public Object runStepDefMethodWithParameters(TestExecutionContext testExecutionContext, ArrayList<String> inlineParameters, Method methodToInvoke, Object methodDefiningClassObject) throws JsonProcessingException, IllegalAccessException, IllegalArgumentException, InvocationTargetException {
-        HashMap<String, Serializable> testData = testExecutionContext.getTestData();
-        HashMap<String, Serializable> variables = testExecutionContext.getContextData();
-
-        Parameter[] parametersObj = methodToInvoke.getParameters();
-
-        BeanRegistry beanRegistry = testExecutionContext.getContextBeanRegistry();
-
-        ArrayList<Object> values = new ArrayList<>();
-
-        for (int i = 0, positionalArg = 0; i < parametersObj.length; i++) {
-            Class<?> paramType = parametersObj[i].getType();
-            if (paramType == TestExecutionContext.class) {
-                values.add(testExecutionContext);
-                continue;
-            }
+    /**
+     * Returns the definition object for the invoker reused as per the scope of the defining class or created and initialized if not available in the scope.
+     * Returns null for static definition methods.
+     */
+    private Object newDefinitionObject(DefinitionInvoker definitionInvoker, TestExecutionContext testExecutionContext) throws Throwable {
+        if (definitionInvoker.getConstructor() == null) {
+            return null;
+        }
 
-            TestData testDataAnnotation = parametersObj[i].getAnnotation(TestData.class);
-            ContextBean contextBeanAnnotation = parametersObj[i].getAnnotation(ContextBean.class);
-            ContextVariable contextVariableAnnotation = parametersObj[i].getAnnotation(ContextVariable.class);
+        return definitionObjectCache.get(definitionInvoker.getScope(), definitionInvoker.getMethod().getDeclaringClass(), testExecutionContext.getContextBeanRegistry(), () -> {
+            Object definitionObject = definitionInvoker.newInstance();
+            kartaRuntime.initializeObject(testExecutionContext.getTestProperties(), definitionObject);
+            return definitionObject;
+        });
+    }
 
-            JavaType typeToConvertTo = objectMapper.getTypeFactory().constructType(parametersObj[i].getParameterizedType());
+    /**
+     * Returns the number of step definition objects created per scope.
+     */
+    public HashMap<DefinitionScope, Long> getDefinitionObjectCounts() {
+        return definitionObjectCache.getCreatedCounts();
+    }
 
-            if (testDataAnnotation != null) {
-                values.add(objectMapper.convertValue(testData.get(testDataAnnotation.value()), typeToConvertTo));
-            } else if (contextBeanAnnotation != null) {
-                if (beanRegistry != null) {
-                    values.add(beanRegistry.get(contextBeanAnnotation.value()));
-                } else {
-                    values.add(null);
-                }
-            } else if (contextVariableAnnotation != null) {
-                values.add(objectMapper.convertValue(variables.get(contextVariableAnnotation.value()), typeToConvertTo));
-            } else {
-                values.add(objectMapper.readValue(inlineParameters.get(positionalArg++), typeToConvertTo));
-            }
-        }
+    public Object runStepDefMethodWithParameters(TestExecutionContext testExecutionContext, List<String> inlineParameters, Method methodToInvoke, Object methodDefiningClassObject) throws JsonProcessingException, IllegalAccessException, IllegalArgumentException, InvocationTargetException {
+        return methodToInvoke.invoke(methodDefiningClassObject, getStepDefMethodArguments(testExecutionContext, inlineParameters, methodToInvoke));
+    }
 
-        return values.isEmpty() ? methodToInvoke.invoke(methodDefiningClassObject) : methodToInvoke.invoke(methodDefiningClassObject, values.toArray());
+    /**
+     * Returns the arguments for the step or condition definition method from the test execution context and inline parameters.
+     */
+    public Object[] getStepDefMethodArguments(TestExecutionContext testExecutionContext, List<String> inlineParameters, Method methodToInvoke) throws JsonProcessingException {
+        return ParameterBinder.bindArguments(ParameterBinder.compile(methodToInvoke, false), testExecutionContext, null, inlineParameters);
     }
 
     private StepResult extractAndProcessStepResult(StepResult result, BeanRegistry beanRegistry, Class<?> returnType, Object returnValue, StepOutputType stepOutputType, String outputName) {
@@ -585,8 +635,6 @@ public class KriyaPlugin implements FeatureSourceParser, StepRunner, TestLifeCyc
         StepResult result = new StepResult();
 
         TestExecutionContext testExecutionContext = preparedChaosAction.getTestExecutionContext();
-        HashMap<String, Serializable> testData = testExecutionContext.getTestData();
-        HashMap<String, Serializable> variables = testExecutionContext.getContextData();
 
         log.debug("Chaos actions run" + preparedChaosAction);
 
@@ -606,61 +654,22 @@ public class KriyaPlugin implements FeatureSourceParser, StepRunner, TestLifeCyc
                 return StandardStepResults.error(errorMessage);
             }
 
-            Method chaosActionHandlerMethodToInvoke = chaosActionHandlerMap.get(chaosActionName);
+            DefinitionInvoker chaosActionHandlerInvoker = chaosActionHandlerMap.get(chaosActionName);
 
-            if (chaosActionHandlerMethodToInvoke == null) {
+            if (chaosActionHandlerInvoker == null) {
                 log.fatal("Chaos action definition mapping not found for {}", chaosActionName);
                 System.exit(-2);
             }
 
-            Object chaosActionHandlerObject = chaosActionHandlerMethodToInvoke.getDeclaringClass().getDeclaredConstructor().newInstance();
-            kartaRuntime.initializeObject(preparedChaosAction.getTestExecutionContext().getTestProperties(), chaosActionHandlerObject);
+            Object chaosActionHandlerObject = newDefinitionObject(chaosActionHandlerInvoker, testExecutionContext);
 
-            Parameter[] parametersObj = chaosActionHandlerMethodToInvoke.getParameters();
-            ArrayList<Object> values = new ArrayList<>();
+            Object[] arguments = ParameterBinder.bindArguments(chaosActionHandlerInvoker.getParameterBinders(), testExecutionContext, preparedChaosAction, null);
             BeanRegistry beanRegistry = testExecutionContext.getContextBeanRegistry();
 
-            for (Parameter parameter : parametersObj) {
-                Class<?> paramType = parameter.getType();
-
-                if (paramType == TestExecutionContext.class) {
-                    values.add(testExecutionContext);
-                } else if (paramType == PreparedChaosAction.class) {
-                    values.add(preparedChaosAction);
-                } else {
-                    TestData testDataAnnotation = parameter.getAnnotation(TestData.class);
-                    ContextBean contextBeanAnnotation = parameter.getAnnotation(ContextBean.class);
-                    ContextVariable contextVariableAnnotation = parameter.getAnnotation(ContextVariable.class);
-
-                    JavaType typeToConvertTo = objectMapper.getTypeFactory().constructType(parameter.getParameterizedType());
-
-                    if (testDataAnnotation != null) {
-                        values.add(objectMapper.convertValue(testData.get(testDataAnnotation.value()), typeToConvertTo));
-                    } else if (contextBeanAnnotation != null) {
-                        if (beanRegistry != null) {
-                            values.add(beanRegistry.get(contextBeanAnnotation.value()));
-                        } else {
-                            values.add(null);
-                        }
-                    } else if (contextVariableAnnotation != null) {
-                        values.add(objectMapper.convertValue(variables.get(contextVariableAnnotation.value()), typeToConvertTo));
-                    }
-                }
-
-                Class<?> returnType = chaosActionHandlerMethodToInvoke.getReturnType();
-                Object returnValue = chaosActionHandlerMethodToInvoke.invoke(chaosActionHandlerObject, values.toArray());
-
-                ChaosActionDefinition chaosActionDefinition = chaosActionHandlerMethodToInvoke.getAnnotation(ChaosActionDefinition.class);
-                StepOutputType stepOutputType = StepOutputType.AUTO_RESOLVE;
-                String outputName = null;
+            // The chaos action is invoked once with all the arguments bound
+            Object returnValue = chaosActionHandlerInvoker.invoke(chaosActionHandlerObject, arguments);
 
-                if (chaosActionDefinition != null) {
-                    stepOutputType = chaosActionDefinition.outputType();
-                    outputName = chaosActionDefinition.outputName();
-                }
-
-                result = extractAndProcessStepResult(result, beanRegistry, returnType, returnValue, stepOutputType, outputName);
-            }
+            result = extractAndProcessStepResult(result, beanRegistry, chaosActionHandlerInvoker.getReturnType(), returnValue, chaosActionHandlerInvoker.getOutputType(), chaosActionHandlerInvoker.getOutputName());
         } catch (Throwable t) {
             String errorMessage = "Exception occurred while running chaos action " + preparedChaosAction;
             log.error(errorMessage, t);
@@ -688,13 +697,10 @@ public class KriyaPlugin implements FeatureSourceParser, StepRunner, TestLifeCyc
         }
 
         // Fetch the positional argument names
-        ArrayList<String> inlineStepDefinitionParameters = new ArrayList<>();
-        Matcher matcher = testDataPattern.matcher(conditionIdentifier.trim());
-        while (matcher.find()) {
-            inlineStepDefinitionParameters.add(matcher.group());
-        }
+        StepTextTokenizer.TokenizedStep tokenizedCondition = StepTextTokenizer.tokenize(conditionIdentifier);
+        List<String> inlineStepDefinitionParameters = tokenizedCondition.getInlineArguments();
 
-        conditionIdentifier = sanitizeStepIdentifier(conditionIdentifier);
+        conditionIdentifier = tokenizedCondition.getSanitizedIdentifier();
         if (!conditionDefinitionMap.containsKey(conditionIdentifier)) {
             // TODO: Handling undefined step to ask manual action(other configured handlers) if possible
             String errorMessage = "Missing condition definition: " + conditionIdentifier;
@@ -710,23 +716,22 @@ public class KriyaPlugin implements FeatureSourceParser, StepRunner, TestLifeCyc
         }
 
         try {
-            Method conditionDefMethodToInvoke = conditionDefinitionMap.get(conditionIdentifier);
+            DefinitionInvoker conditionDefInvoker = conditionDefinitionMap.get(conditionIdentifier);
 
-            if (conditionDefMethodToInvoke == null) {
+            if (conditionDefInvoker == null) {
                 log.fatal("Condition definition mapping not found for {}", conditionIdentifier);
                 System.exit(-2);
             }
 
-            Object conditionDefObject = conditionDefMethodToInvoke.getDeclaringClass().getDeclaredConstructor().newInstance();
-            kartaRuntime.initializeObject(testExecutionContext.getTestProperties(), conditionDefObject);
-
-            Class<?> returnType = conditionDefMethodToInvoke.getReturnType();
+            Class<?> returnType = conditionDefInvoker.getReturnType();
 
             if ((returnType != boolean.class) && (returnType != Boolean.class)) {
                 return false;
             }
 
-            return (boolean) (Boolean) runStepDefMethodWithParameters(testExecutionContext, inlineStepDefinitionParameters, conditionDefMethodToInvoke, conditionDefObject);
+            Object conditionDefObject = newDefinitionObject(conditionDefInvoker, testExecutionContext);
+
+            return (boolean) (Boolean) conditionDefInvoker.invoke(conditionDefObject, ParameterBinder.bindArguments(conditionDefInvoker.getParameterBinders(), testExecutionContext, null, inlineStepDefinitionParameters));
         } catch (Throwable t) {
             String errorMessage = "Exception occurred while running step definition " + conditionIdentifier;
             log.error(errorMessage, t);
@@ -824,4 +829,8 @@ public class KriyaPlugin implements FeatureSourceParser, StepRunner, TestLifeCyc
         return true;
     }
 
+    @Override
+    public void close() {
+        definitionObjectCache.close();
+    }
 }
@@ -0,0 +1,211 @@
+package org.mvss.karta.framework.plugins.impl.kriya;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import org.apache.commons.lang3.ClassUtils;
+import org.mvss.karta.dependencyinjection.BeanRegistry;
+import org.mvss.karta.dependencyinjection.utils.ParserUtils;
+import org.mvss.karta.framework.annotations.ContextBean;
+import org.mvss.karta.framework.annotations.ContextVariable;
+import org.mvss.karta.framework.annotations.TestData;
+import org.mvss.karta.framework.models.run.TestExecutionContext;
+import org.mvss.karta.framework.models.test.PreparedChaosAction;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Binder for a parameter of a step, condition or chaos action definition method compiled once when the definition is registered.</br>
+ * The source of the argument (test execution context, test data, context bean, context variable or inline positional argument) and the Jackson type to convert to are resolved once.
+ * Values already of the parameter type are passed as is and quoted inline strings are unquoted without the object mapper.
+ * Inline literals parsed into immutable types (primitives, wrappers, strings and enums) are cached per literal for reuse by steps repeating the same step text.</br>
+ *
+ * @author Manian
+ */
+@Getter
+public class ParameterBinder {
+    /**
+     * The maximum number of parsed inline literals cached per parameter.
+     */
+    public static final int MAX_CACHED_INLINE_LITERALS = 256;
+
+    private static final ObjectMapper objectMapper = ParserUtils.getObjectMapper();
+
+    /**
+     * The source of the argument for the parameter
+     */
+    public enum Source {
+        TEST_EXECUTION_CONTEXT,
+        PREPARED_CHAOS_ACTION,
+        TEST_DATA,
+        CONTEXT_BEAN,
+        CONTEXT_VARIABLE,
+        POSITIONAL,
+        UNMAPPED
+    }
+
+    private final Source source;
+
+    /**
+     * The test data, context bean or context variable name.
+     */
+    private final String name;
+
+    /**
+     * The index of the inline positional argument for POSITIONAL parameters.
+     */
+    private final int positionalIndex;
+
+    private final JavaType javaType;
+
+    /**
+     * The parameter type with primitives boxed for checking if values can be passed as is.
+     */
+    private final Class<?> boxedType;
+
+    /**
+     * Indicates if values can be passed as is when instances of the parameter type.
+     * Only immutable types are passed as is; values of mutable types (like maps, lists and POJOs) are converted into a copy
+     * since test data and variables are shared by concurrent iterations and steps may modify their arguments.
+     */
+    private final boolean identityConvertible;
+
+    private final ConcurrentHashMap<String, Object> parsedInlineLiterals;
+
+    private ParameterBinder(Source source, String name, int positionalIndex, Parameter parameter) {
+        this.source = source;
+        this.name = name;
+        this.positionalIndex = positionalIndex;
+
+        Class<?> parameterType = parameter.getType();
+        this.javaType = objectMapper.getTypeFactory().constructType(parameter.getParameterizedType());
+        this.boxedType = ClassUtils.primitiveToWrapper(parameterType);
+        boolean immutableType = ClassUtils.isPrimitiveOrWrapper(parameterType) || (parameterType == String.class) || parameterType.isEnum();
+        this.identityConvertible = immutableType;
+        this.parsedInlineLiterals = ((source == Source.POSITIONAL) && immutableType) ? new ConcurrentHashMap<>() : null;
+    }
+
+    /**
+     * Compiles the binders for the parameters of the definition method in the order of the parameters.
+     *
+     * @param chaosAction indicates if the method is a chaos action definition which takes the prepared chaos action and does not take positional arguments
+     */
+    public static ParameterBinder[] compile(Method method, boolean chaosAction) {
+        Parameter[] parameters = method.getParameters();
+        ParameterBinder[] parameterBinders = new ParameterBinder[parameters.length];
+
+        for (int i = 0, positionalArg = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            Class<?> parameterType = parameter.getType();
+
+            TestData testDataAnnotation = parameter.getAnnotation(TestData.class);
+            ContextBean contextBeanAnnotation = parameter.getAnnotation(ContextBean.class);
+            ContextVariable contextVariableAnnotation = parameter.getAnnotation(ContextVariable.class);
+
+            if (parameterType == TestExecutionContext.class) {
+                parameterBinders[i] = new ParameterBinder(Source.TEST_EXECUTION_CONTEXT, null, -1, parameter);
+            } else if (chaosAction && (parameterType == PreparedChaosAction.class)) {
+                parameterBinders[i] = new ParameterBinder(Source.PREPARED_CHAOS_ACTION, null, -1, parameter);
+            } else if (testDataAnnotation != null) {
+                parameterBinders[i] = new ParameterBinder(Source.TEST_DATA, testDataAnnotation.value(), -1, parameter);
+            } else if (contextBeanAnnotation != null) {
+                parameterBinders[i] = new ParameterBinder(Source.CONTEXT_BEAN, contextBeanAnnotation.value(), -1, parameter);
+            } else if (contextVariableAnnotation != null) {
+                parameterBinders[i] = new ParameterBinder(Source.CONTEXT_VARIABLE, contextVariableAnnotation.value(), -1, parameter);
+            } else if (chaosAction) {
+                // Unmapped parameters are reported on registration
+                parameterBinders[i] = new ParameterBinder(Source.UNMAPPED, null, -1, parameter);
+            } else {
+                parameterBinders[i] = new ParameterBinder(Source.POSITIONAL, null, positionalArg++, parameter);
+            }
+        }
+
+        return parameterBinders;
+    }
+
+    /**
+     * Returns the arguments for the definition method bound by the parameter binders.
+     *
+     * @param preparedChaosAction the chaos action being performed or null for steps and conditions
+     * @param inlineParameters    the quoted inline positional arguments of the step or condition identifier
+     */
+    public static Object[] bindArguments(ParameterBinder[] parameterBinders, TestExecutionContext testExecutionContext, PreparedChaosAction preparedChaosAction, List<String> inlineParameters) throws JsonProcessingException {
+        Object[] arguments = new Object[parameterBinders.length];
+
+        for (int i = 0; i < parameterBinders.length; i++) {
+            arguments[i] = parameterBinders[i].bind(testExecutionContext, preparedChaosAction, inlineParameters);
+        }
+
+        return arguments;
+    }
+
+    /**
+     * Returns the argument for the parameter.
+     */
+    public Object bind(TestExecutionContext testExecutionContext, PreparedChaosAction preparedChaosAction, List<String> inlineParameters) throws JsonProcessingException {
+        switch (source) {
+            case TEST_EXECUTION_CONTEXT:
+                return testExecutionContext;
+
+            case PREPARED_CHAOS_ACTION:
+                return preparedChaosAction;
+
+            case TEST_DATA:
+                HashMap<String, Serializable> testData = testExecutionContext.getTestData();
+                return convert((testData == null) ? null : testData.get(name));
+
+            case CONTEXT_BEAN:
+                BeanRegistry beanRegistry = testExecutionContext.getContextBeanRegistry();
+                return (beanRegistry == null) ? null : beanRegistry.get(name);
+
+            case CONTEXT_VARIABLE:
+                HashMap<String, Serializable> variables = testExecutionContext.getContextData();
+                return convert((variables == null) ? null : variables.get(name));
+
+            case POSITIONAL:
+                return parseInlineLiteral(inlineParameters.get(positionalIndex));
+
+            case UNMAPPED:
+            default:
+                return null;
+        }
+    }
+
+    private Object convert(Object value) {
+        if ((value == null) || (identityConvertible && boxedType.isInstance(value))) {
+            return value;
+        }
+        return objectMapper.convertValue(value, javaType);
+    }
+
+    private Object parseInlineLiteral(String literal) throws JsonProcessingException {
+        if (parsedInlineLiterals == null) {
+            return parseLiteral(literal);
+        }
+
+        Object parsedValue = parsedInlineLiterals.get(literal);
+
+        if (parsedValue == null) {
+            parsedValue = parseLiteral(literal);
+
+            if ((parsedValue != null) && (parsedInlineLiterals.size() < MAX_CACHED_INLINE_LITERALS)) {
+                parsedInlineLiterals.put(literal, parsedValue);
+            }
+        }
+        return parsedValue;
+    }
+
+    private Object parseLiteral(String literal) throws JsonProcessingException {
+        // Quoted strings without escape sequences need not be parsed as JSON
+        if ((boxedType == String.class) && (literal.length() >= 2) && (literal.charAt(0) == '"') && (literal.charAt(literal.length() - 1) == '"') && (literal.indexOf('\\') < 0)) {
+            return literal.substring(1, literal.length() - 1);
+        }
+        return objectMapper.readValue(literal, javaType);
+    }
+}
@@ -0,0 +1,609 @@
+package org.mvss.karta.framework.plugins.impl.kriya;
+
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Index of expression based step definitions matched token by token using a trie over the step definition tokens.</br>
+ * Step expressions support the parameter types {int}, {float}, {word} and {string} ("" is the same as {string})
+ * and optional text in parentheses (like "{int} item(s) (are )added"). Special characters are escaped with a backslash.
+ * Optional text is expanded into variants of the expression when the expression is compiled.</br>
+ * Step texts are matched against the sanitized identifier (quoted inline arguments replaced with "") with literal tokens looked up by hash
+ * so that matching cost depends on the length of the step text and not on the number of step definitions.
+ * Tokens are matched in the order literal, {string}, {int}, {float}, {word} and then tokens mixing text and parameters (like {int}ms).</br>
+ * Expressions matching the same step texts as an already indexed expression are rejected and overlapping expressions are reported when being added.</br>
+ * Not synchronized. Expressions are to be added while initializing and the index is read only afterwards.</br>
+ *
+ * @author Manian
+ */
+@Log4j2
+public class StepExpressionIndex {
+    /**
+     * The maximum number of optional text groups in an expression.
+     */
+    public static final int MAX_OPTIONAL_GROUPS = 8;
+
+    private static final String INLINE_ARGUMENT_PLACEHOLDER = "\"\"";
+
+    /**
+     * Characters in the private use area marking parameters in the expanded variants of expressions.
+     */
+    private static final char PARAMETER_MARKER = '\uE000';
+
+    private final Node root = new Node();
+
+    @Getter
+    private int expressionCount = 0;
+
+    /**
+     * Parameter types of step expressions in the order of matching precedence.
+     */
+    public enum ParameterType {
+        STRING("string", INLINE_ARGUMENT_PLACEHOLDER),
+        INT("int", "-?\\d+"),
+        FLOAT("float", "-?\\d+(?:\\.\\d+)?(?:[eE][-+]?\\d+)?"),
+        WORD("word", "[^\\s\"]+");
+
+        private final String typeName;
+
+        private final String regex;
+
+        private final Pattern pattern;
+
+        ParameterType(String typeName, String regex) {
+            this.typeName = typeName;
+            this.regex = regex;
+            this.pattern = Pattern.compile(regex);
+        }
+
+        private static ParameterType forName(String typeName) {
+            for (ParameterType parameterType : values()) {
+                if (parameterType.typeName.equals(typeName)) {
+                    return parameterType;
+                }
+            }
+            return null;
+        }
+
+        private char marker() {
+            return (char) (PARAMETER_MARKER + ordinal());
+        }
+
+        private static ParameterType forMarker(char c) {
+            int index = c - PARAMETER_MARKER;
+            return ((index >= 0) && (index < values().length)) ? values()[index] : null;
+        }
+
+        /**
+         * Returns the argument as a JSON literal for the parameter value matched in the step text.
+         */
+        private String toArgument(String value) {
+            return (this == WORD) ? ("\"" + value.replace("\\", "\\\\") + "\"") : value;
+        }
+
+        /**
+         * Indicates if a step text token can match both the parameter types.
+         */
+        private boolean overlaps(ParameterType other) {
+            return (this == other) || ((this != STRING) && (other != STRING));
+        }
+    }
+
+    /**
+     * A step expression compiled into variants of token matchers.
+     */
+    @Getter
+    public static class Expression {
+        private final String definition;
+
+        private final int parameterCount;
+
+        private final List<List<TokenMatcher>> variants;
+
+        private Expression(String definition, int parameterCount, List<List<TokenMatcher>> variants) {
+            this.definition = definition;
+            this.parameterCount = parameterCount;
+            this.variants = variants;
+        }
+    }
+
+    /**
+     * The step expression matching a step text and the arguments for its parameters as JSON literals in order.
+     */
+    @Getter
+    public static class Match {
+        private final String definition;
+
+        private final List<String> arguments;
+
+        private Match(String definition, List<String> arguments) {
+            this.definition = definition;
+            this.arguments = arguments;
+        }
+    }
+
+    private enum TokenKind {
+        LITERAL,
+        PARAMETER,
+        COMPOSITE
+    }
+
+    /**
+     * Matcher for a single whitespace separated token of step texts.
+     */
+    private static class TokenMatcher {
+        private final TokenKind kind;
+
+        /**
+         * The literal token, the parameter type name or the regex of the composite token.
+         */
+        private final String key;
+
+        private final ParameterType parameterType;
+
+        private final Pattern pattern;
+
+        private final List<ParameterType> parameterTypes;
+
+        /**
+         * The literal text before the first and after the last parameter of composite tokens.
+         */
+        private final String prefix;
+
+        private final String suffix;
+
+        private TokenMatcher(TokenKind kind, String key, ParameterType parameterType, Pattern pattern, List<ParameterType> parameterTypes, String prefix, String suffix) {
+            this.kind = kind;
+            this.key = key;
+            this.parameterType = parameterType;
+            this.pattern = pattern;
+            this.parameterTypes = parameterTypes;
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        private static TokenMatcher of(String token) {
+            if ((token.length() == 1) && (ParameterType.forMarker(token.charAt(0)) != null)) {
+                ParameterType parameterType = ParameterType.forMarker(token.charAt(0));
+                return new TokenMatcher(TokenKind.PARAMETER, parameterType.typeName, parameterType, parameterType.pattern, List.of(parameterType), "", "");
+            }
+
+            StringBuilder regex = new StringBuilder();
+            ArrayList<ParameterType> parameterTypes = new ArrayList<>();
+            int literalStart = 0;
+            int firstParameter = -1;
+            int lastParameter = -1;
+
+            for (int i = 0; i < token.length(); i++) {
+                ParameterType parameterType = ParameterType.forMarker(token.charAt(i));
+
+                if (parameterType != null) {
+                    if (i > literalStart) {
+                        regex.append(Pattern.quote(token.substring(literalStart, i)));
+                    }
+                    regex.append('(').append(parameterType.regex).append(')');
+                    parameterTypes.add(parameterType);
+                    literalStart = i + 1;
+
+                    if (firstParameter < 0) {
+                        firstParameter = i;
+                    }
+                    lastParameter = i;
+                }
+            }
+
+            if (parameterTypes.isEmpty()) {
+                return new TokenMatcher(TokenKind.LITERAL, token, null, null, null, token, token);
+            }
+
+            if (literalStart < token.length()) {
+                regex.append(Pattern.quote(token.substring(literalStart)));
+            }
+
+            String regexString = regex.toString();
+            return new TokenMatcher(TokenKind.COMPOSITE, regexString, null, Pattern.compile(regexString), parameterTypes, token.substring(0, firstParameter), token.substring(lastParameter + 1));
+        }
+
+        private boolean matches(String token) {
+            return (kind == TokenKind.LITERAL) ? key.equals(token) : pattern.matcher(token).matches();
+        }
+
+        /**
+         * Indicates if a step text token can match both the matchers. Approximate for composite tokens.
+         */
+        private boolean overlaps(TokenMatcher other) {
+            if (kind == TokenKind.LITERAL) {
+                return other.matches(key);
+            }
+
+            if (other.kind == TokenKind.LITERAL) {
+                return matches(other.key);
+            }
+
+            if ((kind == TokenKind.PARAMETER) && (other.kind == TokenKind.PARAMETER)) {
+                return parameterType.overlaps(other.parameterType);
+            }
+
+            if (kind == TokenKind.PARAMETER) {
+                return other.overlapsParameter(parameterType);
+            }
+
+            if (other.kind == TokenKind.PARAMETER) {
+                return overlapsParameter(other.parameterType);
+            }
+
+            return key.equals(other.key) || ((prefix.startsWith(other.prefix) || other.prefix.startsWith(prefix)) && (suffix.endsWith(other.suffix) || other.suffix.endsWith(suffix)));
+        }
+
+        private boolean overlapsParameter(ParameterType other) {
+            switch (other) {
+                case STRING:
+                    return matches(INLINE_ARGUMENT_PLACEHOLDER);
+
+                case WORD:
+                    return !parameterTypes.contains(ParameterType.STRING) && !prefix.contains("\"") && !suffix.contains("\"");
+
+                default:
+                    return StringUtils.containsOnly(prefix + suffix, "0123456789.eE+-");
+            }
+        }
+    }
+
+    private static class Node {
+        private HashMap<String, Node> literalChildren;
+
+        private EnumMap<ParameterType, Node> parameterChildren;
+
+        private LinkedHashMap<String, Node> compositeChildren;
+
+        private LinkedHashMap<String, TokenMatcher> compositeMatchers;
+
+        private String definition;
+
+        private Node child(TokenMatcher tokenMatcher, boolean create) {
+            switch (tokenMatcher.kind) {
+                case LITERAL:
+                    if (literalChildren == null) {
+                        if (!create) {
+                            return null;
+                        }
+                        literalChildren = new HashMap<>();
+                    }
+                    return create ? literalChildren.computeIfAbsent(tokenMatcher.key, key -> new Node()) : literalChildren.get(tokenMatcher.key);
+
+                case PARAMETER:
+                    if (parameterChildren == null) {
+                        if (!create) {
+                            return null;
+                        }
+                        parameterChildren = new EnumMap<>(ParameterType.class);
+                    }
+                    return create ? parameterChildren.computeIfAbsent(tokenMatcher.parameterType, parameterType -> new Node()) : parameterChildren.get(tokenMatcher.parameterType);
+
+                case COMPOSITE:
+                default:
+                    if (compositeChildren == null) {
+                        if (!create) {
+                            return null;
+                        }
+                        compositeChildren = new LinkedHashMap<>();
+                        compositeMatchers = new LinkedHashMap<>();
+                    }
+                    if (create) {
+                        compositeMatchers.putIfAbsent(tokenMatcher.key, tokenMatcher);
+                        return compositeChildren.computeIfAbsent(tokenMatcher.key, key -> new Node());
+                    }
+                    return compositeChildren.get(tokenMatcher.key);
+            }
+        }
+    }
+
+    /**
+     * Indicates if the step definition uses parameter types and is to be compiled as a step expression.
+     */
+    public static boolean isExpression(String definition) {
+        if (definition == null) {
+            return false;
+        }
+
+        for (ParameterType parameterType : ParameterType.values()) {
+            if (definition.contains("{" + parameterType.typeName + "}")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compiles the step expression into variants of token matchers.
+     *
+     * @throws IllegalArgumentException if the expression is not valid
+     */
+    public static Expression compile(String definition) {
+        // Parts of the expression which are either required text or optional text
+        ArrayList<String> parts = new ArrayList<>();
+        ArrayList<Boolean> optional = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        boolean inOptional = false;
+        int parameterCount = 0;
+
+        for (int i = 0; i < definition.length(); i++) {
+            char c = definition.charAt(i);
+
+            if ((c == '\\') && (i + 1 < definition.length())) {
+                text.append(definition.charAt(++i));
+            } else if (c == '(') {
+                if (inOptional) {
+                    throw new IllegalArgumentException("Nested optional text in step expression " + definition);
+                }
+                parts.add(text.toString());
+                optional.add(false);
+                text.setLength(0);
+                inOptional = true;
+            } else if ((c == ')') && inOptional) {
+                parts.add(text.toString());
+                optional.add(true);
+                text.setLength(0);
+                inOptional = false;
+            } else if ((c == '{') || ((c == '"') && definition.startsWith(INLINE_ARGUMENT_PLACEHOLDER, i))) {
+                ParameterType parameterType;
+
+                if (c == '{') {
+                    int closingBrace = definition.indexOf('}', i);
+                    if (closingBrace < 0) {
+                        throw new IllegalArgumentException("Unterminated parameter in step expression " + definition);
+                    }
+                    parameterType = ParameterType.forName(definition.substring(i + 1, closingBrace));
+                    if (parameterType == null) {
+                        throw new IllegalArgumentException("Unknown parameter type " + definition.substring(i, closingBrace + 1) + " in step expression " + definition);
+                    }
+                    i = closingBrace;
+                } else {
+                    parameterType = ParameterType.STRING;
+                    i++;
+                }
+
+                if (inOptional) {
+                    throw new IllegalArgumentException("Parameters are not allowed in optional text of step expression " + definition);
+                }
+                text.append(parameterType.marker());
+                parameterCount++;
+            } else {
+                text.append(c);
+            }
+        }
+
+        if (inOptional) {
+            throw new IllegalArgumentException("Unterminated optional text in step expression " + definition);
+        }
+        parts.add(text.toString());
+        optional.add(false);
+
+        int optionalCount = Collections.frequency(optional, true);
+        if (optionalCount > MAX_OPTIONAL_GROUPS) {
+            throw new IllegalArgumentException("Step expression " + definition + " has more than " + MAX_OPTIONAL_GROUPS + " optional text groups");
+        }
+
+        ArrayList<List<TokenMatcher>> variants = new ArrayList<>();
+        HashSet<String> expandedVariants = new HashSet<>();
+
+        for (int mask = 0; mask < (1 << optionalCount); mask++) {
+            StringBuilder variant = new StringBuilder();
+
+            for (int i = 0, optionalIndex = 0; i < parts.size(); i++) {
+                if (!optional.get(i) || ((mask & (1 << optionalIndex++)) != 0)) {
+                    variant.append(parts.get(i));
+                }
+            }
+
+            String[] tokens = StringUtils.split(variant.toString());
+
+            if ((tokens.length == 0) || !expandedVariants.add(String.join(" ", tokens))) {
+                continue;
+            }
+
+            ArrayList<TokenMatcher> tokenMatchers = new ArrayList<>(tokens.length);
+            for (String token : tokens) {
+                tokenMatchers.add(TokenMatcher.of(token));
+            }
+            variants.add(tokenMatchers);
+        }
+
+        if (variants.isEmpty()) {
+            throw new IllegalArgumentException("Empty step expression " + definition);
+        }
+
+        return new Expression(definition, parameterCount, variants);
+    }
+
+    /**
+     * Adds the compiled expression to the index. Expressions matching the same step texts as an indexed expression are not added.
+     *
+     * @return false if the expression is not added
+     */
+    public boolean add(Expression expression) {
+        String definition = expression.getDefinition();
+
+        for (List<TokenMatcher> variant : expression.getVariants()) {
+            Node node = root;
+            for (int i = 0; (node != null) && (i < variant.size()); i++) {
+                node = node.child(variant.get(i), false);
+            }
+
+            if ((node != null) && (node.definition != null) && !node.definition.equals(definition)) {
+                log.error("Step expression " + definition + " is ambiguous with step expression " + node.definition + " and is not mapped");
+                return false;
+            }
+        }
+
+        LinkedHashSet<String> overlappingDefinitions = new LinkedHashSet<>();
+        for (List<TokenMatcher> variant : expression.getVariants()) {
+            collectOverlappingDefinitions(root, variant, 0, overlappingDefinitions);
+        }
+        overlappingDefinitions.remove(definition);
+
+        for (String overlappingDefinition : overlappingDefinitions) {
+            log.warn("Step expression " + definition + " overlaps with step expression " + overlappingDefinition + "; steps matching both are mapped by matching precedence of tokens (literal, {string}, {int}, {float}, {word})");
+        }
+
+        for (List<TokenMatcher> variant : expression.getVariants()) {
+            Node node = root;
+            for (TokenMatcher tokenMatcher : variant) {
+                node = node.child(tokenMatcher, true);
+            }
+            node.definition = definition;
+        }
+
+        expressionCount++;
+        return true;
+    }
+
+    private void collectOverlappingDefinitions(Node node, List<TokenMatcher> variant, int index, Set<String> overlappingDefinitions) {
+        if (index == variant.size()) {
+            if (node.definition != null) {
+                overlappingDefinitions.add(node.definition);
+            }
+            return;
+        }
+
+        TokenMatcher tokenMatcher = variant.get(index);
+
+        if (node.literalChildren != null) {
+            if (tokenMatcher.kind == TokenKind.LITERAL) {
+                Node child = node.literalChildren.get(tokenMatcher.key);
+                if (child != null) {
+                    collectOverlappingDefinitions(child, variant, index + 1, overlappingDefinitions);
+                }
+            } else {
+                for (Map.Entry<String, Node> literalChild : node.literalChildren.entrySet()) {
+                    if (tokenMatcher.matches(literalChild.getKey())) {
+                        collectOverlappingDefinitions(literalChild.getValue(), variant, index + 1, overlappingDefinitions);
+                    }
+                }
+            }
+        }
+
+        if (node.parameterChildren != null) {
+            for (Map.Entry<ParameterType, Node> parameterChild : node.parameterChildren.entrySet()) {
+                ParameterType parameterType = parameterChild.getKey();
+                if (tokenMatcher.overlaps(new TokenMatcher(TokenKind.PARAMETER, parameterType.typeName, parameterType, parameterType.pattern, List.of(parameterType), "", ""))) {
+                    collectOverlappingDefinitions(parameterChild.getValue(), variant, index + 1, overlappingDefinitions);
+                }
+            }
+        }
+
+        if (node.compositeChildren != null) {
+            for (Map.Entry<String, TokenMatcher> compositeMatcher : node.compositeMatchers.entrySet()) {
+                if (tokenMatcher.overlaps(compositeMatcher.getValue())) {
+                    collectOverlappingDefinitions(node.compositeChildren.get(compositeMatcher.getKey()), variant, index + 1, overlappingDefinitions);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the step expression matching the sanitized step identifier or null if none match.
+     *
+     * @param inlineArguments the quoted inline arguments of the step text in order for {string} parameters
+     */
+    public Match match(String sanitizedIdentifier, List<String> inlineArguments) {
+        if ((expressionCount == 0) || StringUtils.isBlank(sanitizedIdentifier)) {
+            return null;
+        }
+
+        String[] tokens = StringUtils.split(sanitizedIdentifier);
+
+        // The number of inline arguments before each token
+        int[] inlineArgumentIndexes = new int[tokens.length];
+        for (int i = 1; i < tokens.length; i++) {
+            inlineArgumentIndexes[i] = inlineArgumentIndexes[i - 1] + StringUtils.countMatches(tokens[i - 1], INLINE_ARGUMENT_PLACEHOLDER);
+        }
+
+        ArrayList<String> arguments = new ArrayList<>();
+        String definition = match(root, tokens, 0, inlineArgumentIndexes, (inlineArguments == null) ? Collections.emptyList() : inlineArguments, arguments);
+        return (definition == null) ? null : new Match(definition, Collections.unmodifiableList(arguments));
+    }
+
+    private String match(Node node, String[] tokens, int index, int[] inlineArgumentIndexes, List<String> inlineArguments, ArrayList<String> arguments) {
+        if (index == tokens.length) {
+            return node.definition;
+        }
+
+        String token = tokens[index];
+        int argumentCount = arguments.size();
+
+        if (node.literalChildren != null) {
+            Node child = node.literalChildren.get(token);
+
+            if (child != null) {
+                String definition = match(child, tokens, index + 1, inlineArgumentIndexes, inlineArguments, arguments);
+                if (definition != null) {
+                    return definition;
+                }
+            }
+        }
+
+        if (node.parameterChildren != null) {
+            for (Map.Entry<ParameterType, Node> parameterChild : node.parameterChildren.entrySet()) {
+                ParameterType parameterType = parameterChild.getKey();
+
+                if (parameterType.pattern.matcher(token).matches() && addArgument(parameterType, token, inlineArgumentIndexes[index], inlineArguments, arguments)) {
+                    String definition = match(parameterChild.getValue(), tokens, index + 1, inlineArgumentIndexes, inlineArguments, arguments);
+                    if (definition != null) {
+                        return definition;
+                    }
+                }
+                truncate(arguments, argumentCount);
+            }
+        }
+
+        if (node.compositeChildren != null) {
+            for (Map.Entry<String, TokenMatcher> compositeMatcher : node.compositeMatchers.entrySet()) {
+                TokenMatcher tokenMatcher = compositeMatcher.getValue();
+                Matcher matcher = tokenMatcher.pattern.matcher(token);
+
+                if (matcher.matches()) {
+                    boolean bound = true;
+
+                    for (int group = 1; bound && (group <= matcher.groupCount()); group++) {
+                        int inlineArgumentIndex = inlineArgumentIndexes[index] + StringUtils.countMatches(token.substring(0, matcher.start(group)), INLINE_ARGUMENT_PLACEHOLDER);
+                        bound = addArgument(tokenMatcher.parameterTypes.get(group - 1), matcher.group(group), inlineArgumentIndex, inlineArguments, arguments);
+                    }
+
+                    if (bound) {
+                        String definition = match(node.compositeChildren.get(compositeMatcher.getKey()), tokens, index + 1, inlineArgumentIndexes, inlineArguments, arguments);
+                        if (definition != null) {
+                            return definition;
+                        }
+                    }
+                }
+                truncate(arguments, argumentCount);
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean addArgument(ParameterType parameterType, String value, int inlineArgumentIndex, List<String> inlineArguments, ArrayList<String> arguments) {
+        if (parameterType == ParameterType.STRING) {
+            if (inlineArgumentIndex >= inlineArguments.size()) {
+                return false;
+            }
+            arguments.add(inlineArguments.get(inlineArgumentIndex));
+        } else {
+            arguments.add(parameterType.toArgument(value));
+        }
+        return true;
+    }
+
+    private static void truncate(ArrayList<String> arguments, int size) {
+        while (arguments.size() > size) {
+            arguments.remove(arguments.size() - 1);
+        }
+    }
+}
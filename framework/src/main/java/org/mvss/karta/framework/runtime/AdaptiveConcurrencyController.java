@@ -0,0 +1,173 @@
+package org.mvss.karta.framework.runtime;
+
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.mvss.karta.framework.models.generic.SerializableKVP;
+import org.mvss.karta.framework.models.result.ScenarioResult;
+import org.mvss.karta.framework.models.result.StepResult;
+import org.mvss.karta.framework.models.run.AdaptiveConcurrency;
+import org.mvss.karta.framework.threading.BoundedTaskGroup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Adjusts the iteration task group of a feature with additive increase and multiplicative decrease based on step latency and failure rate.</br>
+ * Tracks the maximum throughput observed while within limits as the maximum sustainable throughput.</br>
+ * Parallelism is only increased when the iterations in flight reached the current limit in the window,
+ * so that a limit on the executor is not mistaken for headroom of the system under test.</br>
+ *
+ * @author Manian
+ */
+@Log4j2
+public class AdaptiveConcurrencyController implements Runnable {
+    private final String featureName;
+
+    private final AdaptiveConcurrency settings;
+
+    private final BoundedTaskGroup taskGroup;
+
+    private final ArrayList<Long> latencySamples = new ArrayList<>();
+
+    private long completedIterations = 0;
+
+    private long failedIterations = 0;
+
+    private long windowStartNanos = System.nanoTime();
+
+    /**
+     * Indicates if the executor limiting concurrency was already reported.
+     */
+    private boolean executorLimitReported = false;
+
+    /**
+     * The maximum iterations per second completed in an evaluation window within limits.
+     */
+    @Getter
+    private volatile double maxSustainableThroughput = 0;
+
+    /**
+     * The iterations in flight observed at the maximum sustainable throughput.
+     */
+    @Getter
+    private volatile int maxSustainableParallelism = 0;
+
+    public AdaptiveConcurrencyController(String featureName, AdaptiveConcurrency settings, BoundedTaskGroup taskGroup) {
+        this.featureName = featureName;
+        this.settings = settings;
+        this.taskGroup = taskGroup;
+    }
+
+    /**
+     * Returns the percentile from sorted samples using nearest rank.
+     */
+    public static long percentile(ArrayList<Long> sortedSamples, double percentile) {
+        if (sortedSamples.isEmpty()) {
+            return 0;
+        }
+        int rank = (int) Math.ceil((percentile / 100.0) * sortedSamples.size());
+        return sortedSamples.get(Math.min(Math.max(rank, 1), sortedSamples.size()) - 1);
+    }
+
+    /**
+     * Records the scenario results of a completed iteration.
+     */
+    public synchronized void recordIteration(Collection<ScenarioResult> scenarioResults) {
+        boolean iterationFailed = false;
+
+        for (ScenarioResult scenarioResult : scenarioResults) {
+            if (!scenarioResult.isPassed()) {
+                iterationFailed = true;
+            }
+
+            ArrayList<SerializableKVP<String, StepResult>> runResults = scenarioResult.getRunResults();
+
+            if ((runResults == null) || runResults.isEmpty()) {
+                latencySamples.add(scenarioResult.getCorrectedDuration());
+            } else {
+                for (SerializableKVP<String, StepResult> runResult : runResults) {
+                    latencySamples.add(scenarioResult.getCorrectedStepDuration(runResult.getValue()));
+                }
+            }
+        }
+
+        completedIterations++;
+
+        if (iterationFailed) {
+            failedIterations++;
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            //noinspection InfiniteLoopStatement
+            while (true) {
+                Thread.sleep(settings.getEvaluationInterval().toMillis());
+                evaluate();
+            }
+        } catch (InterruptedException ie) {
+            log.debug("Adaptive concurrency for feature " + featureName + " stopped");
+        }
+    }
+
+    private void evaluate() {
+        ArrayList<Long> samples;
+        long completed;
+        long failed;
+        double windowSeconds;
+
+        synchronized (this) {
+            if (completedIterations < Math.max(settings.getMinSamples(), 1)) {
+                return;
+            }
+
+            samples = new ArrayList<>(latencySamples);
+            completed = completedIterations;
+            failed = failedIterations;
+            long now = System.nanoTime();
+            windowSeconds = (now - windowStartNanos) / 1e9;
+
+            latencySamples.clear();
+            completedIterations = 0;
+            failedIterations = 0;
+            windowStartNanos = now;
+        }
+
+        Collections.sort(samples);
+        long latency = percentile(samples, settings.getLatencyPercentile());
+        double errorRate = (double) failed / completed;
+        double throughput = completed / windowSeconds;
+        int parallelism = taskGroup.getMaxParallelism();
+        int observedParallelism = Math.min(taskGroup.getAndResetPeakInFlight(), parallelism);
+
+        boolean latencyWithinLimit = (settings.getTargetLatency() == null) || (latency <= settings.getTargetLatency().toMillis());
+        boolean withinLimits = latencyWithinLimit && (errorRate <= settings.getErrorBudget());
+
+        int nextParallelism;
+
+        if (withinLimits) {
+            if (throughput > maxSustainableThroughput) {
+                maxSustainableThroughput = throughput;
+                maxSustainableParallelism = observedParallelism;
+            }
+
+            if (observedParallelism < parallelism) {
+                // Increasing the limit further would not increase the load on the system under test
+                if (!executorLimitReported) {
+                    executorLimitReported = true;
+                    log.warn("Feature " + featureName + " reached only " + observedParallelism + " of " + parallelism + " iterations in parallel; concurrency is limited by the executor or the iteration dispatch");
+                }
+                nextParallelism = parallelism;
+            } else {
+                nextParallelism = Math.min(parallelism + Math.max(settings.getAdditiveIncrease(), 1), settings.getMaxParallelism());
+            }
+        } else {
+            nextParallelism = Math.max((int) Math.floor(parallelism * settings.getMultiplicativeDecrease()), settings.getMinParallelism());
+        }
+
+        log.info("Feature " + featureName + " parallelism " + parallelism + " (observed " + observedParallelism + ") -> " + nextParallelism + ": p" + settings.getLatencyPercentile() + " latency " + latency + "ms, error rate " + errorRate + ", throughput " + throughput + "/s");
+        taskGroup.setMaxParallelism(nextParallelism);
+    }
+}
@@ -0,0 +1,70 @@
+package org.mvss.karta.framework.runtime;
+
+import org.apache.commons.lang3.StringUtils;
+import org.mvss.karta.Constants;
+import org.mvss.karta.framework.models.result.ConcurrencyMetrics;
+import org.mvss.karta.framework.threading.ConcurrencyLimiter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runtime wide admission control for concurrently executing steps and chaos actions.</br>
+ * Permits are acquired from the limiter of the thread group of the test first and the host limiter next.</br>
+ *
+ * @author Manian
+ */
+public class AdmissionController {
+    private final ConcurrencyLimiter hostLimiter;
+
+    private final ConcurrentHashMap<String, ConcurrencyLimiter> threadGroupLimiters = new ConcurrentHashMap<>();
+
+    public AdmissionController(int maxConcurrentSteps, Map<String, Integer> threadGroupStepLimits) {
+        hostLimiter = new ConcurrencyLimiter(maxConcurrentSteps);
+
+        if (threadGroupStepLimits != null) {
+            for (Entry<String, Integer> entry : threadGroupStepLimits.entrySet()) {
+                threadGroupLimiters.put(entry.getKey(), new ConcurrencyLimiter((entry.getValue() == null) ? 0 : entry.getValue()));
+            }
+        }
+    }
+
+    private ConcurrencyLimiter getThreadGroupLimiter(String threadGroup) {
+        return threadGroupLimiters.computeIfAbsent(StringUtils.isEmpty(threadGroup) ? Constants.__DEFAULT__ : threadGroup, group -> new ConcurrencyLimiter(0));
+    }
+
+    /**
+     * Waits for permits for the thread group and host.
+     */
+    public void acquire(String threadGroup) throws InterruptedException {
+        ConcurrencyLimiter threadGroupLimiter = getThreadGroupLimiter(threadGroup);
+        threadGroupLimiter.acquire();
+
+        try {
+            hostLimiter.acquire();
+        } catch (InterruptedException ie) {
+            threadGroupLimiter.release();
+            throw ie;
+        }
+    }
+
+    /**
+     * Releases the permits for the thread group and host.
+     */
+    public void release(String threadGroup) {
+        hostLimiter.release();
+        getThreadGroupLimiter(threadGroup).release();
+    }
+
+    /**
+     * Returns the metrics for the host (mapped to {@link Constants#__ALL__}) and for each thread group.
+     */
+    public HashMap<String, ConcurrencyMetrics> getMetrics() {
+        HashMap<String, ConcurrencyMetrics> metrics = new HashMap<>();
+        metrics.put(Constants.__ALL__, hostLimiter.getMetrics());
+        threadGroupLimiters.forEach((threadGroup, limiter) -> metrics.put(threadGroup, limiter.getMetrics()));
+        return metrics;
+    }
+}
@@ -0,0 +1,143 @@
+package org.mvss.karta.framework.runtime;
+
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.mvss.karta.dependencyinjection.utils.ParserUtils;
+import org.mvss.karta.framework.models.run.FeatureCheckpoint;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Append only local file of feature checkpoints of a run with one JSON checkpoint per line.</br>
+ * The last complete line for a feature is its latest checkpoint; a partially written last line (from a crash while writing) is ignored.</br>
+ * On first use the file is compacted to the latest line per feature, which also drops a partially written last line so that appends start on a new line.
+ * The file is compacted again after every {@link #APPENDS_PER_COMPACTION} appends to bound its size for long runs.</br>
+ *
+ * @author Manian
+ */
+@Log4j2
+public class CheckpointStore {
+    /**
+     * The number of appends after which the file is compacted to the latest line per feature.
+     */
+    public static final int APPENDS_PER_COMPACTION = 1000;
+
+    @Getter
+    private final Path checkpointFile;
+
+    /**
+     * The latest checkpoint per feature in the file when the store was opened.
+     */
+    private HashMap<String, FeatureCheckpoint> latestCheckpoints;
+
+    /**
+     * The latest serialized checkpoint per feature including the ones appended after opening.
+     */
+    private final LinkedHashMap<String, String> latestLines = new LinkedHashMap<>();
+
+    private int appendsSinceCompaction = 0;
+
+    public CheckpointStore(Path checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
+    /**
+     * Appends the checkpoint of the feature serialized earlier (see {@link #serialize(FeatureCheckpoint)}) and syncs it to the disk.
+     */
+    public synchronized void append(String featureName, String serializedCheckpoint) throws IOException {
+        open();
+        latestLines.put(featureName, serializedCheckpoint);
+
+        if (++appendsSinceCompaction >= APPENDS_PER_COMPACTION) {
+            compact();
+            return;
+        }
+
+        Path parent = checkpointFile.toAbsolutePath().getParent();
+
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Files.write(checkpointFile, (serializedCheckpoint + System.lineSeparator()).getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+    }
+
+    /**
+     * Reads the latest checkpoints in the file and compacts the file if not done yet.
+     */
+    private void open() throws IOException {
+        if (latestCheckpoints != null) {
+            return;
+        }
+
+        latestCheckpoints = new HashMap<>();
+
+        if (!Files.isRegularFile(checkpointFile)) {
+            return;
+        }
+
+        List<String> lines = Files.readAllLines(checkpointFile, StandardCharsets.UTF_8);
+
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+
+            try {
+                FeatureCheckpoint checkpoint = ParserUtils.getObjectMapper().readValue(line, FeatureCheckpoint.class);
+                latestCheckpoints.put(checkpoint.getFeatureName(), checkpoint);
+                latestLines.remove(checkpoint.getFeatureName());
+                latestLines.put(checkpoint.getFeatureName(), line);
+            } catch (IOException e) {
+                log.warn("Ignoring incomplete checkpoint in " + checkpointFile);
+            }
+        }
+
+        compact();
+    }
+
+    /**
+     * Rewrites the file with the latest line per feature. The file is replaced atomically so that a crash does not lose checkpoints.
+     */
+    private void compact() throws IOException {
+        Path absoluteCheckpointFile = checkpointFile.toAbsolutePath();
+        Path parent = absoluteCheckpointFile.getParent();
+
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        StringBuilder compacted = new StringBuilder();
+        for (String line : latestLines.values()) {
+            compacted.append(line).append(System.lineSeparator());
+        }
+
+        Path compactedFile = absoluteCheckpointFile.resolveSibling(absoluteCheckpointFile.getFileName() + ".compact");
+        Files.write(compactedFile, compacted.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.DSYNC);
+        Files.move(compactedFile, absoluteCheckpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        appendsSinceCompaction = 0;
+    }
+
+    /**
+     * Serializes the checkpoint to a single line.
+     */
+    public static String serialize(FeatureCheckpoint checkpoint) throws IOException {
+        return ParserUtils.getObjectMapper().writeValueAsString(checkpoint);
+    }
+
+    /**
+     * Returns the latest checkpoint for the feature in the file when the store was first read or null if none.
+     */
+    public synchronized FeatureCheckpoint getLatestCheckpoint(String featureName) throws IOException {
+        open();
+        return latestCheckpoints.get(featureName);
+    }
+}
@@ -0,0 +1,38 @@
+package org.mvss.karta.framework.runtime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.mvss.karta.framework.models.test.TestScenario;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A TestScenario compiled once along with the feature level scenario setup and tear down steps for repeated preparation.</br>
+ * Refer {@link CompiledStep}.
+ *
+ * @author Manian
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class CompiledScenario {
+    /**
+     * The scenario compiled.
+     */
+    private final TestScenario testScenario;
+
+    /**
+     * The test data set of the scenario merged with the feature test data set.
+     */
+    private final HashMap<String, ArrayList<Serializable>> testDataSet;
+
+    private final List<CompiledStep> setupSteps;
+
+    private final List<CompiledStep> executionSteps;
+
+    private final List<CompiledStep> tearDownSteps;
+}
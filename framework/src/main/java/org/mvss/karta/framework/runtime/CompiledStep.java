@@ -0,0 +1,68 @@
+package org.mvss.karta.framework.runtime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.mvss.karta.framework.models.test.StepCachePolicy;
+import org.mvss.karta.framework.models.test.TestStep;
+import org.mvss.karta.framework.plugins.StepRunner;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A TestStep compiled once for repeated preparation.</br>
+ * Holds the resolved step and condition runners, the sanitized step identifier, the inline arguments and the merged test data set.
+ * Preparing a PreparedStep from a compiled step only binds the execution context and the test data of the iteration.</br>
+ * Compiled steps are not modified after compilation and can be shared across iterations and threads.
+ *
+ * @author Manian
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class CompiledStep {
+    /**
+     * The step compiled.
+     */
+    private final TestStep testStep;
+
+    /**
+     * The step runner resolved for the step. Null for step groups.
+     */
+    private final StepRunner stepRunner;
+
+    /**
+     * The step identifier sanitized by the step runner.
+     */
+    private final String sanitizedIdentifier;
+
+    /**
+     * The inline arguments of the step identifier in order.
+     */
+    @Builder.Default
+    private final List<String> inlineArguments = Collections.emptyList();
+
+    /**
+     * The step runner resolved for the step condition. Null if no condition.
+     */
+    private final StepRunner conditionRunner;
+
+    /**
+     * The cache policy of the step or of its step definition. Null if not cached.
+     */
+    private final StepCachePolicy cachePolicy;
+
+    /**
+     * The test data set of the step merged with the parent test data sets.
+     */
+    private final HashMap<String, ArrayList<Serializable>> testDataSet;
+
+    /**
+     * The compiled nested steps for step groups. Null for steps.
+     */
+    private final List<CompiledStep> steps;
+}
@@ -0,0 +1,128 @@
+package org.mvss.karta.framework.runtime;
+
+import lombok.extern.log4j.Log4j2;
+import org.mvss.karta.Constants;
+import org.mvss.karta.dependencyinjection.BeanRegistry;
+import org.mvss.karta.dependencyinjection.TestProperties;
+import org.mvss.karta.framework.enums.DaemonJobState;
+import org.mvss.karta.framework.models.result.DaemonJobHealth;
+import org.mvss.karta.framework.models.run.RunInfo;
+import org.mvss.karta.framework.models.test.TestJob;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Supervises the daemon test jobs of a feature.</br>
+ * Every daemon job runs on its own thread from the runtime thread factory and is restarted by itself on failures (refer {@link DaemonTestJob}).</br>
+ * A watchdog thread checks the heartbeats of the daemon jobs and restarts the unresponsive ones.</br>
+ *
+ * @author Manian
+ */
+@Log4j2
+public class DaemonJobSupervisor implements AutoCloseable {
+    public static final String KARTA_DAEMON_JOB_WATCHDOG_THREAD = Constants.KARTA + "-daemon-job-watchdog";
+
+    /**
+     * The interval at which the heartbeats of the daemon jobs are checked.
+     */
+    public static final long LIVENESS_CHECK_MILLIS = 100;
+
+    /**
+     * The time to wait for daemon jobs to stop when the supervisor is closed.
+     */
+    public static final long STOP_TIMEOUT_MILLIS = 5000;
+
+    private final KartaRuntime kartaRuntime;
+
+    private final RunInfo runInfo;
+
+    private final String featureName;
+
+    private final long featureRandomSeed;
+
+    private final CopyOnWriteArrayList<DaemonTestJob> daemonTestJobs = new CopyOnWriteArrayList<>();
+
+    private final ArrayList<Thread> daemonJobThreads = new ArrayList<>();
+
+    private Thread watchdogThread;
+
+    public DaemonJobSupervisor(KartaRuntime kartaRuntime, RunInfo runInfo, String featureName, long featureRandomSeed) {
+        this.kartaRuntime = kartaRuntime;
+        this.runInfo = runInfo;
+        this.featureName = featureName;
+        this.featureRandomSeed = featureRandomSeed;
+    }
+
+    /**
+     * Starts the daemon job on a new thread under supervision.
+     */
+    public synchronized void startJob(TestJob testJob, TestProperties testProperties, BeanRegistry contextBeanRegistry) {
+        DaemonTestJob daemonTestJob = DaemonTestJob.builder().kartaRuntime(kartaRuntime).runInfo(runInfo).featureName(featureName).featureRandomSeed(featureRandomSeed).testProperties(testProperties).testJob(testJob).contextBeanRegistry(contextBeanRegistry).build();
+        Thread daemonJobThread = kartaRuntime.getThreadFactory().newThread(daemonTestJob);
+        daemonTestJobs.add(daemonTestJob);
+        daemonJobThreads.add(daemonJobThread);
+        daemonJobThread.start();
+
+        if ((watchdogThread == null) && (testJob.getHeartbeatTimeout() != null)) {
+            watchdogThread = new Thread(this::checkLiveness, KARTA_DAEMON_JOB_WATCHDOG_THREAD);
+            watchdogThread.setDaemon(true);
+            watchdogThread.start();
+        }
+    }
+
+    private void checkLiveness() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                TimeUnit.MILLISECONDS.sleep(LIVENESS_CHECK_MILLIS);
+
+                for (DaemonTestJob daemonTestJob : daemonTestJobs) {
+                    daemonTestJob.checkLiveness();
+                }
+            }
+        } catch (InterruptedException ie) {
+            log.debug("Daemon job watchdog of feature " + featureName + " stopped");
+        }
+    }
+
+    /**
+     * Returns the health of the supervised daemon jobs mapped to job name.
+     */
+    public synchronized HashMap<String, DaemonJobHealth> getHealth() {
+        HashMap<String, DaemonJobHealth> health = new HashMap<>();
+        daemonTestJobs.forEach(daemonTestJob -> health.put(daemonTestJob.getTestJob().getName(), daemonTestJob.getHealth()));
+        return health;
+    }
+
+    /**
+     * Returns if any of the supervised daemon jobs failed after exhausting its restart budget.
+     */
+    public synchronized boolean hasFailedJobs() {
+        return daemonTestJobs.stream().anyMatch(daemonTestJob -> daemonTestJob.getState() == DaemonJobState.FAILED);
+    }
+
+    /**
+     * Stops the watchdog and the daemon jobs and waits for the daemon job threads to stop.
+     */
+    @Override
+    public synchronized void close() throws InterruptedException {
+        if (watchdogThread != null) {
+            watchdogThread.interrupt();
+            watchdogThread.join();
+            watchdogThread = null;
+        }
+
+        daemonTestJobs.forEach(DaemonTestJob::stop);
+
+        long deadline = System.currentTimeMillis() + STOP_TIMEOUT_MILLIS;
+        for (Thread daemonJobThread : daemonJobThreads) {
+            daemonJobThread.join(Math.max(deadline - System.currentTimeMillis(), 1));
+
+            if (daemonJobThread.isAlive()) {
+                log.warn("Daemon job thread " + daemonJobThread.getName() + " of feature " + featureName + " did not stop within " + STOP_TIMEOUT_MILLIS + "ms");
+            }
+        }
+    }
+}
@@ -1,36 +1,248 @@
 package org.mvss.karta.framework.runtime;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.NoArgsConstructor;
+import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
 import org.mvss.karta.dependencyinjection.BeanRegistry;
 import org.mvss.karta.dependencyinjection.TestProperties;
+import org.mvss.karta.framework.enums.DaemonJobState;
+import org.mvss.karta.framework.models.event.DaemonJobHealthEvent;
+import org.mvss.karta.framework.models.result.DaemonJobHealth;
+import org.mvss.karta.framework.models.result.TestJobResult;
 import org.mvss.karta.framework.models.run.RunInfo;
 import org.mvss.karta.framework.models.test.TestJob;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A daemon test job which runs on its own thread under a {@link DaemonJobSupervisor}.</br>
+ * Failing job iterations and missed heartbeats restart the job with an exponential backoff till the restart budget of the job is exhausted.</br>
+ * Repeating daemon jobs are paced to the iteration rate and CPU limits of the job by pausing between job iterations.</br>
+ * A {@link DaemonJobHealthEvent} is raised on every change of the health state.</br>
+ *
+ * @author Manian
+ */
 @Log4j2
-@Builder
-@AllArgsConstructor
-@NoArgsConstructor
 public class DaemonTestJob implements Runnable {
-    private KartaRuntime kartaRuntime;
-    private RunInfo runInfo;
-    private String featureName;
-    private TestProperties testProperties;
-    private TestJob testJob;
-    private BeanRegistry contextBeanRegistry;
+    private static final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    private final KartaRuntime kartaRuntime;
+    private final RunInfo runInfo;
+    private final String featureName;
+    private final long featureRandomSeed;
+    private final TestProperties testProperties;
+    @Getter
+    private final TestJob testJob;
+    private final BeanRegistry contextBeanRegistry;
+
+    private final AtomicLong iterations = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong restarts = new AtomicLong();
+    private final AtomicLong missedHeartbeats = new AtomicLong();
+    private final AtomicLong throttledNanos = new AtomicLong();
+
+    @Getter
+    private volatile DaemonJobState state;
+    private volatile long lastHeartbeatNanos;
+    private volatile Date lastHeartbeat;
+    private volatile String lastError;
+
+    private volatile boolean stopped = false;
+    private volatile boolean restartRequested = false;
+    private volatile Thread thread;
+
+    @Builder
+    public DaemonTestJob(KartaRuntime kartaRuntime, RunInfo runInfo, String featureName, long featureRandomSeed, TestProperties testProperties, TestJob testJob, BeanRegistry contextBeanRegistry) {
+        this.kartaRuntime = kartaRuntime;
+        this.runInfo = runInfo;
+        this.featureName = featureName;
+        this.featureRandomSeed = featureRandomSeed;
+        this.testProperties = testProperties;
+        this.testJob = testJob;
+        this.contextBeanRegistry = contextBeanRegistry;
+    }
 
     @Override
     public void run() {
-        try {
-            log.info("Starting daemon test job " + testJob.getName());
+        thread = Thread.currentThread();
+        String jobName = testJob.getName();
+        long initialBackoffNanos = toNanos(testJob.getRestartBackoff(), 0);
+        long maxBackoffNanos = Math.max(toNanos(testJob.getMaxRestartBackoff(), initialBackoffNanos), initialBackoffNanos);
+        long backoffNanos = initialBackoffNanos;
+
+        log.info("Starting daemon test job " + jobName);
+        heartbeat();
+        changeState(DaemonJobState.RUNNING);
+
+        while (true) {
+            long iterationsBeforeStart = iterations.get();
+            long failuresBeforeStart = failures.get();
+
+            try {
+                runIterations();
+                changeState(DaemonJobState.COMPLETED);
+                return;
+            } catch (InterruptedException ie) {
+                if (stopped || !restartRequested) {
+                    changeState(DaemonJobState.STOPPED);
+                    return;
+                }
+                lastError = "Missed heartbeat timeout of " + testJob.getHeartbeatTimeout();
+            } catch (Throwable t) {
+                if (stopped) {
+                    changeState(DaemonJobState.STOPPED);
+                    return;
+                }
+
+                if (restartRequested) {
+                    // Step runners may report the interrupt of the restart request as a failing job iteration
+                    lastError = "Missed heartbeat timeout of " + testJob.getHeartbeatTimeout();
+                } else {
+                    log.error("Exception in daemon test job " + jobName, t);
+                    failures.incrementAndGet();
+                    lastError = t.toString();
+                }
+            }
+
+            // Clear the interrupt of the restart request
+            restartRequested = false;
+            Thread.interrupted();
+
+            int maxRestarts = testJob.getMaxRestarts();
+            if ((maxRestarts >= 0) && (restarts.get() >= maxRestarts)) {
+                log.error("Daemon test job " + jobName + " failed after " + restarts.get() + " restarts: " + lastError);
+                changeState(DaemonJobState.FAILED);
+                return;
+            }
+
+            // The backoff is reset once the job made progress since the last restart
+            if ((iterations.get() - iterationsBeforeStart) > (failures.get() - failuresBeforeStart)) {
+                backoffNanos = initialBackoffNanos;
+            }
+
+            restarts.incrementAndGet();
+            changeState(DaemonJobState.RESTARTING);
+            log.warn("Restarting daemon test job " + jobName + " in " + TimeUnit.NANOSECONDS.toMillis(backoffNanos) + "ms: " + lastError);
+
+            try {
+                TimeUnit.NANOSECONDS.sleep(backoffNanos);
+            } catch (InterruptedException ie) {
+                changeState(DaemonJobState.STOPPED);
+                return;
+            }
+
+            if (stopped) {
+                changeState(DaemonJobState.STOPPED);
+                return;
+            }
+
+            backoffNanos = Math.min(backoffNanos * 2, maxBackoffNanos);
+            heartbeat();
+            changeState(DaemonJobState.RUNNING);
+        }
+    }
+
+    /**
+     * Runs the job iterations (once or repeatedly for repeating jobs) within the iteration rate and CPU limits.</br>
+     * Throws an exception for a failing job iteration to restart the job.
+     */
+    private void runIterations() throws Throwable {
+        double maxIterationRate = testJob.getMaxIterationRate();
+        long minIterationIntervalNanos = (maxIterationRate > 0) ? (long) (TimeUnit.SECONDS.toNanos(1) / maxIterationRate) : 0;
+        double cpuLimit = testJob.getCpuLimit();
+        boolean limitCpu = (cpuLimit > 0) && threadMXBean.isCurrentThreadCpuTimeSupported();
+        long lastIterationStartNanos = System.nanoTime() - minIterationIntervalNanos;
+
+        do {
+            throttle((lastIterationStartNanos + minIterationIntervalNanos) - System.nanoTime());
+
+            if (stopped || restartRequested || Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException();
+            }
+
+            heartbeat();
+            lastIterationStartNanos = System.nanoTime();
+            long cpuStartNanos = limitCpu ? threadMXBean.getCurrentThreadCpuTime() : 0;
+
             // Run the job iteration on a remote node or local node using utility method
-            kartaRuntime.runJobIteration(runInfo, featureName, testProperties, testJob, -1, contextBeanRegistry);
-        } catch (InterruptedException e) {
-            log.info("Stopping daemon test job " + testJob.getName());
-        } catch (Throwable e) {
-            log.error("Exception in daemon test job " + testJob.getName(), e);
+            TestJobResult jobResult = kartaRuntime.runJobIteration(runInfo, featureName, featureRandomSeed, testProperties, testJob, (int) iterations.getAndIncrement(), contextBeanRegistry);
+            heartbeat();
+
+            if ((jobResult == null) || !jobResult.isPassed()) {
+                throw new Exception("Daemon test job iteration " + (iterations.get() - 1) + " failed");
+            }
+
+            if (limitCpu) {
+                long cpuNanos = threadMXBean.getCurrentThreadCpuTime() - cpuStartNanos;
+                long wallNanos = System.nanoTime() - lastIterationStartNanos;
+                throttle((long) (cpuNanos / cpuLimit) - wallNanos);
+            }
+        } while (testJob.isRepeat());
+    }
+
+    private void throttle(long pauseNanos) throws InterruptedException {
+        if (pauseNanos > 0) {
+            throttledNanos.addAndGet(pauseNanos);
+            TimeUnit.NANOSECONDS.sleep(pauseNanos);
+        }
+    }
+
+    private void heartbeat() {
+        lastHeartbeatNanos = System.nanoTime();
+        lastHeartbeat = new Date();
+    }
+
+    private void changeState(DaemonJobState state) {
+        this.state = state;
+        kartaRuntime.getEventProcessor().raiseEvent(new DaemonJobHealthEvent(runInfo.getRunName(), featureName, testJob, getHealth()));
+    }
+
+    /**
+     * Requests a restart of the job if it did not heartbeat within the heartbeat timeout of the job.</br>
+     * Heartbeats are at the start and end of job iterations, so the timeout should be longer than the longest job iteration.
+     */
+    void checkLiveness() {
+        Duration heartbeatTimeout = testJob.getHeartbeatTimeout();
+
+        if ((heartbeatTimeout == null) || (state != DaemonJobState.RUNNING) || restartRequested) {
+            return;
+        }
+
+        if ((System.nanoTime() - lastHeartbeatNanos) > heartbeatTimeout.toNanos()) {
+            log.warn("Daemon test job " + testJob.getName() + " missed heartbeat timeout of " + heartbeatTimeout + " since " + lastHeartbeat);
+            missedHeartbeats.incrementAndGet();
+            restartRequested = true;
+            changeState(DaemonJobState.UNRESPONSIVE);
+
+            Thread jobThread = thread;
+            if (jobThread != null) {
+                jobThread.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Stops the job by interrupting the job thread.
+     */
+    void stop() {
+        stopped = true;
+
+        Thread jobThread = thread;
+        if (jobThread != null) {
+            jobThread.interrupt();
         }
     }
+
+    public DaemonJobHealth getHealth() {
+        return DaemonJobHealth.builder().jobName(testJob.getName()).state(state).restarts(restarts.get()).iterations(iterations.get()).failures(failures.get()).missedHeartbeats(missedHeartbeats.get()).lastHeartbeat(lastHeartbeat).throttledTime(TimeUnit.NANOSECONDS.toMillis(throttledNanos.get())).lastError(lastError).build();
+    }
+
+    private static long toNanos(Duration duration, long defaultNanos) {
+        return ((duration == null) || duration.isNegative()) ? defaultNanos : duration.toNanos();
+    }
 }
@@ -5,21 +5,28 @@ import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.StringUtils;
 import org.mvss.karta.Constants;
 import org.mvss.karta.framework.threading.BlockingRunnableQueue;
+import org.mvss.karta.framework.threading.BoundedTaskGroup;
 
+import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map.Entry;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Class to store and manage ExecutorService for various thread groups.
+ * Class to store and manage ExecutorService for various thread groups.</br>
+ * Also owns the runtime wide task scheduler shared by feature iterations, scenarios and parallel steps.</br>
+ * Step code blocks (I/O, sleeps, waits on nested tasks), so the scheduler is an elastic thread pool which adds threads on demand
+ * and the concurrency of each level is limited by its {@link BoundedTaskGroup} instead of by the pool size.</br>
  *
  * @author Manian
  */
 @NoArgsConstructor
 @Log4j2
 public class ExecutorServiceManager implements AutoCloseable {
+    public static final String KARTA_SCHEDULER_THREAD = Constants.KARTA + "-scheduler-";
+    public static final String KARTA_VIRTUAL_THREAD = Constants.KARTA + "-virtual-";
+
     /**
      * The thread group name to ExecutorService mapping
      */
@@ -30,6 +37,135 @@ public class ExecutorServiceManager implements AutoCloseable {
      */
     private final Object executorSyncObject = new Object();
 
+    /**
+     * The time idle scheduler threads above the core thread count are kept alive
+     */
+    public static final long SCHEDULER_KEEP_ALIVE_SECONDS = 60L;
+
+    /**
+     * The counter for naming scheduler worker threads
+     */
+    private final AtomicInteger schedulerThreadCounter = new AtomicInteger();
+
+    /**
+     * The shared elastic scheduler for nested parallel work
+     */
+    private ThreadPoolExecutor taskScheduler;
+
+    /**
+     * The virtual thread per task executor. Created on first use.
+     */
+    private ExecutorService virtualThreadExecutor;
+
+    /**
+     * Indicates if virtual thread executor creation was attempted
+     */
+    private boolean virtualThreadExecutorChecked = false;
+
+    /**
+     * Creates the manager with the number of core threads kept alive by the shared scheduler. Defaults to available processors if not positive.
+     */
+    public ExecutorServiceManager(int schedulerParallelism) {
+        initTaskScheduler(schedulerParallelism);
+    }
+
+    private Thread newSchedulerThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, KARTA_SCHEDULER_THREAD + schedulerThreadCounter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private void initTaskScheduler(int schedulerParallelism) {
+        if (schedulerParallelism <= 0) {
+            schedulerParallelism = Runtime.getRuntime().availableProcessors();
+        }
+        // Tasks are handed off directly to an idle or a new thread; the task groups bound the concurrency
+        taskScheduler = new ThreadPoolExecutor(schedulerParallelism, Integer.MAX_VALUE, SCHEDULER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), this::newSchedulerThread);
+    }
+
+    /**
+     * Get the shared elastic scheduler.
+     */
+    public ExecutorService getTaskScheduler() {
+        synchronized (executorSyncObject) {
+            if (taskScheduler == null) {
+                initTaskScheduler(0);
+            }
+            return taskScheduler;
+        }
+    }
+
+    /**
+     * Creates a virtual thread per task executor using reflection as virtual threads are not available on all supported JVMs.</br>
+     * Returns null if the JVM does not support virtual threads.
+     */
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            Object threadBuilder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> threadBuilderClass = Class.forName("java.lang.Thread$Builder");
+            threadBuilder = threadBuilderClass.getMethod("name", String.class, long.class).invoke(threadBuilder, KARTA_VIRTUAL_THREAD, 1L);
+            ThreadFactory threadFactory = (ThreadFactory) threadBuilderClass.getMethod("factory").invoke(threadBuilder);
+            Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+        } catch (Throwable t) {
+            log.debug("Virtual threads are not available: " + t);
+            return null;
+        }
+    }
+
+    /**
+     * Indicates if the JVM supports virtual threads
+     */
+    public boolean isVirtualThreadsSupported() {
+        return getVirtualThreadExecutor() != null;
+    }
+
+    /**
+     * Get the virtual thread per task executor or null if virtual threads are not supported.
+     */
+    public ExecutorService getVirtualThreadExecutor() {
+        synchronized (executorSyncObject) {
+            if (!virtualThreadExecutorChecked) {
+                virtualThreadExecutorChecked = true;
+                virtualThreadExecutor = createVirtualThreadExecutor();
+
+                if (virtualThreadExecutor == null) {
+                    log.warn("Virtual threads are not supported by this JVM. The shared task scheduler will be used instead.");
+                }
+            }
+            return virtualThreadExecutor;
+        }
+    }
+
+    /**
+     * Get the virtual thread executor if useVirtualThreads is set and supported or the shared elastic scheduler otherwise.
+     */
+    public ExecutorService getTaskScheduler(boolean useVirtualThreads) {
+        if (useVirtualThreads) {
+            ExecutorService executorService = getVirtualThreadExecutor();
+
+            if (executorService != null) {
+                return executorService;
+            }
+        }
+        return getTaskScheduler();
+    }
+
+    /**
+     * Creates a task group on the shared scheduler which runs at most maxParallelism tasks at a time.
+     */
+    public BoundedTaskGroup createTaskGroup(int maxParallelism) {
+        return createTaskGroup(maxParallelism, false);
+    }
+
+    /**
+     * Creates a task group on virtual threads or on the shared scheduler which runs at most maxParallelism tasks at a time.
+     */
+    public BoundedTaskGroup createTaskGroup(int maxParallelism, boolean useVirtualThreads) {
+        return new BoundedTaskGroup(getTaskScheduler(useVirtualThreads), maxParallelism);
+    }
+
     /**
      * Get the ExecutorService for the thread group by group name.
      */
@@ -55,6 +191,20 @@ public class ExecutorServiceManager implements AutoCloseable {
         return executorServicesMap.get(group);
     }
 
+    /**
+     * Get the thread count of the thread group by name. Returns 1 for thread groups not added yet.
+     */
+    public int getThreadCountForGroup(String group) {
+        if (StringUtils.isEmpty(group)) {
+            group = Constants.__DEFAULT__;
+        }
+
+        synchronized (executorSyncObject) {
+            ExecutorService executorService = executorServicesMap.get(group);
+            return (executorService instanceof ThreadPoolExecutor) ? ((ThreadPoolExecutor) executorService).getMaximumPoolSize() : 1;
+        }
+    }
+
     /**
      * Add thread groups from the HashMap with the mapped thread counts.
      */
@@ -91,6 +241,28 @@ public class ExecutorServiceManager implements AutoCloseable {
                     log.error("Was interrupted during a shut down");
                 }
             }
+
+            if (virtualThreadExecutor != null) {
+                virtualThreadExecutor.shutdown();
+                try {
+                    if (!virtualThreadExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+                        log.error("Failed to wait for virtual thread executor shut down");
+                    }
+                } catch (InterruptedException e) {
+                    log.error("Was interrupted during virtual thread executor shut down");
+                }
+            }
+
+            if (taskScheduler != null) {
+                taskScheduler.shutdown();
+                try {
+                    if (!taskScheduler.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+                        log.error("Failed to wait for task scheduler shut down");
+                    }
+                } catch (InterruptedException e) {
+                    log.error("Was interrupted during task scheduler shut down");
+                }
+            }
         }
     }
 }
@@ -0,0 +1,110 @@
+package org.mvss.karta.framework.runtime;
+
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.mvss.karta.Constants;
+import org.mvss.karta.dependencyinjection.utils.ParserUtils;
+import org.mvss.karta.framework.models.result.FeatureResult;
+import org.mvss.karta.framework.models.result.RunResult;
+import org.mvss.karta.framework.models.result.ScenarioResult;
+import org.mvss.karta.framework.models.run.RerunIteration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.TreeMap;
+
+/**
+ * Loads the failed iterations of features from results of a previous run for rerunning them.</br>
+ * Results can be a RunResult JSON file, a FeatureResult JSON file or a run report directory with FeatureResult JSON files.</br>
+ *
+ * @author Manian
+ */
+@Log4j2
+public class FailedIterations {
+    /**
+     * Returns the failed iterations mapped to feature name from the previous run results at the path.
+     */
+    public static HashMap<String, ArrayList<RerunIteration>> load(String resultPath) throws IOException {
+        HashMap<String, ArrayList<RerunIteration>> failedIterations = new HashMap<>();
+        File resultFile = new File(resultPath);
+
+        if (resultFile.isDirectory()) {
+            for (File featureResultFile : FileUtils.listFiles(resultFile, new String[]{Constants.JSON}, false)) {
+                addFailedIterations(failedIterations, readResults(featureResultFile));
+            }
+        } else if (resultFile.isFile()) {
+            addFailedIterations(failedIterations, readResults(resultFile));
+        } else {
+            throw new IOException("Previous run result file not found: " + resultPath);
+        }
+
+        return failedIterations;
+    }
+
+    private static Collection<FeatureResult> readResults(File resultFile) throws IOException {
+        String resultJson = FileUtils.readFileToString(resultFile, Charset.defaultCharset());
+        ArrayList<FeatureResult> featureResults = new ArrayList<>();
+
+        RunResult runResult = ParserUtils.getObjectMapper().readValue(resultJson, RunResult.class);
+
+        if ((runResult != null) && (runResult.getTestResultMap() != null) && !runResult.getTestResultMap().isEmpty()) {
+            featureResults.addAll(runResult.getTestResultMap().values());
+        } else {
+            featureResults.add(ParserUtils.getObjectMapper().readValue(resultJson, FeatureResult.class));
+        }
+        return featureResults;
+    }
+
+    private static void addFailedIterations(HashMap<String, ArrayList<RerunIteration>> failedIterations, Collection<FeatureResult> featureResults) {
+        for (FeatureResult featureResult : featureResults) {
+            // Other JSON dumps in report directories (like scenario results) do not have a feature name
+            if ((featureResult == null) || StringUtils.isEmpty(featureResult.getFeatureName())) {
+                continue;
+            }
+
+            ArrayList<RerunIteration> rerunIterations = getFailedIterations(featureResult);
+
+            if (!rerunIterations.isEmpty()) {
+                failedIterations.put(featureResult.getFeatureName(), rerunIterations);
+            }
+        }
+    }
+
+    /**
+     * Returns the failed iterations of the feature result in iteration order along with the scenarios run in the iterations, their iteration numbers and the iteration random seeds when available.
+     */
+    public static ArrayList<RerunIteration> getFailedIterations(FeatureResult featureResult) {
+        TreeMap<Integer, RerunIteration> rerunIterations = new TreeMap<>();
+
+        if (featureResult.getFailedIterations() != null) {
+            featureResult.getFailedIterations().forEach(iterationIndex -> rerunIterations.put(iterationIndex, RerunIteration.builder().iterationIndex(iterationIndex).randomSeed(featureResult.getIterationRandomSeed(iterationIndex)).build()));
+        }
+
+        if (featureResult.getScenarioResultsMap() != null) {
+            featureResult.getScenarioResultsMap().forEach((scenarioName, scenarioResults) -> {
+                for (ScenarioResult scenarioResult : scenarioResults) {
+                    RerunIteration rerunIteration = rerunIterations.get(scenarioResult.getIterationIndex());
+
+                    if (rerunIteration == null) {
+                        continue;
+                    }
+
+                    if (!rerunIteration.getScenarios().contains(scenarioName)) {
+                        rerunIteration.getScenarios().add(scenarioName);
+                    }
+
+                    if (scenarioResult.getScenarioIterationNumber() != null) {
+                        rerunIteration.getScenarioIterationNumbers().put(scenarioName, scenarioResult.getScenarioIterationNumber());
+                    }
+                }
+            });
+        }
+
+        return new ArrayList<>(rerunIterations.values());
+    }
+}
@@ -2,22 +2,38 @@ package org.mvss.karta.framework.runtime;
 
 import lombok.*;
 import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.mvss.karta.Constants;
 import org.mvss.karta.dependencyinjection.BeanRegistry;
 import org.mvss.karta.dependencyinjection.TestProperties;
 import org.mvss.karta.dependencyinjection.utils.DataUtils;
+import org.mvss.karta.framework.core.StandardStepResults;
 import org.mvss.karta.framework.models.event.*;
 import org.mvss.karta.framework.models.generic.SerializableKVP;
+import org.mvss.karta.framework.models.result.DaemonJobHealth;
 import org.mvss.karta.framework.models.result.FeatureResult;
+import org.mvss.karta.framework.models.result.FixtureResult;
+import org.mvss.karta.framework.models.result.JobMetrics;
 import org.mvss.karta.framework.models.result.ScenarioResult;
+import org.mvss.karta.framework.models.result.StepCacheStatistics;
+import org.mvss.karta.framework.models.result.StepGraphTiming;
 import org.mvss.karta.framework.models.result.StepResult;
+import org.mvss.karta.framework.models.result.TestJobResult;
+import org.mvss.karta.framework.models.run.AdaptiveConcurrency;
+import org.mvss.karta.framework.models.run.FeatureCheckpoint;
+import org.mvss.karta.framework.models.run.LoadStage;
+import org.mvss.karta.framework.models.run.RerunIteration;
 import org.mvss.karta.framework.models.run.RunInfo;
 import org.mvss.karta.framework.models.test.*;
 import org.mvss.karta.framework.nodes.IKartaNodeRegistry;
 import org.mvss.karta.framework.nodes.KartaNode;
-import org.mvss.karta.framework.threading.BlockingRunnableQueue;
+import org.mvss.karta.framework.threading.ArrivalRateTimer;
+import org.mvss.karta.framework.threading.BoundedTaskGroup;
+import org.mvss.karta.framework.utils.ParallelCausesException;
 import org.mvss.karta.framework.utils.RandomizationUtils;
+import org.mvss.karta.framework.utils.ScopedMap;
+import org.mvss.karta.framework.utils.SeededRandom;
 
 import java.io.Serializable;
 import java.time.Duration;
@@ -27,8 +43,6 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Random;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -61,8 +75,39 @@ public class FeatureRunner implements Callable<FeatureResult> {
     private FeatureResult result;
     @Builder.Default
     private ArrayList<Long> runningJobs = new ArrayList<>();
+
+    private DaemonJobSupervisor daemonJobSupervisor;
+
+    private AdaptiveConcurrencyController adaptiveConcurrencyController;
+
+    private CheckpointStore checkpointStore;
+
+    private IterationProgress iterationProgress;
+
+    private Instant iterationsStartTime;
+
+    private HashMap<TestScenario, AtomicInteger> scenarioIterationIndexMap;
+
+    private Thread checkpointThread;
+
     @Builder.Default
-    private ArrayList<Thread> daemonJobThreads = new ArrayList<>();
+    private HashMap<String, AtomicInteger> jobIterationCounters = new HashMap<>();
+
+    /**
+     * Indicates if the shared fixtures of the feature were reserved in the fixture pool by the run before starting the feature.
+     */
+    private boolean fixturesReserved;
+
+    /**
+     * The names of the shared fixtures acquired by the feature which are to be released after the feature.
+     */
+    @Builder.Default
+    private ArrayList<String> acquiredFixtures = new ArrayList<>();
+
+    /**
+     * The random seed of the feature from which the random streams of the iterations, feature steps and fixtures are derived.
+     */
+    private long randomSeed;
 
     /**
      * The callback implementation for feature iteration result updates for running Test Feature
@@ -71,18 +116,266 @@ public class FeatureRunner implements Callable<FeatureResult> {
      */
     private void accumulateIterationResult(HashMap<String, ScenarioResult> iterationResult) {
         result.addIterationResult(iterationResult, kartaRuntime.getKartaConfiguration().getDetailedReport());
+
+        if (adaptiveConcurrencyController != null) {
+            adaptiveConcurrencyController.recordIteration(iterationResult.values());
+        }
+    }
+
+    /**
+     * The callback for an iteration result which also marks the iteration complete for checkpoints
+     */
+    private void accumulateIterationResult(long iterationIndex, HashMap<String, ScenarioResult> iterationResult) {
+        // Results and progress are updated together so that checkpoints are consistent
+        synchronized (result) {
+            accumulateIterationResult(iterationResult);
+            iterationProgress.complete(iterationIndex);
+        }
+    }
+
+    /**
+     * Appends the progress of the feature to the checkpoint store of the run
+     */
+    private void checkpoint(boolean complete) {
+        try {
+            String serializedCheckpoint;
+
+            synchronized (result) {
+                FeatureCheckpoint checkpoint = FeatureCheckpoint.builder().runName(runInfo.getRunName()).featureName(testFeature.getName()).complete(complete).result(result).build();
+
+                if (iterationProgress != null) {
+                    checkpoint.setIterationWatermark(iterationProgress.getWatermark());
+                    checkpoint.setCompletedIterations(iterationProgress.getCompletedAfterWatermark());
+                }
+
+                if (iterationsStartTime != null) {
+                    checkpoint.setElapsedRunDuration(Duration.between(iterationsStartTime, Instant.now()).toMillis());
+                }
+
+                if (scenarioIterationIndexMap != null) {
+                    scenarioIterationIndexMap.forEach((scenario, index) -> checkpoint.getScenarioIterationIndexes().put(scenario.getName(), index.get()));
+                }
+
+                jobIterationCounters.forEach((job, counter) -> checkpoint.getJobIterationCounters().put(job, counter.get()));
+
+                serializedCheckpoint = CheckpointStore.serialize(checkpoint);
+            }
+
+            checkpointStore.append(testFeature.getName(), serializedCheckpoint);
+        } catch (Throwable t) {
+            log.error("Failed to checkpoint feature " + testFeature.getName(), t);
+        }
+    }
+
+    /**
+     * Checkpoints periodically till interrupted
+     */
+    private void checkpointPeriodically(Duration checkpointInterval) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(checkpointInterval.toMillis());
+                checkpoint(false);
+            }
+        } catch (InterruptedException ignored) {
+        }
+    }
+
+    private void stopCheckpointing() throws InterruptedException {
+        if (checkpointThread != null) {
+            checkpointThread.interrupt();
+            checkpointThread.join();
+            checkpointThread = null;
+        }
+    }
+
+    /**
+     * Reserves the shared fixtures of the feature in the fixture pool. Called by runs for all the features before starting them.
+     */
+    public void reserveFixtures() {
+        if ((testFeature.getFixtures() != null) && !fixturesReserved) {
+            testFeature.getFixtures().forEach(fixture -> kartaRuntime.getFixturePool().reserve(fixture.getName()));
+            fixturesReserved = true;
+        }
+    }
+
+    /**
+     * Acquires the shared fixtures of the feature creating the ones not already created.
+     * The variables and context beans of the fixtures are merged into the feature variables and context beans.
+     *
+     * @return false if any of the fixtures could not be created
+     */
+    private boolean acquireFixtures(HashMap<String, Serializable> variables, BeanRegistry contextBeanRegistry) throws InterruptedException {
+        if (testFeature.getFixtures() == null) {
+            return true;
+        }
+
+        for (TestFixture fixture : testFeature.getFixtures()) {
+            String fixtureName = fixture.getName();
+            FixturePool.FixtureLease fixtureLease = kartaRuntime.getFixturePool().acquire(fixtureName, fixturesReserved, () -> createFixture(fixture));
+            acquiredFixtures.add(fixtureName);
+
+            FixturePool.SharedFixture sharedFixture = fixtureLease.getFixture();
+            FixtureResult fixtureResult = FixtureResult.builder().fixtureName(fixtureName).successful(sharedFixture.isSuccessful()).created(fixtureLease.isCreated()).build();
+            if (fixtureLease.isCreated()) {
+                fixtureResult.setSetupResults(sharedFixture.getSetupResults());
+            }
+            result.getFixtureResults().put(fixtureName, fixtureResult);
+
+            if (!sharedFixture.isSuccessful()) {
+                log.error("Shared fixture " + fixtureName + " for feature " + testFeature.getName() + " could not be created");
+                return false;
+            }
+
+            log.info((fixtureLease.isCreated() ? "Created" : "Reusing") + " shared fixture " + fixtureName + " for feature " + testFeature.getName());
+            DataUtils.mergeMapInto(sharedFixture.getVariables(), variables);
+            sharedFixture.getContextBeans().forEach(contextBeanRegistry::put);
+        }
+        return true;
+    }
+
+    /**
+     * Creates a shared fixture running its setup steps with variables and context beans of its own which outlive the feature.
+     */
+    private FixturePool.SharedFixture createFixture(TestFixture fixture) throws InterruptedException {
+        HashMap<String, Serializable> fixtureVariables = new HashMap<>();
+        BeanRegistry fixtureBeanRegistry = new BeanRegistry();
+        fixtureBeanRegistry.put(testProperties);
+
+        SeededRandom fixtureRandom = new SeededRandom(SeededRandom.deriveSeed(randomSeed, fixture.getName()));
+
+        ArrayList<SerializableKVP<String, StepResult>> setupResults = new ArrayList<>();
+        boolean successful = runFixtureSteps(fixture.getSetupSteps(), Constants.__FIXTURE_SETUP__, fixtureVariables, fixtureBeanRegistry, fixtureRandom.split(Constants.__FIXTURE_SETUP__), setupResults, true);
+
+        HashMap<String, Object> contextBeans = new HashMap<>(fixtureBeanRegistry.getGlobalBeans());
+        contextBeans.remove(BeanRegistry.class.getName());
+
+        return FixturePool.SharedFixture.builder().name(fixture.getName()).successful(successful).variables(fixtureVariables).contextBeans(contextBeans).setupResults(setupResults).tearDown(() -> {
+            ArrayList<SerializableKVP<String, StepResult>> tearDownResults = new ArrayList<>();
+            runFixtureSteps(fixture.getTearDownSteps(), Constants.__FIXTURE_TEARDOWN__, fixtureVariables, fixtureBeanRegistry, fixtureRandom.split(Constants.__FIXTURE_TEARDOWN__), tearDownResults, false);
+            return tearDownResults;
+        }).build();
+    }
+
+    /**
+     * Runs the setup or tear down steps of a shared fixture in sequence and returns if all the steps passed.
+     */
+    private boolean runFixtureSteps(ArrayList<TestStep> steps, String scenarioName, HashMap<String, Serializable> fixtureVariables, BeanRegistry fixtureBeanRegistry, Random random, ArrayList<SerializableKVP<String, StepResult>> stepResults, boolean stopOnFailure) throws InterruptedException {
+        boolean passed = true;
+
+        if (steps == null) {
+            return true;
+        }
+
+        long stepIndex = -1;
+        for (TestStep step : steps) {
+            stepIndex++;
+            StepResult stepResult;
+
+            try {
+                PreparedStep preparedStep = kartaRuntime.getPreparedStep(runInfo, testFeature.getName(), -1, scenarioName, fixtureVariables, testFeature.getTestDataSet(), testProperties, step, fixtureBeanRegistry, random);
+
+                if (kartaRuntime.shouldStepNeedNotBeRun(runInfo, preparedStep)) {
+                    continue;
+                }
+
+                stepResult = kartaRuntime.runStep(runInfo, preparedStep);
+            } catch (InterruptedException ie) {
+                throw ie;
+            } catch (Throwable t) {
+                log.error("Exception when running shared fixture step", t);
+                stepResult = StandardStepResults.error(t);
+            }
+
+            stepResult.setStepIndex(stepIndex);
+            stepResults.add(new SerializableKVP<>(step.getStep(), stepResult));
+
+            if (!stepResult.isPassed()) {
+                passed = false;
+
+                if (stopOnFailure) {
+                    break;
+                }
+            }
+        }
+        return passed;
+    }
+
+    /**
+     * Releases the shared fixtures acquired and cancels the reservations of the fixtures not acquired. The last feature releasing a fixture tears it down.
+     */
+    private void releaseFixtures() {
+        FixturePool fixturePool = kartaRuntime.getFixturePool();
+
+        for (String fixtureName : acquiredFixtures) {
+            ArrayList<SerializableKVP<String, StepResult>> tearDownResults = fixturePool.release(fixtureName);
+            FixtureResult fixtureResult = (result == null) ? null : result.getFixtureResults().get(fixtureName);
+
+            if ((tearDownResults != null) && (fixtureResult != null)) {
+                fixtureResult.setTornDown(true);
+                fixtureResult.setTearDownResults(tearDownResults);
+
+                if (tearDownResults.stream().anyMatch(stepResult -> !stepResult.getValue().isPassed())) {
+                    log.error("Tear down of shared fixture " + fixtureName + " failed");
+                    fixtureResult.setSuccessful(false);
+                    result.setSuccessful(false);
+                }
+            }
+        }
+
+        if (fixturesReserved && (testFeature.getFixtures() != null)) {
+            for (TestFixture fixture : testFeature.getFixtures()) {
+                if (!acquiredFixtures.remove(fixture.getName())) {
+                    fixturePool.cancelReservation(fixture.getName());
+                }
+            }
+            fixturesReserved = false;
+        }
+        acquiredFixtures.clear();
+    }
+
+    /**
+     * Evicts the cached step results of the feature and records the cache statistics.
+     */
+    private void closeStepResultCache() {
+        HashMap<String, StepCacheStatistics> stepCacheStatistics = kartaRuntime.getStepResultCache().closeFeature(testFeature.getName());
+        stepCacheStatistics.forEach((stepIdentifier, statistics) -> log.info("Cached step " + stepIdentifier + " of feature " + testFeature.getName() + ": " + statistics.getHits() + " hits, " + statistics.getMisses() + " misses, " + statistics.getExpirations() + " expirations"));
+        result.getStepCacheStatistics().putAll(stepCacheStatistics);
     }
 
     private void deleteJobs() {
-        boolean deleteJobResults = QuartzJobScheduler.deleteJobs(runningJobs);
+        boolean deleteJobResults = true;
+
+        try {
+            HashMap<String, JobMetrics> jobMetrics = kartaRuntime.getTestJobScheduler().cancelJobs(runningJobs);
+            runningJobs.clear();
 
-        for (Thread daemonJobThread : daemonJobThreads) {
+            jobMetrics.forEach((jobName, metrics) -> log.info("Job " + jobName + " of feature " + testFeature.getName() + ": " + metrics.getRuns() + " runs of " + metrics.getFires() + " fires, " + metrics.getMissedFires() + " missed, " + metrics.getFailures() + " failed, average lateness " + metrics.getAverageLateness() + "ms, max lateness " + metrics.getMaxLateness() + "ms"));
+            result.getJobMetrics().putAll(jobMetrics);
+        } catch (InterruptedException ie) {
+            log.error("Interrupted while cancelling test jobs of feature " + testFeature.getName());
+            Thread.currentThread().interrupt();
+            deleteJobResults = false;
+        }
+
+        if (daemonJobSupervisor != null) {
             try {
-                daemonJobThread.interrupt();
-            } catch (SecurityException se) {
-                log.error("Error while interrupting daemon job thread " + daemonJobThread.getName(), se);
+                daemonJobSupervisor.close();
+            } catch (InterruptedException ie) {
+                log.error("Interrupted while stopping daemon jobs of feature " + testFeature.getName());
+                Thread.currentThread().interrupt();
                 deleteJobResults = false;
             }
+
+            HashMap<String, DaemonJobHealth> daemonJobHealth = daemonJobSupervisor.getHealth();
+            daemonJobHealth.forEach((jobName, health) -> log.info("Daemon job " + jobName + " of feature " + testFeature.getName() + ": " + health.getState() + " after " + health.getIterations() + " iterations, " + health.getFailures() + " failures, " + health.getRestarts() + " restarts, " + health.getMissedHeartbeats() + " missed heartbeats"));
+            result.getDaemonJobHealth().putAll(daemonJobHealth);
+
+            // A failed background job invalidates the results of the feature
+            if (daemonJobSupervisor.hasFailedJobs()) {
+                log.error("Daemon jobs of feature " + testFeature.getName() + " failed after exhausting the restart budget");
+                result.setSuccessful(false);
+            }
+            daemonJobSupervisor = null;
         }
 
         if (!deleteJobResults) {
@@ -91,6 +384,73 @@ public class FeatureRunner implements Callable<FeatureResult> {
         }
     }
 
+    /**
+     * Runs a feature setup or tear down step and records its result. Returns null if the step condition says the step need not be run.
+     */
+    private StepResult runFeatureStep(long stepIndex, TestStep step, boolean setup, HashMap<String, Serializable> variables, BeanRegistry contextBeanRegistry) throws Throwable {
+        String runName = runInfo.getRunName();
+        EventProcessor eventProcessor = kartaRuntime.getEventProcessor();
+        StepResult stepResult = new StepResult();
+        stepResult.setStepIndex(stepIndex);
+
+        // Feature steps can run in parallel as a graph and hence have random streams of their own
+        String scenarioName = setup ? Constants.__FEATURE_SETUP__ : Constants.__FEATURE_TEARDOWN__;
+        SeededRandom stepRandom = new SeededRandom(SeededRandom.deriveSeed(SeededRandom.deriveSeed(randomSeed, scenarioName), stepIndex));
+        PreparedStep preparedStep = kartaRuntime.getPreparedStep(runInfo, testFeature.getName(), -1, scenarioName, variables, testFeature.getTestDataSet(), testProperties, step, contextBeanRegistry, stepRandom);
+
+        if (kartaRuntime.shouldStepNeedNotBeRun(runInfo, preparedStep)) {
+            return null;
+        }
+
+        eventProcessor.raiseEvent(setup ? new FeatureSetupStepStartEvent(runName, testFeature, step) : new FeatureTearDownStepStartEvent(runName, testFeature, step));
+
+        try {
+            stepResult = kartaRuntime.runStep(runInfo, preparedStep);
+            stepResult.setStepIndex(stepIndex);
+        } catch (TestFailureException tfe) {
+            log.error("Exception when running step", tfe);
+            stepResult.setSuccessful(false);
+            TestIncident incident = TestIncident.builder().thrownCause(tfe).build();
+            stepResult.addIncident(incident);
+        } finally {
+            eventProcessor.raiseEvent(setup ? new FeatureSetupStepCompleteEvent(runName, testFeature, step, stepResult) : new FeatureTearDownStepCompleteEvent(runName, testFeature, step, stepResult));
+
+            // Steps run as a graph complete in parallel
+            synchronized (result) {
+                (setup ? result.getSetupResults() : result.getTearDownResults()).add(new SerializableKVP<>(step.getStep(), stepResult));
+                result.getIncidents().addAll(stepResult.getIncidents());
+            }
+        }
+
+        return stepResult;
+    }
+
+    /**
+     * Runs the feature setup or tear down steps as a dependency graph and records the critical path timing.</br>
+     * No more setup steps are started after a setup step fails while tear down steps independent of the failed steps are still run.
+     * Every step runs with a variable scope of its own (refer {@link StepGraphVariables}).
+     */
+    private StepGraph.Run<StepResult> runFeatureStepGraph(ArrayList<TestStep> steps, boolean setup, HashMap<String, Serializable> variables, BeanRegistry contextBeanRegistry) throws Throwable {
+        StepGraph<TestStep> stepGraph = new StepGraph<>(steps, step -> StringUtils.isBlank(step.getName()) ? step.getStep() : step.getName(), TestStep::getOutputs, TestStep::getDependsOn);
+        StepGraphVariables graphVariables = new StepGraphVariables(variables);
+        StepGraph.Run<StepResult> run = stepGraph.run(kartaRuntime.getTaskScheduler(runInfo), (stepIndex, step) -> runFeatureStep(stepIndex, step, setup, graphVariables.newStepScope(), contextBeanRegistry), stepResult -> (stepResult == null) || stepResult.isPassed(), setup, (stepIndex, stepResult) -> graphVariables.merge(stepResult));
+        graphVariables.commit();
+
+        StepGraphTiming timing = run.getTiming();
+        if (setup) {
+            result.setSetupStepGraphTiming(timing);
+        } else {
+            result.setTearDownStepGraphTiming(timing);
+        }
+        log.info("Feature " + testFeature.getName() + (setup ? " setup" : " tear down") + " ran " + timing.getStepsRun() + " steps (" + timing.getStepsSkipped() + " skipped) in " + timing.getWallDuration() + "ms with critical path " + timing.getCriticalPath() + " of " + timing.getCriticalPathDuration() + "ms");
+
+        if (!run.getExceptions().isEmpty()) {
+            throw ParallelCausesException.create(new ArrayList<>(run.getExceptions().values()));
+        }
+
+        return run;
+    }
+
     public void updateResultCallBack() {
         result.setEndTime(new Date());
         if (resultConsumer != null) {
@@ -104,19 +464,75 @@ public class FeatureRunner implements Callable<FeatureResult> {
      */
     @Override
     public FeatureResult call() throws InterruptedException {
+        try {
+            return runFeature();
+        } finally {
+            // Shared fixtures are released on early returns and failures as well
+            releaseFixtures();
+        }
+    }
+
+    private FeatureResult runFeature() throws InterruptedException {
         try {
             String runName = runInfo.getRunName();
             ArrayList<String> tags = runInfo.getTags();
 
             result = new FeatureResult();
             result.setFeatureName(testFeature.getName());
+
+            ArrayList<RerunIteration> rerunIterations = null;
+
+            if (runInfo.getRerunIterations() != null) {
+                rerunIterations = runInfo.getRerunIterations().get(testFeature.getName());
+
+                if ((rerunIterations == null) || rerunIterations.isEmpty()) {
+                    log.info("Skipping feature " + testFeature.getName() + " without iterations to rerun");
+                    updateResultCallBack();
+                    return result;
+                }
+            }
+
+            FeatureCheckpoint resumeCheckpoint = null;
+            Duration checkpointInterval = runInfo.getCheckpointInterval();
+            boolean checkpointing = (checkpointInterval != null) && !checkpointInterval.isZero() && !checkpointInterval.isNegative();
+
+            if (checkpointing || runInfo.isResume()) {
+                checkpointStore = kartaRuntime.getCheckpointStore(runName);
+            }
+
+            if (runInfo.isResume()) {
+                resumeCheckpoint = checkpointStore.getLatestCheckpoint(testFeature.getName());
+
+                if (resumeCheckpoint != null) {
+                    if (resumeCheckpoint.getResult() != null) {
+                        result = resumeCheckpoint.getResult();
+                    }
+
+                    if (resumeCheckpoint.isComplete()) {
+                        log.info("Skipping feature " + testFeature.getName() + " completed before the last checkpoint");
+                        updateResultCallBack();
+                        return result;
+                    }
+
+                    // Feature setup and tear down are run again on resume
+                    result.setSetupResults(new ArrayList<>());
+                    result.setTearDownResults(new ArrayList<>());
+                    resumeCheckpoint.getJobIterationCounters().forEach((job, counter) -> jobIterationCounters.put(job, new AtomicInteger(counter)));
+                    log.info("Resuming feature " + testFeature.getName() + " from checkpoint at " + resumeCheckpoint.getCheckpointTime() + " with iterations below " + resumeCheckpoint.getIterationWatermark() + " complete");
+                }
+            }
+
+            // Resumed features continue with the random seed of the checkpointed run
+            if (result.getRandomSeed() == null) {
+                result.setRandomSeed(runInfo.getFeatureRandomSeed(testFeature.getName()));
+            }
+            randomSeed = result.getRandomSeed();
+
             EventProcessor eventProcessor = kartaRuntime.getEventProcessor();
             IKartaNodeRegistry nodeRegistry = kartaRuntime.getNodeRegistry();
             BeanRegistry contextBeanRegistry = new BeanRegistry();
             contextBeanRegistry.put(testProperties);
 
-            Random random = kartaRuntime.getRandom();
-
             boolean useMinions = kartaRuntime.getKartaConfiguration().getMinionsEnabled() && !nodeRegistry.getMinions().isEmpty();
 
             eventProcessor.raiseEvent(new FeatureStartEvent(runName, testFeature));
@@ -132,29 +548,49 @@ public class FeatureRunner implements Callable<FeatureResult> {
 
             HashMap<String, Serializable> variables = new HashMap<>();
 
+            if (!acquireFixtures(variables, contextBeanRegistry)) {
+                result.setSuccessful(false);
+                releaseFixtures();
+                closeStepResultCache();
+
+                eventProcessor.raiseEvent(new FeatureCompleteEvent(runName, testFeature, result));
+
+                if (tags != null) {
+                    if (!eventProcessor.featureStop(runName, testFeature, tags)) {
+                        result.setError(true);
+                    }
+                }
+                updateResultCallBack();
+                return result;
+            }
+
             for (TestJob job : testFeature.getTestJobs()) {
                 try {
                     long jobInterval = job.getInterval();
-                    int repeatCount = job.getIterationCount();
+                    int iterationCount = job.getIterationCount();
 
                     if (job.isDaemonProcess()) {
-                        DaemonTestJob daemonTestJob = DaemonTestJob.builder().kartaRuntime(kartaRuntime).runInfo(runInfo).featureName(testFeature.getName()).testProperties(testProperties).testJob(job).contextBeanRegistry(contextBeanRegistry).build();
-                        Thread daemonJobThread = kartaRuntime.getThreadFactory().newThread(daemonTestJob);
-                        daemonJobThread.start();
-                        daemonJobThreads.add(daemonJobThread);
+                        if (daemonJobSupervisor == null) {
+                            daemonJobSupervisor = new DaemonJobSupervisor(kartaRuntime, runInfo, testFeature.getName(), randomSeed);
+                        }
+                        daemonJobSupervisor.startJob(job, testProperties, contextBeanRegistry);
                     } else if (jobInterval > 0) {
-                        HashMap<String, Object> jobData = new HashMap<>();
-                        jobData.put(Constants.KARTA_RUNTIME, kartaRuntime);
-                        jobData.put(Constants.RUN_INFO, runInfo);
-                        jobData.put(Constants.FEATURE_NAME, testFeature.getName());
-                        jobData.put(Constants.TEST_PROPERTIES, testProperties);
-                        jobData.put(Constants.TEST_JOB, job);
-                        jobData.put(Constants.ITERATION_COUNTER, new AtomicInteger());
-                        jobData.put(Constants.BEAN_REGISTRY, contextBeanRegistry);
-                        long jobId = QuartzJobScheduler.scheduleJob(QuartzTestJob.class, jobInterval, repeatCount, jobData);
-                        runningJobs.add(jobId);
+                        AtomicInteger jobIterationCounter = jobIterationCounters.computeIfAbsent(job.getName(), name -> new AtomicInteger());
+
+                        // Resumed jobs only run the remaining iterations
+                        long jobIterations = TestJobScheduler.getRemainingIterations(iterationCount, jobIterationCounter.get());
+
+                        if (jobIterations == 0) {
+                            log.info("Job " + job.getName() + " already completed its " + (iterationCount + 1L) + " iterations");
+                        } else {
+                            long jobId = kartaRuntime.getTestJobScheduler().scheduleJob(job, jobIterations, jobIterationCounter, jobIterationIndex -> {
+                                TestJobResult jobResult = kartaRuntime.runJobIteration(runInfo, testFeature.getName(), randomSeed, testProperties, job, jobIterationIndex, contextBeanRegistry);
+                                return (jobResult != null) && jobResult.isPassed();
+                            });
+                            runningJobs.add(jobId);
+                        }
                     } else {
-                        TestJobRunner.run(kartaRuntime, runInfo, testFeature.getName(), testProperties, job, 0, contextBeanRegistry);
+                        TestJobRunner.run(kartaRuntime, runInfo, testFeature.getName(), randomSeed, testProperties, job, 0, contextBeanRegistry);
                     }
                 } catch (Throwable t) {
                     log.error("Exception occurred while scheduling jobs ", t);
@@ -165,56 +601,43 @@ public class FeatureRunner implements Callable<FeatureResult> {
 
             int iterationIndex = -1;
 
-            HashMap<TestScenario, AtomicInteger> scenarioIterationIndexMap = new HashMap<>();
-            testFeature.getTestScenarios().forEach((scenario) -> scenarioIterationIndexMap.put(scenario, new AtomicInteger()));
+            scenarioIterationIndexMap = new HashMap<>();
+            HashMap<String, Integer> resumeScenarioIterationIndexes = (resumeCheckpoint != null) ? resumeCheckpoint.getScenarioIterationIndexes() : new HashMap<>();
+            testFeature.getTestScenarios().forEach((scenario) -> scenarioIterationIndexMap.put(scenario, new AtomicInteger(resumeScenarioIterationIndexes.getOrDefault(scenario.getName(), 0))));
 
-            long setupStepIndex = -1;
-            for (TestStep step : testFeature.getSetupSteps()) {
-                setupStepIndex++;
-                StepResult stepResult = new StepResult();
-                stepResult.setStepIndex(setupStepIndex);
-                stepResult.setSuccessful(true);
+            boolean setupPassed = true;
+            ArrayList<TestStep> setupSteps = testFeature.getSetupSteps();
 
-                PreparedStep preparedStep = kartaRuntime.getPreparedStep(runInfo, testFeature.getName(), iterationIndex, Constants.__FEATURE_SETUP__, variables, testFeature.getTestDataSet(), testProperties, step, contextBeanRegistry);
+            if (StepGraph.hasDependencies(setupSteps, TestStep::getDependsOn)) {
+                setupPassed = runFeatureStepGraph(setupSteps, true, variables, contextBeanRegistry).isPassed();
+            } else {
+                long setupStepIndex = -1;
+                for (TestStep step : setupSteps) {
+                    setupStepIndex++;
+                    StepResult stepResult = runFeatureStep(setupStepIndex, step, true, variables, contextBeanRegistry);
 
-                if (kartaRuntime.shouldStepNeedNotBeRun(runInfo, preparedStep)) {
-                    continue;
+                    if ((stepResult != null) && !stepResult.isPassed()) {
+                        setupPassed = false;
+                        break;
+                    }
                 }
+            }
 
-                eventProcessor.raiseEvent(new FeatureSetupStepStartEvent(runName, testFeature, step));
-
-                try {
-                    stepResult = kartaRuntime.runStep(runInfo, preparedStep);
-                    stepResult.setStepIndex(setupStepIndex);
-                } catch (TestFailureException tfe) {
-                    log.error("Exception when running step", tfe);
-                    stepResult.setSuccessful(false);
-                    TestIncident incident = TestIncident.builder().thrownCause(tfe).build();
-                    stepResult.addIncident(incident);
-                } finally {
-                    eventProcessor.raiseEvent(new FeatureSetupStepCompleteEvent(runName, testFeature, step, stepResult));
-
-                    result.getSetupResults().add(new SerializableKVP<>(step.getStep(), stepResult));
-                    result.getIncidents().addAll(stepResult.getIncidents());
-
-                    if (!stepResult.isPassed()) {
-                        result.setSuccessful(false);
-                        deleteJobs();
+            if (!setupPassed) {
+                result.setSuccessful(false);
+                deleteJobs();
+                releaseFixtures();
+                closeStepResultCache();
 
-                        eventProcessor.raiseEvent(new FeatureCompleteEvent(runName, testFeature, result));
+                eventProcessor.raiseEvent(new FeatureCompleteEvent(runName, testFeature, result));
 
-                        if (tags != null) {
-                            if (!eventProcessor.featureStop(runName, testFeature, tags)) {
-                                result.setError(true);
-                            }
-                        }
-                        updateResultCallBack();
+                if (tags != null) {
+                    if (!eventProcessor.featureStop(runName, testFeature, tags)) {
+                        result.setError(true);
                     }
                 }
-
-                if (!result.isSuccessful()) {
-                    return result;
-                }
+                updateResultCallBack();
+                return result;
             }
 
             long numberOfIterations = runInfo.getNumberOfIterations();
@@ -235,15 +658,113 @@ public class FeatureRunner implements Callable<FeatureResult> {
                 numberOfIterationsInParallel = 1;
             }
 
-            ExecutorService iterationExecutionService = null;
+            // Open model: iterations are dispatched at a constant arrival rate irrespective of completion of earlier iterations
+            Double arrivalRate = runInfo.getArrivalRate();
+            boolean openModel = (arrivalRate != null) && (arrivalRate > 0);
+
+            // Load profile: iterations in parallel follow the stages of the profile till the profile completes
+            ArrayList<LoadStage> loadProfile = runInfo.getLoadProfile();
+
+            if ((loadProfile == null) || loadProfile.isEmpty()) {
+                loadProfile = testFeature.getLoadProfile();
+            }
+
+            boolean useLoadProfile = (loadProfile != null) && !loadProfile.isEmpty();
 
-            if (numberOfIterationsInParallel > 1) {
-                iterationExecutionService = new ThreadPoolExecutor(numberOfIterationsInParallel, numberOfIterationsInParallel, 0L, TimeUnit.MILLISECONDS, new BlockingRunnableQueue(numberOfIterationsInParallel), kartaRuntime.getThreadFactory());
+            if (useLoadProfile && openModel) {
+                log.warn("Load profile is ignored for arrival rate " + arrivalRate + " of feature " + testFeature.getName());
+                useLoadProfile = false;
             }
 
-            Instant startTime = Instant.now();
+            AdaptiveConcurrency adaptiveConcurrency = runInfo.getAdaptiveConcurrency();
+
+            if ((adaptiveConcurrency != null) && (openModel || useLoadProfile)) {
+                log.warn("Adaptive concurrency is ignored with arrival rate or load profile for feature " + testFeature.getName());
+                adaptiveConcurrency = null;
+            }
+
+            // Rerun: only the iterations to rerun are run in the closed model with their original iteration indexes
+            if (rerunIterations != null) {
+                if (openModel || useLoadProfile || (adaptiveConcurrency != null) || (targetRunDuration != null)) {
+                    log.warn("Arrival rate, load profile, adaptive concurrency and run duration are ignored when rerunning iterations of feature " + testFeature.getName());
+                }
+                openModel = false;
+                useLoadProfile = false;
+                adaptiveConcurrency = null;
+                targetRunDuration = null;
+                numberOfIterations = rerunIterations.size();
+                log.info("Rerunning " + numberOfIterations + " iterations of feature " + testFeature.getName());
+            }
+
+            BoundedTaskGroup iterationTaskGroup = null;
+            LoadProfileController loadProfileController = null;
+            Thread loadProfileThread = null;
+            Thread adaptiveConcurrencyThread = null;
+
+            if (useLoadProfile) {
+                iterationTaskGroup = kartaRuntime.createTaskGroup(runInfo, 1);
+                loadProfileController = new LoadProfileController(kartaRuntime.getEventProcessor(), runName, testFeature.getName(), loadProfile, iterationTaskGroup);
+                loadProfileThread = kartaRuntime.getThreadFactory().newThread(loadProfileController);
+                numberOfIterations = 0;
+                targetRunDuration = null;
+            } else if (adaptiveConcurrency != null) {
+                int initialParallelism = Math.min(Math.max(numberOfIterationsInParallel, adaptiveConcurrency.getMinParallelism()), adaptiveConcurrency.getMaxParallelism());
+                iterationTaskGroup = kartaRuntime.createTaskGroup(runInfo, initialParallelism);
+                adaptiveConcurrencyController = new AdaptiveConcurrencyController(testFeature.getName(), adaptiveConcurrency, iterationTaskGroup);
+                adaptiveConcurrencyThread = kartaRuntime.getThreadFactory().newThread(adaptiveConcurrencyController);
+            } else if (openModel) {
+                // Arrivals run on the elastic scheduler (or virtual threads) and are bounded only by the max iterations in flight
+                int maxIterationsInFlight = runInfo.getMaxIterationsInFlight();
+                iterationTaskGroup = kartaRuntime.createTaskGroup(runInfo, (maxIterationsInFlight > 0) ? maxIterationsInFlight : Integer.MAX_VALUE);
+
+                if (coolDownBetweenIterations != null) {
+                    log.warn("Cool down between iterations is ignored for arrival rate " + arrivalRate + " of feature " + testFeature.getName());
+                }
+            } else if (numberOfIterationsInParallel > 1) {
+                iterationTaskGroup = kartaRuntime.createTaskGroup(runInfo, numberOfIterationsInParallel);
+            }
+
+            // Compile the scenarios once so that iterations only bind test data
+            HashMap<TestScenario, CompiledScenario> compiledScenarios = kartaRuntime.compileScenarios(runInfo, testFeature);
+
+            long firstIterationIndex = (resumeCheckpoint != null) ? resumeCheckpoint.getIterationWatermark() : 0;
+            iterationProgress = new IterationProgress(firstIterationIndex, (resumeCheckpoint != null) ? resumeCheckpoint.getCompletedIterations() : null);
+
+            // The run duration continues from the time spent before the checkpoint on resume
+            Instant startTime = Instant.now().minusMillis((resumeCheckpoint != null) ? resumeCheckpoint.getElapsedRunDuration() : 0);
+            iterationsStartTime = startTime;
+            ArrivalRateTimer arrivalRateTimer = openModel ? new ArrivalRateTimer(arrivalRate) : null;
+
+            if (loadProfileThread != null) {
+                loadProfileThread.start();
+            }
+
+            if (adaptiveConcurrencyThread != null) {
+                adaptiveConcurrencyThread.start();
+            }
+
+            if (checkpointing) {
+                checkpointThread = kartaRuntime.getThreadFactory().newThread(() -> checkpointPeriodically(checkpointInterval));
+                checkpointThread.start();
+            }
+
+            for (iterationIndex = (int) firstIterationIndex; (numberOfIterations <= 0) || (iterationIndex < numberOfIterations); iterationIndex++) {
+                // Skip iterations completed before the checkpoint
+                if (iterationProgress.isComplete(iterationIndex)) {
+                    continue;
+                }
+
+                Date intendedStartTime = null;
+
+                if (arrivalRateTimer != null) {
+                    intendedStartTime = arrivalRateTimer.awaitArrival(iterationIndex - firstIterationIndex);
+                }
+
+                // Break on load profile completion
+                if ((loadProfileController != null) && loadProfileController.isComplete()) {
+                    break;
+                }
 
-            for (iterationIndex = 0; (numberOfIterations <= 0) || (iterationIndex < numberOfIterations); iterationIndex++) {
                 // Break on target Run Duration
                 if (targetRunDuration != null) {
                     if (targetRunDuration.compareTo(Duration.between(startTime, Instant.now())) <= 0) {
@@ -252,14 +773,35 @@ public class FeatureRunner implements Callable<FeatureResult> {
                 }
 
                 ArrayList<TestScenario> scenariosToRun = new ArrayList<>();
+                int runIterationIndex = iterationIndex;
+                HashMap<String, Long> scenarioIterationNumbers = null;
+                long iterationRandomSeed = SeededRandom.deriveSeed(randomSeed, iterationIndex);
+
+                if (rerunIterations != null) {
+                    RerunIteration rerunIteration = rerunIterations.get(iterationIndex);
+                    runIterationIndex = rerunIteration.getIterationIndex();
+                    scenarioIterationNumbers = rerunIteration.getScenarioIterationNumbers();
+                    scenariosToRun = rerunIteration.selectScenarios(testFeature.getTestScenarios());
+                    iterationRandomSeed = SeededRandom.deriveSeed(randomSeed, runIterationIndex);
+
+                    // Rerun iterations replay the random seeds of the previous run which are recorded as they are not derived from the feature seed
+                    if (rerunIteration.getRandomSeed() != null) {
+                        iterationRandomSeed = rerunIteration.getRandomSeed();
+
+                        synchronized (result) {
+                            result.getIterationRandomSeeds().put(runIterationIndex, iterationRandomSeed);
+                        }
+                    }
+                } else if (chanceBasedScenarioExecution) {
+                    SeededRandom random = new SeededRandom(iterationRandomSeed);
 
-                if (chanceBasedScenarioExecution) {
                     if (exclusiveScenarioPerIteration) {
                         TestScenario scenarioToRun = RandomizationUtils.generateNextMutexComposition(random, testFeature.getTestScenarios());
 
                         if (scenarioToRun != null) {
                             scenariosToRun.add(scenarioToRun);
                         } else {
+                            iterationProgress.complete(iterationIndex);
                             continue;
                         }
                     } else {
@@ -269,7 +811,8 @@ public class FeatureRunner implements Callable<FeatureResult> {
                     scenariosToRun = testFeature.getTestScenarios();
                 }
 
-                IterationRunner iterationRunner = IterationRunner.builder().kartaRuntime(kartaRuntime).runInfo(runInfo).featureName(testFeature.getName()).testProperties(testProperties).commonTestDataSet(testFeature.getTestDataSet()).scenarioSetupSteps(testFeature.getScenarioSetupSteps()).scenariosToRun(scenariosToRun).scenarioTearDownSteps(testFeature.getScenarioTearDownSteps()).iterationIndex(iterationIndex).scenarioIterationIndexMap(scenarioIterationIndexMap).variables(DataUtils.cloneMap(variables)).resultConsumer(this::accumulateIterationResult).build();
+                long progressIterationIndex = iterationIndex;
+                IterationRunner iterationRunner = IterationRunner.builder().kartaRuntime(kartaRuntime).runInfo(runInfo).featureName(testFeature.getName()).testProperties(testProperties).commonTestDataSet(testFeature.getTestDataSet()).scenarioSetupSteps(testFeature.getScenarioSetupSteps()).scenariosToRun(scenariosToRun).scenarioTearDownSteps(testFeature.getScenarioTearDownSteps()).iterationIndex(runIterationIndex).randomSeed(iterationRandomSeed).intendedStartTime(intendedStartTime).scenarioIterationIndexMap(scenarioIterationIndexMap).scenarioIterationNumbers(scenarioIterationNumbers).compiledScenarios(compiledScenarios).variables(new ScopedMap<>(variables)).resultConsumer(iterationResult -> accumulateIterationResult(progressIterationIndex, iterationResult)).build();
 
                 if (useMinions) {
                     KartaNode minion = nodeRegistry.getNextMinion();
@@ -279,66 +822,72 @@ public class FeatureRunner implements Callable<FeatureResult> {
                     }
                 }
 
-                if (numberOfIterationsInParallel == 1) {
-                    log.debug("Iteration start " + iterationIndex + " with scenarios " + scenariosToRun);
+                if (iterationTaskGroup == null) {
+                    log.debug("Iteration start " + runIterationIndex + " with scenarios " + scenariosToRun);
                     iterationRunner.call();
+                } else if (loadProfileController != null) {
+                    log.debug("Iteration queued " + runIterationIndex + " with scenarios " + scenariosToRun);
+                    // Wait for a free slot in the group while checking for profile completion
+                    //noinspection StatementWithEmptyBody
+                    while (!loadProfileController.isComplete() && (iterationTaskGroup.trySubmit(iterationRunner, LoadProfileController.TICK_MILLIS, TimeUnit.MILLISECONDS) == null)) {
+                    }
                 } else {
-                    log.debug("Iteration queued " + iterationIndex + " with scenarios " + scenariosToRun);
-                    assert iterationExecutionService != null;
-                    iterationExecutionService.submit(iterationRunner);
+                    log.debug("Iteration queued " + runIterationIndex + " with scenarios " + scenariosToRun);
+                    iterationTaskGroup.submit(iterationRunner);
                 }
 
-                if (coolDownBetweenIterations != null) {
+                if (!openModel && !useLoadProfile && (adaptiveConcurrency == null) && (coolDownBetweenIterations != null)) {
                     if ((iterationIndex + 1) % (numberOfIterationsInParallel * iterationsPerCoolDownPeriod) == 0) {
                         Thread.sleep(coolDownBetweenIterations.toMillis());
                     }
                 }
             }
 
-            if (numberOfIterationsInParallel > 1) {
-                iterationExecutionService.shutdown();
-                if (!iterationExecutionService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
-                    iterationExecutionService.shutdownNow();
-                }
+            if (loadProfileThread != null) {
+                loadProfileThread.interrupt();
+                loadProfileThread.join();
+            }
+
+            if (adaptiveConcurrencyThread != null) {
+                adaptiveConcurrencyThread.interrupt();
+                adaptiveConcurrencyThread.join();
+            }
+
+            if (iterationTaskGroup != null) {
+                iterationTaskGroup.awaitCompletion();
+            }
+
+            stopCheckpointing();
+
+            if (adaptiveConcurrencyController != null) {
+                result.setMaxSustainableThroughput(adaptiveConcurrencyController.getMaxSustainableThroughput());
+                result.setMaxSustainableParallelism(adaptiveConcurrencyController.getMaxSustainableParallelism());
+                log.info("Feature " + testFeature.getName() + " maximum sustainable throughput " + result.getMaxSustainableThroughput() + "/s at " + result.getMaxSustainableParallelism() + " iterations in parallel");
             }
 
             testFeature.getTestScenarios().forEach((scenario) -> scenarioIterationIndexMap.get(scenario).set(0));
 
-            long teardownStepIndex = -1;
-            iterationIndex = -1;
-            for (TestStep step : testFeature.getTearDownSteps()) {
-                teardownStepIndex++;
-                StepResult stepResult = new StepResult();
-                stepResult.setStepIndex(teardownStepIndex);
-                PreparedStep preparedStep = kartaRuntime.getPreparedStep(runInfo, testFeature.getName(), iterationIndex, Constants.__FEATURE_TEARDOWN__, variables, testFeature.getTestDataSet(), testProperties, step, contextBeanRegistry);
+            ArrayList<TestStep> tearDownSteps = testFeature.getTearDownSteps();
 
-                if (kartaRuntime.shouldStepNeedNotBeRun(runInfo, preparedStep)) {
-                    continue;
+            if (StepGraph.hasDependencies(tearDownSteps, TestStep::getDependsOn)) {
+                if (!runFeatureStepGraph(tearDownSteps, false, variables, contextBeanRegistry).isPassed()) {
+                    result.setSuccessful(false);
                 }
+            } else {
+                long teardownStepIndex = -1;
+                for (TestStep step : tearDownSteps) {
+                    teardownStepIndex++;
+                    StepResult stepResult = runFeatureStep(teardownStepIndex, step, false, variables, contextBeanRegistry);
 
-                eventProcessor.raiseEvent(new FeatureTearDownStepStartEvent(runName, testFeature, step));
-
-                try {
-                    stepResult = kartaRuntime.runStep(runInfo, preparedStep);
-                    stepResult.setStepIndex(teardownStepIndex);
-                } catch (TestFailureException tfe) {
-                    log.error("Exception when running step", tfe);
-                    stepResult.setSuccessful(false);
-                    TestIncident incident = TestIncident.builder().thrownCause(tfe).build();
-                    stepResult.addIncident(incident);
-                } finally {
-                    eventProcessor.raiseEvent(new FeatureTearDownStepCompleteEvent(runName, testFeature, step, stepResult));
-
-                    result.getTearDownResults().add(new SerializableKVP<>(step.getStep(), stepResult));
-                    result.getIncidents().addAll(stepResult.getIncidents());
-
-                    if (!stepResult.isPassed()) {
+                    if ((stepResult != null) && !stepResult.isPassed()) {
                         result.setSuccessful(false);
                     }
                 }
             }
 
             deleteJobs();
+            releaseFixtures();
+            closeStepResultCache();
 
             if (tags != null) {
                 if (!eventProcessor.featureStop(runName, testFeature, tags)) {
@@ -347,9 +896,17 @@ public class FeatureRunner implements Callable<FeatureResult> {
             }
 
             eventProcessor.raiseEvent(new FeatureCompleteEvent(runName, testFeature, result));
+
+            if (checkpointStore != null) {
+                checkpoint(true);
+            }
         } catch (InterruptedException ie) {
+            stopCheckpointing();
+            closeStepResultCache();
             throw ie;
         } catch (Throwable t) {
+            stopCheckpointing();
+            closeStepResultCache();
             log.error("Exception occurred during feature run", t);
             log.error(ExceptionUtils.getStackTrace(t));
             result.setError(true);
@@ -0,0 +1,315 @@
+package org.mvss.karta.framework.runtime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.mvss.karta.framework.models.generic.SerializableKVP;
+import org.mvss.karta.framework.models.result.StepResult;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Pool of named, reference counted test fixtures shared by the features of the runtime (refer {@link org.mvss.karta.framework.models.test.TestFixture}).</br>
+ * The first feature acquiring a fixture creates it while concurrent and later features wait for and reuse it.
+ * The fixture is torn down when the last reference is released.</br>
+ * Runs reserve the fixtures of all their features before starting them so that a fixture is not torn down and created again between features of the run.</br>
+ * Safe for use by features running in parallel thread groups. Fixtures are created and torn down outside the pool lock.</br>
+ *
+ * @author Manian
+ */
+@Log4j2
+public class FixturePool implements AutoCloseable {
+    /**
+     * Tears down a created fixture and returns the tear down step results.
+     */
+    @FunctionalInterface
+    public interface FixtureTearDown {
+        ArrayList<SerializableKVP<String, StepResult>> tearDown() throws Throwable;
+    }
+
+    /**
+     * A fixture created by a feature for sharing.
+     */
+    @Getter
+    @Builder
+    public static class SharedFixture {
+        private final String name;
+
+        @Builder.Default
+        private final boolean successful = true;
+
+        /**
+         * The result variables of the setup steps of the fixture merged into the variables of the features using the fixture.
+         */
+        @Builder.Default
+        private final HashMap<String, Serializable> variables = new HashMap<>();
+
+        /**
+         * The context beans of the setup steps of the fixture added to the context beans of the features using the fixture.
+         */
+        @Builder.Default
+        private final HashMap<String, Object> contextBeans = new HashMap<>();
+
+        @Builder.Default
+        private final ArrayList<SerializableKVP<String, StepResult>> setupResults = new ArrayList<>();
+
+        private final FixtureTearDown tearDown;
+    }
+
+    /**
+     * An acquired reference to a shared fixture which should be released once the feature is done with the fixture.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class FixtureLease {
+        private final SharedFixture fixture;
+
+        /**
+         * Indicates whether the fixture was created for this acquisition.
+         */
+        private final boolean created;
+    }
+
+    private static class Entry {
+        private int reservations = 0;
+
+        private int references = 0;
+
+        private CompletableFuture<SharedFixture> created;
+
+        private CompletableFuture<Void> tornDown;
+    }
+
+    private final HashMap<String, Entry> entries = new HashMap<>();
+
+    /**
+     * Reserves a reference to the fixture for a feature yet to start. The fixture is not torn down while reserved.
+     */
+    public synchronized void reserve(String fixtureName) {
+        entries.computeIfAbsent(fixtureName, name -> new Entry()).reservations++;
+    }
+
+    /**
+     * Cancels a reservation not used to acquire the fixture and tears down the fixture if no longer used.
+     */
+    public void cancelReservation(String fixtureName) {
+        Entry entry;
+
+        synchronized (this) {
+            entry = entries.get(fixtureName);
+
+            if ((entry == null) || (entry.reservations == 0)) {
+                return;
+            }
+
+            entry.reservations--;
+
+            if (!startTearDown(fixtureName, entry)) {
+                return;
+            }
+        }
+
+        tearDown(fixtureName, entry);
+    }
+
+    /**
+     * Acquires a reference to the fixture creating it with the factory if not already created.</br>
+     * Waits for the fixture if being created by another feature or being torn down.
+     *
+     * @param reserved indicates if the feature reserved the fixture before
+     */
+    public FixtureLease acquire(String fixtureName, boolean reserved, Callable<SharedFixture> factory) throws InterruptedException {
+        while (true) {
+            Entry entry;
+            CompletableFuture<Void> tornDown = null;
+            boolean owner = false;
+
+            synchronized (this) {
+                entry = entries.computeIfAbsent(fixtureName, name -> new Entry());
+
+                if (entry.tornDown != null) {
+                    tornDown = entry.tornDown;
+                } else {
+                    if (reserved && (entry.reservations > 0)) {
+                        entry.reservations--;
+                    }
+                    entry.references++;
+
+                    if (entry.created == null) {
+                        entry.created = new CompletableFuture<>();
+                        owner = true;
+                    }
+                }
+            }
+
+            if (tornDown != null) {
+                await(tornDown);
+                continue;
+            }
+
+            if (owner) {
+                SharedFixture sharedFixture;
+                try {
+                    log.info("Creating shared fixture " + fixtureName);
+                    sharedFixture = factory.call();
+                } catch (Throwable t) {
+                    log.error("Exception while creating shared fixture " + fixtureName, t);
+                    sharedFixture = null;
+                }
+
+                if (sharedFixture == null) {
+                    sharedFixture = SharedFixture.builder().name(fixtureName).successful(false).build();
+                }
+                entry.created.complete(sharedFixture);
+                return new FixtureLease(sharedFixture, true);
+            }
+
+            try {
+                return new FixtureLease(await(entry.created), false);
+            } catch (InterruptedException ie) {
+                release(fixtureName);
+                throw ie;
+            }
+        }
+    }
+
+    /**
+     * Releases a reference to the fixture tearing it down if this was the last reference.
+     *
+     * @return the tear down step results if the fixture was torn down or null otherwise
+     */
+    public ArrayList<SerializableKVP<String, StepResult>> release(String fixtureName) {
+        Entry entry;
+
+        synchronized (this) {
+            entry = entries.get(fixtureName);
+
+            if ((entry == null) || (entry.references == 0)) {
+                log.warn("Shared fixture " + fixtureName + " released without being acquired");
+                return null;
+            }
+
+            entry.references--;
+
+            if (!startTearDown(fixtureName, entry)) {
+                return null;
+            }
+        }
+
+        return tearDown(fixtureName, entry);
+    }
+
+    /**
+     * Marks the fixture for tear down if not used or reserved anymore. Returns if the fixture is to be torn down by the caller.
+     */
+    private boolean startTearDown(String fixtureName, Entry entry) {
+        if ((entry.references > 0) || (entry.reservations > 0) || (entry.tornDown != null)) {
+            return false;
+        }
+
+        if (entry.created == null) {
+            entries.remove(fixtureName, entry);
+            return false;
+        }
+
+        entry.tornDown = new CompletableFuture<>();
+        return true;
+    }
+
+    private ArrayList<SerializableKVP<String, StepResult>> tearDown(String fixtureName, Entry entry) {
+        ArrayList<SerializableKVP<String, StepResult>> tearDownResults = null;
+
+        try {
+            // The pool may be closed while the fixture is still being created, so wait for the creation to complete
+            SharedFixture sharedFixture = await(entry.created);
+
+            // Fixtures which failed to be created are discarded without tear down
+            if ((sharedFixture != null) && sharedFixture.isSuccessful() && (sharedFixture.getTearDown() != null)) {
+                log.info("Tearing down shared fixture " + fixtureName);
+                tearDownResults = new ArrayList<>();
+                ArrayList<SerializableKVP<String, StepResult>> results = sharedFixture.getTearDown().tearDown();
+
+                if (results != null) {
+                    tearDownResults.addAll(results);
+                }
+            }
+        } catch (InterruptedException ie) {
+            log.error("Interrupted while waiting for shared fixture " + fixtureName + " to be created for tear down");
+            Thread.currentThread().interrupt();
+        } catch (Throwable t) {
+            log.error("Exception while tearing down shared fixture " + fixtureName, t);
+        } finally {
+            synchronized (this) {
+                entries.remove(fixtureName, entry);
+
+                // Reservations made while tearing down carry over to the next creation of the fixture
+                if (entry.reservations > 0) {
+                    entries.computeIfAbsent(fixtureName, name -> new Entry()).reservations += entry.reservations;
+                }
+            }
+            entry.tornDown.complete(null);
+        }
+
+        return tearDownResults;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException ee) {
+            return null;
+        }
+    }
+
+    /**
+     * Tears down the fixtures which are still created or being created and waits for the fixtures being torn down.
+     */
+    @Override
+    public void close() {
+        ArrayList<String> fixturesToTearDown = new ArrayList<>();
+        ArrayList<CompletableFuture<Void>> tearDowns = new ArrayList<>();
+
+        synchronized (this) {
+            entries.forEach((fixtureName, entry) -> {
+                if (entry.tornDown != null) {
+                    tearDowns.add(entry.tornDown);
+                } else if (entry.created != null) {
+                    log.warn("Shared fixture " + fixtureName + " is still in use with " + entry.references + " references and " + entry.reservations + " reservations while closing");
+                    entry.references = 0;
+                    entry.reservations = 0;
+                    entry.tornDown = new CompletableFuture<>();
+                    fixturesToTearDown.add(fixtureName);
+                }
+            });
+        }
+
+        for (String fixtureName : fixturesToTearDown) {
+            Entry entry;
+            synchronized (this) {
+                entry = entries.get(fixtureName);
+            }
+            tearDown(fixtureName, entry);
+        }
+
+        try {
+            for (CompletableFuture<Void> tearDown : tearDowns) {
+                tearDown.get();
+            }
+        } catch (InterruptedException ie) {
+            log.error("Interrupted while waiting for shared fixtures to be torn down");
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ee) {
+            log.error("Failed waiting for shared fixtures to be torn down", ee);
+        }
+
+        synchronized (this) {
+            entries.clear();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.mvss.karta.framework.runtime;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * Tracks completed iterations of a feature run which can complete out of order.</br>
+ * All iterations below the watermark are complete and completed iterations above the watermark are tracked individually.</br>
+ *
+ * @author Manian
+ */
+public class IterationProgress {
+    private long watermark;
+
+    private final TreeSet<Long> completedAfterWatermark = new TreeSet<>();
+
+    public IterationProgress(long watermark, Collection<Long> completedIterations) {
+        this.watermark = watermark;
+
+        if (completedIterations != null) {
+            completedIterations.forEach(this::complete);
+        }
+    }
+
+    /**
+     * Marks the iteration complete.
+     */
+    public synchronized void complete(long iterationIndex) {
+        if (iterationIndex < watermark) {
+            return;
+        }
+
+        completedAfterWatermark.add(iterationIndex);
+
+        while (completedAfterWatermark.remove(watermark)) {
+            watermark++;
+        }
+    }
+
+    public synchronized boolean isComplete(long iterationIndex) {
+        return (iterationIndex < watermark) || completedAfterWatermark.contains(iterationIndex);
+    }
+
+    public synchronized long getWatermark() {
+        return watermark;
+    }
+
+    public synchronized ArrayList<Long> getCompletedAfterWatermark() {
+        return new ArrayList<>(completedAfterWatermark);
+    }
+}
@@ -2,8 +2,11 @@ package org.mvss.karta.framework.runtime;
 
 import lombok.*;
 import lombok.extern.log4j.Log4j2;
+import org.mvss.karta.Constants;
+import org.mvss.karta.dependencyinjection.BeanRegistry;
 import org.mvss.karta.dependencyinjection.TestProperties;
-import org.mvss.karta.dependencyinjection.utils.DataUtils;
+import org.mvss.karta.framework.utils.ScopedMap;
+import org.mvss.karta.framework.utils.SeededRandom;
 import org.mvss.karta.framework.models.event.ScenarioCompleteEvent;
 import org.mvss.karta.framework.models.event.ScenarioStartEvent;
 import org.mvss.karta.framework.models.result.ScenarioResult;
@@ -12,15 +15,15 @@ import org.mvss.karta.framework.models.test.PreparedScenario;
 import org.mvss.karta.framework.models.test.TestScenario;
 import org.mvss.karta.framework.models.test.TestStep;
 import org.mvss.karta.framework.nodes.KartaNode;
-import org.mvss.karta.framework.threading.BlockingRunnableQueue;
+import org.mvss.karta.framework.threading.BoundedTaskGroup;
+import org.mvss.karta.framework.threading.CancellationToken;
+import org.mvss.karta.framework.threading.DeadlineTimer;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
@@ -37,6 +40,17 @@ public class IterationRunner implements Callable<HashMap<String, ScenarioResult>
 
     private int iterationIndex;
 
+    /**
+     * The random seed of the iteration from which the random streams of the scenarios are derived.
+     */
+    private long randomSeed;
+
+    /**
+     * The intended start time of the iteration when dispatched at a constant arrival rate.
+     */
+    @Builder.Default
+    private Date intendedStartTime = null;
+
     private TestProperties testProperties;
     private HashMap<String, ArrayList<Serializable>> commonTestDataSet;
     private ArrayList<TestStep> scenarioSetupSteps;
@@ -48,6 +62,18 @@ public class IterationRunner implements Callable<HashMap<String, ScenarioResult>
 
     private HashMap<TestScenario, AtomicInteger> scenarioIterationIndexMap;
 
+    /**
+     * The scenario iteration numbers to use mapped to scenario name instead of the next numbers from scenarioIterationIndexMap (for reruns).
+     */
+    @Builder.Default
+    private HashMap<String, Long> scenarioIterationNumbers = null;
+
+    /**
+     * The scenarios compiled once for the feature. Scenarios not compiled are prepared from the test scenario.
+     */
+    @Builder.Default
+    private HashMap<TestScenario, CompiledScenario> compiledScenarios = null;
+
     @Builder.Default
     private HashMap<String, Serializable> variables = new HashMap<>();
 
@@ -62,6 +88,10 @@ public class IterationRunner implements Callable<HashMap<String, ScenarioResult>
      * The callback implementation for scenario result updates for running test scenarios
      */
     private synchronized void accumulateScenarioResult(PreparedScenario scenario, ScenarioResult scenarioResult) {
+        if (intendedStartTime != null) {
+            scenarioResult.setIntendedStartTime(intendedStartTime);
+        }
+
         result.put(scenario.getName(), kartaRuntime.getKartaConfiguration().getDetailedReport() ? scenarioResult : scenarioResult.trimForReport());
 
         kartaRuntime.getEventProcessor().raiseEvent(new ScenarioCompleteEvent(runInfo.getRunName(), featureName, iterationIndex, scenarioMapping.get(scenario), scenarioResult));
@@ -70,33 +100,51 @@ public class IterationRunner implements Callable<HashMap<String, ScenarioResult>
     @Override
     public HashMap<String, ScenarioResult> call() throws InterruptedException {
         result = new HashMap<>();
-        try {
+        CancellationToken iterationToken = CancellationToken.root().child(runInfo.getIterationTimeout());
+        BoundedTaskGroup scenarioTaskGroup = null;
+
+        try (DeadlineTimer.Watch ignored = kartaRuntime.getDeadlineTimer().watch(iterationToken)) {
             String runName = runInfo.getRunName();
 
             EventProcessor eventProcessor = kartaRuntime.getEventProcessor();
             log.debug("Iteration " + iterationIndex + " with scenarios " + scenariosToRun);
 
-            ExecutorService scenarioExecutionService = null;
             boolean runScenarioParallely = runInfo.isRunAllScenarioParallely();
 
             if (runScenarioParallely) {
                 int numberOfScenarios = scenariosToRun.size();
-                scenarioExecutionService = new ThreadPoolExecutor(numberOfScenarios, numberOfScenarios, 0L, TimeUnit.MILLISECONDS, new BlockingRunnableQueue(numberOfScenarios), kartaRuntime.getThreadFactory());
+                scenarioTaskGroup = kartaRuntime.createTaskGroup(runInfo, numberOfScenarios);
             }
 
+            // Context beans (like step definition objects) shared by the scenarios of the iteration
+            BeanRegistry iterationBeanRegistry = new BeanRegistry();
+
             for (TestScenario testScenario : scenariosToRun) {
-                int scenarioIterationNumber = ((scenarioIterationIndexMap != null) && (scenarioIterationIndexMap.containsKey(testScenario))) ? scenarioIterationIndexMap.get(testScenario).getAndIncrement() : 0;
+                int scenarioIterationNumber;
+
+                if ((scenarioIterationNumbers != null) && scenarioIterationNumbers.containsKey(testScenario.getName())) {
+                    scenarioIterationNumber = scenarioIterationNumbers.get(testScenario.getName()).intValue();
+                } else {
+                    scenarioIterationNumber = ((scenarioIterationIndexMap != null) && (scenarioIterationIndexMap.containsKey(testScenario))) ? scenarioIterationIndexMap.get(testScenario).getAndIncrement() : 0;
+                }
                 log.debug("Running Scenario: " + testScenario.getName() + "[" + scenarioIterationNumber + "]:");
 
-                PreparedScenario preparedScenario = kartaRuntime.getPreparedScenario(runInfo, featureName, scenarioIterationNumber, DataUtils.cloneMap(variables), commonTestDataSet, scenarioSetupSteps, testProperties, testScenario, scenarioTearDownSteps);
+                CompiledScenario compiledScenario = (compiledScenarios == null) ? null : compiledScenarios.get(testScenario);
+                if (compiledScenario == null) {
+                    compiledScenario = kartaRuntime.compileScenario(runInfo, commonTestDataSet, scenarioSetupSteps, testScenario, scenarioTearDownSteps);
+                }
+
+                SeededRandom scenarioRandom = new SeededRandom(SeededRandom.deriveSeed(randomSeed, testScenario.getName()));
+                PreparedScenario preparedScenario = kartaRuntime.getPreparedScenario(runInfo, featureName, scenarioIterationNumber, new ScopedMap<>(variables), testProperties, compiledScenario, scenarioRandom);
+                preparedScenario.getContextBeanRegistry().shareNamedContextRegistry(Constants.__ITERATION_DEFINITION_OBJECTS__, iterationBeanRegistry);
                 scenarioMapping.put(preparedScenario, testScenario);
 
                 eventProcessor.raiseEvent(new ScenarioStartEvent(runName, featureName, iterationIndex, testScenario));
 
-                ScenarioRunner scenarioRunner = ScenarioRunner.builder().kartaRuntime(kartaRuntime).runInfo(runInfo).featureName(featureName).iterationIndex(iterationIndex).testScenario(preparedScenario).scenarioIterationNumber(scenarioIterationNumber).minionToUse(minionToUse).resultConsumer(this::accumulateScenarioResult).build();
+                ScenarioRunner scenarioRunner = ScenarioRunner.builder().kartaRuntime(kartaRuntime).runInfo(runInfo).featureName(featureName).iterationIndex(iterationIndex).testScenario(preparedScenario).scenarioIterationNumber(scenarioIterationNumber).cancellationToken(iterationToken).minionToUse(minionToUse).resultConsumer(this::accumulateScenarioResult).build();
 
                 if (runScenarioParallely) {
-                    scenarioExecutionService.submit(scenarioRunner);
+                    scenarioTaskGroup.submit(scenarioRunner);
                 } else {
                     scenarioRunner.call();
                 }
@@ -104,14 +152,20 @@ public class IterationRunner implements Callable<HashMap<String, ScenarioResult>
             }
 
             if (runScenarioParallely) {
-                scenarioExecutionService.shutdown();
-                if (!scenarioExecutionService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
-                    log.error("Failed to wait for scenario executor service shutdown");
-                }
+                scenarioTaskGroup.awaitCompletion();
             }
 
         } catch (InterruptedException ie) {
-            throw ie;
+            if (!iterationToken.isTimedOut()) {
+                throw ie;
+            }
+
+            log.warn("Iteration " + iterationIndex + " of feature " + featureName + " did not complete before the deadline: " + iterationToken.getCancelReason());
+
+            // Parallel scenarios stop at their own deadlines which are not later than the iteration deadline
+            if (scenarioTaskGroup != null) {
+                scenarioTaskGroup.awaitCompletion();
+            }
         } catch (Throwable t) {
             log.error("Error when running iteration: ", t);
         }
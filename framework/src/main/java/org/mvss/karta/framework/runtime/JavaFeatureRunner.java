@@ -19,6 +19,8 @@ import org.mvss.karta.framework.plugins.TestDataSource;
 import org.mvss.karta.framework.threading.BlockingRunnableQueue;
 import org.mvss.karta.framework.utils.DynamicClassLoader;
 import org.mvss.karta.framework.utils.RandomizationUtils;
+import org.mvss.karta.framework.utils.ScopedMap;
+import org.mvss.karta.framework.utils.SeededRandom;
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
@@ -89,8 +91,6 @@ public class JavaFeatureRunner implements Callable<FeatureResult> {
             result = new FeatureResult();
 
             EventProcessor eventProcessor = kartaRuntime.getEventProcessor();
-            Random random = kartaRuntime.getRandom();
-
             boolean loadClassFromJar = StringUtils.isNotBlank(javaTestJarFile) && Files.exists(Paths.get(javaTestJarFile));
 
             Class<?> testCaseClass = loadClassFromJar ? DynamicClassLoader.loadClass(javaTestJarFile, javaTest) : Class.forName(javaTest);
@@ -105,6 +105,9 @@ public class JavaFeatureRunner implements Callable<FeatureResult> {
             String featureDescription = featureAnnotation.description();
             result.setFeatureName(featureName);
 
+            long featureRandomSeed = runInfo.getFeatureRandomSeed(featureName);
+            result.setRandomSeed(featureRandomSeed);
+
             Method[] classMethods = testCaseClass.getMethods();
             TreeMap<Integer, ArrayList<Method>> featureSetupMethodsMap = new TreeMap<>();
             TreeMap<Integer, ArrayList<Method>> scenarioSetupMethodsMap = new TreeMap<>();
@@ -192,6 +195,8 @@ public class JavaFeatureRunner implements Callable<FeatureResult> {
                 ArrayList<Method> scenariosMethodsToRun = new ArrayList<>();
 
                 if (chanceBasedScenarioExecution) {
+                    SeededRandom random = new SeededRandom(SeededRandom.deriveSeed(featureRandomSeed, iterationIndex));
+
                     if (exclusiveScenarioPerIteration) {
                         GenericObjectWithChance<Method> scenarioMethodSelected = RandomizationUtils.generateNextMutexComposition(random, scenarioMethods);
                         if (scenarioMethodSelected != null) {
@@ -206,7 +211,7 @@ public class JavaFeatureRunner implements Callable<FeatureResult> {
                     scenariosMethodsToRun = GenericObjectWithChance.extractObjects(scenarioMethods);
                 }
 
-                JavaIterationRunner iterationRunner = JavaIterationRunner.builder().kartaRuntime(kartaRuntime).testCaseObject(testCaseObject).scenarioSetupMethods(scenarioSetupMethods).scenariosMethodsToRun(scenariosMethodsToRun).scenarioTearDownMethods(scenarioTearDownMethods).runInfo(runInfo).featureName(featureName).featureDescription(featureDescription).iterationIndex(iterationIndex).scenarioIterationIndexMap(scenarioIterationIndexMap).variables(DataUtils.cloneMap(variables)).resultConsumer(this::accumulateIterationResult).build();
+                JavaIterationRunner iterationRunner = JavaIterationRunner.builder().kartaRuntime(kartaRuntime).testCaseObject(testCaseObject).scenarioSetupMethods(scenarioSetupMethods).scenariosMethodsToRun(scenariosMethodsToRun).scenarioTearDownMethods(scenarioTearDownMethods).runInfo(runInfo).featureName(featureName).featureDescription(featureDescription).iterationIndex(iterationIndex).scenarioIterationIndexMap(scenarioIterationIndexMap).variables(new ScopedMap<>(variables)).resultConsumer(this::accumulateIterationResult).build();
 
                 if (numberOfIterationsInParallel == 1) {
                     iterationRunner.call();
@@ -31,14 +31,19 @@ import org.mvss.karta.framework.models.result.*;
 import org.mvss.karta.framework.models.run.RunInfo;
 import org.mvss.karta.framework.models.run.RunTarget;
 import org.mvss.karta.framework.models.run.TestExecutionContext;
+import org.mvss.karta.framework.models.run.TestShard;
 import org.mvss.karta.framework.models.test.*;
 import org.mvss.karta.framework.nodes.IKartaNodeRegistry;
 import org.mvss.karta.framework.nodes.KartaNode;
 import org.mvss.karta.framework.nodes.KartaNodeConfiguration;
 import org.mvss.karta.framework.plugins.*;
-import org.mvss.karta.framework.threading.BlockingRunnableQueue;
+import org.mvss.karta.framework.threading.BoundedTaskGroup;
+import org.mvss.karta.framework.threading.CancellationToken;
+import org.mvss.karta.framework.threading.DeadlineTimer;
 import org.mvss.karta.framework.utils.DynamicClassLoader;
 import org.mvss.karta.framework.utils.SSLUtils;
+import org.mvss.karta.framework.utils.ScopedMap;
+import org.mvss.karta.framework.utils.SeededRandom;
 
 import java.io.File;
 import java.io.InputStream;
@@ -68,6 +73,16 @@ public class KartaRuntime implements AutoCloseable {
     private final Object fspMapLock = new Object();
     private final Object srMapLock = new Object();
     private final Object tdsMapLock = new Object();
+
+    /**
+     * The step runner index for each list of step runners in use
+     */
+    private final ConcurrentHashMap<StepRunnerIndex.Key, StepRunnerIndex> stepRunnerIndexMap = new ConcurrentHashMap<>();
+
+    /**
+     * The checkpoint store for each run name
+     */
+    private final ConcurrentHashMap<String, CheckpointStore> checkpointStores = new ConcurrentHashMap<>();
     @Getter
     private Random random = new Random();
     @Getter
@@ -86,6 +101,18 @@ public class KartaRuntime implements AutoCloseable {
     @Getter
     private ExecutorServiceManager executorServiceManager;
     @Getter
+    private AdmissionController admissionController;
+    @Getter
+    private TestDurationHistory testDurationHistory;
+    @Getter
+    private TestJobScheduler testJobScheduler;
+    @Getter
+    private DeadlineTimer deadlineTimer;
+    @Getter
+    private StepResultCache stepResultCache;
+    @Getter
+    private FixturePool fixturePool;
+    @Getter
     private RunInfo defaultRunInfo = null;
 
     @Getter
@@ -263,10 +290,22 @@ public class KartaRuntime implements AutoCloseable {
         testCatalogManager.mergeRepositoryDirectoryIntoCatalog(new File(Constants.DOT));
 
 
-        executorServiceManager = new ExecutorServiceManager();
+        Integer schedulerParallelism = kartaConfiguration.getSchedulerParallelism();
+        executorServiceManager = new ExecutorServiceManager((schedulerParallelism == null) ? 0 : schedulerParallelism);
         executorServiceManager.addExecutorServiceForGroups(kartaConfiguration.getThreadGroups());
         executorServiceManager.getOrAddExecutorServiceForGroup(Constants.__DEFAULT__, 1);
 
+        Integer maxConcurrentSteps = kartaConfiguration.getMaxConcurrentSteps();
+        admissionController = new AdmissionController((maxConcurrentSteps == null) ? 0 : maxConcurrentSteps, kartaConfiguration.getThreadGroupStepLimits());
+
+        testJobScheduler = new TestJobScheduler();
+        deadlineTimer = new DeadlineTimer();
+        stepResultCache = new StepResultCache();
+        fixturePool = new FixturePool();
+
+        testDurationHistory = new TestDurationHistory(kartaConfiguration.getTestDurationHistoryFile());
+        testDurationHistory.load();
+
         /*------------------------------------------------------------------------------------------------------------*/
         // Initialize bean registry
         /*------------------------------------------------------------------------------------------------------------*/
@@ -283,6 +322,7 @@ public class KartaRuntime implements AutoCloseable {
         for (Plugin pluginEntry : pnpRegistry.getEnabledPlugins().values()) {
             initializeObject(pluginEntry);
         }
+        invalidateStepRunnerIndex();
         /*------------------------------------------------------------------------------------------------------------*/
         // Start event processor with event listener plug-ins*
         /*------------------------------------------------------------------------------------------------------------*/
@@ -357,12 +397,26 @@ public class KartaRuntime implements AutoCloseable {
     @Override
     public void close() {
         try {
+            // Shared fixtures are torn down while the step runners and executors are still available
+            if (fixturePool != null) {
+                fixturePool.close();
+                fixturePool = null;
+            }
+
             if (executorServiceManager != null) {
                 executorServiceManager.close();
                 executorServiceManager = null;
             }
 
-            QuartzJobScheduler.shutdown();
+            if (testJobScheduler != null) {
+                testJobScheduler.close();
+                testJobScheduler = null;
+            }
+
+            if (deadlineTimer != null) {
+                deadlineTimer.close();
+                deadlineTimer = null;
+            }
 
             if (eventProcessor != null) {
                 eventProcessor.close();
@@ -433,16 +487,32 @@ public class KartaRuntime implements AutoCloseable {
         return getStepRunners(stepRunnerPluginNames);
     }
 
+    /**
+     * Returns the index of identifiers to capable step runner for the list of step runners.
+     */
+    public StepRunnerIndex getStepRunnerIndex(ArrayList<StepRunner> stepRunners) {
+        // The step runners are plugin singletons and are compared by identity
+        return stepRunnerIndexMap.computeIfAbsent(new StepRunnerIndex.Key(stepRunners), StepRunnerIndex::new);
+    }
+
+    /**
+     * Invalidates the step runner indexes. To be called when plugins or step definition scripts are (re)loaded.
+     */
+    public void invalidateStepRunnerIndex() {
+        stepRunnerIndexMap.values().forEach(StepRunnerIndex::invalidate);
+        stepRunnerIndexMap.clear();
+    }
+
     public StepRunner getCapableStepRunnerForCondition(ArrayList<StepRunner> stepRunners, String condition) {
-        return DataUtils.findFirst(stepRunners, stepRunner -> stepRunner.conditionImplemented(condition));
+        return getStepRunnerIndex(stepRunners).getStepRunnerForCondition(condition);
     }
 
     public StepRunner getCapableStepRunnerForStep(ArrayList<StepRunner> stepRunners, String stepIdentifier) {
-        return DataUtils.findFirst(stepRunners, stepRunner -> stepRunner.stepImplemented(stepIdentifier));
+        return getStepRunnerIndex(stepRunners).getStepRunnerForStep(stepIdentifier);
     }
 
     public StepRunner getCapableStepRunnerForChaosAction(ArrayList<StepRunner> stepRunners, String chaosAction) {
-        return DataUtils.findFirst(stepRunners, stepRunner -> stepRunner.chaosActionImplemented(chaosAction));
+        return getStepRunnerIndex(stepRunners).getStepRunnerForChaosAction(chaosAction);
     }
 
     /**
@@ -462,11 +532,69 @@ public class KartaRuntime implements AutoCloseable {
         return getTestDataSources(testDataSourcesPluginNames);
     }
 
+    /**
+     * Indicates if virtual threads are to be used for the run. RunInfo setting takes precedence over KartaConfiguration.
+     */
+    public boolean isUseVirtualThreads(RunInfo runInfo) {
+        Boolean useVirtualThreads = (runInfo == null) ? null : runInfo.getUseVirtualThreads();
+
+        if (useVirtualThreads == null) {
+            useVirtualThreads = kartaConfiguration.getUseVirtualThreads();
+        }
+        return (useVirtualThreads != null) && useVirtualThreads;
+    }
+
+    /**
+     * Returns the executor service to run nested parallel work for the RunInfo.
+     */
+    public ExecutorService getTaskScheduler(RunInfo runInfo) {
+        return executorServiceManager.getTaskScheduler(isUseVirtualThreads(runInfo));
+    }
+
+    /**
+     * Creates a task group for the RunInfo which runs at most maxParallelism tasks at a time.
+     */
+    public BoundedTaskGroup createTaskGroup(RunInfo runInfo, int maxParallelism) {
+        return executorServiceManager.createTaskGroup(maxParallelism, isUseVirtualThreads(runInfo));
+    }
+
+    /**
+     * Returns the checkpoint store for the run which is a file named after the run in the checkpoint directory
+     */
+    public CheckpointStore getCheckpointStore(String runName) {
+        return checkpointStores.computeIfAbsent(runName, name -> {
+            String checkpointDirectory = kartaConfiguration.getCheckpointDirectory();
+            return new CheckpointStore(Paths.get(StringUtils.isEmpty(checkpointDirectory) ? Constants.DOT : checkpointDirectory, name + Constants.DOT_CHECKPOINT));
+        });
+    }
+
+    /**
+     * Sets the step admission metrics on the run result and logs them
+     */
+    private void setConcurrencyMetrics(RunResult runResult) {
+        HashMap<String, ConcurrencyMetrics> concurrencyMetrics = admissionController.getMetrics();
+        runResult.setConcurrencyMetrics(concurrencyMetrics);
+
+        concurrencyMetrics.forEach((group, metrics) -> log.info("Step admission for " + group + ": limit " + metrics.getLimit() + ", peak in flight " + metrics.getPeakInFlight() + ", admitted " + metrics.getAdmitted() + ", average queueing delay " + metrics.getAverageQueueingDelay() + "ms, max queueing delay " + metrics.getMaxQueueingDelay() + "ms"));
+    }
+
+    /**
+     * Seeds the run with a new random seed if not seeded and records the seed in the run result for replaying the run
+     */
+    private static void seedRun(RunInfo runInfo, RunResult runResult) {
+        if (runInfo.getRandomSeed() == null) {
+            runInfo.setRandomSeed(SeededRandom.newSeed());
+        }
+        runResult.setRandomSeed(runInfo.getRandomSeed());
+        log.info("Random seed for run " + runInfo.getRunName() + ": " + runInfo.getRandomSeed());
+    }
+
     /**
      * Runs a RunTarget and returns if the feature/JavaTestCase or Tags passed
      */
     public RunResult runTestTarget(RunInfo runInfo, RunTarget runTarget) {
         RunResult runResult = new RunResult();
+        seedRun(runInfo, runResult);
 
         runInfo.setDefaultPlugins(kartaConfiguration.getDefaultFeatureSourceParsers(), kartaConfiguration.getDefaultStepRunners(), kartaConfiguration.getDefaultTestDataSources());
 
@@ -487,6 +615,7 @@ public class KartaRuntime implements AutoCloseable {
                 FeatureResult result = runFeatureFile(runInfo, runTarget.getFeatureFile());
                 runResult.setEndTime(new Date());
                 runResult.addTestResult(result);
+                setConcurrencyMetrics(runResult);
                 eventProcessor.raiseEvent(new RunCompleteEvent(runName, runResult));
 
                 if (!eventProcessor.runStop(runName, individualTestTags)) {
@@ -513,6 +642,7 @@ public class KartaRuntime implements AutoCloseable {
                 FeatureResult result = testRunner.call();
                 runResult.setEndTime(new Date());
                 runResult.addTestResult(result);
+                setConcurrencyMetrics(runResult);
                 eventProcessor.raiseEvent(new RunCompleteEvent(runName, runResult));
                 if (!eventProcessor.runStop(runName, individualTestTags)) {
                     runResult.setError(true);
@@ -521,7 +651,7 @@ public class KartaRuntime implements AutoCloseable {
                 }
                 return runResult;
             } else if ((runTarget.getRunTags() != null && !runTarget.getRunTags().isEmpty())) {
-                return runTestsWithTags(runInfo, runTarget.getRunTags());
+                return runTestsWithTags(runInfo, runTarget.getRunTags(), runTarget.getShard());
             } else {
                 runResult.setEndTime(new Date());
                 runResult.setSuccessful(false);
@@ -539,6 +669,14 @@ public class KartaRuntime implements AutoCloseable {
      * Runs tests filtered from the TestCatalog using the set of tags provided, uses minions if configured and returns if all the tests passed.
      */
     public RunResult runTestsWithTags(RunInfo runInfo, ArrayList<String> tags) throws Throwable {
+        return runTestsWithTags(runInfo, tags, null);
+    }
+
+    /**
+     * Runs the shard of tests filtered from the TestCatalog using the set of tags provided, uses minions if configured and returns if all the tests passed.</br>
+     * Runs all the filtered tests if the shard is null.
+     */
+    public RunResult runTestsWithTags(RunInfo runInfo, ArrayList<String> tags, TestShard testShard) throws Throwable {
         RunResult runResult = new RunResult();
 
         String runName = runInfo.getRunName();
@@ -551,7 +689,12 @@ public class KartaRuntime implements AutoCloseable {
 
         eventProcessor.raiseEvent(new RunStartEvent(runName));
         ArrayList<Test> tests = testCatalogManager.filterTestsByTag(tags);
-        Collections.sort(tests);
+
+        if (testShard != null) {
+            tests = TestScheduler.selectShard(tests, testShard, testDurationHistory);
+            log.info("Running " + tests.size() + " tests of shard " + testShard);
+        }
+
         runResult = runTest(runInfo, tests);
         eventProcessor.raiseEvent(new RunCompleteEvent(runName, runResult));
 
@@ -565,13 +708,19 @@ public class KartaRuntime implements AutoCloseable {
     }
 
     /**
-     * Runs a collection of Tests, uses minions if configured and returns if all the tests passed.
+     * Runs a collection of Tests, uses minions if configured and returns if all the tests passed.</br>
+     * Tests are started in the order of priority and then historical duration (longest first). Refer {@link TestScheduler}.
      */
     public RunResult runTest(RunInfo runInfo, Collection<Test> tests) throws Throwable {
         RunResult result = new RunResult();
-        ArrayList<Future<FeatureResult>> futures = new ArrayList<>();
+        seedRun(runInfo, result);
+        HashMap<Test, Future<FeatureResult>> futures = new LinkedHashMap<>();
+        HashMap<Test, Callable<FeatureResult>> testRunners = new LinkedHashMap<>();
+
+        ArrayList<Test> orderedTests = TestScheduler.orderTests(tests, testDurationHistory);
+        result.setPredictedMakespan(TestScheduler.predictMakespan(orderedTests, testDurationHistory, executorServiceManager::getThreadCountForGroup));
 
-        for (Test test : tests) {
+        for (Test test : orderedTests) {
             switch (test.getTestType()) {
                 case FEATURE: {
                     RunInfo runInfoForTest = runInfo.getRunInfoForTest(test);
@@ -635,28 +784,41 @@ public class KartaRuntime implements AutoCloseable {
 
                     TestFeature testFeature = featureParser.parseFeatureSource(featureSourceCode);
 
-                    ExecutorService testExecutorService = executorServiceManager.getExecutorServiceForGroup(test.getThreadGroup());
-
                     FeatureRunner featureRunner = FeatureRunner.builder().kartaRuntime(this).runInfo(runInfoForTest).testProperties(kartaDependencyInjector.testProperties).testFeature(testFeature).resultConsumer(result::addTestResult).build();
 
-                    futures.add(testExecutorService.submit(featureRunner));
+                    testRunners.put(test, featureRunner);
                 }
                 break;
 
                 case JAVA_TEST: {
                     JavaFeatureRunner testRunner = JavaFeatureRunner.builder().kartaRuntime(this).runInfo(runInfo).javaTest(test.getJavaTestClass()).javaTestJarFile(test.getSourceArchive()).resultConsumer(result::addTestResult).build();
-                    ExecutorService testExecutorService = executorServiceManager.getExecutorServiceForGroup(test.getThreadGroup());
-                    futures.add(testExecutorService.submit(testRunner));
+                    testRunners.put(test, testRunner);
                     break;
                 }
             }
         }
 
-        for (Future<FeatureResult> future : futures) {
-            future.get();
+        // Shared fixtures of all the features are reserved before starting any so that they are not torn down between features
+        for (Callable<FeatureResult> testRunner : testRunners.values()) {
+            if (testRunner instanceof FeatureRunner featureRunner) {
+                featureRunner.reserveFixtures();
+            }
+        }
+
+        for (Map.Entry<Test, Callable<FeatureResult>> testRunner : testRunners.entrySet()) {
+            ExecutorService testExecutorService = executorServiceManager.getExecutorServiceForGroup(testRunner.getKey().getThreadGroup());
+            futures.put(testRunner.getKey(), testExecutorService.submit(testRunner.getValue()));
+        }
+
+        for (Map.Entry<Test, Future<FeatureResult>> future : futures.entrySet()) {
+            testDurationHistory.record(future.getKey().getName(), future.getValue().get());
         }
 
         result.setEndTime(new Date());
+        setConcurrencyMetrics(result);
+
+        testDurationHistory.save();
+        log.info("Run makespan: predicted " + result.getPredictedMakespan() + "ms, actual " + result.getMakespan() + "ms");
         return result;
     }
 
@@ -731,9 +893,9 @@ public class KartaRuntime implements AutoCloseable {
     }
 
     /**
-     * Runs a TestJob iteration on remote node or locally
+     * Runs a TestJob iteration on remote node or locally seeded with the random seed of the feature
      */
-    public TestJobResult runJobIteration(RunInfo runInfo, String featureName, TestProperties testProperties, TestJob job, int iterationIndex, BeanRegistry contextBeanRegistry) throws Throwable {
+    public TestJobResult runJobIteration(RunInfo runInfo, String featureName, long featureRandomSeed, TestProperties testProperties, TestJob job, int iterationIndex, BeanRegistry contextBeanRegistry) throws Throwable {
         TestJobResult jobResult;
         String node = job.getNode();
         if (StringUtils.isNotEmpty(node)) {
@@ -743,7 +905,7 @@ public class KartaRuntime implements AutoCloseable {
                 throw new Exception("Configuration issue: Node with name " + node + " is not registered in node registry");
             }
 
-            jobResult = nodeObj.runJobIteration(runInfo, featureName, testProperties, job.toBuilder().node(null).build(), iterationIndex);
+            jobResult = nodeObj.runJobIteration(runInfo, featureName, featureRandomSeed, testProperties, job.toBuilder().node(null).build(), iterationIndex);
 
             if (jobResult == null) {
                 // ( "Null job result received from remote node" );
@@ -752,7 +914,7 @@ public class KartaRuntime implements AutoCloseable {
 
             jobResult.processRemoteResults();
         } else {
-            jobResult = TestJobRunner.run(this, runInfo, featureName, testProperties, job, iterationIndex, contextBeanRegistry);
+            jobResult = TestJobRunner.run(this, runInfo, featureName, featureRandomSeed, testProperties, job, iterationIndex, contextBeanRegistry);
         }
 
         return jobResult;
@@ -789,14 +951,35 @@ public class KartaRuntime implements AutoCloseable {
             eventProcessor.raiseEvent(event);
         }
 
-        DataUtils.mergeMapInto(stepResult.getResults(), testExecutionContext.getContextData());
+        mergeStepResults(stepResult, testExecutionContext);
+    }
+
+    /**
+     * Merges the result map of the step into the variables of the TestExecutionContext
+     */
+    public void mergeStepResults(StepResult stepResult, TestExecutionContext testExecutionContext) {
+        HashMap<String, Serializable> contextData = (testExecutionContext == null) ? null : testExecutionContext.getContextData();
+
+        // Context data is shared by the steps of a scenario or feature which may complete in parallel
+        if (contextData != null) {
+            synchronized (contextData) {
+                DataUtils.mergeMapInto(stepResult.getResults(), contextData);
+            }
+        }
     }
 
     /**
      * Returns merged test data from test step and variable test data from rules
      */
     public HashMap<String, Serializable> getMergedTestData(TestStep step) throws Throwable {
-        HashMap<String, Serializable> mergedTestData = DataUtils.cloneMap(step.getTestData());
+        return getMergedTestData(step, random);
+    }
+
+    /**
+     * Returns merged test data from test step and variable test data from rules generated with the random stream
+     */
+    public HashMap<String, Serializable> getMergedTestData(TestStep step, Random random) throws Throwable {
+        HashMap<String, Serializable> mergedTestData = new ScopedMap<>(step.getTestData());
         HashMap<String, HashMap<String, Serializable>> variableTestDataRuleMap = step.getVariableTestDataRules();
         if (variableTestDataRuleMap != null) {
             ObjectMapper objectMapper = ParserUtils.getObjectMapper();
@@ -819,11 +1002,20 @@ public class KartaRuntime implements AutoCloseable {
     }
 
     /**
-     * Converts a TestStep into PreparedStep which is ready for execution with execution context and test data merged
+     * Compiles a TestStep once for repeated preparation resolving the step runners, sanitized identifier, inline arguments and merged test data set.
      */
-    public PreparedStep getPreparedStep(RunInfo runInfo, String featureName, int iterationIndex, String scenarioName, HashMap<String, Serializable> variables, HashMap<String, ArrayList<Serializable>> commonTestDataSet, TestProperties testProperties, TestStep step, BeanRegistry contextBeanRegistry) throws Throwable {
-        ArrayList<StepRunner> stepRunners = getStepRunners(runInfo);
+    public CompiledStep compileStep(ArrayList<StepRunner> stepRunners, HashMap<String, ArrayList<Serializable>> commonTestDataSet, TestStep step) {
+        return compileStepOver(stepRunners, ScopedMap.snapshot(commonTestDataSet), step);
+    }
+
+    /**
+     * Compiles a TestStep with its test data set layered over the common test data set which is not modified after compilation.
+     */
+    private CompiledStep compileStepOver(ArrayList<StepRunner> stepRunners, HashMap<String, ArrayList<Serializable>> frozenTestDataSet, TestStep step) {
         String stepIdentifier = step.getStep();
+        String condition = step.getCondition();
+        StepRunner conditionRunner = StringUtils.isNotBlank(condition) ? getCapableStepRunnerForCondition(stepRunners, condition) : null;
+        HashMap<String, ArrayList<Serializable>> testDataSet = ScopedMap.layer(frozenTestDataSet, step.getTestDataSet());
 
         ArrayList<TestStep> nestedSteps = step.getSteps();
 
@@ -834,34 +1026,116 @@ public class KartaRuntime implements AutoCloseable {
 
             StepRunner stepRunner = getCapableStepRunnerForStep(stepRunners, stepIdentifier);
             assert (stepRunner != null);
-            String sanitizedStepIdentifier = stepRunner.sanitizeStepIdentifier(stepIdentifier);
-            TestExecutionContext testExecutionContext = new TestExecutionContext(runInfo.getRunName(), featureName, iterationIndex, scenarioName, sanitizedStepIdentifier, testProperties, null, variables);
-            testExecutionContext.setContextBeanRegistry(contextBeanRegistry);
 
-            HashMap<String, Serializable> mergedTestData = getMergedTestData(step);
-            testExecutionContext.mergeTestData(mergedTestData, DataUtils.mergeMaps(commonTestDataSet, step.getTestDataSet()), getTestDataSources(runInfo));
+            StepCachePolicy cachePolicy = (step.getCache() != null) ? step.getCache() : stepRunner.getStepCachePolicy(stepIdentifier);
 
-            return PreparedStep.builder().gwtConjunction(step.getGwtConjunction()).identifier(stepIdentifier).testExecutionContext(testExecutionContext).node(step.getNode()).numberOfThreads(step.getNumberOfThreads()).maxRetries(step.getMaxRetries()).condition(step.getCondition()).build();
+            return CompiledStep.builder().testStep(step).stepRunner(stepRunner).sanitizedIdentifier(stepRunner.sanitizeStepIdentifier(stepIdentifier)).inlineArguments(Collections.unmodifiableList(stepRunner.getInlineArguments(stepIdentifier))).conditionRunner(conditionRunner).cachePolicy(cachePolicy).testDataSet(testDataSet).build();
         } else {
-            HashMap<String, Serializable> mergedTestData = getMergedTestData(step);
-            TestExecutionContext testExecutionContext = new TestExecutionContext(runInfo.getRunName(), featureName, iterationIndex, scenarioName, stepIdentifier, testProperties, null, variables);
-            testExecutionContext.mergeTestData(mergedTestData, DataUtils.mergeMaps(commonTestDataSet, step.getTestDataSet()), getTestDataSources(runInfo));
-            testExecutionContext.setContextBeanRegistry(contextBeanRegistry);
-
-            PreparedStep preparedStepGroup = PreparedStep.builder().gwtConjunction(step.getGwtConjunction()).identifier(stepIdentifier).testExecutionContext(testExecutionContext).node(step.getNode()).numberOfThreads(step.getNumberOfThreads()).maxRetries(step.getMaxRetries()).build();
-            ArrayList<PreparedStep> nestedPreparedSteps = new ArrayList<>();
+            ArrayList<CompiledStep> compiledNestedSteps = new ArrayList<>();
 
             for (TestStep nestedStep : nestedSteps) {
                 // Pass parent test data set to children.
-                nestedPreparedSteps.add(getPreparedStep(runInfo, featureName, iterationIndex, scenarioName, variables, DataUtils.mergeMaps(commonTestDataSet, step.getTestDataSet()), testProperties, nestedStep, contextBeanRegistry));
+                compiledNestedSteps.add(compileStepOver(stepRunners, testDataSet, nestedStep));
+            }
+
+            return CompiledStep.builder().testStep(step).sanitizedIdentifier(stepIdentifier).conditionRunner(conditionRunner).cachePolicy(step.getCache()).testDataSet(testDataSet).steps(Collections.unmodifiableList(compiledNestedSteps)).build();
+        }
+    }
+
+    /**
+     * Compiles a TestScenario with feature level scenario setup and tear down steps once for repeated preparation.
+     */
+    public CompiledScenario compileScenario(RunInfo runInfo, HashMap<String, ArrayList<Serializable>> commonTestDataSet, ArrayList<TestStep> scenarioSetupSteps, TestScenario testScenario, ArrayList<TestStep> scenarioTearDownSteps) {
+        ArrayList<StepRunner> stepRunners = getStepRunners(runInfo);
+        HashMap<String, ArrayList<Serializable>> mergedCommonTestDataSet = ScopedMap.layer(ScopedMap.snapshot(commonTestDataSet), testScenario.getTestDataSet());
+
+        ArrayList<CompiledStep> setupSteps = new ArrayList<>();
+        for (TestStep step : DataUtils.mergeLists(scenarioSetupSteps, testScenario.getSetupSteps())) {
+            setupSteps.add(compileStepOver(stepRunners, mergedCommonTestDataSet, step));
+        }
+
+        ArrayList<CompiledStep> executionSteps = new ArrayList<>();
+        for (TestStep step : testScenario.getExecutionSteps()) {
+            executionSteps.add(compileStepOver(stepRunners, mergedCommonTestDataSet, step));
+        }
+
+        ArrayList<CompiledStep> tearDownSteps = new ArrayList<>();
+        for (TestStep step : DataUtils.mergeLists(testScenario.getTearDownSteps(), scenarioTearDownSteps)) {
+            tearDownSteps.add(compileStepOver(stepRunners, mergedCommonTestDataSet, step));
+        }
+
+        return CompiledScenario.builder().testScenario(testScenario).testDataSet(mergedCommonTestDataSet).setupSteps(Collections.unmodifiableList(setupSteps)).executionSteps(Collections.unmodifiableList(executionSteps)).tearDownSteps(Collections.unmodifiableList(tearDownSteps)).build();
+    }
+
+    /**
+     * Compiles all the scenarios of a TestFeature once for repeated preparation across iterations.</br>
+     * Scenarios failing compilation are left out and are prepared from the test scenario for every iteration.
+     */
+    public HashMap<TestScenario, CompiledScenario> compileScenarios(RunInfo runInfo, TestFeature testFeature) {
+        HashMap<TestScenario, CompiledScenario> compiledScenarios = new HashMap<>();
+
+        for (TestScenario testScenario : testFeature.getTestScenarios()) {
+            try {
+                compiledScenarios.put(testScenario, compileScenario(runInfo, testFeature.getTestDataSet(), testFeature.getScenarioSetupSteps(), testScenario, testFeature.getScenarioTearDownSteps()));
+            } catch (Throwable t) {
+                log.error("Failed to compile scenario " + testScenario.getName() + " of feature " + testFeature.getName(), t);
+            }
+        }
+        return compiledScenarios;
+    }
+
+    /**
+     * Converts a TestStep into PreparedStep which is ready for execution with execution context and test data merged
+     */
+    public PreparedStep getPreparedStep(RunInfo runInfo, String featureName, int iterationIndex, String scenarioName, HashMap<String, Serializable> variables, HashMap<String, ArrayList<Serializable>> commonTestDataSet, TestProperties testProperties, TestStep step, BeanRegistry contextBeanRegistry) throws Throwable {
+        return getPreparedStep(runInfo, featureName, iterationIndex, scenarioName, variables, commonTestDataSet, testProperties, step, contextBeanRegistry, random);
+    }
+
+    /**
+     * Converts a TestStep into PreparedStep which is ready for execution with execution context and test data merged generating the variable test data with the random stream
+     */
+    public PreparedStep getPreparedStep(RunInfo runInfo, String featureName, int iterationIndex, String scenarioName, HashMap<String, Serializable> variables, HashMap<String, ArrayList<Serializable>> commonTestDataSet, TestProperties testProperties, TestStep step, BeanRegistry contextBeanRegistry, Random random) throws Throwable {
+        return getPreparedStep(runInfo, featureName, iterationIndex, scenarioName, variables, testProperties, compileStep(getStepRunners(runInfo), commonTestDataSet, step), contextBeanRegistry, random);
+    }
+
+    /**
+     * Binds a CompiledStep with the execution context and test data of the iteration into PreparedStep which is ready for execution
+     */
+    public PreparedStep getPreparedStep(RunInfo runInfo, String featureName, int iterationIndex, String scenarioName, HashMap<String, Serializable> variables, TestProperties testProperties, CompiledStep compiledStep, BeanRegistry contextBeanRegistry) throws Throwable {
+        return getPreparedStep(runInfo, featureName, iterationIndex, scenarioName, variables, testProperties, compiledStep, contextBeanRegistry, random);
+    }
+
+    /**
+     * Binds a CompiledStep with the execution context and test data of the iteration into PreparedStep generating the variable test data with the random stream
+     */
+    public PreparedStep getPreparedStep(RunInfo runInfo, String featureName, int iterationIndex, String scenarioName, HashMap<String, Serializable> variables, TestProperties testProperties, CompiledStep compiledStep, BeanRegistry contextBeanRegistry, Random random) throws Throwable {
+        TestStep step = compiledStep.getTestStep();
+
+        TestExecutionContext testExecutionContext = new TestExecutionContext(runInfo.getRunName(), featureName, iterationIndex, scenarioName, compiledStep.getSanitizedIdentifier(), testProperties, null, variables);
+        testExecutionContext.setContextBeanRegistry(contextBeanRegistry);
+        testExecutionContext.mergeTestData(getMergedTestData(step, random), compiledStep.getTestDataSet(), getTestDataSources(runInfo));
+
+        PreparedStep preparedStep = PreparedStep.builder().gwtConjunction(step.getGwtConjunction()).identifier(step.getStep()).testExecutionContext(testExecutionContext).node(step.getNode()).numberOfThreads(step.getNumberOfThreads()).maxRetries(step.getMaxRetries()).condition(step.getCondition()).conditionRunner(compiledStep.getConditionRunner()).timeout(step.getTimeout()).name(StringUtils.isBlank(step.getName()) ? step.getStep() : step.getName()).dependsOn(step.getDependsOn()).outputs(step.getOutputs()).cache(compiledStep.getCachePolicy()).build();
+
+        List<CompiledStep> compiledNestedSteps = compiledStep.getSteps();
+
+        if (compiledNestedSteps == null) {
+            preparedStep.setStepRunner(compiledStep.getStepRunner());
+            preparedStep.setSanitizedIdentifier(compiledStep.getSanitizedIdentifier());
+            preparedStep.setInlineArguments(compiledStep.getInlineArguments());
+        } else {
+            ArrayList<PreparedStep> nestedPreparedSteps = new ArrayList<>();
+
+            for (CompiledStep compiledNestedStep : compiledNestedSteps) {
+                nestedPreparedSteps.add(getPreparedStep(runInfo, featureName, iterationIndex, scenarioName, variables, testProperties, compiledNestedStep, contextBeanRegistry, random));
             }
 
-            preparedStepGroup.setSteps(nestedPreparedSteps);
+            preparedStep.setSteps(nestedPreparedSteps);
             Boolean runInParallel = step.getRunStepsInParallel();
-            preparedStepGroup.setRunStepsInParallel(runInParallel != null && runInParallel);
-            preparedStepGroup.setCondition(step.getCondition());
-            return preparedStepGroup;
+            preparedStep.setRunStepsInParallel(runInParallel != null && runInParallel);
         }
+
+        return preparedStep;
     }
 
     /**
@@ -881,15 +1155,29 @@ public class KartaRuntime implements AutoCloseable {
      * Converts a TestScenario into PreparedScenario which is ready for execution with execution context and test data merged
      */
     public PreparedScenario getPreparedScenario(RunInfo runInfo, String featureName, int iterationIndex, HashMap<String, Serializable> variables, HashMap<String, ArrayList<Serializable>> commonTestDataSet, ArrayList<TestStep> scenarioSetupSteps, TestProperties testProperties, TestScenario testScenario, ArrayList<TestStep> scenarioTearDownSteps) throws Throwable {
-        BeanRegistry contextBeanRegistry = new BeanRegistry();
+        return getPreparedScenario(runInfo, featureName, iterationIndex, variables, testProperties, compileScenario(runInfo, commonTestDataSet, scenarioSetupSteps, testScenario, scenarioTearDownSteps));
+    }
 
-        PreparedScenario preparedScenario = PreparedScenario.builder().name(testScenario.getName()).description(testScenario.getDescription()).contextBeanRegistry(contextBeanRegistry).build();
+    /**
+     * Binds a CompiledScenario with the execution context and test data of the iteration into PreparedScenario which is ready for execution
+     */
+    public PreparedScenario getPreparedScenario(RunInfo runInfo, String featureName, int iterationIndex, HashMap<String, Serializable> variables, TestProperties testProperties, CompiledScenario compiledScenario) throws Throwable {
+        return getPreparedScenario(runInfo, featureName, iterationIndex, variables, testProperties, compiledScenario, random);
+    }
+
+    /**
+     * Binds a CompiledScenario with the execution context and test data of the iteration into PreparedScenario selecting chaos actions and generating variable test data with the random stream.</br>
+     * The random stream is used in the order of preparation and should not be shared with other scenarios being prepared for reproducible runs.
+     */
+    public PreparedScenario getPreparedScenario(RunInfo runInfo, String featureName, int iterationIndex, HashMap<String, Serializable> variables, TestProperties testProperties, CompiledScenario compiledScenario, Random random) throws Throwable {
+        BeanRegistry contextBeanRegistry = new BeanRegistry();
+        TestScenario testScenario = compiledScenario.getTestScenario();
 
-        HashMap<String, ArrayList<Serializable>> mergedCommonTestDataSet = DataUtils.mergeMaps(commonTestDataSet, testScenario.getTestDataSet());
+        PreparedScenario preparedScenario = PreparedScenario.builder().name(testScenario.getName()).description(testScenario.getDescription()).timeout(testScenario.getTimeout()).contextBeanRegistry(contextBeanRegistry).build();
 
         ArrayList<PreparedStep> preparedSetupSteps = new ArrayList<>();
-        for (TestStep step : DataUtils.mergeLists(scenarioSetupSteps, testScenario.getSetupSteps())) {
-            preparedSetupSteps.add(getPreparedStep(runInfo, featureName, iterationIndex, testScenario.getName(), variables, mergedCommonTestDataSet, testProperties, step, contextBeanRegistry));
+        for (CompiledStep step : compiledScenario.getSetupSteps()) {
+            preparedSetupSteps.add(getPreparedStep(runInfo, featureName, iterationIndex, testScenario.getName(), variables, testProperties, step, contextBeanRegistry, random));
         }
         preparedScenario.setSetupSteps(preparedSetupSteps);
 
@@ -901,21 +1189,21 @@ public class KartaRuntime implements AutoCloseable {
                 // TODO: Handle chaos action being empty
 
                 for (ChaosAction chaosAction : chaosActionsToPerform) {
-                    preparedChaosActions.add(getPreparedChaosAction(runInfo, featureName, iterationIndex, testScenario.getName(), variables, mergedCommonTestDataSet, testProperties, chaosAction, contextBeanRegistry));
+                    preparedChaosActions.add(getPreparedChaosAction(runInfo, featureName, iterationIndex, testScenario.getName(), variables, compiledScenario.getTestDataSet(), testProperties, chaosAction, contextBeanRegistry));
                 }
             }
         }
         preparedScenario.setChaosActions(preparedChaosActions);
 
         ArrayList<PreparedStep> preparedExecutionSteps = new ArrayList<>();
-        for (TestStep step : testScenario.getExecutionSteps()) {
-            preparedExecutionSteps.add(getPreparedStep(runInfo, featureName, iterationIndex, testScenario.getName(), variables, mergedCommonTestDataSet, testProperties, step, contextBeanRegistry));
+        for (CompiledStep step : compiledScenario.getExecutionSteps()) {
+            preparedExecutionSteps.add(getPreparedStep(runInfo, featureName, iterationIndex, testScenario.getName(), variables, testProperties, step, contextBeanRegistry, random));
         }
         preparedScenario.setExecutionSteps(preparedExecutionSteps);
 
         ArrayList<PreparedStep> preparedTearDownSteps = new ArrayList<>();
-        for (TestStep step : DataUtils.mergeLists(testScenario.getTearDownSteps(), scenarioTearDownSteps)) {
-            preparedTearDownSteps.add(getPreparedStep(runInfo, featureName, iterationIndex, testScenario.getName(), variables, mergedCommonTestDataSet, testProperties, step, contextBeanRegistry));
+        for (CompiledStep step : compiledScenario.getTearDownSteps()) {
+            preparedTearDownSteps.add(getPreparedStep(runInfo, featureName, iterationIndex, testScenario.getName(), variables, testProperties, step, contextBeanRegistry, random));
         }
         preparedScenario.setTearDownSteps(preparedTearDownSteps);
 
@@ -928,8 +1216,11 @@ public class KartaRuntime implements AutoCloseable {
     public boolean shouldStepNeedNotBeRun(RunInfo runInfo, PreparedStep step) throws InterruptedException {
         String condition = step.getCondition();
         if (StringUtils.isNotBlank(condition)) {
-            ArrayList<StepRunner> stepRunners = getStepRunners(runInfo);
-            StepRunner stepRunner = getCapableStepRunnerForCondition(stepRunners, condition);
+            StepRunner stepRunner = step.getConditionRunner();
+
+            if (stepRunner == null) {
+                stepRunner = getCapableStepRunnerForCondition(getStepRunners(runInfo), condition);
+            }
             assert stepRunner != null;
             return !stepRunner.runCondition(step.getTestExecutionContext(), condition);
         }
@@ -940,7 +1231,26 @@ public class KartaRuntime implements AutoCloseable {
      * Runs a PreparedStep based on the RunInfo locally or on a remote node and returns the StepResult
      */
     public StepResult runStep(RunInfo runInfo, PreparedStep step) throws Exception {
+        return runStep(runInfo, step, null);
+    }
+
+    /**
+     * Runs a PreparedStep based on the RunInfo locally or on a remote node with the cancellation token of the parent scenario or iteration and returns the StepResult.</br>
+     * The token in the test execution context of the step is used if the parent token is null.
+     */
+    public StepResult runStep(RunInfo runInfo, PreparedStep step, CancellationToken parentToken) throws Exception {
         Date startTime = new Date();
+        StepResult stepResult = stepResultCache.getOrRun(step, () -> executeStep(runInfo, step, parentToken));
+
+        processStepResult(startTime, stepResult, step.getTestExecutionContext());
+
+        return stepResult;
+    }
+
+    /**
+     * Runs a PreparedStep based on the RunInfo locally or on a remote node without the step result cache and post-processing.
+     */
+    private StepResult executeStep(RunInfo runInfo, PreparedStep step, CancellationToken parentToken) throws Exception {
         StepResult stepResult;
 
         String node = step.getNode();
@@ -964,27 +1274,24 @@ public class KartaRuntime implements AutoCloseable {
             // TODO: Add max validations
             if (numberOfThreadsInParallel > 1) {
                 stepResult = new StepResult();
-                ExecutorService stepExecutorService = new ThreadPoolExecutor(numberOfThreadsInParallel, numberOfThreadsInParallel, 0L, TimeUnit.MILLISECONDS, new BlockingRunnableQueue(numberOfThreadsInParallel), threadFactory);
+                BoundedTaskGroup stepTaskGroup = createTaskGroup(runInfo, numberOfThreadsInParallel);
+
+                // The parallel runs share the test execution context; every run gets its own step token from the parent token
+                CancellationToken runParentToken = (parentToken != null) ? parentToken : step.getTestExecutionContext().getCancellationToken();
 
                 for (int i = 0; i < numberOfThreadsInParallel; i++) {
-                    PreparedStepRunner preparedStepRunner = PreparedStepRunner.builder().kartaRuntime(this).runInfo(runInfo).step(step).resultConsumer(stepResult::mergeResults).build();
-                    stepExecutorService.submit(preparedStepRunner);
+                    PreparedStepRunner preparedStepRunner = PreparedStepRunner.builder().kartaRuntime(this).runInfo(runInfo).step(step).cancellationToken(runParentToken).resultConsumer(stepResult::mergeResults).build();
+                    stepTaskGroup.submit(preparedStepRunner);
                 }
 
-                stepExecutorService.shutdown();
-
-                if (!stepExecutorService.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS)) {
-                    log.error("Wait for executor service termination failed.");
-                }
+                stepTaskGroup.awaitCompletion();
 
             } else {
-                PreparedStepRunner preparedStepRunner = PreparedStepRunner.builder().kartaRuntime(this).runInfo(runInfo).step(step).build();
+                PreparedStepRunner preparedStepRunner = PreparedStepRunner.builder().kartaRuntime(this).runInfo(runInfo).step(step).cancellationToken(parentToken).build();
                 stepResult = preparedStepRunner.call();
             }
         }
 
-        processStepResult(startTime, stepResult, step.getTestExecutionContext());
-
         return stepResult;
     }
 
@@ -1021,7 +1328,15 @@ public class KartaRuntime implements AutoCloseable {
             ArrayList<StepRunner> stepRunners = getStepRunners(runInfo);
             StepRunner stepRunner = getCapableStepRunnerForChaosAction(stepRunners, preparedChaosAction.getName());
             assert stepRunner != null;
-            stepResult = stepRunner.performChaosAction(preparedChaosAction);
+
+            String threadGroup = runInfo.getThreadGroup();
+            admissionController.acquire(threadGroup);
+
+            try {
+                stepResult = stepRunner.performChaosAction(preparedChaosAction);
+            } finally {
+                admissionController.release(threadGroup);
+            }
         }
 
         processStepResult(startTime, stepResult, preparedChaosAction.getTestExecutionContext());
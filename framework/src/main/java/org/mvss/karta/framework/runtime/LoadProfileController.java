@@ -0,0 +1,91 @@
+package org.mvss.karta.framework.runtime;
+
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.mvss.karta.framework.models.event.LoadStageCompleteEvent;
+import org.mvss.karta.framework.models.event.LoadStageStartEvent;
+import org.mvss.karta.framework.models.run.LoadStage;
+import org.mvss.karta.framework.threading.BoundedTaskGroup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follows a load profile by resizing the iteration task group of a feature over time.</br>
+ * Raises a {@link LoadStageStartEvent} and a {@link LoadStageCompleteEvent} at every stage boundary.</br>
+ * Targets above the scheduler core thread count are reached as the task group runs on the elastic scheduler (or virtual threads).</br>
+ *
+ * @author Manian
+ */
+@Log4j2
+public class LoadProfileController implements Runnable {
+    /**
+     * The interval at which the parallelism is updated during ramps.
+     */
+    public static final long TICK_MILLIS = 100;
+
+    private final EventProcessor eventProcessor;
+
+    private final String runName;
+
+    private final String featureName;
+
+    private final ArrayList<LoadStage> loadProfile;
+
+    private final BoundedTaskGroup taskGroup;
+
+    /**
+     * Indicates if all the stages of the profile are complete or the controller was interrupted.
+     */
+    @Getter
+    private volatile boolean complete = false;
+
+    public LoadProfileController(EventProcessor eventProcessor, String runName, String featureName, ArrayList<LoadStage> loadProfile, BoundedTaskGroup taskGroup) {
+        this.eventProcessor = eventProcessor;
+        this.runName = runName;
+        this.featureName = featureName;
+        this.loadProfile = loadProfile;
+        this.taskGroup = taskGroup;
+    }
+
+    @Override
+    public void run() {
+        int previousTarget = taskGroup.getMaxParallelism();
+
+        try {
+            for (int stageIndex = 0; stageIndex < loadProfile.size(); stageIndex++) {
+                LoadStage loadStage = loadProfile.get(stageIndex);
+                int target = Math.max(loadStage.getTarget(), 1);
+                Duration duration = loadStage.getDuration();
+                long stageNanos = (duration == null) ? 0 : duration.toNanos();
+
+                log.debug("Feature " + featureName + " load stage " + stageIndex + " start: " + loadStage);
+                eventProcessor.raiseEvent(new LoadStageStartEvent(runName, featureName, stageIndex, loadStage));
+
+                if (!loadStage.isRamp()) {
+                    taskGroup.setMaxParallelism(target);
+                }
+
+                long stageStartNanos = System.nanoTime();
+                long elapsedNanos;
+
+                while ((elapsedNanos = System.nanoTime() - stageStartNanos) < stageNanos) {
+                    if (loadStage.isRamp()) {
+                        taskGroup.setMaxParallelism((int) Math.round(previousTarget + ((target - previousTarget) * ((double) elapsedNanos / stageNanos))));
+                    }
+                    TimeUnit.NANOSECONDS.sleep(Math.min(TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS), stageNanos - elapsedNanos));
+                }
+
+                taskGroup.setMaxParallelism(target);
+                previousTarget = target;
+
+                eventProcessor.raiseEvent(new LoadStageCompleteEvent(runName, featureName, stageIndex, loadStage));
+            }
+        } catch (InterruptedException ie) {
+            log.warn("Load profile for feature " + featureName + " was interrupted");
+        } finally {
+            complete = true;
+        }
+    }
+}
@@ -5,12 +5,16 @@ import lombok.extern.log4j.Log4j2;
 import org.mvss.karta.framework.core.StandardStepResults;
 import org.mvss.karta.framework.models.result.StepResult;
 import org.mvss.karta.framework.models.run.RunInfo;
+import org.mvss.karta.framework.models.run.TestExecutionContext;
 import org.mvss.karta.framework.models.test.PreparedStep;
 import org.mvss.karta.framework.plugins.StepRunner;
+import org.mvss.karta.framework.threading.CancellationToken;
+import org.mvss.karta.framework.threading.DeadlineTimer;
 import org.mvss.karta.framework.utils.ParallelCausesException;
 import org.mvss.karta.framework.utils.ThreadUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -30,25 +34,48 @@ public class PreparedStepRunner implements Callable<StepResult> {
     private PreparedStep step;
     private Consumer<StepResult> resultConsumer;
 
-    public StepResult execute() throws InterruptedException {
+    /**
+     * The cancellation token of the parent step, scenario or iteration. The token in the test execution context of the step is used if null.
+     */
+    private CancellationToken cancellationToken;
+
+    /**
+     * Runs the step once with the step invocation which has the test execution context carrying the step token.
+     */
+    public StepResult execute(PreparedStep step, CancellationToken stepToken) throws InterruptedException {
         StepResult stepResult = new StepResult();
 
         try {
             ArrayList<PreparedStep> nestedSteps = step.getSteps();
 
-            ArrayList<StepRunner> stepRunners = kartaRuntime.getStepRunners(runInfo);
-            StepRunner stepRunner = kartaRuntime.getCapableStepRunnerForStep(stepRunners, step.getIdentifier());
+            StepRunner stepRunner = step.getStepRunner();
+
+            // Step groups and steps received from remote nodes are not bound to a step runner
+            if ((stepRunner == null) && ((nestedSteps == null) || nestedSteps.isEmpty())) {
+                stepRunner = kartaRuntime.getCapableStepRunnerForStep(kartaRuntime.getStepRunners(runInfo), step.getIdentifier());
+            }
 
             if (stepRunner != null) {
-                stepResult = stepRunner.runStep(step);
+                // Only leaf steps hold admission permits so that step groups waiting on nested steps can not exhaust them
+                AdmissionController admissionController = kartaRuntime.getAdmissionController();
+                String threadGroup = runInfo.getThreadGroup();
+                admissionController.acquire(threadGroup);
+
+                try {
+                    stepResult = stepRunner.runStep(step);
+                } finally {
+                    admissionController.release(threadGroup);
+                }
             }
 
-            if ((nestedSteps != null) && !nestedSteps.isEmpty()) {
+            if ((nestedSteps != null) && !nestedSteps.isEmpty() && StepGraph.hasDependencies(nestedSteps, PreparedStep::getDependsOn)) {
+                runStepGraph(nestedSteps, stepResult, stepToken);
+            } else if ((nestedSteps != null) && !nestedSteps.isEmpty()) {
                 // TODO: Forward test data and test data set from parent step to nested steps
                 boolean runInParallel = (step.getRunStepsInParallel() != null) && step.getRunStepsInParallel();
 
-                List<Callable<StepResult>> preparedStepRunners = nestedSteps.stream().map(nestedStep -> PreparedStepRunner.builder().kartaRuntime(kartaRuntime).runInfo(runInfo).step(nestedStep).build()).collect(Collectors.toList());
-                if (!ThreadUtils.runCallables(preparedStepRunners, stepResult::mergeResults, runInParallel, nestedSteps.size())) {
+                List<Callable<StepResult>> preparedStepRunners = nestedSteps.stream().map(nestedStep -> PreparedStepRunner.builder().kartaRuntime(kartaRuntime).runInfo(runInfo).step(nestedStep).cancellationToken(stepToken).build()).collect(Collectors.toList());
+                if (!ThreadUtils.runCallables(preparedStepRunners, stepResult::mergeResults, runInParallel, kartaRuntime.getTaskScheduler(runInfo))) {
                     if (runInParallel) {
                         log.error("Failed awaiting termination of step executor service");
                     }
@@ -65,17 +92,56 @@ public class PreparedStepRunner implements Callable<StepResult> {
         return stepResult;
     }
 
+    /**
+     * Runs the nested steps as a dependency graph. The results of a nested step are layered over the variables before its dependent steps are run.</br>
+     * Every nested step runs with a variable scope of its own (refer {@link StepGraphVariables}) and the results are merged into the variables when the graph completes.
+     */
+    private void runStepGraph(ArrayList<PreparedStep> nestedSteps, StepResult stepResult, CancellationToken stepToken) throws Throwable {
+        StepGraph<PreparedStep> stepGraph = new StepGraph<>(nestedSteps, PreparedStep::getName, PreparedStep::getOutputs, PreparedStep::getDependsOn);
+        TestExecutionContext testExecutionContext = step.getTestExecutionContext();
+        StepGraphVariables graphVariables = new StepGraphVariables((testExecutionContext == null) ? null : testExecutionContext.getContextData());
+
+        StepGraph.Run<StepResult> run = stepGraph.run(kartaRuntime.getTaskScheduler(runInfo), (stepIndex, nestedStep) -> {
+            TestExecutionContext nestedContext = nestedStep.getTestExecutionContext();
+            PreparedStep nestedStepInvocation = (nestedContext == null) ? nestedStep : nestedStep.toBuilder().testExecutionContext(nestedContext.toBuilder().contextData(graphVariables.newStepScope()).build()).build();
+            return PreparedStepRunner.builder().kartaRuntime(kartaRuntime).runInfo(runInfo).step(nestedStepInvocation).cancellationToken(stepToken).build().call();
+        }, StepResult::isPassed, true, (stepIndex, nestedStepResult) -> graphVariables.merge(nestedStepResult));
+
+        graphVariables.commit();
+
+        for (StepResult nestedStepResult : run.getResults()) {
+            stepResult.mergeResults(nestedStepResult);
+        }
+
+        if (!run.isPassed()) {
+            stepResult.setSuccessful(false);
+        }
+        stepResult.setStepGraphTiming(run.getTiming());
+
+        Collection<Throwable> exceptions = run.getExceptions().values();
+        if (!exceptions.isEmpty()) {
+            throw new ParallelCausesException(new ArrayList<>(exceptions));
+        }
+    }
+
     @Override
     public StepResult call() throws InterruptedException {
         Date startTime = new Date();
         StepResult stepResult;//= new StepResult();
 
-        try {
-            stepResult = execute();
+        TestExecutionContext testExecutionContext = step.getTestExecutionContext();
+        CancellationToken parentToken = (cancellationToken != null) ? cancellationToken : ((testExecutionContext != null) ? testExecutionContext.getCancellationToken() : CancellationToken.root());
+        CancellationToken stepToken = parentToken.child(step.getTimeout());
+
+        // The token is passed in a per invocation copy of the context as the context may be shared by concurrent runs of the step
+        PreparedStep stepInvocation = (testExecutionContext != null) ? step.toBuilder().testExecutionContext(testExecutionContext.withCancellationToken(stepToken)).build() : step;
+
+        try (DeadlineTimer.Watch ignored = kartaRuntime.getDeadlineTimer().watch(stepToken)) {
+            stepResult = execute(stepInvocation, stepToken);
 
             if (stepResult.isFailed()) {
-                for (int currentRetry = 0; currentRetry < step.getMaxRetries(); currentRetry++) {
-                    StepResult retryResult = execute();
+                for (int currentRetry = 0; (currentRetry < step.getMaxRetries()) && !stepToken.isCancelled(); currentRetry++) {
+                    StepResult retryResult = execute(stepInvocation, stepToken);
                     stepResult.mergeResults(retryResult);
 
                     if (!retryResult.isFailed()) {
@@ -84,11 +150,19 @@ public class PreparedStepRunner implements Callable<StepResult> {
                 }
             }
         } catch (InterruptedException e) {
-            throw e;
+            if (!stepToken.isTimedOut()) {
+                throw e;
+            }
+            stepResult = new StepResult();
         } catch (Throwable t) {
             stepResult = StandardStepResults.error(t);
         }
 
+        // Interruptions at the deadline surface as step errors which are reported as timeouts instead
+        if (stepToken.isTimedOut()) {
+            stepResult.timeout("Step " + step.getIdentifier() + " did not complete before the deadline: " + stepToken.getCancelReason());
+        }
+
         stepResult.setStartTime(startTime);
 
         if (resultConsumer != null) {
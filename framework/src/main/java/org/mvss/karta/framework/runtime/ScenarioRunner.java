@@ -15,6 +15,8 @@ import org.mvss.karta.framework.models.test.PreparedScenario;
 import org.mvss.karta.framework.models.test.PreparedStep;
 import org.mvss.karta.framework.models.test.TestIncident;
 import org.mvss.karta.framework.nodes.KartaNode;
+import org.mvss.karta.framework.threading.CancellationToken;
+import org.mvss.karta.framework.threading.DeadlineTimer;
 
 import java.rmi.RemoteException;
 import java.util.ArrayList;
@@ -42,6 +44,11 @@ public class ScenarioRunner implements Callable<ScenarioResult> {
 
     private long scenarioIterationNumber;
 
+    /**
+     * The cancellation token of the iteration. The scenario deadline is not later than the deadline of this token.
+     */
+    private CancellationToken cancellationToken;
+
     private ScenarioResult result;
 
     @Builder.Default
@@ -55,6 +62,12 @@ public class ScenarioRunner implements Callable<ScenarioResult> {
         }
     }
 
+    private void timeout(CancellationToken scenarioToken) {
+        result.setSuccessful(false);
+        result.setTimedOut(true);
+        result.getIncidents().add(TestIncident.builder().message("Scenario " + testScenario.getName() + " did not complete before the deadline: " + scenarioToken.getCancelReason()).build());
+    }
+
     @Override
     public ScenarioResult call() throws InterruptedException {
         // TODO: Check for nulls
@@ -64,6 +77,7 @@ public class ScenarioRunner implements Callable<ScenarioResult> {
 
             result = new ScenarioResult();
             result.setIterationIndex(iterationIndex);
+            result.setScenarioIterationNumber(scenarioIterationNumber);
 
             EventProcessor eventProcessor = kartaRuntime.getEventProcessor();
 
@@ -82,15 +96,20 @@ public class ScenarioRunner implements Callable<ScenarioResult> {
 
             log.debug("Running Scenario: " + testScenario);
 
-            try {
+            CancellationToken scenarioToken = CancellationToken.of(cancellationToken).child(testScenario.getTimeout());
+
+            try (DeadlineTimer.Watch ignored = kartaRuntime.getDeadlineTimer().watch(scenarioToken)) {
                 long setupStepIndex = 0;
                 for (PreparedStep step : testScenario.getSetupSteps()) {
+                    if (scenarioToken.isCancelled()) {
+                        break;
+                    }
                     if (kartaRuntime.shouldStepNeedNotBeRun(runInfo, step)) {
                         continue;
                     }
 
                     eventProcessor.raiseEvent(new ScenarioSetupStepStartEvent(runName, featureName, iterationIndex, testScenario.getName(), step));
-                    StepResult stepResult = kartaRuntime.runStep(runInfo, step);
+                    StepResult stepResult = kartaRuntime.runStep(runInfo, step, scenarioToken);
                     stepResult.setStepIndex(setupStepIndex++);
                     eventProcessor.raiseEvent(
                             new ScenarioSetupStepCompleteEvent(runName, featureName, iterationIndex, testScenario.getName(), step, stepResult));
@@ -99,6 +118,7 @@ public class ScenarioRunner implements Callable<ScenarioResult> {
 
                     if (!stepResult.isPassed()) {
                         result.setSuccessful(false);
+                        result.setTimedOut(result.isTimedOut() || stepResult.isTimedOut());
                         if ((tags != null) && !eventProcessor.scenarioFailed(runName, runName, testScenario, tags, result)) {
                             log.error(SCENARIO_FAILURE_HOOKS_PROCESSING_FAILED);
                         }
@@ -110,6 +130,9 @@ public class ScenarioRunner implements Callable<ScenarioResult> {
                 if (result.isSuccessful()) {
                     long chaosStepIndex = 0;
                     for (PreparedChaosAction preparedChaosAction : testScenario.getChaosActions()) {
+                        if (scenarioToken.isCancelled()) {
+                            break;
+                        }
                         eventProcessor.raiseEvent(
                                 new ScenarioChaosActionStartEvent(runName, featureName, iterationIndex, testScenario.getName(), preparedChaosAction));
                         StepResult stepResult = kartaRuntime.runChaosAction(runInfo, preparedChaosAction);
@@ -122,6 +145,7 @@ public class ScenarioRunner implements Callable<ScenarioResult> {
 
                         if (!stepResult.isPassed()) {
                             result.setSuccessful(false);
+                            result.setTimedOut(result.isTimedOut() || stepResult.isTimedOut());
                             if ((tags != null) && !eventProcessor.scenarioFailed(runName, runName, testScenario, tags, result)) {
                                 log.error(SCENARIO_FAILURE_HOOKS_PROCESSING_FAILED);
                             }
@@ -132,12 +156,15 @@ public class ScenarioRunner implements Callable<ScenarioResult> {
                     if (result.isSuccessful()) {
                         long runStepIndex = 0;
                         for (PreparedStep step : testScenario.getExecutionSteps()) {
+                            if (scenarioToken.isCancelled()) {
+                                break;
+                            }
                             if (kartaRuntime.shouldStepNeedNotBeRun(runInfo, step)) {
                                 continue;
                             }
 
                             eventProcessor.raiseEvent(new ScenarioStepStartEvent(runName, featureName, iterationIndex, testScenario.getName(), step));
-                            StepResult stepResult = kartaRuntime.runStep(runInfo, step);
+                            StepResult stepResult = kartaRuntime.runStep(runInfo, step, scenarioToken);
                             stepResult.setStepIndex(runStepIndex++);
                             eventProcessor.raiseEvent(
                                     new ScenarioStepCompleteEvent(runName, featureName, iterationIndex, testScenario.getName(), step, stepResult));
@@ -146,6 +173,7 @@ public class ScenarioRunner implements Callable<ScenarioResult> {
 
                             if (!stepResult.isPassed()) {
                                 result.setSuccessful(false);
+                                result.setTimedOut(result.isTimedOut() || stepResult.isTimedOut());
                                 if ((tags != null) && !eventProcessor.scenarioFailed(runName, runName, testScenario, tags, result)) {
                                     log.error(SCENARIO_FAILURE_HOOKS_PROCESSING_FAILED);
                                 }
@@ -155,13 +183,20 @@ public class ScenarioRunner implements Callable<ScenarioResult> {
                     }
                 }
             } catch (InterruptedException ie) {
-                throw ie;
+                if (!scenarioToken.isTimedOut()) {
+                    throw ie;
+                }
             } catch (Throwable t) {
                 log.error("Exception occurred during scenario run", t);
                 log.error(ExceptionUtils.getStackTrace(t));
                 result.setError(true);
                 result.getIncidents().add(TestIncident.builder().thrownCause(t).build());
             } finally {
+                // Tear down steps are run without the scenario deadline
+                if (scenarioToken.isTimedOut()) {
+                    timeout(scenarioToken);
+                }
+
                 try {
                     long teardownStepIndex = 0;
                     for (PreparedStep step : testScenario.getTearDownSteps()) {
@@ -180,6 +215,7 @@ public class ScenarioRunner implements Callable<ScenarioResult> {
 
                         if (!stepResult.isPassed()) {
                             result.setSuccessful(false);
+                            result.setTimedOut(result.isTimedOut() || stepResult.isTimedOut());
                             if ((tags != null) && !eventProcessor.scenarioFailed(runName, runName, testScenario, tags, result)) {
                                 log.error(SCENARIO_FAILURE_HOOKS_PROCESSING_FAILED);
                             }
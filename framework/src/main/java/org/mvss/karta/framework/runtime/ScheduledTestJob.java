@@ -0,0 +1,276 @@
+package org.mvss.karta.framework.runtime;
+
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.mvss.karta.framework.enums.JobOverlapPolicy;
+import org.mvss.karta.framework.enums.JobScheduleType;
+import org.mvss.karta.framework.models.result.JobMetrics;
+import org.mvss.karta.framework.models.test.TestJob;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A test job scheduled on the {@link TestJobScheduler}.</br>
+ * The timer only dispatches job iterations to the job executor so that long job iterations do not delay fires of other jobs.</br>
+ * Lateness is measured from the intended fire time (start time plus fire index times interval for fixed rate) to the start of the job iteration.</br>
+ *
+ * @author Manian
+ */
+@Log4j2
+public class ScheduledTestJob {
+    /**
+     * The upper bounds in milliseconds of the lateness histogram buckets. The last bucket is unbounded.
+     */
+    public static final long[] LATENESS_BUCKETS = {1, 5, 10, 50, 100, 500, 1000, 5000};
+
+    /**
+     * A job iteration which returns if the iteration passed.
+     */
+    @FunctionalInterface
+    public interface JobIteration {
+        boolean run(int iterationIndex) throws Throwable;
+    }
+
+    @Getter
+    private final long id;
+
+    @Getter
+    private final TestJob testJob;
+
+    private final ScheduledExecutorService timer;
+
+    private final ExecutorService jobExecutor;
+
+    private final long intervalNanos;
+
+    private final JobScheduleType scheduleType;
+
+    private final JobOverlapPolicy overlapPolicy;
+
+    /**
+     * The maximum number of fires. Unlimited if negative.
+     */
+    private final long maxFires;
+
+    private final AtomicInteger iterationCounter;
+
+    private final JobIteration jobIteration;
+
+    private final AtomicLong fires = new AtomicLong();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong missedFires = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong maxLatenessNanos = new AtomicLong();
+    private final AtomicLong totalLatenessNanos = new AtomicLong();
+    private final AtomicLongArray latenessHistogram = new AtomicLongArray(LATENESS_BUCKETS.length + 1);
+
+    /**
+     * Guards running, pending and pendingIntendedNanos.
+     */
+    private final Object runningLock = new Object();
+    private int running = 0;
+
+    /**
+     * Indicates that a coalesced fire is to be run after the running iteration and the intended time of the fire.
+     */
+    private boolean pending = false;
+    private long pendingIntendedNanos;
+
+    private volatile boolean cancelled = false;
+    private volatile ScheduledFuture<?> scheduledFuture;
+    private long startNanos;
+
+    public ScheduledTestJob(long id, TestJob testJob, ScheduledExecutorService timer, ExecutorService jobExecutor, long maxFires, AtomicInteger iterationCounter, JobIteration jobIteration) {
+        this.id = id;
+        this.testJob = testJob;
+        this.timer = timer;
+        this.jobExecutor = jobExecutor;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(testJob.getInterval());
+        this.scheduleType = (testJob.getScheduleType() == null) ? JobScheduleType.FIXED_RATE : testJob.getScheduleType();
+        this.overlapPolicy = (testJob.getOverlapPolicy() == null) ? JobOverlapPolicy.CONCURRENT : testJob.getOverlapPolicy();
+        this.maxFires = maxFires;
+        this.iterationCounter = iterationCounter;
+        this.jobIteration = jobIteration;
+    }
+
+    /**
+     * Starts the schedule with the first fire immediately.
+     */
+    public synchronized void start() {
+        startNanos = System.nanoTime();
+
+        if (scheduleType == JobScheduleType.FIXED_RATE) {
+            scheduledFuture = timer.scheduleAtFixedRate(this::fireAtFixedRate, 0, intervalNanos, TimeUnit.NANOSECONDS);
+        } else {
+            scheduleFixedDelayFire(startNanos, 0);
+        }
+    }
+
+    private void fireAtFixedRate() {
+        long fireIndex = fires.getAndIncrement();
+
+        if ((maxFires >= 0) && (fireIndex >= maxFires)) {
+            fires.decrementAndGet();
+            ScheduledFuture<?> future = scheduledFuture;
+
+            if (future != null) {
+                future.cancel(false);
+            }
+            return;
+        }
+
+        long intendedNanos = startNanos + (fireIndex * intervalNanos);
+
+        synchronized (runningLock) {
+            if (cancelled) {
+                return;
+            }
+
+            if ((running > 0) && (overlapPolicy != JobOverlapPolicy.CONCURRENT)) {
+                if ((overlapPolicy == JobOverlapPolicy.SKIP) || pending) {
+                    missedFires.incrementAndGet();
+                } else {
+                    pending = true;
+                    pendingIntendedNanos = intendedNanos;
+                }
+                return;
+            }
+
+            dispatch(intendedNanos);
+        }
+    }
+
+    private synchronized void scheduleFixedDelayFire(long intendedNanos, long delayNanos) {
+        if (cancelled || ((maxFires >= 0) && (fires.get() >= maxFires))) {
+            return;
+        }
+
+        scheduledFuture = timer.schedule(() -> {
+            fires.incrementAndGet();
+
+            synchronized (runningLock) {
+                if (!cancelled) {
+                    dispatch(intendedNanos);
+                }
+            }
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Dispatches a job iteration to the job executor. Should be called holding the running lock.
+     */
+    private void dispatch(long intendedNanos) {
+        running++;
+
+        try {
+            jobExecutor.execute(() -> runIterations(intendedNanos));
+        } catch (RejectedExecutionException ree) {
+            running--;
+            runningLock.notifyAll();
+            log.error("Job " + testJob.getName() + " iteration rejected", ree);
+        }
+    }
+
+    private void runIterations(long intendedNanos) {
+        boolean released = false;
+
+        try {
+            while (true) {
+                runIteration(intendedNanos);
+
+                // A coalesced fire is taken and the iteration released under one lock so that no fire lands in between
+                synchronized (runningLock) {
+                    if (pending && !cancelled) {
+                        pending = false;
+                        intendedNanos = pendingIntendedNanos;
+                        continue;
+                    }
+
+                    if (pending) {
+                        pending = false;
+                        missedFires.incrementAndGet();
+                    }
+                    running--;
+                    released = true;
+                    runningLock.notifyAll();
+                }
+                break;
+            }
+        } finally {
+            if (!released) {
+                synchronized (runningLock) {
+                    if (pending) {
+                        pending = false;
+                        missedFires.incrementAndGet();
+                    }
+                    running--;
+                    runningLock.notifyAll();
+                }
+            }
+        }
+
+        if (scheduleType == JobScheduleType.FIXED_DELAY) {
+            scheduleFixedDelayFire(System.nanoTime() + intervalNanos, intervalNanos);
+        }
+    }
+
+    private void runIteration(long intendedNanos) {
+        long latenessNanos = Math.max(System.nanoTime() - intendedNanos, 0);
+        maxLatenessNanos.accumulateAndGet(latenessNanos, Math::max);
+        totalLatenessNanos.addAndGet(latenessNanos);
+        latenessHistogram.incrementAndGet(getLatenessBucket(TimeUnit.NANOSECONDS.toMillis(latenessNanos)));
+
+        try {
+            if (!jobIteration.run(iterationCounter.getAndIncrement())) {
+                failures.incrementAndGet();
+            }
+        } catch (Throwable t) {
+            failures.incrementAndGet();
+            log.error("Job " + testJob.getName() + " iteration failed", t);
+        } finally {
+            runs.incrementAndGet();
+        }
+    }
+
+    private static int getLatenessBucket(long latenessMillis) {
+        for (int i = 0; i < LATENESS_BUCKETS.length; i++) {
+            if (latenessMillis < LATENESS_BUCKETS[i]) {
+                return i;
+            }
+        }
+        return LATENESS_BUCKETS.length;
+    }
+
+    /**
+     * Cancels further fires and waits for running job iterations to complete.
+     */
+    public void cancel() throws InterruptedException {
+        synchronized (this) {
+            cancelled = true;
+
+            if (scheduledFuture != null) {
+                scheduledFuture.cancel(false);
+            }
+        }
+
+        synchronized (runningLock) {
+            while (running > 0) {
+                runningLock.wait();
+            }
+        }
+    }
+
+    public JobMetrics getMetrics() {
+        LinkedHashMap<String, Long> histogram = new LinkedHashMap<>();
+
+        for (int i = 0; i <= LATENESS_BUCKETS.length; i++) {
+            histogram.put((i < LATENESS_BUCKETS.length) ? ("<" + LATENESS_BUCKETS[i] + "ms") : (">=" + LATENESS_BUCKETS[LATENESS_BUCKETS.length - 1] + "ms"), latenessHistogram.get(i));
+        }
+
+        return JobMetrics.builder().jobName(testJob.getName()).fires(fires.get()).runs(runs.get()).missedFires(missedFires.get()).failures(failures.get()).maxLateness(TimeUnit.NANOSECONDS.toMillis(maxLatenessNanos.get())).totalLateness(TimeUnit.NANOSECONDS.toMillis(totalLatenessNanos.get())).latenessHistogram(histogram).build();
+    }
+}
@@ -0,0 +1,336 @@
+package org.mvss.karta.framework.runtime;
+
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+import org.mvss.karta.framework.models.result.StepGraphTiming;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Dependency graph of a list of steps for running the steps with maximum parallelism while respecting the declared dependencies.</br>
+ * A step depends on other steps by their step names or by the output variables they declare; a name provided by many steps depends on all of them.</br>
+ * A step is submitted to the (shared) executor service as soon as all its dependencies passed. Steps depending on failed steps are skipped.</br>
+ * The timing of the run includes the critical path which is the chain of dependent steps with the longest total duration.</br>
+ *
+ * @author Manian
+ */
+@Log4j2
+public class StepGraph<T> {
+    /**
+     * Runs a step of the graph and returns its result.
+     */
+    @FunctionalInterface
+    public interface StepGraphRunner<T, R> {
+        R run(int stepIndex, T step) throws Throwable;
+    }
+
+    /**
+     * The results of a run of the graph.
+     */
+    @Getter
+    public static class Run<R> {
+        /**
+         * The step results by step index. Null for skipped steps and steps which threw exceptions.
+         */
+        private final ArrayList<R> results;
+
+        /**
+         * The exceptions thrown by steps mapped to step index.
+         */
+        private final HashMap<Integer, Throwable> exceptions = new HashMap<>();
+
+        private final boolean[] skipped;
+
+        private boolean passed = true;
+
+        private StepGraphTiming timing;
+
+        private Run(int size) {
+            results = new ArrayList<>(Collections.nCopies(size, null));
+            skipped = new boolean[size];
+        }
+
+        public boolean isSkipped(int stepIndex) {
+            return skipped[stepIndex];
+        }
+    }
+
+    private final List<T> steps;
+
+    private final ArrayList<String> names = new ArrayList<>();
+
+    private final ArrayList<TreeSet<Integer>> dependencies = new ArrayList<>();
+
+    private final ArrayList<TreeSet<Integer>> dependents = new ArrayList<>();
+
+    /**
+     * The step indexes in a topological order of the dependencies.
+     */
+    private final ArrayList<Integer> order = new ArrayList<>();
+
+    /**
+     * Builds the graph for the steps.
+     *
+     * @param nameFunction      returns the name of a step used for the dependencies and the critical path
+     * @param outputsFunction   returns the output variable names declared by a step (may return null)
+     * @param dependsOnFunction returns the step names or output variable names a step depends on (may return null)
+     * @throws KartaFrameworkException if a dependency is not provided by any step or the dependencies have a cycle
+     */
+    public StepGraph(List<T> steps, Function<T, String> nameFunction, Function<T, List<String>> outputsFunction, Function<T, List<String>> dependsOnFunction) throws KartaFrameworkException {
+        this.steps = steps;
+        HashMap<String, TreeSet<Integer>> providers = new HashMap<>();
+
+        for (int stepIndex = 0; stepIndex < steps.size(); stepIndex++) {
+            T step = steps.get(stepIndex);
+            String name = nameFunction.apply(step);
+            names.add(name);
+            dependencies.add(new TreeSet<>());
+            dependents.add(new TreeSet<>());
+
+            if (StringUtils.isNotBlank(name)) {
+                providers.computeIfAbsent(name, n -> new TreeSet<>()).add(stepIndex);
+            }
+
+            List<String> outputs = outputsFunction.apply(step);
+            if (outputs != null) {
+                for (String output : outputs) {
+                    providers.computeIfAbsent(output, n -> new TreeSet<>()).add(stepIndex);
+                }
+            }
+        }
+
+        for (int stepIndex = 0; stepIndex < steps.size(); stepIndex++) {
+            List<String> dependsOn = dependsOnFunction.apply(steps.get(stepIndex));
+
+            if (dependsOn == null) {
+                continue;
+            }
+
+            for (String dependency : dependsOn) {
+                TreeSet<Integer> dependencyProviders = providers.get(dependency);
+
+                if (dependencyProviders == null) {
+                    throw new KartaFrameworkException("Dependency " + dependency + " of step " + names.get(stepIndex) + " is not a step name or an output of any step");
+                }
+
+                for (int provider : dependencyProviders) {
+                    if (provider != stepIndex) {
+                        dependencies.get(stepIndex).add(provider);
+                        dependents.get(provider).add(stepIndex);
+                    }
+                }
+            }
+        }
+
+        // Kahn's algorithm preferring the declared order of steps
+        int[] dependencyCounts = new int[steps.size()];
+        TreeSet<Integer> ready = new TreeSet<>();
+        for (int stepIndex = 0; stepIndex < steps.size(); stepIndex++) {
+            dependencyCounts[stepIndex] = dependencies.get(stepIndex).size();
+            if (dependencyCounts[stepIndex] == 0) {
+                ready.add(stepIndex);
+            }
+        }
+
+        while (!ready.isEmpty()) {
+            int stepIndex = ready.pollFirst();
+            order.add(stepIndex);
+
+            for (int dependent : dependents.get(stepIndex)) {
+                if (--dependencyCounts[dependent] == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (order.size() != steps.size()) {
+            ArrayList<String> cyclicSteps = new ArrayList<>();
+            for (int stepIndex = 0; stepIndex < steps.size(); stepIndex++) {
+                if (dependencyCounts[stepIndex] > 0) {
+                    cyclicSteps.add(names.get(stepIndex));
+                }
+            }
+            throw new KartaFrameworkException("Step dependencies have a cycle among steps " + cyclicSteps);
+        }
+    }
+
+    /**
+     * Returns if any of the steps declares dependencies and the steps should be run as a graph.
+     */
+    public static <T> boolean hasDependencies(List<T> steps, Function<T, List<String>> dependsOnFunction) {
+        if (steps == null) {
+            return false;
+        }
+
+        for (T step : steps) {
+            List<String> dependsOn = dependsOnFunction.apply(step);
+            if ((dependsOn != null) && !dependsOn.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs the graph on the executor service and waits for the steps to complete.
+     *
+     * @param passed        returns if a step result passed
+     * @param stopOnFailure indicates if no more steps should be started after a step failed
+     */
+    public <R> Run<R> run(ExecutorService executorService, StepGraphRunner<T, R> runner, Predicate<R> passed, boolean stopOnFailure) throws InterruptedException {
+        return run(executorService, runner, passed, stopOnFailure, null);
+    }
+
+    /**
+     * Runs the graph on the executor service and waits for the steps to complete.
+     *
+     * @param passed            returns if a step result passed
+     * @param stopOnFailure     indicates if no more steps should be started after a step failed
+     * @param completionHandler called (if not null) on the thread running the graph with the result of every step which completed without exceptions before its dependents are started
+     */
+    public <R> Run<R> run(ExecutorService executorService, StepGraphRunner<T, R> runner, Predicate<R> passed, boolean stopOnFailure, BiConsumer<Integer, R> completionHandler) throws InterruptedException {
+        int size = steps.size();
+        Run<R> run = new Run<>(size);
+        long[] startNanos = new long[size];
+        long[] endNanos = new long[size];
+        boolean[] failed = new boolean[size];
+        int[] dependencyCounts = new int[size];
+        LinkedBlockingQueue<Integer> completed = new LinkedBlockingQueue<>();
+        ArrayDeque<Integer> ready = new ArrayDeque<>();
+        int running = 0;
+        boolean stopped = false;
+
+        for (int stepIndex = 0; stepIndex < size; stepIndex++) {
+            dependencyCounts[stepIndex] = dependencies.get(stepIndex).size();
+        }
+        for (int stepIndex : order) {
+            if (dependencyCounts[stepIndex] == 0) {
+                ready.add(stepIndex);
+            }
+        }
+
+        while (!ready.isEmpty() || (running > 0)) {
+            while (!ready.isEmpty()) {
+                int stepIndex = ready.poll();
+
+                if (stopped || dependencies.get(stepIndex).stream().anyMatch(dependency -> failed[dependency])) {
+                    // Skipped steps complete right away as failed for their dependents
+                    run.skipped[stepIndex] = true;
+                    failed[stepIndex] = true;
+                    log.debug("Skipping step " + names.get(stepIndex) + " of step graph");
+                    releaseDependents(stepIndex, dependencyCounts, ready);
+                    continue;
+                }
+
+                T step = steps.get(stepIndex);
+                running++;
+                executorService.submit(() -> {
+                    startNanos[stepIndex] = System.nanoTime();
+                    try {
+                        run.results.set(stepIndex, runner.run(stepIndex, step));
+                    } catch (Throwable t) {
+                        synchronized (run.exceptions) {
+                            run.exceptions.put(stepIndex, t);
+                        }
+                    } finally {
+                        endNanos[stepIndex] = System.nanoTime();
+                        completed.add(stepIndex);
+                    }
+                });
+            }
+
+            if (running > 0) {
+                int stepIndex = completed.take();
+                running--;
+
+                // The queue hand off makes the writes of the step task visible here
+                boolean stepCompleted;
+                synchronized (run.exceptions) {
+                    stepCompleted = !run.exceptions.containsKey(stepIndex);
+                }
+                boolean stepPassed = stepCompleted && passed.test(run.results.get(stepIndex));
+
+                if (stepCompleted && (completionHandler != null)) {
+                    completionHandler.accept(stepIndex, run.results.get(stepIndex));
+                }
+
+                if (!stepPassed) {
+                    failed[stepIndex] = true;
+                    run.passed = false;
+                    stopped = stopped || stopOnFailure;
+                }
+                releaseDependents(stepIndex, dependencyCounts, ready);
+            }
+        }
+
+        for (int stepIndex = 0; stepIndex < size; stepIndex++) {
+            if (run.skipped[stepIndex]) {
+                run.passed = false;
+            }
+        }
+
+        run.timing = getTiming(run, startNanos, endNanos);
+        return run;
+    }
+
+    private void releaseDependents(int stepIndex, int[] dependencyCounts, ArrayDeque<Integer> ready) {
+        for (int dependent : dependents.get(stepIndex)) {
+            if (--dependencyCounts[dependent] == 0) {
+                ready.add(dependent);
+            }
+        }
+    }
+
+    private StepGraphTiming getTiming(Run<?> run, long[] startNanos, long[] endNanos) {
+        int size = steps.size();
+        long[] durations = new long[size];
+        long[] pathDurations = new long[size];
+        int[] pathPredecessors = new int[size];
+        long firstStartNanos = Long.MAX_VALUE;
+        long lastEndNanos = Long.MIN_VALUE;
+        long totalStepNanos = 0;
+        int stepsRun = 0;
+        int stepsSkipped = 0;
+        int criticalPathEnd = -1;
+
+        for (int stepIndex : order) {
+            if (run.skipped[stepIndex]) {
+                stepsSkipped++;
+            } else {
+                stepsRun++;
+                durations[stepIndex] = endNanos[stepIndex] - startNanos[stepIndex];
+                totalStepNanos += durations[stepIndex];
+                firstStartNanos = Math.min(firstStartNanos, startNanos[stepIndex]);
+                lastEndNanos = Math.max(lastEndNanos, endNanos[stepIndex]);
+            }
+
+            pathPredecessors[stepIndex] = -1;
+            long longestDependencyPath = 0;
+            for (int dependency : dependencies.get(stepIndex)) {
+                if (pathDurations[dependency] > longestDependencyPath) {
+                    longestDependencyPath = pathDurations[dependency];
+                    pathPredecessors[stepIndex] = dependency;
+                }
+            }
+            pathDurations[stepIndex] = longestDependencyPath + durations[stepIndex];
+
+            if (!run.skipped[stepIndex] && ((criticalPathEnd < 0) || (pathDurations[stepIndex] > pathDurations[criticalPathEnd]))) {
+                criticalPathEnd = stepIndex;
+            }
+        }
+
+        ArrayList<String> criticalPath = new ArrayList<>();
+        for (int stepIndex = criticalPathEnd; stepIndex >= 0; stepIndex = pathPredecessors[stepIndex]) {
+            criticalPath.add(0, names.get(stepIndex));
+        }
+
+        return StepGraphTiming.builder().criticalPath(criticalPath).criticalPathDuration((criticalPathEnd < 0) ? 0 : TimeUnit.NANOSECONDS.toMillis(pathDurations[criticalPathEnd])).totalStepDuration(TimeUnit.NANOSECONDS.toMillis(totalStepNanos)).wallDuration((stepsRun > 0) ? TimeUnit.NANOSECONDS.toMillis(lastEndNanos - firstStartNanos) : 0).stepsRun(stepsRun).stepsSkipped(stepsSkipped).build();
+    }
+}
@@ -0,0 +1,82 @@
+package org.mvss.karta.framework.runtime;
+
+import org.mvss.karta.dependencyinjection.utils.DataUtils;
+import org.mvss.karta.framework.models.result.StepResult;
+import org.mvss.karta.framework.utils.ScopedMap;
+
+import java.io.Serializable;
+import java.util.HashMap;
+
+/**
+ * Variables of a step graph run whose steps run in parallel.</br>
+ * Every step of the graph reads and writes a scope of its own over an immutable layer of the variables,
+ * so steps running in parallel never read a map which is being modified.
+ * The results of a completed step are layered (on the thread running the graph) before its dependents are started and
+ * are merged into the variables under one lock when the graph completes.</br>
+ *
+ * @author Manian
+ */
+public class StepGraphVariables {
+    private final HashMap<String, Serializable> variables;
+
+    /**
+     * The results of the completed steps in completion order.
+     */
+    private final HashMap<String, Serializable> results = new HashMap<>();
+
+    /**
+     * The variables with the results of the completed steps. Never modified once published.
+     */
+    private volatile HashMap<String, Serializable> current;
+
+    /**
+     * Creates the graph variables over the variables (may be null) which are copied once at the start of the graph run.
+     */
+    public StepGraphVariables(HashMap<String, Serializable> variables) {
+        this.variables = variables;
+
+        if (variables == null) {
+            current = new HashMap<>();
+        } else {
+            //noinspection SynchronizationOnLocalVariableOrMethodParameter
+            synchronized (variables) {
+                current = new HashMap<>(variables);
+            }
+        }
+    }
+
+    /**
+     * Returns a new scope for a step which reads the variables with the results of the steps completed till now.
+     */
+    public HashMap<String, Serializable> newStepScope() {
+        return new ScopedMap<>(current);
+    }
+
+    /**
+     * Layers the results of a completed step for the steps started after it. To be called from the thread running the graph.
+     */
+    public void merge(StepResult stepResult) {
+        if ((stepResult == null) || (stepResult.getResults() == null) || stepResult.getResults().isEmpty()) {
+            return;
+        }
+
+        ScopedMap<String, Serializable> next = new ScopedMap<>(current);
+        DataUtils.mergeMapInto(stepResult.getResults(), next);
+        DataUtils.mergeMapInto(stepResult.getResults(), results);
+        current = next;
+    }
+
+    /**
+     * Merges the results of the completed steps into the variables. To be called after the graph run completes.
+     */
+    public void commit() {
+        if ((variables == null) || results.isEmpty()) {
+            return;
+        }
+
+        //noinspection SynchronizationOnLocalVariableOrMethodParameter
+        synchronized (variables) {
+            DataUtils.mergeMapInto(results, variables);
+        }
+    }
+}
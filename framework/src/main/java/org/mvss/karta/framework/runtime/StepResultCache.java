@@ -0,0 +1,252 @@
+package org.mvss.karta.framework.runtime;
+
+import lombok.Getter;
+import org.mvss.karta.dependencyinjection.BeanRegistry;
+import org.mvss.karta.framework.enums.StepCacheScope;
+import org.mvss.karta.framework.models.result.StepCacheStatistics;
+import org.mvss.karta.framework.models.result.StepResult;
+import org.mvss.karta.framework.models.run.TestExecutionContext;
+import org.mvss.karta.framework.models.test.PreparedStep;
+import org.mvss.karta.framework.models.test.StepCachePolicy;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Cache of the results of idempotent steps for the runtime (refer {@link StepCachePolicy}).</br>
+ * Results are keyed by feature, step identifier, test data and the scope of the cache policy (block of iterations).
+ * Only the test data read by the step are part of the key if known from the cache policy.
+ * The key is built once per lookup with its hash code computed upfront.
+ * Concurrent runs of a step with the same key wait for the first run instead of running the step again.</br>
+ * The cached results of a feature are evicted when the feature completes.</br>
+ *
+ * @author Manian
+ */
+public class StepResultCache {
+    @Getter
+    private static class CacheKey {
+        private final String featureName;
+        private final String stepIdentifier;
+
+        /**
+         * The values of the test data keys read by the step or a copy of all the test data if the keys are not known.
+         */
+        private final Object testData;
+        private final Object scopeKey;
+        private final int hash;
+
+        private CacheKey(String featureName, String stepIdentifier, Object testData, Object scopeKey) {
+            this.featureName = featureName;
+            this.stepIdentifier = stepIdentifier;
+            this.testData = testData;
+            this.scopeKey = scopeKey;
+            this.hash = Objects.hash(featureName, stepIdentifier, testData, scopeKey);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof CacheKey cacheKey)) {
+                return false;
+            }
+            return (hash == cacheKey.hash) && Objects.equals(stepIdentifier, cacheKey.stepIdentifier) && Objects.equals(featureName, cacheKey.featureName) && Objects.equals(scopeKey, cacheKey.scopeKey) && Objects.equals(testData, cacheKey.testData);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static class CachedStepResult {
+        private final StepResult stepResult;
+
+        private final HashMap<String, Object> contextBeans;
+
+        private final long expiryNanos;
+
+        private CachedStepResult(StepResult stepResult, HashMap<String, Object> contextBeans, Duration ttl) {
+            this.stepResult = stepResult;
+            this.contextBeans = contextBeans;
+            this.expiryNanos = ((ttl == null) || ttl.isNegative() || ttl.isZero()) ? Long.MAX_VALUE : System.nanoTime() + ttl.toNanos();
+        }
+
+        private boolean isExpired() {
+            return (expiryNanos != Long.MAX_VALUE) && (System.nanoTime() - expiryNanos >= 0);
+        }
+    }
+
+    /**
+     * The cached results or the runs in progress. The future completes with null if the run did not pass.
+     */
+    private final ConcurrentHashMap<CacheKey, CompletableFuture<CachedStepResult>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * The cache statistics mapped to step identifier mapped to feature name.
+     */
+    private final ConcurrentHashMap<String, HashMap<String, StepCacheStatistics>> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached result of the step if reusable or runs the step and caches the result if passed.
+     */
+    public StepResult getOrRun(PreparedStep step, Callable<StepResult> stepCall) throws Exception {
+        StepCachePolicy cachePolicy = step.getCache();
+        TestExecutionContext testExecutionContext = step.getTestExecutionContext();
+
+        if ((cachePolicy == null) || (testExecutionContext == null)) {
+            return stepCall.call();
+        }
+
+        String featureName = testExecutionContext.getFeatureName();
+        String stepIdentifier = step.getIdentifier();
+        CacheKey cacheKey = new CacheKey(featureName, stepIdentifier, getTestDataKey(cachePolicy, testExecutionContext.getTestData()), getScopeKey(cachePolicy, testExecutionContext));
+
+        while (true) {
+            CompletableFuture<CachedStepResult> newEntry = new CompletableFuture<>();
+            CompletableFuture<CachedStepResult> entry = entries.putIfAbsent(cacheKey, newEntry);
+
+            if (entry == null) {
+                return runAndCache(cacheKey, newEntry, cachePolicy, testExecutionContext, stepCall);
+            }
+
+            CachedStepResult cachedStepResult;
+            try {
+                cachedStepResult = entry.get();
+            } catch (ExecutionException ee) {
+                cachedStepResult = null;
+            }
+
+            if (cachedStepResult == null) {
+                // The run in progress did not pass and is not cached; retry as the new owner if still not cached
+                entries.remove(cacheKey, entry);
+                continue;
+            }
+
+            if (cachedStepResult.isExpired()) {
+                if (entries.remove(cacheKey, entry)) {
+                    updateStatistics(featureName, stepIdentifier, cacheStatistics -> cacheStatistics.setExpirations(cacheStatistics.getExpirations() + 1));
+                }
+                continue;
+            }
+
+            updateStatistics(featureName, stepIdentifier, cacheStatistics -> cacheStatistics.setHits(cacheStatistics.getHits() + 1));
+            return reuse(cachedStepResult, testExecutionContext);
+        }
+    }
+
+    private StepResult runAndCache(CacheKey cacheKey, CompletableFuture<CachedStepResult> entry, StepCachePolicy cachePolicy, TestExecutionContext testExecutionContext, Callable<StepResult> stepCall) throws Exception {
+        updateStatistics(cacheKey.getFeatureName(), cacheKey.getStepIdentifier(), cacheStatistics -> cacheStatistics.setMisses(cacheStatistics.getMisses() + 1));
+
+        BeanRegistry contextBeanRegistry = testExecutionContext.getContextBeanRegistry();
+        HashMap<String, Object> beansBefore = getGlobalBeans(contextBeanRegistry);
+        CachedStepResult cachedStepResult = null;
+
+        try {
+            StepResult stepResult = stepCall.call();
+
+            if ((stepResult != null) && stepResult.isPassed()) {
+                HashMap<String, Object> addedBeans = new HashMap<>();
+                getGlobalBeans(contextBeanRegistry).forEach((beanName, bean) -> {
+                    if (beansBefore.get(beanName) != bean) {
+                        addedBeans.put(beanName, bean);
+                    }
+                });
+
+                HashMap<String, Serializable> results = (stepResult.getResults() == null) ? new HashMap<>() : new HashMap<>(stepResult.getResults());
+                cachedStepResult = new CachedStepResult(StepResult.builder().results(results).build(), addedBeans, cachePolicy.getTtl());
+            }
+            return stepResult;
+        } finally {
+            if (cachedStepResult == null) {
+                entries.remove(cacheKey, entry);
+            }
+            entry.complete(cachedStepResult);
+        }
+    }
+
+    private StepResult reuse(CachedStepResult cachedStepResult, TestExecutionContext testExecutionContext) {
+        BeanRegistry contextBeanRegistry = testExecutionContext.getContextBeanRegistry();
+
+        if (contextBeanRegistry != null) {
+            cachedStepResult.contextBeans.forEach(contextBeanRegistry::put);
+        }
+
+        Date now = new Date();
+        return StepResult.builder().startTime(now).endTime(now).results(new HashMap<>(cachedStepResult.stepResult.getResults())).cached(true).build();
+    }
+
+    private static HashMap<String, Object> getGlobalBeans(BeanRegistry contextBeanRegistry) {
+        if (contextBeanRegistry == null) {
+            return new HashMap<>();
+        }
+
+        synchronized (contextBeanRegistry) {
+            return new HashMap<>(contextBeanRegistry.getGlobalBeans());
+        }
+    }
+
+    /**
+     * Returns the values of the test data keys of the cache policy in order or a copy of all the test data if the policy does not list the keys.
+     */
+    private static Object getTestDataKey(StepCachePolicy cachePolicy, HashMap<String, Serializable> testData) {
+        List<String> testDataKeys = cachePolicy.getTestDataKeys();
+
+        if (testDataKeys == null) {
+            return (testData == null) ? null : new HashMap<>(testData);
+        }
+
+        Serializable[] testDataValues = new Serializable[testDataKeys.size()];
+
+        if (testData != null) {
+            for (int i = 0; i < testDataValues.length; i++) {
+                testDataValues[i] = testData.get(testDataKeys.get(i));
+            }
+        }
+        return Arrays.asList(testDataValues);
+    }
+
+    private static Object getScopeKey(StepCachePolicy cachePolicy, TestExecutionContext testExecutionContext) {
+        StepCacheScope scope = Objects.requireNonNullElse(cachePolicy.getScope(), StepCacheScope.FEATURE);
+
+        return switch (scope) {
+            case ITERATIONS -> {
+                int iterations = ((cachePolicy.getIterations() == null) || (cachePolicy.getIterations() < 1)) ? 1 : cachePolicy.getIterations();
+                yield Math.floorDiv(testExecutionContext.getIterationIndex(), iterations);
+            }
+            case FEATURE -> null;
+        };
+    }
+
+    private void updateStatistics(String featureName, String stepIdentifier, Consumer<StepCacheStatistics> update) {
+        HashMap<String, StepCacheStatistics> featureStatistics = statistics.computeIfAbsent(String.valueOf(featureName), name -> new HashMap<>());
+
+        synchronized (featureStatistics) {
+            update.accept(featureStatistics.computeIfAbsent(stepIdentifier, identifier -> new StepCacheStatistics()));
+        }
+    }
+
+    /**
+     * Evicts the cached results of the feature and returns the cache statistics of the feature mapped to step identifier.
+     */
+    public HashMap<String, StepCacheStatistics> closeFeature(String featureName) {
+        entries.keySet().removeIf(cacheKey -> Objects.equals(cacheKey.getFeatureName(), featureName));
+
+        HashMap<String, StepCacheStatistics> featureStatistics = statistics.remove(String.valueOf(featureName));
+
+        if (featureStatistics == null) {
+            return new HashMap<>();
+        }
+
+        synchronized (featureStatistics) {
+            return new HashMap<>(featureStatistics);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.mvss.karta.framework.runtime;
+
+import org.mvss.karta.dependencyinjection.utils.DataUtils;
+import org.mvss.karta.framework.plugins.StepRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+
+/**
+ * Index of step identifiers, conditions and chaos action names to the first capable StepRunner from a list of step runners.</br>
+ * Identifiers are resolved with a capability scan on first use and with a hash lookup after that.</br>
+ * When an index is full, the least recently used quarter of the entries is evicted so that data driven identifiers do not evict the hot identifiers.</br>
+ * The index is to be invalidated when plugins or step definition scripts are (re)loaded.</br>
+ *
+ * @author Manian
+ */
+public class StepRunnerIndex {
+    /**
+     * The maximum number of entries per index after which the least recently used entries are evicted to bound memory for data driven identifiers.
+     */
+    public static final int MAX_INDEX_SIZE = 10000;
+
+    private final ArrayList<StepRunner> stepRunners;
+
+    private final ConcurrentHashMap<String, IndexEntry> stepIndex = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, IndexEntry> conditionIndex = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, IndexEntry> chaosActionIndex = new ConcurrentHashMap<>();
+
+    /**
+     * The logical clock for the last access of the entries.
+     */
+    private final AtomicLong accessClock = new AtomicLong();
+
+    /**
+     * A resolved identifier with the time it was last used.
+     */
+    private static class IndexEntry {
+        private final StepRunner stepRunner;
+
+        private volatile long lastAccess;
+
+        private IndexEntry(StepRunner stepRunner, long lastAccess) {
+            this.stepRunner = stepRunner;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    /**
+     * Key for a list of step runners which compares the step runners by identity.
+     */
+    public static final class Key {
+        private final StepRunner[] stepRunners;
+
+        private final int hash;
+
+        public Key(List<StepRunner> stepRunners) {
+            this.stepRunners = stepRunners.toArray(new StepRunner[0]);
+
+            int hash = 1;
+            for (StepRunner stepRunner : this.stepRunners) {
+                hash = (31 * hash) + System.identityHashCode(stepRunner);
+            }
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+
+            Key otherKey = (Key) other;
+            if ((hash != otherKey.hash) || (stepRunners.length != otherKey.stepRunners.length)) {
+                return false;
+            }
+            for (int i = 0; i < stepRunners.length; i++) {
+                if (stepRunners[i] != otherKey.stepRunners[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    public StepRunnerIndex(ArrayList<StepRunner> stepRunners) {
+        this.stepRunners = new ArrayList<>(stepRunners);
+    }
+
+    public StepRunnerIndex(Key key) {
+        this.stepRunners = new ArrayList<>(List.of(key.stepRunners));
+    }
+
+    private StepRunner lookup(ConcurrentHashMap<String, IndexEntry> index, String identifier, BiPredicate<StepRunner, String> capabilityCheck) {
+        if (identifier == null) {
+            return null;
+        }
+
+        long now = accessClock.incrementAndGet();
+        IndexEntry indexEntry = index.get(identifier);
+
+        if (indexEntry == null) {
+            if (index.size() >= MAX_INDEX_SIZE) {
+                evictLeastRecentlyUsed(index);
+            }
+            indexEntry = index.computeIfAbsent(identifier, key -> new IndexEntry(DataUtils.findFirst(stepRunners, runner -> capabilityCheck.test(runner, key)), now));
+        }
+
+        indexEntry.lastAccess = now;
+        return indexEntry.stepRunner;
+    }
+
+    /**
+     * Evicts the least recently used quarter of the entries of the index.
+     */
+    private static void evictLeastRecentlyUsed(ConcurrentHashMap<String, IndexEntry> index) {
+        //noinspection SynchronizationOnLocalVariableOrMethodParameter
+        synchronized (index) {
+            if (index.size() < MAX_INDEX_SIZE) {
+                return;
+            }
+
+            long[] lastAccesses = index.values().stream().mapToLong(indexEntry -> indexEntry.lastAccess).sorted().toArray();
+            long evictUpTo = lastAccesses[Math.min(lastAccesses.length / 4, lastAccesses.length - 1)];
+
+            for (Map.Entry<String, IndexEntry> entry : index.entrySet()) {
+                if (entry.getValue().lastAccess <= evictUpTo) {
+                    index.remove(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of resolved step identifiers.
+     */
+    public int getStepIndexSize() {
+        return stepIndex.size();
+    }
+
+    public StepRunner getStepRunnerForStep(String stepIdentifier) {
+        return lookup(stepIndex, stepIdentifier, StepRunner::stepImplemented);
+    }
+
+    public StepRunner getStepRunnerForCondition(String condition) {
+        return lookup(conditionIndex, condition, StepRunner::conditionImplemented);
+    }
+
+    public StepRunner getStepRunnerForChaosAction(String chaosAction) {
+        return lookup(chaosActionIndex, chaosAction, StepRunner::chaosActionImplemented);
+    }
+
+    /**
+     * Clears all the resolved identifiers.
+     */
+    public void invalidate() {
+        stepIndex.clear();
+        conditionIndex.clear();
+        chaosActionIndex.clear();
+    }
+}
@@ -0,0 +1,152 @@
+package org.mvss.karta.framework.runtime;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.mvss.karta.Constants;
+import org.mvss.karta.dependencyinjection.enums.DataFormat;
+import org.mvss.karta.dependencyinjection.utils.ParserUtils;
+import org.mvss.karta.framework.models.result.FeatureResult;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Durations of tests from previous runs persisted to a JSON file, used for scheduling the tests of a run.</br>
+ * The duration of a test is the average of its previous estimate and the latest duration so that one slow run does not dominate.</br>
+ *
+ * @author Manian
+ */
+@Log4j2
+public class TestDurationHistory {
+    private static final TypeReference<HashMap<String, Long>> durationMapType = new TypeReference<>() {
+    };
+
+    /**
+     * The file to persist the durations to. Durations are not persisted if empty.
+     */
+    @Getter
+    private final String historyFile;
+
+    /**
+     * The test name to duration in milliseconds mapping.
+     */
+    private final ConcurrentHashMap<String, Long> durations = new ConcurrentHashMap<>();
+
+    public TestDurationHistory(String historyFile) {
+        this.historyFile = historyFile;
+    }
+
+    /**
+     * Loads the durations from the history file if available.
+     */
+    public synchronized void load() {
+        if (StringUtils.isEmpty(historyFile)) {
+            return;
+        }
+
+        File file = new File(historyFile);
+
+        if (!file.isFile()) {
+            return;
+        }
+
+        try {
+            HashMap<String, Long> loadedDurations = ParserUtils.readValue(DataFormat.JSON, FileUtils.readFileToString(file, Charset.defaultCharset()), durationMapType);
+
+            if (loadedDurations != null) {
+                loadedDurations.forEach((test, duration) -> {
+                    if ((test != null) && (duration != null)) {
+                        durations.put(test, duration);
+                    }
+                });
+            }
+        } catch (Throwable t) {
+            log.error("Failed to load test durations from " + historyFile, t);
+        }
+    }
+
+    /**
+     * Saves the durations to the history file. The file is replaced atomically so that a crash while saving does not lose the history.
+     */
+    public synchronized void save() {
+        if (StringUtils.isEmpty(historyFile)) {
+            return;
+        }
+
+        try {
+            Path absoluteHistoryFile = Paths.get(historyFile).toAbsolutePath();
+            Path parent = absoluteHistoryFile.getParent();
+
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+
+            Path savedFile = absoluteHistoryFile.resolveSibling(absoluteHistoryFile.getFileName() + ".tmp");
+            Files.write(savedFile, ParserUtils.getObjectMapper().writeValueAsString(new HashMap<>(durations)).getBytes(Charset.defaultCharset()));
+            Files.move(savedFile, absoluteHistoryFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Throwable t) {
+            log.error("Failed to save test durations to " + historyFile, t);
+        }
+    }
+
+    /**
+     * Records the duration of the test from the feature result if the test ran without errors.
+     */
+    public void record(String testName, FeatureResult featureResult) {
+        if ((testName == null) || (featureResult == null) || featureResult.isError() || (featureResult.getStartTime() == null) || (featureResult.getEndTime() == null)) {
+            return;
+        }
+
+        long duration = Math.max(featureResult.getEndTime().getTime() - featureResult.getStartTime().getTime(), 0);
+        durations.merge(testName, duration, (previous, latest) -> (previous + latest) / 2);
+    }
+
+    /**
+     * Returns the duration of the test from history or null if not known.
+     */
+    public Long getDuration(String testName) {
+        return (testName == null) ? null : durations.get(testName);
+    }
+
+    /**
+     * Returns the mean duration of the known tests or 0 if none are known.
+     */
+    public long getMeanDuration() {
+        return (long) durations.values().stream().mapToLong(Long::longValue).average().orElse(0);
+    }
+
+    /**
+     * Returns the duration of the test from history or the mean duration of known tests if not known.
+     */
+    public long getEstimatedDuration(String testName) {
+        Long duration = getDuration(testName);
+        return (duration != null) ? duration : getMeanDuration();
+    }
+
+    /**
+     * Returns the duration of the test from history or the mean duration passed if not known.</br>
+     * Callers estimating many tests compute the mean duration once with {@link #getMeanDuration()} instead of for every test.
+     */
+    public long getEstimatedDuration(String testName, long meanDuration) {
+        Long duration = getDuration(testName);
+        return (duration != null) ? duration : meanDuration;
+    }
+
+    public boolean isEmpty() {
+        return durations.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return Constants.EMPTY_STRING + durations;
+    }
+}
@@ -16,6 +16,7 @@ import org.mvss.karta.framework.models.run.RunInfo;
 import org.mvss.karta.framework.models.test.PreparedStep;
 import org.mvss.karta.framework.models.test.TestJob;
 import org.mvss.karta.framework.models.test.TestStep;
+import org.mvss.karta.framework.utils.SeededRandom;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -24,7 +25,10 @@ import java.util.HashMap;
 
 @Log4j2
 public class TestJobRunner {
-    public static TestJobResult run(KartaRuntime kartaRuntime, RunInfo runInfo, String featureName, TestProperties testProperties, TestJob job, int iterationIndex, BeanRegistry contextBeanRegistry) throws Throwable {
+    /**
+     * Runs an iteration of the job seeded with the random seed the feature was run with.
+     */
+    public static TestJobResult run(KartaRuntime kartaRuntime, RunInfo runInfo, String featureName, long featureRandomSeed, TestProperties testProperties, TestJob job, int iterationIndex, BeanRegistry contextBeanRegistry) throws Throwable {
         EventProcessor eventProcessor = kartaRuntime.getEventProcessor();
         String runName = runInfo.getRunName();
         log.debug("Running job: " + job);
@@ -34,6 +38,9 @@ public class TestJobRunner {
 
         HashMap<String, Serializable> variables = new HashMap<>();
 
+        // Job iterations are seeded by feature, job name and iteration index
+        SeededRandom random = new SeededRandom(SeededRandom.deriveSeed(SeededRandom.deriveSeed(featureRandomSeed, job.getName()), iterationIndex));
+
         switch (job.getJobType()) {
             case CHAOS:
                 ChaosActionTreeNode chaosConfiguration = job.getChaosConfiguration();
@@ -44,7 +51,7 @@ public class TestJobRunner {
                         log.error("Chaos configuration has errors " + chaosConfiguration);
                     }
 
-                    ArrayList<ChaosAction> chaosActionsToPerform = chaosConfiguration.nextChaosActions(kartaRuntime.getRandom());
+                    ArrayList<ChaosAction> chaosActionsToPerform = chaosConfiguration.nextChaosActions(random);
                     // TODO: Handle chaos action being empty
                     for (ChaosAction chaosAction : chaosActionsToPerform) {
                         eventProcessor.raiseEvent(new ChaosActionJobStartEvent(runName, featureName, job, iterationIndex, chaosAction));
@@ -62,7 +69,7 @@ public class TestJobRunner {
                 } else {
                     long stepIndex = 0;
                     for (TestStep step : steps) {
-                        PreparedStep preparedStep = kartaRuntime.getPreparedStep(runInfo, featureName, iterationIndex, job.getName(), variables, job.getTestDataSet(), testProperties, step, contextBeanRegistry);
+                        PreparedStep preparedStep = kartaRuntime.getPreparedStep(runInfo, featureName, iterationIndex, job.getName(), variables, job.getTestDataSet(), testProperties, step, contextBeanRegistry, random);
                         if (kartaRuntime.shouldStepNeedNotBeRun(runInfo, preparedStep)) {
                             continue;
                         }
@@ -74,7 +81,7 @@ public class TestJobRunner {
 
                         testJobResult.getStepResults().add(new SerializableKVP<>(step.getStep(), result));
                         if (!result.isPassed()) {
-                            testJobResult.setSuccessful(true);
+                            testJobResult.setSuccessful(false);
                             testJobResult.setEndTime(new Date());
                             break;
                         }
@@ -0,0 +1,128 @@
+package org.mvss.karta.framework.runtime;
+
+import lombok.extern.log4j.Log4j2;
+import org.mvss.karta.Constants;
+import org.mvss.karta.framework.models.result.JobMetrics;
+import org.mvss.karta.framework.models.test.TestJob;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process scheduler for interval test jobs with fixed rate and fixed delay schedules.</br>
+ * A single timer thread fires the schedules and job iterations run on a cached pool of job threads.</br>
+ *
+ * @author Manian
+ */
+@Log4j2
+public class TestJobScheduler implements AutoCloseable {
+    public static final String KARTA_JOB_TIMER_THREAD = Constants.KARTA + "-job-timer";
+    public static final String KARTA_JOB_THREAD = Constants.KARTA + "-job-";
+
+    /**
+     * The number of job iterations to indicate running indefinitely
+     */
+    public static final int REPEAT_INDEFINITELY = -1;
+
+    private final AtomicLong jobCounter = new AtomicLong();
+
+    private final AtomicInteger jobThreadCounter = new AtomicInteger();
+
+    private final ConcurrentHashMap<Long, ScheduledTestJob> scheduledJobs = new ConcurrentHashMap<>();
+
+    private final ScheduledThreadPoolExecutor timer;
+
+    private final ExecutorService jobExecutor;
+
+    public TestJobScheduler() {
+        timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, KARTA_JOB_TIMER_THREAD);
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        timer.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
+        timer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+        jobExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, KARTA_JOB_THREAD + jobThreadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the iterations to schedule for a job with the iteration count (a repeat count, see {@link TestJob#getIterationCount()})
+     * which already ran the completed iterations. Returns {@link #REPEAT_INDEFINITELY} for negative iteration counts.
+     */
+    public static long getRemainingIterations(int iterationCount, int completedIterations) {
+        if (iterationCount < 0) {
+            return REPEAT_INDEFINITELY;
+        }
+        return Math.max((iterationCount + 1L) - completedIterations, 0);
+    }
+
+    /**
+     * Schedules the test job to run for the number of iterations (indefinitely if negative) at the interval of the job and returns the job id.</br>
+     * The iteration counter is used for the iteration indexes of the job iterations.
+     */
+    public long scheduleJob(TestJob testJob, long iterations, AtomicInteger iterationCounter, ScheduledTestJob.JobIteration jobIteration) {
+        if (testJob.getInterval() <= 0) {
+            throw new IllegalArgumentException("Job interval should be positive for job " + testJob.getName());
+        }
+
+        long jobId = jobCounter.getAndIncrement();
+        ScheduledTestJob scheduledTestJob = new ScheduledTestJob(jobId, testJob, timer, jobExecutor, iterations, iterationCounter, jobIteration);
+        scheduledJobs.put(jobId, scheduledTestJob);
+        scheduledTestJob.start();
+        return jobId;
+    }
+
+    /**
+     * Cancels the job, waits for its running iterations and returns its metrics. Returns null if the job is not scheduled.
+     */
+    public JobMetrics cancelJob(long jobId) throws InterruptedException {
+        ScheduledTestJob scheduledTestJob = scheduledJobs.remove(jobId);
+
+        if (scheduledTestJob == null) {
+            return null;
+        }
+
+        scheduledTestJob.cancel();
+        return scheduledTestJob.getMetrics();
+    }
+
+    /**
+     * Cancels the jobs and returns their metrics mapped to job name.
+     */
+    public HashMap<String, JobMetrics> cancelJobs(List<Long> jobIds) throws InterruptedException {
+        HashMap<String, JobMetrics> jobMetrics = new HashMap<>();
+
+        for (Long jobId : jobIds) {
+            JobMetrics metrics = cancelJob(jobId);
+
+            if (metrics != null) {
+                jobMetrics.put(metrics.getJobName(), metrics);
+            }
+        }
+        return jobMetrics;
+    }
+
+    /**
+     * Returns the metrics of the job while running. Returns null if the job is not scheduled.
+     */
+    public JobMetrics getJobMetrics(long jobId) {
+        ScheduledTestJob scheduledTestJob = scheduledJobs.get(jobId);
+        return (scheduledTestJob == null) ? null : scheduledTestJob.getMetrics();
+    }
+
+    @Override
+    public void close() {
+        scheduledJobs.clear();
+        timer.shutdownNow();
+        jobExecutor.shutdownNow();
+    }
+}
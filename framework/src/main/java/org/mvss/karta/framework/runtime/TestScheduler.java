@@ -0,0 +1,115 @@
+package org.mvss.karta.framework.runtime;
+
+import org.apache.commons.lang3.StringUtils;
+import org.mvss.karta.Constants;
+import org.mvss.karta.framework.models.catalog.Test;
+import org.mvss.karta.framework.models.run.TestShard;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+/**
+ * Orders the tests of a run for shorter makespan and predicts the makespan from test duration history.</br>
+ * Tests are ordered by priority (lower value first) and then by historical duration (longest first) so that long tests do not start last.</br>
+ * Tests without history are assumed to take the mean duration of the known tests.</br>
+ * Also partitions tests deterministically into shards for running across independent processes.</br>
+ *
+ * @author Manian
+ */
+public class TestScheduler {
+    /**
+     * Returns the tests ordered by priority and then by estimated duration longest first.
+     */
+    public static ArrayList<Test> orderTests(Collection<Test> tests, TestDurationHistory testDurationHistory) {
+        ArrayList<Test> orderedTests = new ArrayList<>(tests);
+        long meanDuration = testDurationHistory.getMeanDuration();
+
+        Comparator<Test> byPriority = Comparator.comparingInt(test -> (test.getPriority() == null) ? 0 : test.getPriority());
+        orderedTests.sort(byPriority.thenComparing(Comparator.comparingLong((Test test) -> testDurationHistory.getEstimatedDuration(test.getName(), meanDuration)).reversed()));
+
+        return orderedTests;
+    }
+
+    /**
+     * Returns the tests of the shard. Every test is selected by exactly one shard of the same count for the same set of tests.</br>
+     * Tests are assigned round robin in the order of test names or, when balancing by duration, longest first to the shard with the least total duration.
+     */
+    public static ArrayList<Test> selectShard(Collection<Test> tests, TestShard testShard, TestDurationHistory testDurationHistory) {
+        if ((testShard == null) || (testShard.getCount() <= 1)) {
+            return new ArrayList<>(tests);
+        }
+
+        int shardCount = testShard.getCount();
+        int shardIndex = testShard.getIndex() - 1;
+
+        ArrayList<Test> sortedTests = new ArrayList<>(tests);
+        sortedTests.sort(Comparator.comparing(TestScheduler::getShardingKey));
+
+        ArrayList<Test> shardTests = new ArrayList<>();
+
+        if (!testShard.isBalanceByDuration()) {
+            for (int i = shardIndex; i < sortedTests.size(); i += shardCount) {
+                shardTests.add(sortedTests.get(i));
+            }
+            return shardTests;
+        }
+
+        // Stable sort keeps the name order for equal durations
+        long meanDuration = testDurationHistory.getMeanDuration();
+        sortedTests.sort(Comparator.comparingLong((Test test) -> testDurationHistory.getEstimatedDuration(test.getName(), meanDuration)).reversed());
+
+        long[] shardDurations = new long[shardCount];
+        int[] shardSizes = new int[shardCount];
+
+        for (Test test : sortedTests) {
+            int leastLoadedShard = 0;
+
+            for (int i = 1; i < shardCount; i++) {
+                if ((shardDurations[i] < shardDurations[leastLoadedShard]) || ((shardDurations[i] == shardDurations[leastLoadedShard]) && (shardSizes[i] < shardSizes[leastLoadedShard]))) {
+                    leastLoadedShard = i;
+                }
+            }
+
+            shardDurations[leastLoadedShard] += testDurationHistory.getEstimatedDuration(test.getName(), meanDuration);
+            shardSizes[leastLoadedShard]++;
+
+            if (leastLoadedShard == shardIndex) {
+                shardTests.add(test);
+            }
+        }
+
+        return shardTests;
+    }
+
+    private static String getShardingKey(Test test) {
+        String key = StringUtils.isNotEmpty(test.getName()) ? test.getName() : StringUtils.isNotEmpty(test.getFeatureFileName()) ? test.getFeatureFileName() : test.getJavaTestClass();
+        return (key == null) ? Constants.EMPTY_STRING : key;
+    }
+
+    /**
+     * Predicts the makespan in milliseconds of running the ordered tests by simulating greedy assignment of the tests to the threads of their thread groups.
+     */
+    public static long predictMakespan(List<Test> orderedTests, TestDurationHistory testDurationHistory, ToIntFunction<String> threadGroupSize) {
+        HashMap<String, PriorityQueue<Long>> threadFreeTimes = new HashMap<>();
+        long meanDuration = testDurationHistory.getMeanDuration();
+        long makespan = 0;
+
+        for (Test test : orderedTests) {
+            String threadGroup = StringUtils.isEmpty(test.getThreadGroup()) ? Constants.__DEFAULT__ : test.getThreadGroup();
+
+            PriorityQueue<Long> freeTimes = threadFreeTimes.computeIfAbsent(threadGroup, group -> {
+                PriorityQueue<Long> threads = new PriorityQueue<>();
+                for (int i = Math.max(threadGroupSize.applyAsInt(group), 1); i > 0; i--) {
+                    threads.add(0L);
+                }
+                return threads;
+            });
+
+            long endTime = freeTimes.poll() + testDurationHistory.getEstimatedDuration(test.getName(), meanDuration);
+            freeTimes.add(endTime);
+            makespan = Math.max(makespan, endTime);
+        }
+
+        return makespan;
+    }
+}
@@ -0,0 +1,52 @@
+package org.mvss.karta.framework.threading;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timer for dispatching tasks at a constant arrival rate (open model).</br>
+ * The intended start time of every arrival is computed from the start of the timer and not from the previous dispatch,
+ * so delays in dispatching do not shift the schedule and can be measured against the intended start time.</br>
+ *
+ * @author Manian
+ */
+public class ArrivalRateTimer {
+    private final Instant startTime;
+
+    private final long startNanos;
+
+    private final double intervalNanos;
+
+    public ArrivalRateTimer(double arrivalsPerSecond) {
+        if (arrivalsPerSecond <= 0) {
+            throw new IllegalArgumentException("Arrival rate should be positive: " + arrivalsPerSecond);
+        }
+        this.startTime = Instant.now();
+        this.startNanos = System.nanoTime();
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / arrivalsPerSecond;
+    }
+
+    /**
+     * Returns the intended start time of the arrival with the index.
+     */
+    public Date getIntendedStartTime(long arrivalIndex) {
+        return Date.from(startTime.plusNanos(getOffsetNanos(arrivalIndex)));
+    }
+
+    /**
+     * Waits till the intended start time of the arrival with the index and returns the intended start time.
+     */
+    public Date awaitArrival(long arrivalIndex) throws InterruptedException {
+        long waitNanos = (startNanos + getOffsetNanos(arrivalIndex)) - System.nanoTime();
+
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return getIntendedStartTime(arrivalIndex);
+    }
+
+    private long getOffsetNanos(long arrivalIndex) {
+        return (long) (arrivalIndex * intervalNanos);
+    }
+}
@@ -0,0 +1,132 @@
+package org.mvss.karta.framework.threading;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A group of tasks submitted to a shared ExecutorService with a limit on how many tasks of the group can be in flight at a time.</br>
+ * Submission blocks while the limit is reached like a fixed size ThreadPoolExecutor with a {@link BlockingRunnableQueue} would.</br>
+ * The executor service should not cap the number of threads (an elastic pool or virtual threads) so that the group reaches its max parallelism
+ * even when the tasks block.</br>
+ *
+ * @author Manian
+ */
+public class BoundedTaskGroup {
+    private final ExecutorService executorService;
+
+    private volatile int maxParallelism;
+
+    private final ResizableSemaphore permits;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    public BoundedTaskGroup(ExecutorService executorService, int maxParallelism) {
+        this.executorService = executorService;
+        this.maxParallelism = Math.max(maxParallelism, 1);
+        this.permits = new ResizableSemaphore(this.maxParallelism);
+    }
+
+    /**
+     * Semaphore which exposes permit reduction for resizing the group.
+     */
+    private static class ResizableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        public ResizableSemaphore(int permits) {
+            super(permits);
+        }
+
+        @Override
+        public void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+
+    public int getMaxParallelism() {
+        return maxParallelism;
+    }
+
+    /**
+     * Returns the number of tasks of the group running now.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Returns the peak number of tasks of the group running at a time since the previous call and resets it to the tasks running now.</br>
+     * A peak below the max parallelism while tasks are waiting for a slot means the executor service limits the group.
+     */
+    public int getAndResetPeakInFlight() {
+        return peakInFlight.getAndSet(inFlight.get());
+    }
+
+    /**
+     * Changes the number of tasks of the group which can be in flight (at least 1).</br>
+     * Tasks already in flight are not affected when the group is shrunk; new tasks wait till the in flight count drops below the new limit.
+     */
+    public synchronized void setMaxParallelism(int maxParallelism) {
+        maxParallelism = Math.max(maxParallelism, 1);
+        int delta = maxParallelism - this.maxParallelism;
+
+        if (delta > 0) {
+            permits.release(delta);
+        } else if (delta < 0) {
+            permits.reducePermits(-delta);
+        }
+        this.maxParallelism = maxParallelism;
+    }
+
+    /**
+     * Submits a task to the shared executor service waiting for a free slot in the group if required.
+     */
+    public <T> Future<T> submit(Callable<T> callable) throws InterruptedException {
+        acquire(1);
+
+        return submitWithPermit(callable);
+    }
+
+    /**
+     * Submits a task to the shared executor service if a slot in the group is available within the timeout.</br>
+     * Returns null if the task was not submitted.
+     */
+    public <T> Future<T> trySubmit(Callable<T> callable, long timeout, TimeUnit unit) throws InterruptedException {
+        if (!permits.tryAcquire(timeout, unit)) {
+            return null;
+        }
+
+        return submitWithPermit(callable);
+    }
+
+    /**
+     * Waits till all the tasks submitted to this group are complete. The group should not be resized while waiting.
+     */
+    public void awaitCompletion() throws InterruptedException {
+        int permitsToAcquire = maxParallelism;
+        acquire(permitsToAcquire);
+        permits.release(permitsToAcquire);
+    }
+
+    private <T> Future<T> submitWithPermit(Callable<T> callable) {
+        try {
+            return executorService.submit(() -> {
+                peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    return callable.call();
+                } finally {
+                    inFlight.decrementAndGet();
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException ree) {
+            permits.release();
+            throw ree;
+        }
+    }
+
+    private void acquire(int count) throws InterruptedException {
+        permits.acquire(count);
+    }
+}
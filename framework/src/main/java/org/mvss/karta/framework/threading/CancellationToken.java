@@ -0,0 +1,121 @@
+package org.mvss.karta.framework.threading;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Cooperative cancellation token for test executions with an optional deadline.</br>
+ * Tokens form a hierarchy (iteration, scenario, step) where a child token is cancelled when its parent is cancelled
+ * and its deadline is never later than the deadline of its parent.</br>
+ * Step code can poll {@link #isCancelled()} or call {@link #throwIfCancelled()} to abort early; runners also interrupt the executing thread at the deadline (refer {@link DeadlineTimer}).</br>
+ *
+ * @author Manian
+ */
+public class CancellationToken {
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final CancellationToken parent;
+
+    private final long deadlineNanos;
+
+    private final Duration timeout;
+
+    private volatile String cancelReason = null;
+
+    private CancellationToken(CancellationToken parent, Duration timeout) {
+        this.parent = parent;
+        this.timeout = timeout;
+
+        long parentDeadlineNanos = (parent == null) ? NO_DEADLINE : parent.deadlineNanos;
+
+        if ((timeout == null) || timeout.isNegative() || timeout.isZero()) {
+            this.deadlineNanos = parentDeadlineNanos;
+        } else {
+            long startNanos = System.nanoTime();
+            long timeoutNanos = timeout.toNanos();
+            this.deadlineNanos = ((parentDeadlineNanos == NO_DEADLINE) || ((parentDeadlineNanos - startNanos) > timeoutNanos)) ? startNanos + timeoutNanos : parentDeadlineNanos;
+        }
+    }
+
+    /**
+     * Returns a new root token without a deadline.
+     */
+    public static CancellationToken root() {
+        return new CancellationToken(null, null);
+    }
+
+    /**
+     * Returns the token or a new root token if null.
+     */
+    public static CancellationToken of(CancellationToken cancellationToken) {
+        return (cancellationToken == null) ? root() : cancellationToken;
+    }
+
+    /**
+     * Returns a child token which expires after the timeout or at the deadline of this token whichever is earlier.
+     * The child token has the same deadline as this token if the timeout is null.
+     */
+    public CancellationToken child(Duration timeout) {
+        return new CancellationToken(this, timeout);
+    }
+
+    public boolean hasDeadline() {
+        return deadlineNanos != NO_DEADLINE;
+    }
+
+    /**
+     * Returns the time left till the deadline (zero once expired) or null if the token does not have a deadline.
+     */
+    public Duration getRemainingTime() {
+        return hasDeadline() ? Duration.ofNanos(Math.max(getRemainingNanos(), 0)) : null;
+    }
+
+    long getRemainingNanos() {
+        return hasDeadline() ? deadlineNanos - System.nanoTime() : Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns if the deadline of this token has passed.
+     */
+    public boolean isTimedOut() {
+        return hasDeadline() && (getRemainingNanos() <= 0);
+    }
+
+    /**
+     * Cancels this token and all its child tokens.
+     */
+    public void cancel(String reason) {
+        cancelReason = (reason == null) ? "Cancelled" : reason;
+    }
+
+    /**
+     * Returns if this token or any of its ancestors was cancelled or timed out.
+     */
+    public boolean isCancelled() {
+        return (cancelReason != null) || isTimedOut() || ((parent != null) && parent.isCancelled());
+    }
+
+    /**
+     * Returns the reason for the cancellation or null if not cancelled.
+     */
+    public String getCancelReason() {
+        if (cancelReason != null) {
+            return cancelReason;
+        }
+
+        if ((parent != null) && parent.isCancelled()) {
+            return parent.getCancelReason();
+        }
+
+        return isTimedOut() ? "Timed out" + ((timeout == null) ? "" : " after " + timeout) : null;
+    }
+
+    /**
+     * Throws a CancellationException if this token is cancelled.
+     */
+    public void throwIfCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException(getCancelReason());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.mvss.karta.framework.threading;
+
+import org.mvss.karta.framework.models.result.ConcurrencyMetrics;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fair permit based limiter for the number of concurrently executing tasks with utilization and queueing delay metrics.</br>
+ * A limiter with a non-positive limit does not block and only collects metrics.</br>
+ *
+ * @author Manian
+ */
+public class ConcurrencyLimiter {
+    private final int limit;
+
+    private final Semaphore permits;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    private final AtomicLong admitted = new AtomicLong();
+
+    private final AtomicLong totalQueueingDelayNanos = new AtomicLong();
+
+    private final AtomicLong maxQueueingDelayNanos = new AtomicLong();
+
+    public ConcurrencyLimiter(int limit) {
+        this.limit = limit;
+        this.permits = (limit > 0) ? new Semaphore(limit, true) : null;
+    }
+
+    /**
+     * Waits for a permit and returns the time waited in nanoseconds.
+     */
+    public long acquire() throws InterruptedException {
+        long startNanos = System.nanoTime();
+
+        if (permits != null) {
+            permits.acquire();
+        }
+
+        long queueingDelayNanos = System.nanoTime() - startNanos;
+
+        int currentInFlight = inFlight.incrementAndGet();
+        peakInFlight.accumulateAndGet(currentInFlight, Math::max);
+        admitted.incrementAndGet();
+        totalQueueingDelayNanos.addAndGet(queueingDelayNanos);
+        maxQueueingDelayNanos.accumulateAndGet(queueingDelayNanos, Math::max);
+
+        return queueingDelayNanos;
+    }
+
+    /**
+     * Releases a permit acquired earlier.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    public ConcurrencyMetrics getMetrics() {
+        return ConcurrencyMetrics.builder().limit(limit).inFlight(inFlight.get()).peakInFlight(peakInFlight.get()).admitted(admitted.get()).totalQueueingDelay(TimeUnit.NANOSECONDS.toMillis(totalQueueingDelayNanos.get())).maxQueueingDelay(TimeUnit.NANOSECONDS.toMillis(maxQueueingDelayNanos.get())).build();
+    }
+}
@@ -0,0 +1,87 @@
+package org.mvss.karta.framework.threading;
+
+import org.mvss.karta.Constants;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interrupts threads which run past the deadline of their {@link CancellationToken}.</br>
+ * A single timer thread serves all the deadlines of the runtime.</br>
+ *
+ * @author Manian
+ */
+public class DeadlineTimer implements AutoCloseable {
+    public static final String KARTA_DEADLINE_TIMER_THREAD = Constants.KARTA + "-deadline-timer";
+
+    private final ScheduledThreadPoolExecutor timer;
+
+    public DeadlineTimer() {
+        timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, KARTA_DEADLINE_TIMER_THREAD);
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        timer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * The watch over the current thread for a deadline. Should be closed from the watched thread once the watched work is complete.
+     */
+    public static class Watch implements AutoCloseable {
+        private final Thread thread;
+
+        private ScheduledFuture<?> scheduledFuture;
+
+        private boolean closed = false;
+
+        private boolean interrupted = false;
+
+        private Watch(Thread thread) {
+            this.thread = thread;
+        }
+
+        private synchronized void expire() {
+            if (!closed) {
+                interrupted = true;
+                thread.interrupt();
+            }
+        }
+
+        /**
+         * Stops watching and clears the interrupt raised for the deadline if any.
+         */
+        @Override
+        public synchronized void close() {
+            closed = true;
+
+            if (scheduledFuture != null) {
+                scheduledFuture.cancel(false);
+            }
+
+            if (interrupted && (Thread.currentThread() == thread)) {
+                Thread.interrupted();
+            }
+        }
+    }
+
+    /**
+     * Watches the current thread and interrupts it at the deadline of the token if the watch is not closed before.
+     */
+    public Watch watch(CancellationToken cancellationToken) {
+        Watch watch = new Watch(Thread.currentThread());
+
+        if ((cancellationToken != null) && cancellationToken.hasDeadline() && !timer.isShutdown()) {
+            watch.scheduledFuture = timer.schedule(watch::expire, Math.max(cancellationToken.getRemainingNanos(), 0), TimeUnit.NANOSECONDS);
+        }
+
+        return watch;
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+}
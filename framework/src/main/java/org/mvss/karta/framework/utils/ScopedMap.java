@@ -0,0 +1,498 @@
+package org.mvss.karta.framework.utils;
+
+import java.io.Serial;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Layered copy-on-write map for the variable and test data scopes (run, feature, iteration, scenario and step).</br>
+ * A scope reads through to its parent scope and holds only its own writes and removals.
+ * Creating a scope does not copy the parent and the allocation for a scope is proportional to what the scope changes.</br>
+ * The parent is shared by all its child scopes and must not be modified while the child scopes are in use.</br>
+ * Extends HashMap so that scopes can be used wherever variables and test data maps are used; serializes as a flat HashMap.</br>
+ *
+ * @author Manian
+ */
+public class ScopedMap<K, V> extends HashMap<K, V> {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The depth beyond which the parent chain is flattened to bound the lookup cost.
+     */
+    public static final int MAX_DEPTH = 8;
+
+    private final Map<K, V> parent;
+
+    private final int depth;
+
+    /**
+     * The parent keys removed in this scope.
+     */
+    private HashSet<Object> removed;
+
+    /**
+     * The number of parent keys overridden in this scope.
+     */
+    private int shadowed = 0;
+
+    /**
+     * Creates a new scope over the parent. The parent can be null for a root scope.
+     */
+    public ScopedMap(Map<K, V> parent) {
+        super();
+        int parentDepth = (parent instanceof ScopedMap<K, V> parentScope) ? parentScope.depth : 0;
+
+        if (parent == null) {
+            this.parent = Collections.emptyMap();
+            this.depth = 1;
+        } else if (parentDepth >= MAX_DEPTH) {
+            this.parent = new HashMap<>(parent);
+            this.depth = 1;
+        } else {
+            this.parent = parent;
+            this.depth = parentDepth + 1;
+        }
+    }
+
+    /**
+     * Returns a new scope over the parent with the overrides (may be null) copied into it. Neither map is modified.</br>
+     * The parent is not copied and must not be modified while the scope is in use; maps shared with the caller should be layered over their snapshot.
+     */
+    public static <K, V> HashMap<K, V> layer(HashMap<K, V> parent, HashMap<K, V> overrides) {
+        ScopedMap<K, V> scope = new ScopedMap<>(parent);
+
+        if (overrides != null) {
+            scope.putAll(overrides);
+        }
+        return scope;
+    }
+
+    /**
+     * Returns a copy of the map (null if null) to layer scopes over, so that later changes to the map are not visible to the scopes.
+     */
+    public static <K, V> HashMap<K, V> snapshot(Map<K, V> map) {
+        return (map == null) ? null : new HashMap<>(map);
+    }
+
+    private boolean visibleInParent(Object key) {
+        return !super.containsKey(key) && ((removed == null) || !removed.contains(key)) && parent.containsKey(key);
+    }
+
+    private void tombstone(Object key) {
+        if (removed == null) {
+            removed = new HashSet<>();
+        }
+        removed.add(key);
+    }
+
+    @Override
+    public int size() {
+        return super.size() + parent.size() - shadowed - ((removed == null) ? 0 : removed.size());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public V get(Object key) {
+        V value = super.get(key);
+
+        if ((value != null) || super.containsKey(key)) {
+            return value;
+        }
+
+        return visibleInParent(key) ? parent.get(key) : null;
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        return containsKey(key) ? get(key) : defaultValue;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return super.containsKey(key) || visibleInParent(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (V visibleValue : values()) {
+            if (Objects.equals(visibleValue, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (super.containsKey(key)) {
+            return super.put(key, value);
+        }
+
+        V previous = null;
+        if ((removed != null) && removed.remove(key)) {
+            shadowed++;
+        } else if (parent.containsKey(key)) {
+            shadowed++;
+            previous = parent.get(key);
+        }
+
+        super.put(key, value);
+        return previous;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        map.forEach(this::put);
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (super.containsKey(key)) {
+            V previous = super.remove(key);
+
+            if (parent.containsKey(key)) {
+                shadowed--;
+                tombstone(key);
+            }
+            return previous;
+        }
+
+        if (visibleInParent(key)) {
+            tombstone(key);
+            return parent.get(key);
+        }
+
+        return null;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        if (containsKey(key) && Objects.equals(get(key), value)) {
+            remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        shadowed = 0;
+        removed = new HashSet<>(parent.keySet());
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        V current = get(key);
+        return (current == null) ? put(key, value) : current;
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V current = get(key);
+
+        if (current == null) {
+            V newValue = mappingFunction.apply(key);
+
+            if (newValue != null) {
+                put(key, newValue);
+            }
+            return newValue;
+        }
+        return current;
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        V current = get(key);
+
+        if (current == null) {
+            return null;
+        }
+
+        V newValue = remappingFunction.apply(key, current);
+        if (newValue == null) {
+            remove(key);
+        } else {
+            put(key, newValue);
+        }
+        return newValue;
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        V current = get(key);
+        V newValue = remappingFunction.apply(key, current);
+
+        if (newValue == null) {
+            if ((current != null) || containsKey(key)) {
+                remove(key);
+            }
+            return null;
+        }
+
+        put(key, newValue);
+        return newValue;
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        V current = get(key);
+        V newValue = (current == null) ? value : remappingFunction.apply(current, value);
+
+        if (newValue == null) {
+            remove(key);
+        } else {
+            put(key, newValue);
+        }
+        return newValue;
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        return containsKey(key) ? put(key, value) : null;
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        if (containsKey(key) && Objects.equals(get(key), oldValue)) {
+            put(key, newValue);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        for (Map.Entry<K, V> entry : entrySet()) {
+            entry.setValue(function.apply(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (Map.Entry<K, V> entry : entrySet()) {
+            action.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return ScopedMap.this.size();
+            }
+
+            @Override
+            public void clear() {
+                ScopedMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<K> iterator() {
+                Iterator<Map.Entry<K, V>> entryIterator = new EntryIterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entryIterator.hasNext();
+                    }
+
+                    @Override
+                    public K next() {
+                        return entryIterator.next().getKey();
+                    }
+
+                    @Override
+                    public void remove() {
+                        entryIterator.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return ScopedMap.this.size();
+            }
+
+            @Override
+            public boolean contains(Object key) {
+                return containsKey(key);
+            }
+
+            @Override
+            public boolean remove(Object key) {
+                if (containsKey(key)) {
+                    ScopedMap.this.remove(key);
+                    return true;
+                }
+                return false;
+            }
+
+            @Override
+            public void clear() {
+                ScopedMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                Iterator<Map.Entry<K, V>> entryIterator = new EntryIterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entryIterator.hasNext();
+                    }
+
+                    @Override
+                    public V next() {
+                        return entryIterator.next().getValue();
+                    }
+
+                    @Override
+                    public void remove() {
+                        entryIterator.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return ScopedMap.this.size();
+            }
+
+            @Override
+            public void clear() {
+                ScopedMap.this.clear();
+            }
+        };
+    }
+
+    /**
+     * Iterates the entries of this scope followed by the entries of the parent which are neither overridden nor removed in this scope.
+     */
+    private class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private final Iterator<Map.Entry<K, V>> ownIterator = ScopedMap.super.entrySet().iterator();
+
+        private final Iterator<Map.Entry<K, V>> parentIterator = parent.entrySet().iterator();
+
+        private Map.Entry<K, V> nextParentEntry;
+
+        private Map.Entry<K, V> lastEntry;
+
+        private boolean lastOwn;
+
+        @Override
+        public boolean hasNext() {
+            if (ownIterator.hasNext()) {
+                return true;
+            }
+
+            while ((nextParentEntry == null) && parentIterator.hasNext()) {
+                Map.Entry<K, V> parentEntry = parentIterator.next();
+
+                if (visibleInParent(parentEntry.getKey())) {
+                    nextParentEntry = new ParentEntry(parentEntry.getKey(), parentEntry.getValue());
+                }
+            }
+            return nextParentEntry != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (ownIterator.hasNext()) {
+                lastEntry = ownIterator.next();
+                lastOwn = true;
+                return lastEntry;
+            }
+
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            lastEntry = nextParentEntry;
+            lastOwn = false;
+            nextParentEntry = null;
+            return lastEntry;
+        }
+
+        @Override
+        public void remove() {
+            if (lastEntry == null) {
+                throw new IllegalStateException();
+            }
+
+            K key = lastEntry.getKey();
+
+            if (lastOwn) {
+                ownIterator.remove();
+
+                if (parent.containsKey(key)) {
+                    shadowed--;
+                    tombstone(key);
+                }
+            } else {
+                ScopedMap.this.remove(key);
+            }
+            lastEntry = null;
+        }
+    }
+
+    /**
+     * An entry read from the parent which writes to this scope when set.
+     */
+    private class ParentEntry extends AbstractMap.SimpleEntry<K, V> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private ParentEntry(K key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+    @Override
+    public Object clone() {
+        ScopedMap<K, V> clone = new ScopedMap<>(parent);
+        super.forEach(clone::put);
+
+        if (removed != null) {
+            removed.forEach(clone::remove);
+        }
+        return clone;
+    }
+
+    /**
+     * Scopes are serialized as a flat HashMap (e.g. for running on remote nodes).
+     */
+    @Serial
+    private Object writeReplace() {
+        return new HashMap<>(this);
+    }
+}
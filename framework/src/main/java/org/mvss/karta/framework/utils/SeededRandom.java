@@ -0,0 +1,110 @@
+package org.mvss.karta.framework.utils;
+
+import lombok.Getter;
+
+import java.io.Serial;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Splittable random stream for the seed hierarchy of runs (run seed → feature seed → iteration seed → scenario seed).</br>
+ * Child seeds are derived from the parent seed and a key (like feature name or iteration index) and not from the state of the parent stream.
+ * Any feature, iteration or scenario can hence be replayed from its seed irrespective of the order or parallelism of the run.</br>
+ * Extends Random (SplitMix64 generator) for use with the existing randomization utilities.
+ * Not thread safe and not synchronized; a stream is to be used by one thread (like the preparation of a scenario).</br>
+ *
+ * @author Manian
+ */
+public class SeededRandom extends Random {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * The seed the stream was created or last reset with.
+     */
+    @Getter
+    private long seed;
+
+    private long state;
+
+    public SeededRandom(long seed) {
+        super(seed);
+        setSeed(seed);
+    }
+
+    /**
+     * Returns a new random seed for a run or feature without a seed to replay.
+     */
+    public static long newSeed() {
+        return mix64(ThreadLocalRandom.current().nextLong() ^ System.nanoTime());
+    }
+
+    /**
+     * Derives the child seed for the key from the parent seed.
+     */
+    public static long deriveSeed(long seed, long key) {
+        return mix64(mix64(seed) ^ mix64(key + GOLDEN_GAMMA));
+    }
+
+    /**
+     * Derives the child seed for the key (like feature or scenario name) from the parent seed.
+     */
+    public static long deriveSeed(long seed, String key) {
+        return deriveSeed(seed, hash64(key));
+    }
+
+    /**
+     * Returns a 64-bit hash of all the characters of the key mixed with SplitMix64.
+     * Unlike String.hashCode, keys like "Aa" and "BB" do not collide.
+     */
+    public static long hash64(String key) {
+        if (key == null) {
+            return 0;
+        }
+
+        long hash = mix64(key.length() + GOLDEN_GAMMA);
+        for (int i = 0; i < key.length(); i++) {
+            hash = mix64(hash + key.charAt(i) + GOLDEN_GAMMA);
+        }
+        return hash;
+    }
+
+    /**
+     * Returns a new stream with the child seed for the key. The state of this stream is not used or changed.
+     */
+    public SeededRandom split(long key) {
+        return new SeededRandom(deriveSeed(seed, key));
+    }
+
+    /**
+     * Returns a new stream with the child seed for the key. The state of this stream is not used or changed.
+     */
+    public SeededRandom split(String key) {
+        return new SeededRandom(deriveSeed(seed, key));
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        // Called by the Random constructor as well
+        this.seed = seed;
+        this.state = seed;
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(state += GOLDEN_GAMMA);
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+}
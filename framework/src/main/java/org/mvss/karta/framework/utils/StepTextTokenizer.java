@@ -0,0 +1,200 @@
+package org.mvss.karta.framework.utils;
+
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+import org.mvss.karta.Constants;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tokenizer for step, condition and chaos action text shared by the step runners.</br>
+ * A single pass over the step text strips the leading Gherkin conjunction (Given, When, Then, And, But),
+ * replaces the quoted inline arguments with "" to form the sanitized identifier and collects the inline arguments in order.
+ * The quoted inline arguments follow the pattern "(?:[^\\"]+|\\.|\\\\)*" (quotes escaped with backslash).</br>
+ * Tokenized step texts are cached (bounded) since the same step texts are run repeatedly across iterations.</br>
+ *
+ * @author Manian
+ */
+public class StepTextTokenizer {
+    /**
+     * The maximum number of distinct step texts cached.
+     */
+    public static final int MAX_CACHED_STEP_TEXTS = 8192;
+
+    public static final String INLINE_STEP_DEF_PARAM_INDICATOR_STRING = "\"\"";
+
+    private static final Set<String> conjunctions = Set.of("Given", "When", "Then", "And", "But");
+
+    private static final ConcurrentHashMap<String, TokenizedStep> tokenizedStepCache = new ConcurrentHashMap<>();
+
+    /**
+     * A tokenized step text.
+     */
+    @Getter
+    public static class TokenizedStep {
+        /**
+         * The conjunction the step text starts with or empty string if none.
+         */
+        private final String conjunction;
+
+        /**
+         * The step text without the conjunction and with the inline arguments replaced by "".
+         */
+        private final String sanitizedIdentifier;
+
+        /**
+         * The quoted inline arguments in order (unmodifiable).
+         */
+        private final List<String> inlineArguments;
+
+        private TokenizedStep(String conjunction, String sanitizedIdentifier, List<String> inlineArguments) {
+            this.conjunction = conjunction;
+            this.sanitizedIdentifier = sanitizedIdentifier;
+            this.inlineArguments = inlineArguments;
+        }
+    }
+
+    private StepTextTokenizer() {
+    }
+
+    /**
+     * Returns the tokenized step text from the cache tokenizing and caching it if not cached.
+     */
+    public static TokenizedStep tokenize(String stepText) {
+        if (StringUtils.isBlank(stepText)) {
+            return new TokenizedStep(Constants.EMPTY_STRING, stepText, Collections.emptyList());
+        }
+
+        TokenizedStep tokenizedStep = tokenizedStepCache.get(stepText);
+
+        if (tokenizedStep == null) {
+            tokenizedStep = tokenizeStepText(stepText);
+
+            if (tokenizedStepCache.size() < MAX_CACHED_STEP_TEXTS) {
+                tokenizedStepCache.putIfAbsent(stepText, tokenizedStep);
+            }
+        }
+        return tokenizedStep;
+    }
+
+    /**
+     * Returns the sanitized identifier for the step text. Blank step texts are returned as is.
+     */
+    public static String sanitize(String stepText) {
+        return tokenize(stepText).getSanitizedIdentifier();
+    }
+
+    /**
+     * Returns the quoted inline arguments in the step text in order.
+     */
+    public static List<String> getInlineArguments(String stepText) {
+        return tokenize(stepText).getInlineArguments();
+    }
+
+    /**
+     * Returns the conjunction the step text starts with or empty string if none.
+     */
+    public static String getConjunction(String stepText) {
+        return tokenize(stepText).getConjunction();
+    }
+
+    private static TokenizedStep tokenizeStepText(String stepText) {
+        int start = 0;
+        int end = stepText.length();
+
+        while ((start < end) && (stepText.charAt(start) <= ' ')) {
+            start++;
+        }
+        while ((end > start) && (stepText.charAt(end - 1) <= ' ')) {
+            end--;
+        }
+
+        // The first word is the leading run of word characters
+        int firstWordEnd = start;
+        while ((firstWordEnd < end) && isWordCharacter(stepText.charAt(firstWordEnd))) {
+            firstWordEnd++;
+        }
+
+        String conjunction = Constants.EMPTY_STRING;
+        String firstWord = stepText.substring(start, firstWordEnd);
+
+        if (conjunctions.contains(firstWord)) {
+            conjunction = firstWord;
+            start = firstWordEnd;
+
+            while ((start < end) && (stepText.charAt(start) <= ' ')) {
+                start++;
+            }
+        }
+
+        StringBuilder sanitizedIdentifier = null;
+        ArrayList<String> inlineArguments = null;
+        int copiedUpTo = start;
+
+        for (int i = start; i < end; i++) {
+            if (stepText.charAt(i) != '"') {
+                continue;
+            }
+
+            int closingQuote = findClosingQuote(stepText, i + 1, end);
+
+            if (closingQuote < 0) {
+                // Unterminated quote; a later quote may still start an argument
+                continue;
+            }
+
+            if (sanitizedIdentifier == null) {
+                sanitizedIdentifier = new StringBuilder(end - start);
+                inlineArguments = new ArrayList<>();
+            }
+
+            sanitizedIdentifier.append(stepText, copiedUpTo, i).append(INLINE_STEP_DEF_PARAM_INDICATOR_STRING);
+            inlineArguments.add(stepText.substring(i, closingQuote + 1));
+            copiedUpTo = closingQuote + 1;
+            i = closingQuote;
+        }
+
+        if (sanitizedIdentifier == null) {
+            return new TokenizedStep(conjunction, stepText.substring(start, end), Collections.emptyList());
+        }
+
+        sanitizedIdentifier.append(stepText, copiedUpTo, end);
+        return new TokenizedStep(conjunction, sanitizedIdentifier.toString(), Collections.unmodifiableList(inlineArguments));
+    }
+
+    /**
+     * Returns the index of the quote closing the argument starting at the index or -1 if not terminated.
+     */
+    private static int findClosingQuote(String stepText, int index, int end) {
+        while (index < end) {
+            char c = stepText.charAt(index);
+
+            if (c == '"') {
+                return index;
+            }
+
+            if (c == '\\') {
+                // An escape sequence does not span lines
+                if ((index + 1 >= end) || isLineTerminator(stepText.charAt(index + 1))) {
+                    return -1;
+                }
+                index += 2;
+            } else {
+                index++;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isWordCharacter(char c) {
+        return ((c >= 'a') && (c <= 'z')) || ((c >= 'A') && (c <= 'Z')) || ((c >= '0') && (c <= '9')) || (c == '_');
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return (c == '\n') || (c == '\r') || (c == '\u0085') || (c == '\u2028') || (c == '\u2029');
+    }
+}
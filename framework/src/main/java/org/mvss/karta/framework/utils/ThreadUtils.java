@@ -45,6 +45,36 @@ public class ThreadUtils {
         return waitTerminationResult;
     }
 
+    /**
+     * Runs the callables in parallel on the given (shared) executor service and waits for all of them to complete.</br>
+     * The executor service is not shutdown.</br>
+     */
+    public static <T> boolean runCallableInParallel(List<Callable<T>> callables, Function<T, Boolean> resultConsumer, ExecutorService executorService) throws Throwable {
+        ArrayList<Future<T>> futuresList = new ArrayList<>();
+        for (Callable<T> callable : callables) {
+            futuresList.add(executorService.submit(callable));
+        }
+
+        boolean result = true;
+        ArrayList<Throwable> exceptionArrayList = new ArrayList<>();
+        for (Future<T> future : futuresList) {
+            try {
+                T callableResult = future.get();
+                if ((resultConsumer != null) && !resultConsumer.apply(callableResult)) {
+                    result = false;
+                }
+            } catch (ExecutionException e) {
+                exceptionArrayList.add(e.getCause());
+            }
+        }
+
+        if (!exceptionArrayList.isEmpty()) {
+            throw new ParallelCausesException(exceptionArrayList);
+        }
+
+        return result;
+    }
+
     public static <T> boolean runCallablesInSerial(List<Callable<T>> callables, Function<T, Boolean> resultConsumer) throws Throwable {
         for (Callable<?> callable : callables) {
             //noinspection unchecked
@@ -64,4 +94,13 @@ public class ThreadUtils {
             return runCallablesInSerial(callables, resultConsumer);
         }
     }
+
+    public static <T> boolean runCallables(List<Callable<T>> callables, Function<T, Boolean> resultConsumer, boolean isParallel, ExecutorService executorService)
+            throws Throwable {
+        if (isParallel) {
+            return runCallableInParallel(callables, resultConsumer, executorService);
+        } else {
+            return runCallablesInSerial(callables, resultConsumer);
+        }
+    }
 }
@@ -0,0 +1,66 @@
+package framework;
+
+import org.mvss.karta.framework.models.result.ScenarioResult;
+import org.mvss.karta.framework.models.run.AdaptiveConcurrency;
+import org.mvss.karta.framework.runtime.AdaptiveConcurrencyController;
+import org.mvss.karta.framework.runtime.ExecutorServiceManager;
+import org.mvss.karta.framework.threading.BoundedTaskGroup;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestAdaptiveConcurrency {
+    private static final int SCHEDULER_PARALLELISM = 2;
+
+    private static final int MAX_PARALLELISM = 16;
+
+    private static final long ITERATION_MILLIS = 20;
+
+    private static final long RUN_MILLIS = 2000;
+
+    public static void main(String[] args) throws Exception {
+        AdaptiveConcurrency adaptiveConcurrency = AdaptiveConcurrency.builder().minParallelism(1).maxParallelism(MAX_PARALLELISM).additiveIncrease(4).evaluationInterval(Duration.ofMillis(150)).minSamples(5).errorBudget(1.0).build();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+
+        try (ExecutorServiceManager executorServiceManager = new ExecutorServiceManager(SCHEDULER_PARALLELISM)) {
+            BoundedTaskGroup iterationTaskGroup = executorServiceManager.createTaskGroup(1);
+            AdaptiveConcurrencyController adaptiveConcurrencyController = new AdaptiveConcurrencyController("TestAdaptiveConcurrency", adaptiveConcurrency, iterationTaskGroup);
+            Thread adaptiveConcurrencyThread = new Thread(adaptiveConcurrencyController);
+            adaptiveConcurrencyThread.start();
+
+            long endTime = System.currentTimeMillis() + RUN_MILLIS;
+
+            // Dispatch iterations like the feature runner does for the closed model
+            while (System.currentTimeMillis() < endTime) {
+                iterationTaskGroup.submit(() -> {
+                    peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(ITERATION_MILLIS);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                    adaptiveConcurrencyController.recordIteration(Collections.singletonList(new ScenarioResult()));
+                    return null;
+                });
+            }
+
+            adaptiveConcurrencyThread.interrupt();
+            adaptiveConcurrencyThread.join();
+            iterationTaskGroup.awaitCompletion();
+
+            System.out.println("Parallelism " + iterationTaskGroup.getMaxParallelism() + ", peak in flight " + peakInFlight.get() + ", max sustainable parallelism " + adaptiveConcurrencyController.getMaxSustainableParallelism());
+
+            if (iterationTaskGroup.getMaxParallelism() != MAX_PARALLELISM) {
+                throw new AssertionError("Parallelism within limits did not grow to " + MAX_PARALLELISM);
+            }
+
+            // The observed concurrency exceeds the scheduler core threads
+            if ((peakInFlight.get() <= SCHEDULER_PARALLELISM) || (adaptiveConcurrencyController.getMaxSustainableParallelism() <= SCHEDULER_PARALLELISM)) {
+                throw new AssertionError("Observed concurrency did not exceed the scheduler parallelism " + SCHEDULER_PARALLELISM);
+            }
+        }
+        System.out.println("PASSED");
+    }
+}
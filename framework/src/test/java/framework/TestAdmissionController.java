@@ -0,0 +1,116 @@
+package framework;
+
+import org.mvss.karta.Constants;
+import org.mvss.karta.framework.models.result.ConcurrencyMetrics;
+import org.mvss.karta.framework.runtime.AdmissionController;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestAdmissionController {
+    private static final int HOST_LIMIT = 6;
+
+    private static final int GROUP_A_LIMIT = 2;
+
+    private static final int GROUP_B_LIMIT = 10;
+
+    private static final int THREADS_PER_GROUP = 12;
+
+    private static final int STEPS_PER_THREAD = 10;
+
+    private static final long STEP_SLEEP_MILLIS = 5;
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        AdmissionController admissionController = new AdmissionController(HOST_LIMIT, Map.of("A", GROUP_A_LIMIT, "B", GROUP_B_LIMIT));
+        AtomicInteger hostInFlight = new AtomicInteger();
+        AtomicInteger hostPeak = new AtomicInteger();
+        HashMap<String, AtomicInteger> groupInFlight = new HashMap<>(Map.of("A", new AtomicInteger(), "B", new AtomicInteger()));
+        HashMap<String, AtomicInteger> groupPeak = new HashMap<>(Map.of("A", new AtomicInteger(), "B", new AtomicInteger()));
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS_PER_GROUP * 2, Executors.defaultThreadFactory());
+
+        try {
+            ArrayList<Future<?>> futures = new ArrayList<>();
+            for (String threadGroup : groupInFlight.keySet()) {
+                for (int i = 0; i < THREADS_PER_GROUP; i++) {
+                    futures.add(executorService.submit(() -> {
+                        for (int j = 0; j < STEPS_PER_THREAD; j++) {
+                            admissionController.acquire(threadGroup);
+                            try {
+                                hostPeak.accumulateAndGet(hostInFlight.incrementAndGet(), Math::max);
+                                groupPeak.get(threadGroup).accumulateAndGet(groupInFlight.get(threadGroup).incrementAndGet(), Math::max);
+                                Thread.sleep(STEP_SLEEP_MILLIS);
+                            } finally {
+                                groupInFlight.get(threadGroup).decrementAndGet();
+                                hostInFlight.decrementAndGet();
+                                admissionController.release(threadGroup);
+                            }
+                        }
+                        return null;
+                    }));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            check(hostPeak.get() <= HOST_LIMIT, "Host limit exceeded with " + hostPeak.get() + " steps");
+            check(groupPeak.get("A").get() <= GROUP_A_LIMIT, "Thread group limit exceeded with " + groupPeak.get("A").get() + " steps");
+
+            HashMap<String, ConcurrencyMetrics> metrics = admissionController.getMetrics();
+            ConcurrencyMetrics hostMetrics = metrics.get(Constants.__ALL__);
+            ConcurrencyMetrics groupAMetrics = metrics.get("A");
+            ConcurrencyMetrics groupBMetrics = metrics.get("B");
+
+            check(hostMetrics.getAdmitted() == 2L * THREADS_PER_GROUP * STEPS_PER_THREAD, "Host admitted " + hostMetrics.getAdmitted());
+            check(groupAMetrics.getAdmitted() == (long) THREADS_PER_GROUP * STEPS_PER_THREAD, "Thread group admitted " + groupAMetrics.getAdmitted());
+            check((hostMetrics.getInFlight() == 0) && (groupAMetrics.getInFlight() == 0) && (groupBMetrics.getInFlight() == 0), "Permits not released");
+            check((hostMetrics.getPeakInFlight() <= HOST_LIMIT) && (groupAMetrics.getPeakInFlight() <= GROUP_A_LIMIT), "Metrics peaks above limits");
+
+            // The group limited below its demand queues while the group limited above the host limit is bounded by the host
+            check(groupAMetrics.getMaxQueueingDelay() > 0, "Thread group limited steps did not queue");
+            check(groupPeak.get("B").get() <= HOST_LIMIT, "Thread group above the host limit ran " + groupPeak.get("B").get() + " steps");
+            check(groupBMetrics.getPeakInFlight() <= GROUP_B_LIMIT, "Thread group permits peaked at " + groupBMetrics.getPeakInFlight());
+
+            // Unconfigured thread groups are unbounded but still collect metrics
+            admissionController.acquire(null);
+            admissionController.release(null);
+            ConcurrencyMetrics defaultMetrics = admissionController.getMetrics().get(Constants.__DEFAULT__);
+            check((defaultMetrics != null) && (defaultMetrics.getLimit() == 0) && (defaultMetrics.getAdmitted() == 1), "Default thread group metrics not collected");
+
+            // A step interrupted while waiting for the host permit gives back its thread group permit
+            for (int i = 0; i < HOST_LIMIT; i++) {
+                admissionController.acquire("B");
+            }
+            CountDownLatch waiting = new CountDownLatch(1);
+            Future<?> blocked = executorService.submit(() -> {
+                waiting.countDown();
+                admissionController.acquire("A");
+                return null;
+            });
+            check(waiting.await(10, TimeUnit.SECONDS), "Waiting step not started");
+            Thread.sleep(100);
+            blocked.cancel(true);
+            Thread.sleep(100);
+            check(admissionController.getMetrics().get("A").getInFlight() == 0, "Thread group permit held by interrupted step");
+            for (int i = 0; i < HOST_LIMIT; i++) {
+                admissionController.release("B");
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        System.out.println("PASSED");
+    }
+}
@@ -0,0 +1,67 @@
+package framework;
+
+import org.mvss.karta.framework.runtime.ExecutorServiceManager;
+import org.mvss.karta.framework.threading.BoundedTaskGroup;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestBoundedTaskGroup {
+    private static final int SCHEDULER_PARALLELISM = 4;
+
+    private static final int GROUP_PARALLELISM = 50;
+
+    private static final int TASKS = 100;
+
+    private static final long TASK_SLEEP_MILLIS = 200;
+
+    /**
+     * Runs a group of blocking tasks wider than the scheduler core thread count and returns the peak number of tasks in flight.
+     */
+    public static int runBlockingTasks(BoundedTaskGroup taskGroup, int tasks, long sleepMillis) throws InterruptedException {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+
+        for (int i = 0; i < tasks; i++) {
+            taskGroup.submit(() -> {
+                peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(sleepMillis);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                return null;
+            });
+        }
+        taskGroup.awaitCompletion();
+        return peakInFlight.get();
+    }
+
+    public static void main(String[] args) throws Exception {
+        try (ExecutorServiceManager executorServiceManager = new ExecutorServiceManager(SCHEDULER_PARALLELISM)) {
+            long startTime = System.currentTimeMillis();
+            int peakInFlight = runBlockingTasks(executorServiceManager.createTaskGroup(GROUP_PARALLELISM), TASKS, TASK_SLEEP_MILLIS);
+            long duration = System.currentTimeMillis() - startTime;
+
+            System.out.println("Peak in flight " + peakInFlight + " of " + GROUP_PARALLELISM + " in " + duration + " ms");
+
+            if (peakInFlight != GROUP_PARALLELISM) {
+                throw new AssertionError("Group of " + GROUP_PARALLELISM + " on a scheduler of " + SCHEDULER_PARALLELISM + " peaked at " + peakInFlight);
+            }
+
+            // Two waves of sleeping tasks; a pool capped group would take TASKS / SCHEDULER_PARALLELISM waves
+            if (duration >= (TASKS / SCHEDULER_PARALLELISM) * TASK_SLEEP_MILLIS / 2) {
+                throw new AssertionError("Group took " + duration + " ms");
+            }
+
+            // Resizing the group above the scheduler core thread count is effective
+            BoundedTaskGroup resizedGroup = executorServiceManager.createTaskGroup(1);
+            resizedGroup.setMaxParallelism(SCHEDULER_PARALLELISM * 4);
+            peakInFlight = runBlockingTasks(resizedGroup, SCHEDULER_PARALLELISM * 8, TASK_SLEEP_MILLIS / 4);
+
+            if (peakInFlight != SCHEDULER_PARALLELISM * 4) {
+                throw new AssertionError("Resized group peaked at " + peakInFlight);
+            }
+        }
+        System.out.println("PASSED");
+    }
+}
@@ -0,0 +1,42 @@
+package framework;
+
+import org.mvss.karta.framework.models.run.TestExecutionContext;
+import org.mvss.karta.framework.threading.CancellationToken;
+
+import java.io.Serializable;
+import java.util.HashMap;
+
+public class TestCancellationTokenIsolation {
+    public static void main(String[] args) {
+        HashMap<String, Serializable> contextData = new HashMap<>();
+        TestExecutionContext sharedContext = new TestExecutionContext("run", "feature", 0, "scenario", "step", null, new HashMap<>(), contextData);
+        CancellationToken scenarioToken = CancellationToken.root().child(null);
+        sharedContext.setCancellationToken(scenarioToken);
+
+        // Two concurrent runs of a step sharing the context get their own step tokens
+        CancellationToken firstRunToken = scenarioToken.child(null);
+        CancellationToken secondRunToken = scenarioToken.child(null);
+        TestExecutionContext firstRunContext = sharedContext.withCancellationToken(firstRunToken);
+        TestExecutionContext secondRunContext = sharedContext.withCancellationToken(secondRunToken);
+
+        firstRunToken.cancel("first run timed out");
+
+        if (!firstRunContext.getCancellationToken().isCancelled()) {
+            throw new AssertionError("The run token is not cancelled");
+        }
+        if (secondRunContext.getCancellationToken().isCancelled() || sharedContext.getCancellationToken().isCancelled()) {
+            throw new AssertionError("Cancelling a run cancelled its sibling or the shared context");
+        }
+        if (sharedContext.getCancellationToken() != scenarioToken) {
+            throw new AssertionError("The token of the shared context was replaced");
+        }
+
+        // The copies share the context data with the shared context
+        firstRunContext.getContextData().put("variable", "value");
+        if (!"value".equals(secondRunContext.getContextData().get("variable")) || (sharedContext.getContextData() != contextData)) {
+            throw new AssertionError("Context data is not shared by the run contexts");
+        }
+
+        System.out.println("PASSED");
+    }
+}
@@ -0,0 +1,70 @@
+package framework;
+
+import org.mvss.karta.dependencyinjection.utils.ParserUtils;
+import org.mvss.karta.framework.models.run.FeatureCheckpoint;
+import org.mvss.karta.framework.runtime.CheckpointStore;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class TestCheckpointStore {
+    private static String checkpoint(String featureName, long iterationWatermark) throws Exception {
+        return CheckpointStore.serialize(FeatureCheckpoint.builder().runName("TestCheckpointStore").featureName(featureName).iterationWatermark(iterationWatermark).build());
+    }
+
+    private static void assertAllLinesComplete(Path checkpointFile, int expectedLines) throws Exception {
+        List<String> lines = Files.readAllLines(checkpointFile, StandardCharsets.UTF_8);
+
+        if (lines.size() != expectedLines) {
+            throw new AssertionError("Expected " + expectedLines + " lines but found " + lines);
+        }
+        for (String line : lines) {
+            ParserUtils.getObjectMapper().readValue(line, FeatureCheckpoint.class);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path checkpointFile = Files.createTempFile("TestCheckpointStore", ".checkpoint");
+
+        try {
+            // Two checkpoints of A, one of B and a checkpoint of A cut short by a crash
+            String lines = checkpoint("A", 1) + System.lineSeparator() + checkpoint("B", 5) + System.lineSeparator() + checkpoint("A", 2) + System.lineSeparator() + checkpoint("A", 3).substring(0, 20);
+            Files.write(checkpointFile, lines.getBytes(StandardCharsets.UTF_8));
+
+            CheckpointStore checkpointStore = new CheckpointStore(checkpointFile);
+
+            if ((checkpointStore.getLatestCheckpoint("A").getIterationWatermark() != 2) || (checkpointStore.getLatestCheckpoint("B").getIterationWatermark() != 5)) {
+                throw new AssertionError("Latest checkpoints not read");
+            }
+
+            // Compacted on open to the latest line per feature without the partial line
+            assertAllLinesComplete(checkpointFile, 2);
+
+            // The next append starts on a new line
+            checkpointStore.append("A", checkpoint("A", 4));
+            assertAllLinesComplete(checkpointFile, 3);
+
+            // The file is compacted periodically
+            for (int i = 0; i < CheckpointStore.APPENDS_PER_COMPACTION * 2; i++) {
+                checkpointStore.append("A", checkpoint("A", 5 + i));
+            }
+            List<String> compactedLines = Files.readAllLines(checkpointFile, StandardCharsets.UTF_8);
+
+            if (compactedLines.size() > CheckpointStore.APPENDS_PER_COMPACTION + 1) {
+                throw new AssertionError("Checkpoint file grew to " + compactedLines.size() + " lines");
+            }
+
+            FeatureCheckpoint latest = new CheckpointStore(checkpointFile).getLatestCheckpoint("A");
+
+            if (latest.getIterationWatermark() != 4 + (CheckpointStore.APPENDS_PER_COMPACTION * 2)) {
+                throw new AssertionError("Latest checkpoint lost after compaction: " + latest.getIterationWatermark());
+            }
+            System.out.println("Checkpoint file lines " + compactedLines.size());
+        } finally {
+            Files.deleteIfExists(checkpointFile);
+        }
+        System.out.println("PASSED");
+    }
+}
@@ -0,0 +1,130 @@
+package framework;
+
+import org.mvss.karta.framework.models.result.StepResult;
+import org.mvss.karta.framework.models.run.RunInfo;
+import org.mvss.karta.framework.models.run.TestExecutionContext;
+import org.mvss.karta.framework.models.test.PreparedChaosAction;
+import org.mvss.karta.framework.models.test.PreparedStep;
+import org.mvss.karta.framework.models.test.TestStep;
+import org.mvss.karta.framework.plugins.StepRunner;
+import org.mvss.karta.framework.runtime.CompiledStep;
+import org.mvss.karta.framework.runtime.KartaRuntime;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestCompiledStep {
+    private static final int ITERATIONS = 5;
+
+    /**
+     * Step runner implementing steps of the form "step <argument>" which counts the calls resolving step identifiers.
+     */
+    private static class CountingStepRunner implements StepRunner {
+        private final AtomicInteger resolutions = new AtomicInteger();
+
+        @Override
+        public String getPluginName() {
+            return "CountingStepRunner";
+        }
+
+        @Override
+        public boolean conditionImplemented(String conditionIdentifier) {
+            return false;
+        }
+
+        @Override
+        public boolean runCondition(TestExecutionContext testExecutionContext, String conditionIdentifier) {
+            return false;
+        }
+
+        @Override
+        public boolean stepImplemented(String identifier) {
+            resolutions.incrementAndGet();
+            return identifier.startsWith("step ");
+        }
+
+        @Override
+        public StepResult runStep(PreparedStep testStep) {
+            return StepResult.builder().build();
+        }
+
+        @Override
+        public String sanitizeStepIdentifier(String stepDefinition) {
+            resolutions.incrementAndGet();
+            return "step";
+        }
+
+        @Override
+        public List<String> getInlineArguments(String stepIdentifier) {
+            resolutions.incrementAndGet();
+            return List.of(stepIdentifier.substring("step ".length()));
+        }
+
+        @Override
+        public boolean chaosActionImplemented(String name) {
+            return false;
+        }
+
+        @Override
+        public StepResult performChaosAction(PreparedChaosAction chaosAction) {
+            return null;
+        }
+    }
+
+    private static HashMap<String, ArrayList<Serializable>> dataSet(String key, Serializable... values) {
+        HashMap<String, ArrayList<Serializable>> testDataSet = new HashMap<>();
+        testDataSet.put(key, new ArrayList<>(List.of(values)));
+        return testDataSet;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    public static void main(String[] args) throws Throwable {
+        KartaRuntime kartaRuntime = KartaRuntime.getInstance();
+        RunInfo runInfo = RunInfo.builder().runName("TestCompiledStep").build();
+        CountingStepRunner stepRunner = new CountingStepRunner();
+        ArrayList<StepRunner> stepRunners = new ArrayList<>(List.of(stepRunner));
+
+        HashMap<String, ArrayList<Serializable>> commonTestDataSet = dataSet("common", "c0", "c1");
+        TestStep nestedStep = TestStep.builder().step("step nested").testDataSet(dataSet("nested", "n0", "n1", "n2")).build();
+        TestStep stepGroup = TestStep.builder().step("group").testDataSet(dataSet("group", "g0")).steps(new ArrayList<>(List.of(nestedStep))).build();
+
+        CompiledStep compiledStep = kartaRuntime.compileStep(stepRunners, commonTestDataSet, stepGroup);
+        int resolutionsAfterCompilation = stepRunner.resolutions.get();
+
+        // The common test data set is not modified by compilation and later changes to it do not leak into compiled steps
+        check(commonTestDataSet.size() == 1, "Common test data set modified by compilation: " + commonTestDataSet);
+        commonTestDataSet.put("late", new ArrayList<>(List.of("l0")));
+
+        CompiledStep compiledNestedStep = compiledStep.getSteps().get(0);
+        check((compiledStep.getStepRunner() == null) && (compiledNestedStep.getStepRunner() == stepRunner), "Step runners not resolved at compilation");
+        check("step".equals(compiledNestedStep.getSanitizedIdentifier()) && List.of("nested").equals(compiledNestedStep.getInlineArguments()), "Identifier not pre-parsed at compilation");
+
+        for (int iterationIndex = 0; iterationIndex < ITERATIONS; iterationIndex++) {
+            PreparedStep preparedGroup = kartaRuntime.getPreparedStep(runInfo, "feature", iterationIndex, "scenario", new HashMap<>(), null, compiledStep, null);
+            PreparedStep preparedStep = preparedGroup.getSteps().get(0);
+
+            check(preparedStep.getStepRunner() == stepRunner, "Prepared step not bound to the compiled step runner");
+            check("step".equals(preparedStep.getSanitizedIdentifier()) && List.of("nested").equals(preparedStep.getInlineArguments()), "Prepared step not bound to the pre-parsed identifier");
+
+            HashMap<String, Serializable> testData = preparedStep.getTestExecutionContext().getTestData();
+            check(("c" + (iterationIndex % 2)).equals(testData.get("common")), "Common test data not bound for iteration " + iterationIndex + ": " + testData);
+            check("g0".equals(testData.get("group")), "Parent test data not bound for iteration " + iterationIndex + ": " + testData);
+            check(("n" + (iterationIndex % 3)).equals(testData.get("nested")), "Step test data not bound for iteration " + iterationIndex + ": " + testData);
+            check(!testData.containsKey("late"), "Common test data changed after compilation leaked into the step");
+        }
+
+        // Preparing iterations only binds the compiled steps without resolving the step runners again
+        check(stepRunner.resolutions.get() == resolutionsAfterCompilation, "Step runners resolved again while preparing iterations");
+
+        kartaRuntime.close();
+        System.out.println("PASSED");
+    }
+}
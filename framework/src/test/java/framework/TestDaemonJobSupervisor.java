@@ -0,0 +1,120 @@
+package framework;
+
+import org.mvss.karta.framework.annotations.StepDefinition;
+import org.mvss.karta.framework.enums.DaemonJobState;
+import org.mvss.karta.framework.models.result.DaemonJobHealth;
+import org.mvss.karta.framework.models.result.StepResult;
+import org.mvss.karta.framework.models.run.RunInfo;
+import org.mvss.karta.framework.models.test.TestJob;
+import org.mvss.karta.framework.models.test.TestStep;
+import org.mvss.karta.framework.plugins.impl.kriya.KriyaPlugin;
+import org.mvss.karta.framework.runtime.DaemonJobSupervisor;
+import org.mvss.karta.framework.runtime.KartaRuntime;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestDaemonJobSupervisor {
+    private static final Duration RESTART_BACKOFF = Duration.ofMillis(10);
+
+    private static final long WAIT_TIMEOUT_MILLIS = 10000;
+
+    private static final AtomicInteger flakyCalls = new AtomicInteger();
+
+    private static final AtomicInteger hangingCalls = new AtomicInteger();
+
+    public static class DaemonJobSteps {
+        @StepDefinition("the daemon job step passes")
+        public StepResult passes() {
+            return StepResult.builder().build();
+        }
+
+        @StepDefinition("the daemon job step fails")
+        public StepResult fails() {
+            return StepResult.builder().successful(false).build();
+        }
+
+        @StepDefinition("the daemon job step fails twice")
+        public StepResult failsTwice() {
+            return StepResult.builder().successful(flakyCalls.incrementAndGet() > 2).build();
+        }
+
+        @StepDefinition("the daemon job step hangs once")
+        public StepResult hangsOnce() throws InterruptedException {
+            if (hangingCalls.incrementAndGet() == 1) {
+                Thread.sleep(WAIT_TIMEOUT_MILLIS * 2);
+            }
+            return StepResult.builder().build();
+        }
+    }
+
+    private static TestJob.TestJobBuilder job(String name, String step) {
+        return TestJob.builder().name(name).daemonProcess(true).restartBackoff(RESTART_BACKOFF).steps(new ArrayList<>(List.of(TestStep.builder().step(step).build())));
+    }
+
+    /**
+     * Waits for the daemon job to reach the state and returns its health.
+     */
+    private static DaemonJobHealth awaitState(DaemonJobSupervisor supervisor, String jobName, DaemonJobState state) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_TIMEOUT_MILLIS;
+        DaemonJobHealth health = supervisor.getHealth().get(jobName);
+
+        while ((health.getState() != state) && (System.currentTimeMillis() < deadline)) {
+            Thread.sleep(10);
+            health = supervisor.getHealth().get(jobName);
+        }
+
+        if (health.getState() != state) {
+            throw new AssertionError("Daemon job " + jobName + " did not reach " + state + ": " + health);
+        }
+        return health;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    public static void main(String[] args) throws Throwable {
+        KartaRuntime kartaRuntime = KartaRuntime.getInstance();
+        KriyaPlugin kriyaPlugin = (KriyaPlugin) kartaRuntime.getPnpRegistry().getEnabledPlugin("Kriya");
+        for (Method method : DaemonJobSteps.class.getMethods()) {
+            kriyaPlugin.processStepDefinitionMethod(method);
+        }
+        RunInfo runInfo = RunInfo.builder().runName("TestDaemonJobSupervisor").stepRunnerPlugins(new ArrayList<>(List.of("Kriya"))).testDataSourcePlugins(new ArrayList<>()).build();
+
+        try (kartaRuntime; DaemonJobSupervisor supervisor = new DaemonJobSupervisor(kartaRuntime, runInfo, "feature", 1L)) {
+            // Failing iterations restart the job until it passes or exhausts its restart budget
+            supervisor.startJob(job("flaky", "the daemon job step fails twice").maxRestarts(3).build(), null, null);
+            supervisor.startJob(job("broken", "the daemon job step fails").maxRestarts(2).build(), null, null);
+
+            // A job missing its heartbeat timeout is interrupted and restarted
+            supervisor.startJob(job("stuck", "the daemon job step hangs once").heartbeatTimeout(Duration.ofMillis(300)).build(), null, null);
+
+            // Repeating jobs are paced to their iteration rate
+            supervisor.startJob(job("paced", "the daemon job step passes").repeat(true).maxIterationRate(20).build(), null, null);
+
+            DaemonJobHealth flaky = awaitState(supervisor, "flaky", DaemonJobState.COMPLETED);
+            check((flaky.getRestarts() == 2) && (flaky.getFailures() == 2) && (flaky.getIterations() == 3), "Unexpected flaky job health " + flaky);
+
+            DaemonJobHealth broken = awaitState(supervisor, "broken", DaemonJobState.FAILED);
+            check((broken.getRestarts() == 2) && (broken.getFailures() == 3) && (broken.getLastError() != null), "Unexpected broken job health " + broken);
+            check(supervisor.hasFailedJobs(), "Failed job not reported");
+
+            DaemonJobHealth stuck = awaitState(supervisor, "stuck", DaemonJobState.COMPLETED);
+            check((stuck.getMissedHeartbeats() == 1) && (stuck.getRestarts() == 1) && (stuck.getFailures() == 0), "Unexpected stuck job health " + stuck);
+
+            Thread.sleep(500);
+            supervisor.close();
+
+            DaemonJobHealth paced = supervisor.getHealth().get("paced");
+            check(paced.getState() == DaemonJobState.STOPPED, "Paced job not stopped " + paced);
+            check((paced.getIterations() > 0) && (paced.getThrottledTime() > 0), "Paced job not throttled " + paced);
+        }
+        System.out.println("PASSED");
+    }
+}
@@ -0,0 +1,94 @@
+package framework;
+
+import org.mvss.karta.framework.annotations.StepDefinitionScope;
+import org.mvss.karta.framework.enums.DefinitionScope;
+import org.mvss.karta.framework.enums.StepOutputType;
+import org.mvss.karta.framework.plugins.impl.kriya.DefinitionInvoker;
+
+public class TestDefinitionInvoker {
+    public static class StepDefinitions {
+        private final String prefix = "step";
+
+        public String concatenate(String text, int count) {
+            return prefix + ":" + text.repeat(count);
+        }
+
+        public static long twice(long value) {
+            return value * 2;
+        }
+
+        @SuppressWarnings("unused")
+        private void hidden() {
+        }
+
+        public void fail() throws DefinitionFailure {
+            throw new DefinitionFailure();
+        }
+    }
+
+    @StepDefinitionScope(DefinitionScope.SCENARIO)
+    public static class ScenarioStepDefinitions {
+        public void step() {
+        }
+    }
+
+    public static class ArgumentStepDefinitions {
+        @SuppressWarnings("unused")
+        public ArgumentStepDefinitions(String required) {
+        }
+
+        public void step() {
+        }
+    }
+
+    public static class DefinitionFailure extends Exception {
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    public static void main(String[] args) throws Throwable {
+        // Instance definitions are invoked on a definition object created by the bound constructor
+        DefinitionInvoker concatenate = DefinitionInvoker.bind(StepDefinitions.class.getMethod("concatenate", String.class, int.class), null, null);
+        Object definitionObject = concatenate.newInstance();
+        check(definitionObject instanceof StepDefinitions, "Definition object not created");
+        check("step:abab".equals(concatenate.invoke(definitionObject, new Object[]{"ab", 2})), "Unexpected result of instance definition");
+        check((concatenate.getOutputType() == StepOutputType.AUTO_RESOLVE) && (concatenate.getScope() == DefinitionScope.STEP), "Unexpected default output type or scope");
+        check(concatenate.getParameterBinders().length == 2, "Parameter binders not compiled");
+
+        // Static definitions do not need a definition object and primitive results are boxed
+        DefinitionInvoker twice = DefinitionInvoker.bind(StepDefinitions.class.getMethod("twice", long.class), StepOutputType.VARIABLE, "doubled");
+        check(twice.newInstance() == null, "Definition object created for static definition");
+        check(Long.valueOf(42).equals(twice.invoke(null, new Object[]{21L})), "Unexpected result of static definition");
+        check((twice.getOutputType() == StepOutputType.VARIABLE) && "doubled".equals(twice.getOutputName()), "Output type and name not bound");
+
+        // Non public definitions are invoked with null arguments for methods without parameters
+        DefinitionInvoker hidden = DefinitionInvoker.bind(StepDefinitions.class.getDeclaredMethod("hidden"), null, null);
+        check(hidden.invoke(hidden.newInstance(), null) == null, "Unexpected result of void definition");
+
+        // Exceptions of definitions are propagated as is
+        DefinitionInvoker fail = DefinitionInvoker.bind(StepDefinitions.class.getMethod("fail"), null, null);
+        try {
+            fail.invoke(fail.newInstance(), null);
+            throw new AssertionError("Definition exception not propagated");
+        } catch (DefinitionFailure e) {
+            // Expected
+        }
+
+        // The scope annotation of the defining class is bound
+        check(DefinitionInvoker.bind(ScenarioStepDefinitions.class.getMethod("step"), null, null).getScope() == DefinitionScope.SCENARIO, "Definition scope not bound");
+
+        // Classes without a no argument constructor are reported when binding
+        try {
+            DefinitionInvoker.bind(ArgumentStepDefinitions.class.getMethod("step"), null, null);
+            throw new AssertionError("Definition bound without a no argument constructor");
+        } catch (NoSuchMethodException e) {
+            // Expected
+        }
+
+        System.out.println("PASSED");
+    }
+}
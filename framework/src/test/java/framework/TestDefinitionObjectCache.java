@@ -0,0 +1,149 @@
+package framework;
+
+import org.mvss.karta.dependencyinjection.BeanRegistry;
+import org.mvss.karta.framework.enums.DefinitionScope;
+import org.mvss.karta.framework.plugins.impl.kriya.DefinitionObjectCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestDefinitionObjectCache {
+    private static class SlowDefinition {
+    }
+
+    private static class FastDefinition {
+    }
+
+    private static class FailingDefinition {
+    }
+
+    private static class CloseableDefinition implements AutoCloseable {
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        @Override
+        public void close() {
+            closed.set(true);
+        }
+    }
+
+    /**
+     * Returns the definition object for callables rethrowing throwables as exceptions.
+     */
+    private static Object get(DefinitionObjectCache definitionObjectCache, DefinitionScope scope, Class<?> definitionClass, DefinitionObjectCache.DefinitionObjectFactory factory) throws Exception {
+        try {
+            return definitionObjectCache.get(scope, definitionClass, null, factory);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new ExecutionException(t);
+        }
+    }
+
+    private static void assertCount(String description, long expected, Long actual) {
+        if ((actual == null) || (actual != expected)) {
+            throw new AssertionError(description + " expected " + expected + " but was " + actual);
+        }
+    }
+
+    public static void main(String[] args) throws Throwable {
+        DefinitionObjectCache definitionObjectCache = new DefinitionObjectCache();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        try {
+            // Step scoped objects are created for every step
+            Object stepObject = definitionObjectCache.get(DefinitionScope.STEP, FastDefinition.class, null, Object::new);
+            if (stepObject == definitionObjectCache.get(DefinitionScope.STEP, FastDefinition.class, null, Object::new)) {
+                throw new AssertionError("Step scoped object reused");
+            }
+            assertCount("Step objects created", 2, definitionObjectCache.getCreatedCounts().get(DefinitionScope.STEP));
+
+            // Concurrent callers for a slow singleton get one object while other singletons are not blocked
+            AtomicInteger slowCreations = new AtomicInteger();
+            CountDownLatch slowCreationStarted = new CountDownLatch(1);
+            List<Callable<Object>> slowCalls = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                slowCalls.add(() -> get(definitionObjectCache, DefinitionScope.SINGLETON, SlowDefinition.class, () -> {
+                    slowCreations.incrementAndGet();
+                    slowCreationStarted.countDown();
+                    Thread.sleep(500);
+                    return new SlowDefinition();
+                }));
+            }
+            ArrayList<Future<Object>> slowFutures = new ArrayList<>();
+            for (Callable<Object> slowCall : slowCalls) {
+                slowFutures.add(executorService.submit(slowCall));
+            }
+            slowCreationStarted.await();
+
+            long start = System.nanoTime();
+            Object fastSingleton = definitionObjectCache.get(DefinitionScope.SINGLETON, FastDefinition.class, null, FastDefinition::new);
+            long fastMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (fastMillis > 250) {
+                throw new AssertionError("Singleton creation blocked by a slow singleton for " + fastMillis + " ms");
+            }
+            if (fastSingleton != definitionObjectCache.get(DefinitionScope.SINGLETON, FastDefinition.class, null, FastDefinition::new)) {
+                throw new AssertionError("Singleton not reused");
+            }
+
+            Object slowSingleton = slowFutures.get(0).get();
+            for (Future<Object> slowFuture : slowFutures) {
+                if (slowFuture.get() != slowSingleton) {
+                    throw new AssertionError("Slow singleton created more than once");
+                }
+            }
+            if (slowCreations.get() != 1) {
+                throw new AssertionError("Slow singleton created " + slowCreations.get() + " times");
+            }
+            assertCount("Singletons created", 2, definitionObjectCache.getCreatedCounts().get(DefinitionScope.SINGLETON));
+            assertCount("Singletons reused", 4, definitionObjectCache.getReusedCounts().get(DefinitionScope.SINGLETON));
+
+            // Failed creation is not cached and is retried
+            try {
+                definitionObjectCache.get(DefinitionScope.SINGLETON, FailingDefinition.class, null, () -> {
+                    throw new IllegalStateException("constructor failed");
+                });
+                throw new AssertionError("Creation failure not propagated");
+            } catch (IllegalStateException expected) {
+                // Expected
+            }
+            if (!(definitionObjectCache.get(DefinitionScope.SINGLETON, FailingDefinition.class, null, FailingDefinition::new) instanceof FailingDefinition)) {
+                throw new AssertionError("Singleton not created after a failed creation");
+            }
+
+            // Thread scoped objects are reused within a thread only
+            Object threadObject = definitionObjectCache.get(DefinitionScope.THREAD, FastDefinition.class, null, FastDefinition::new);
+            if (threadObject != definitionObjectCache.get(DefinitionScope.THREAD, FastDefinition.class, null, FastDefinition::new)) {
+                throw new AssertionError("Thread scoped object not reused in the thread");
+            }
+            if (threadObject == executorService.submit(() -> get(definitionObjectCache, DefinitionScope.THREAD, FastDefinition.class, FastDefinition::new)).get()) {
+                throw new AssertionError("Thread scoped object shared across threads");
+            }
+            assertCount("Thread objects created", 2, definitionObjectCache.getCreatedCounts().get(DefinitionScope.THREAD));
+            assertCount("Thread objects reused", 1, definitionObjectCache.getReusedCounts().get(DefinitionScope.THREAD));
+
+            // Scenario scoped objects are reused within the context bean registry of the scenario
+            BeanRegistry firstScenario = new BeanRegistry();
+            BeanRegistry secondScenario = new BeanRegistry();
+            Object scenarioObject = definitionObjectCache.get(DefinitionScope.SCENARIO, FastDefinition.class, firstScenario, FastDefinition::new);
+            if ((scenarioObject != definitionObjectCache.get(DefinitionScope.SCENARIO, FastDefinition.class, firstScenario, FastDefinition::new))
+                    || (scenarioObject == definitionObjectCache.get(DefinitionScope.SCENARIO, FastDefinition.class, secondScenario, FastDefinition::new))) {
+                throw new AssertionError("Scenario scoped object not reused within the scenario only");
+            }
+            assertCount("Scenario objects created", 2, definitionObjectCache.getCreatedCounts().get(DefinitionScope.SCENARIO));
+            assertCount("Scenario objects reused", 1, definitionObjectCache.getReusedCounts().get(DefinitionScope.SCENARIO));
+
+            // Closeable singletons are closed with the cache
+            CloseableDefinition closeableDefinition = (CloseableDefinition) definitionObjectCache.get(DefinitionScope.SINGLETON, CloseableDefinition.class, null, CloseableDefinition::new);
+            definitionObjectCache.close();
+            if (!closeableDefinition.closed.get()) {
+                throw new AssertionError("Closeable singleton not closed");
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        System.out.println("PASSED");
+    }
+}
@@ -0,0 +1,107 @@
+package framework;
+
+import org.apache.commons.io.FileUtils;
+import org.mvss.karta.dependencyinjection.utils.ParserUtils;
+import org.mvss.karta.framework.models.result.FeatureResult;
+import org.mvss.karta.framework.models.result.RunResult;
+import org.mvss.karta.framework.models.result.ScenarioResult;
+import org.mvss.karta.framework.models.run.RerunIteration;
+import org.mvss.karta.framework.models.test.TestScenario;
+import org.mvss.karta.framework.runtime.FailedIterations;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+public class TestFailedIterations {
+    private static final int ITERATIONS = 5;
+
+    private static final long SEED = 42L;
+
+    /**
+     * Creates a feature result where scenario S1 runs every iteration and scenario S2 every other iteration with its own iteration numbers.
+     */
+    private static FeatureResult createFeatureResult(String featureName, int failedS1Iteration, int failedS2Iteration) {
+        FeatureResult featureResult = FeatureResult.builder().featureName(featureName).build();
+        long s2IterationNumber = 0;
+
+        for (int iterationIndex = 0; iterationIndex < ITERATIONS; iterationIndex++) {
+            HashMap<String, ScenarioResult> iterationResults = new HashMap<>();
+            iterationResults.put("S1", ScenarioResult.builder().iterationIndex(iterationIndex).scenarioIterationNumber((long) iterationIndex).successful(iterationIndex != failedS1Iteration).build());
+
+            if (iterationIndex % 2 == 0) {
+                iterationResults.put("S2", ScenarioResult.builder().iterationIndex(iterationIndex).scenarioIterationNumber(s2IterationNumber++).successful(iterationIndex != failedS2Iteration).build());
+            }
+            featureResult.addIterationResult(iterationResults, true);
+            featureResult.getIterationRandomSeeds().put(iterationIndex, SEED + iterationIndex);
+        }
+        return featureResult;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    private static void checkFailedIterations(HashMap<String, ArrayList<RerunIteration>> failedIterations, String source) {
+        check(!failedIterations.containsKey("Passed"), "Passed feature loaded for rerun from " + source);
+
+        ArrayList<RerunIteration> rerunIterations = failedIterations.get("Failed");
+        check((rerunIterations != null) && (rerunIterations.size() == 2), "Unexpected failed iterations from " + source + ": " + rerunIterations);
+
+        // Failed iterations are in iteration order with the scenarios, data set indexes and seeds of the previous run
+        RerunIteration first = rerunIterations.get(0);
+        check((first.getIterationIndex() == 1) && List.of("S1").equals(first.getScenarios()), "Unexpected first failed iteration " + first);
+        check(Long.valueOf(1).equals(first.getScenarioIterationNumbers().get("S1")) && Long.valueOf(SEED + 1).equals(first.getRandomSeed()), "Unexpected first failed iteration replay " + first);
+
+        RerunIteration second = rerunIterations.get(1);
+        check((second.getIterationIndex() == 4) && second.getScenarios().containsAll(List.of("S1", "S2")) && (second.getScenarios().size() == 2), "Unexpected second failed iteration " + second);
+        check(Long.valueOf(2).equals(second.getScenarioIterationNumbers().get("S2")) && Long.valueOf(SEED + 4).equals(second.getRandomSeed()), "Unexpected second failed iteration replay " + second);
+    }
+
+    public static void main(String[] args) throws Exception {
+        FeatureResult failedFeature = createFeatureResult("Failed", 1, 4);
+        FeatureResult passedFeature = createFeatureResult("Passed", -1, -1);
+
+        RunResult runResult = new RunResult();
+        runResult.addTestResult(failedFeature);
+        runResult.addTestResult(passedFeature);
+
+        File resultsDirectory = Files.createTempDirectory("KartaRerun").toFile();
+
+        try {
+            File runResultFile = new File(resultsDirectory, "RunResult.json");
+            FileUtils.write(runResultFile, ParserUtils.getObjectMapper().writeValueAsString(runResult), Charset.defaultCharset());
+            checkFailedIterations(FailedIterations.load(runResultFile.getPath()), "run result");
+
+            File reportDirectory = new File(resultsDirectory, "report");
+            FileUtils.write(new File(reportDirectory, "Failed.json"), ParserUtils.getObjectMapper().writeValueAsString(failedFeature), Charset.defaultCharset());
+            FileUtils.write(new File(reportDirectory, "Passed.json"), ParserUtils.getObjectMapper().writeValueAsString(passedFeature), Charset.defaultCharset());
+            FileUtils.write(new File(reportDirectory, "Scenario.json"), ParserUtils.getObjectMapper().writeValueAsString(failedFeature.getScenarioResultsMap().get("S1").get(0)), Charset.defaultCharset());
+            checkFailedIterations(FailedIterations.load(reportDirectory.getPath()), "report directory");
+            checkFailedIterations(FailedIterations.load(new File(reportDirectory, "Failed.json").getPath()), "feature result");
+
+            try {
+                FailedIterations.load(new File(resultsDirectory, "Missing.json").getPath());
+                throw new AssertionError("Missing result file loaded");
+            } catch (IOException e) {
+                // Expected
+            }
+        } finally {
+            FileUtils.deleteDirectory(resultsDirectory);
+        }
+
+        // Only the scenarios run in the failed iteration are replayed and all scenarios are run if not known
+        ArrayList<TestScenario> featureScenarios = new ArrayList<>(List.of(TestScenario.builder().name("S1").build(), TestScenario.builder().name("S2").build()));
+        ArrayList<TestScenario> selectedScenarios = FailedIterations.getFailedIterations(failedFeature).get(0).selectScenarios(featureScenarios);
+        check((selectedScenarios.size() == 1) && "S1".equals(selectedScenarios.get(0).getName()), "Unexpected scenarios selected " + selectedScenarios);
+        check(RerunIteration.builder().iterationIndex(1).build().selectScenarios(featureScenarios) == featureScenarios, "All scenarios not run when not known");
+
+        System.out.println("PASSED");
+    }
+}
@@ -0,0 +1,182 @@
+package framework;
+
+import org.mvss.karta.framework.runtime.FixturePool;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestFixturePool {
+    private static final String FIXTURE = "fixture";
+
+    private static final int THREADS = 8;
+
+    private static final int ACQUISITIONS = 200;
+
+    private static final AtomicInteger creations = new AtomicInteger();
+
+    private static final AtomicInteger tearDowns = new AtomicInteger();
+
+    private static final AtomicInteger live = new AtomicInteger();
+
+    private static final AtomicInteger peakLive = new AtomicInteger();
+
+    private static FixturePool.SharedFixture createFixture() {
+        creations.incrementAndGet();
+        peakLive.accumulateAndGet(live.incrementAndGet(), Math::max);
+        return FixturePool.SharedFixture.builder().name(FIXTURE).tearDown(() -> {
+            live.decrementAndGet();
+            tearDowns.incrementAndGet();
+            return new ArrayList<>();
+        }).build();
+    }
+
+    private static void reset() {
+        creations.set(0);
+        tearDowns.set(0);
+        live.set(0);
+        peakLive.set(0);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message + ": creations " + creations.get() + ", tear downs " + tearDowns.get());
+        }
+    }
+
+    private static void testConcurrentAcquireRelease() throws Exception {
+        reset();
+        FixturePool fixturePool = new FixturePool();
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS, Executors.defaultThreadFactory());
+
+        try {
+            ArrayList<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executorService.submit(() -> {
+                    for (int j = 0; j < ACQUISITIONS; j++) {
+                        FixturePool.FixtureLease lease = fixturePool.acquire(FIXTURE, false, TestFixturePool::createFixture);
+                        if (!lease.getFixture().isSuccessful() || (live.get() != 1)) {
+                            throw new AssertionError("Acquired a fixture which is not live");
+                        }
+                        fixturePool.release(FIXTURE);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        check(creations.get() >= 1, "Fixture never created");
+        check(creations.get() == tearDowns.get(), "Created fixtures not all torn down");
+        check(peakLive.get() == 1, "Fixture created again before being torn down");
+        fixturePool.close();
+    }
+
+    private static void testReservationsCarriedAcrossTearDown() throws Exception {
+        reset();
+        FixturePool fixturePool = new FixturePool();
+
+        // A reserved fixture is not torn down between the features of a run
+        fixturePool.reserve(FIXTURE);
+        fixturePool.reserve(FIXTURE);
+        check(fixturePool.acquire(FIXTURE, true, TestFixturePool::createFixture).isCreated(), "First acquisition did not create");
+        check(fixturePool.release(FIXTURE) == null, "Reserved fixture torn down");
+        check(!fixturePool.acquire(FIXTURE, true, TestFixturePool::createFixture).isCreated(), "Reserved fixture created again");
+        check(fixturePool.release(FIXTURE) != null, "Fixture not torn down after the last reference");
+        check((creations.get() == 1) && (tearDowns.get() == 1), "Unexpected fixture lifecycle");
+
+        // Reservations made while tearing down carry over to the next creation
+        reset();
+        CountDownLatch tearingDown = new CountDownLatch(1);
+        CountDownLatch finishTearDown = new CountDownLatch(1);
+        fixturePool.acquire(FIXTURE, false, () -> FixturePool.SharedFixture.builder().name(FIXTURE).tearDown(() -> {
+            tearingDown.countDown();
+            finishTearDown.await();
+            return new ArrayList<>();
+        }).build());
+
+        Thread releaser = new Thread(() -> fixturePool.release(FIXTURE));
+        releaser.setDaemon(true);
+        releaser.start();
+        check(tearingDown.await(10, TimeUnit.SECONDS), "Tear down not started");
+        fixturePool.reserve(FIXTURE);
+        fixturePool.reserve(FIXTURE);
+        finishTearDown.countDown();
+        releaser.join();
+
+        check(fixturePool.acquire(FIXTURE, true, TestFixturePool::createFixture).isCreated(), "Fixture not created again after tear down");
+        check(fixturePool.release(FIXTURE) == null, "Fixture torn down while still reserved");
+        fixturePool.cancelReservation(FIXTURE);
+        check((creations.get() == 1) && (tearDowns.get() == 1), "Carried reservation not honoured");
+        fixturePool.close();
+    }
+
+    private static void testCreationFailure() throws Exception {
+        reset();
+        FixturePool fixturePool = new FixturePool();
+
+        FixturePool.FixtureLease lease = fixturePool.acquire(FIXTURE, false, () -> {
+            throw new IllegalStateException("Setup failed");
+        });
+        check(lease.isCreated() && !lease.getFixture().isSuccessful(), "Failed creation not reported");
+        check(fixturePool.release(FIXTURE) == null, "Failed fixture torn down");
+
+        // The failed fixture is discarded and created again by the next acquisition
+        check(fixturePool.acquire(FIXTURE, false, TestFixturePool::createFixture).getFixture().isSuccessful(), "Fixture not created after failure");
+        fixturePool.release(FIXTURE);
+        check((creations.get() == 1) && (tearDowns.get() == 1), "Unexpected fixture lifecycle after failure");
+        fixturePool.close();
+    }
+
+    private static void testCloseWhileCreating() throws Exception {
+        reset();
+        FixturePool fixturePool = new FixturePool();
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch finishCreation = new CountDownLatch(1);
+
+        Thread acquirer = new Thread(() -> {
+            try {
+                fixturePool.acquire(FIXTURE, false, () -> {
+                    creating.countDown();
+                    finishCreation.await();
+                    return createFixture();
+                });
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        acquirer.setDaemon(true);
+        acquirer.start();
+        check(creating.await(10, TimeUnit.SECONDS), "Creation not started");
+
+        Thread closer = new Thread(fixturePool::close);
+        closer.setDaemon(true);
+        closer.start();
+        try {
+            Thread.sleep(100);
+            check(closer.isAlive(), "Close did not wait for the fixture being created");
+        } finally {
+            finishCreation.countDown();
+        }
+        closer.join();
+        acquirer.join();
+
+        check((creations.get() == 1) && (tearDowns.get() == 1), "Fixture created while closing not torn down");
+    }
+
+    public static void main(String[] args) throws Exception {
+        testConcurrentAcquireRelease();
+        testReservationsCarriedAcrossTearDown();
+        testCreationFailure();
+        testCloseWhileCreating();
+        System.out.println("PASSED");
+    }
+}
@@ -0,0 +1,60 @@
+package framework;
+
+import org.mvss.karta.framework.runtime.EventProcessor;
+import org.mvss.karta.framework.runtime.ExecutorServiceManager;
+import org.mvss.karta.framework.runtime.LoadProfileController;
+import org.mvss.karta.framework.models.run.LoadStage;
+import org.mvss.karta.framework.threading.BoundedTaskGroup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestLoadProfile {
+    private static final int SCHEDULER_PARALLELISM = 2;
+
+    private static final int TARGET = 24;
+
+    private static final long ITERATION_MILLIS = 50;
+
+    public static void main(String[] args) throws Exception {
+        ArrayList<LoadStage> loadProfile = new ArrayList<>();
+        loadProfile.add(LoadStage.builder().name("ramp up").duration(Duration.ofMillis(500)).target(TARGET).build());
+        loadProfile.add(LoadStage.builder().name("plateau").duration(Duration.ofMillis(1000)).target(TARGET).build());
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+
+        try (ExecutorServiceManager executorServiceManager = new ExecutorServiceManager(SCHEDULER_PARALLELISM); EventProcessor eventProcessor = new EventProcessor(Executors.defaultThreadFactory())) {
+            BoundedTaskGroup iterationTaskGroup = executorServiceManager.createTaskGroup(1);
+            LoadProfileController loadProfileController = new LoadProfileController(eventProcessor, "TestLoadProfile", "TestLoadProfile", loadProfile, iterationTaskGroup);
+            Thread loadProfileThread = new Thread(loadProfileController);
+            loadProfileThread.start();
+
+            // Dispatch iterations like the feature runner does for load profiles
+            while (!loadProfileController.isComplete()) {
+                iterationTaskGroup.trySubmit(() -> {
+                    peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(ITERATION_MILLIS);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                    return null;
+                }, LoadProfileController.TICK_MILLIS, TimeUnit.MILLISECONDS);
+            }
+
+            loadProfileThread.join();
+            iterationTaskGroup.awaitCompletion();
+        }
+
+        System.out.println("Peak in flight " + peakInFlight.get() + " for target " + TARGET);
+
+        if (peakInFlight.get() != TARGET) {
+            throw new AssertionError("Load profile target " + TARGET + " on a scheduler of " + SCHEDULER_PARALLELISM + " peaked at " + peakInFlight.get());
+        }
+        System.out.println("PASSED");
+    }
+}
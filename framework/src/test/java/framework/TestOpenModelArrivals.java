@@ -0,0 +1,62 @@
+package framework;
+
+import org.mvss.karta.framework.runtime.ExecutorServiceManager;
+import org.mvss.karta.framework.threading.ArrivalRateTimer;
+import org.mvss.karta.framework.threading.BoundedTaskGroup;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestOpenModelArrivals {
+    private static final int SCHEDULER_PARALLELISM = 2;
+
+    private static final double ARRIVALS_PER_SECOND = 200;
+
+    private static final int ARRIVALS = 100;
+
+    private static final long ITERATION_MILLIS = 250;
+
+    /**
+     * Dispatches arrivals at the arrival rate like the open model of the feature runner and returns the peak number of iterations in flight.
+     */
+    public static int runArrivals(BoundedTaskGroup iterationTaskGroup) throws InterruptedException {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        ArrivalRateTimer arrivalRateTimer = new ArrivalRateTimer(ARRIVALS_PER_SECOND);
+
+        for (int arrivalIndex = 0; arrivalIndex < ARRIVALS; arrivalIndex++) {
+            arrivalRateTimer.awaitArrival(arrivalIndex);
+            iterationTaskGroup.submit(() -> {
+                peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(ITERATION_MILLIS);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                return null;
+            });
+        }
+        iterationTaskGroup.awaitCompletion();
+        return peakInFlight.get();
+    }
+
+    public static void main(String[] args) throws Exception {
+        try (ExecutorServiceManager executorServiceManager = new ExecutorServiceManager(SCHEDULER_PARALLELISM)) {
+            // Little's law: 200 arrivals per second of 250 ms each keep about 50 iterations in flight
+            int peakInFlight = runArrivals(executorServiceManager.createTaskGroup(Integer.MAX_VALUE));
+            System.out.println("Unbounded peak in flight " + peakInFlight);
+
+            if (peakInFlight < 40) {
+                throw new AssertionError("Arrivals on a scheduler of " + SCHEDULER_PARALLELISM + " peaked at " + peakInFlight);
+            }
+
+            int maxIterationsInFlight = 10;
+            peakInFlight = runArrivals(executorServiceManager.createTaskGroup(maxIterationsInFlight));
+            System.out.println("Bounded peak in flight " + peakInFlight);
+
+            if (peakInFlight != maxIterationsInFlight) {
+                throw new AssertionError("Arrivals bounded by " + maxIterationsInFlight + " peaked at " + peakInFlight);
+            }
+        }
+        System.out.println("PASSED");
+    }
+}
@@ -0,0 +1,46 @@
+package framework;
+
+import org.mvss.karta.framework.annotations.ContextVariable;
+import org.mvss.karta.framework.annotations.TestData;
+import org.mvss.karta.framework.models.run.TestExecutionContext;
+import org.mvss.karta.framework.plugins.impl.kriya.ParameterBinder;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+public class TestParameterBinder {
+    @SuppressWarnings("unused")
+    public static void step(@TestData("map") HashMap<String, Object> map, @TestData("list") ArrayList<Object> list, @ContextVariable("name") String name, @TestData("count") int count) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ParameterBinder[] parameterBinders = ParameterBinder.compile(TestParameterBinder.class.getMethod("step", HashMap.class, ArrayList.class, String.class, int.class), false);
+
+        HashMap<String, Serializable> testData = new HashMap<>();
+        HashMap<String, Object> map = new HashMap<>();
+        map.put("key", "value");
+        ArrayList<Object> list = new ArrayList<>(List.of("item"));
+        testData.put("map", map);
+        testData.put("list", list);
+        testData.put("count", 3);
+        String name = new String("name");
+        HashMap<String, Serializable> contextData = new HashMap<>();
+        contextData.put("name", name);
+
+        TestExecutionContext testExecutionContext = new TestExecutionContext("run", "feature", 0, "scenario", "step", null, testData, contextData);
+        Object[] arguments = ParameterBinder.bindArguments(parameterBinders, testExecutionContext, null, List.of());
+
+        // Mutable test data are passed as copies so that steps modifying them do not change the shared test data
+        if ((arguments[0] == map) || (arguments[1] == list) || !map.equals(arguments[0]) || !list.equals(arguments[1])) {
+            throw new AssertionError("Mutable test data not passed as equal copies");
+        }
+
+        // Immutable values are passed as is
+        if ((arguments[2] != name) || !Integer.valueOf(3).equals(arguments[3])) {
+            throw new AssertionError("Immutable values not passed as is");
+        }
+        System.out.println("PASSED");
+    }
+}
@@ -0,0 +1,129 @@
+package framework;
+
+import org.mvss.karta.framework.enums.JobOverlapPolicy;
+import org.mvss.karta.framework.enums.JobScheduleType;
+import org.mvss.karta.framework.models.result.JobMetrics;
+import org.mvss.karta.framework.models.test.TestJob;
+import org.mvss.karta.framework.runtime.TestJobScheduler;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestScheduledTestJob {
+    private static final long INTERVAL_MILLIS = 20;
+
+    /**
+     * Schedules a job with the iteration count like the feature runner does and returns the iterations run.
+     */
+    private static int runJob(TestJobScheduler testJobScheduler, int iterationCount, int completedIterations) throws InterruptedException {
+        TestJob testJob = TestJob.builder().name("job" + iterationCount).interval(INTERVAL_MILLIS).iterationCount(iterationCount).build();
+        AtomicInteger iterationCounter = new AtomicInteger(completedIterations);
+        AtomicInteger iterationsRun = new AtomicInteger();
+        long jobIterations = TestJobScheduler.getRemainingIterations(testJob.getIterationCount(), iterationCounter.get());
+
+        if (jobIterations == 0) {
+            return 0;
+        }
+
+        long jobId = testJobScheduler.scheduleJob(testJob, jobIterations, iterationCounter, jobIterationIndex -> {
+            iterationsRun.incrementAndGet();
+            return true;
+        });
+        Thread.sleep(INTERVAL_MILLIS * 15);
+        testJobScheduler.cancelJob(jobId);
+        return iterationsRun.get();
+    }
+
+    /**
+     * Runs a bounded job with slow iterations till all its fires are either run or missed and returns its metrics.
+     */
+    private static JobMetrics runSlowJob(TestJobScheduler testJobScheduler, JobScheduleType scheduleType, JobOverlapPolicy overlapPolicy, int fires, long iterationMillis,
+                                         AtomicInteger maxRunning, ConcurrentLinkedQueue<Long> startNanos) throws InterruptedException {
+        TestJob testJob = TestJob.builder().name(scheduleType + "-" + overlapPolicy).interval(INTERVAL_MILLIS).scheduleType(scheduleType).overlapPolicy(overlapPolicy).build();
+        AtomicInteger running = new AtomicInteger();
+
+        long jobId = testJobScheduler.scheduleJob(testJob, fires, new AtomicInteger(), jobIterationIndex -> {
+            startNanos.add(System.nanoTime());
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(iterationMillis);
+            running.decrementAndGet();
+            return true;
+        });
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        JobMetrics jobMetrics = testJobScheduler.getJobMetrics(jobId);
+        while ((jobMetrics.getRuns() + jobMetrics.getMissedFires() < fires) && (System.nanoTime() < deadline)) {
+            Thread.sleep(INTERVAL_MILLIS);
+            jobMetrics = testJobScheduler.getJobMetrics(jobId);
+        }
+        jobMetrics = testJobScheduler.cancelJob(jobId);
+        System.out.println(jobMetrics);
+
+        if ((jobMetrics.getFires() != fires) || (jobMetrics.getRuns() + jobMetrics.getMissedFires() != fires)) {
+            throw new AssertionError(testJob.getName() + " fires not accounted for as runs or missed fires " + jobMetrics);
+        }
+
+        long histogramCount = jobMetrics.getLatenessHistogram().values().stream().mapToLong(Long::longValue).sum();
+        if (histogramCount != jobMetrics.getRuns()) {
+            throw new AssertionError(testJob.getName() + " lateness histogram counts " + histogramCount + " runs instead of " + jobMetrics.getRuns());
+        }
+        return jobMetrics;
+    }
+
+    private static void assertIterations(String description, int expected, int actual) {
+        System.out.println(description + ": " + actual);
+        if (expected != actual) {
+            throw new AssertionError(description + " expected " + expected + " but was " + actual);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (TestJobScheduler.getRemainingIterations(-1, 5) != TestJobScheduler.REPEAT_INDEFINITELY) {
+            throw new AssertionError("Negative iteration count should repeat indefinitely");
+        }
+
+        try (TestJobScheduler testJobScheduler = new TestJobScheduler()) {
+            // Iteration count is a repeat count as with Quartz
+            assertIterations("Iteration count 0", 1, runJob(testJobScheduler, 0, 0));
+            assertIterations("Iteration count 3", 4, runJob(testJobScheduler, 3, 0));
+
+            // Resumed jobs run the remaining iterations only
+            assertIterations("Iteration count 3 resumed after 2", 2, runJob(testJobScheduler, 3, 2));
+            assertIterations("Iteration count 3 resumed after 4", 0, runJob(testJobScheduler, 3, 4));
+
+            // Skipped fires while an iteration runs are missed
+            AtomicInteger maxRunning = new AtomicInteger();
+            JobMetrics skipMetrics = runSlowJob(testJobScheduler, JobScheduleType.FIXED_RATE, JobOverlapPolicy.SKIP, 12, INTERVAL_MILLIS * 3 + 10, maxRunning, new ConcurrentLinkedQueue<>());
+            if ((skipMetrics.getMissedFires() == 0) || (maxRunning.get() != 1)) {
+                throw new AssertionError("Fires overlapping a running iteration not skipped " + skipMetrics);
+            }
+
+            // Coalesced fires run once after the running iteration and late
+            maxRunning.set(0);
+            JobMetrics coalesceMetrics = runSlowJob(testJobScheduler, JobScheduleType.FIXED_RATE, JobOverlapPolicy.COALESCE, 12, INTERVAL_MILLIS * 3 + 10, maxRunning, new ConcurrentLinkedQueue<>());
+            if ((coalesceMetrics.getMissedFires() == 0) || (coalesceMetrics.getRuns() <= skipMetrics.getRuns()) || (maxRunning.get() != 1)) {
+                throw new AssertionError("Fires overlapping a running iteration not coalesced " + coalesceMetrics);
+            }
+            if (coalesceMetrics.getMaxLateness() < INTERVAL_MILLIS) {
+                throw new AssertionError("Coalesced fires not measured late " + coalesceMetrics);
+            }
+
+            // Fixed delay jobs wait for the interval after every iteration and never miss fires
+            maxRunning.set(0);
+            ConcurrentLinkedQueue<Long> startNanos = new ConcurrentLinkedQueue<>();
+            JobMetrics fixedDelayMetrics = runSlowJob(testJobScheduler, JobScheduleType.FIXED_DELAY, JobOverlapPolicy.CONCURRENT, 5, INTERVAL_MILLIS, maxRunning, startNanos);
+            if ((fixedDelayMetrics.getMissedFires() != 0) || (fixedDelayMetrics.getRuns() != 5) || (maxRunning.get() != 1)) {
+                throw new AssertionError("Fixed delay job iterations overlapped or missed " + fixedDelayMetrics);
+            }
+            Long previousStart = null;
+            for (Long start : startNanos) {
+                if ((previousStart != null) && (TimeUnit.NANOSECONDS.toMillis(start - previousStart) < INTERVAL_MILLIS * 2)) {
+                    throw new AssertionError("Fixed delay job iteration started " + TimeUnit.NANOSECONDS.toMillis(start - previousStart) + " ms after the previous one");
+                }
+                previousStart = start;
+            }
+        }
+        System.out.println("PASSED");
+    }
+}
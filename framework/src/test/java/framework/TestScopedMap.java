@@ -0,0 +1,106 @@
+package framework;
+
+import org.mvss.karta.framework.utils.ScopedMap;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestScopedMap {
+    private static void assertEquals(String description, Object expected, Object actual) {
+        if (!expected.equals(actual)) {
+            throw new AssertionError(description + " expected " + expected + " but was " + actual);
+        }
+    }
+
+    private static void assertContent(String description, Map<String, Integer> expected, ScopedMap<String, Integer> scope) {
+        assertEquals(description + " size", expected.size(), scope.size());
+        assertEquals(description + " entries", expected, new HashMap<>(scope));
+        assertEquals(description + " key set", expected.keySet(), scope.keySet());
+    }
+
+    public static void main(String[] args) throws Exception {
+        HashMap<String, Integer> parent = new HashMap<>(Map.of("a", 1, "b", 2, "c", 3));
+        ScopedMap<String, Integer> scope = new ScopedMap<>(parent);
+
+        // Overrides shadow the parent without changing the size
+        scope.put("a", 10);
+        scope.put("d", 4);
+        assertContent("Overrides", Map.of("a", 10, "b", 2, "c", 3, "d", 4), scope);
+
+        // Removing parent keys leaves tombstones hiding them
+        scope.remove("b");
+        scope.remove("a");
+        assertContent("Tombstones", Map.of("c", 3, "d", 4), scope);
+        if (scope.containsKey("a") || (scope.get("b") != null) || (scope.getOrDefault("b", -1) != -1)) {
+            throw new AssertionError("Removed parent keys are visible");
+        }
+
+        // Putting a removed key clears its tombstone
+        scope.put("b", 20);
+        assertContent("Tombstone cleared", Map.of("b", 20, "c", 3, "d", 4), scope);
+
+        // Removing through the iterator and clearing leave the parent untouched
+        scope.keySet().removeIf("c"::equals);
+        assertContent("Iterator removal", Map.of("b", 20, "d", 4), scope);
+        scope.clear();
+        assertContent("Cleared", Map.of(), scope);
+        scope.put("a", 1);
+        assertContent("Put after clear", Map.of("a", 1), scope);
+        assertEquals("Parent", Map.of("a", 1, "b", 2, "c", 3), parent);
+
+        // Chains deeper than the maximum depth are flattened with the same content
+        HashMap<String, Integer> expected = new HashMap<>(parent);
+        ScopedMap<String, Integer> deepScope = new ScopedMap<>(parent);
+        for (int i = 0; i < ScopedMap.MAX_DEPTH * 3; i++) {
+            deepScope = new ScopedMap<>(deepScope);
+            deepScope.put("level" + i, i);
+            expected.put("level" + i, i);
+            if (i % 3 == 0) {
+                deepScope.remove("a");
+                expected.remove("a");
+            } else {
+                deepScope.put("a", i);
+                expected.put("a", i);
+            }
+        }
+        assertContent("Deep chain", expected, deepScope);
+
+        // Scopes serialize as a flat HashMap
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(bytes)) {
+            objectOutputStream.writeObject(deepScope);
+        }
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            Object deserialized = objectInputStream.readObject();
+            assertEquals("Serialized class", HashMap.class, deserialized.getClass());
+            assertEquals("Serialized entries", expected, deserialized);
+        }
+
+        // Layering always returns a fresh scope and copies the overrides
+        HashMap<String, Integer> overrides = new HashMap<>(Map.of("x", 1));
+        HashMap<String, Integer> layered = ScopedMap.layer(parent, new HashMap<>());
+        if (layered == parent) {
+            throw new AssertionError("Layering without overrides returned the parent");
+        }
+        HashMap<String, Integer> layeredOverParent = ScopedMap.layer(null, overrides);
+        if (layeredOverParent == overrides) {
+            throw new AssertionError("Layering without a parent returned the overrides");
+        }
+        layered.put("a", 100);
+        layeredOverParent.put("x", 100);
+        overrides.put("y", 2);
+        assertEquals("Parent after layering", Map.of("a", 1, "b", 2, "c", 3), parent);
+        assertEquals("Layered over no parent", Map.of("x", 100), layeredOverParent);
+
+        // Snapshots do not see later changes to the map
+        HashMap<String, Integer> snapshot = ScopedMap.layer(ScopedMap.snapshot(parent), null);
+        parent.put("a", 1000);
+        assertEquals("Snapshot", 1, snapshot.get("a"));
+
+        System.out.println("PASSED");
+    }
+}
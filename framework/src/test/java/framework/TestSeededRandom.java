@@ -0,0 +1,61 @@
+package framework;
+
+import org.mvss.karta.framework.utils.SeededRandom;
+
+import java.util.HashSet;
+
+public class TestSeededRandom {
+    private static final long RUN_SEED = 42L;
+
+    private static final long FEATURE_SEED = -6762033380703158012L;
+
+    private static final long ITERATION_SEED = -3075835291579538520L;
+
+    private static final long FIRST_VALUE = -5458687773322670213L;
+
+    private static void assertEquals(String description, long expected, long actual) {
+        if (expected != actual) {
+            throw new AssertionError(description + " expected " + expected + " but was " + actual);
+        }
+    }
+
+    public static void main(String[] args) {
+        // Derived seeds are stable across runs and releases so that recorded seeds replay
+        long featureSeed = SeededRandom.deriveSeed(RUN_SEED, "feature");
+        assertEquals("Feature seed", FEATURE_SEED, featureSeed);
+        assertEquals("Iteration seed", ITERATION_SEED, SeededRandom.deriveSeed(featureSeed, 7));
+        assertEquals("First value", FIRST_VALUE, new SeededRandom(featureSeed).nextLong());
+
+        // Keys with the same String.hashCode derive different seeds
+        if ("Aa".hashCode() != "BB".hashCode()) {
+            throw new AssertionError("Expected colliding String hash codes");
+        }
+        if (SeededRandom.deriveSeed(RUN_SEED, "Aa") == SeededRandom.deriveSeed(RUN_SEED, "BB")) {
+            throw new AssertionError("Seeds for Aa and BB collide");
+        }
+        if ((SeededRandom.hash64("") == SeededRandom.hash64(null)) || (SeededRandom.hash64("a") == SeededRandom.hash64("a\u0000"))) {
+            throw new AssertionError("Seeds for empty, null or padded keys collide");
+        }
+
+        // No collisions among many similar keys
+        HashSet<Long> seeds = new HashSet<>();
+        for (int i = 0; i < 100000; i++) {
+            if (!seeds.add(SeededRandom.deriveSeed(RUN_SEED, "scenario" + i))) {
+                throw new AssertionError("Seed collision for scenario" + i);
+            }
+        }
+
+        // Splitting neither uses nor changes the state of the parent stream
+        SeededRandom parent = new SeededRandom(RUN_SEED);
+        SeededRandom firstChild = parent.split("feature");
+        parent.nextLong();
+        SeededRandom secondChild = parent.split("feature");
+        assertEquals("Split seed", featureSeed, firstChild.getSeed());
+        assertEquals("Split after use", firstChild.getSeed(), secondChild.getSeed());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Split stream value " + i, firstChild.nextLong(), secondChild.nextLong());
+        }
+
+        System.out.println("PASSED");
+    }
+}
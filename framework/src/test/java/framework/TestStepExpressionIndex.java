@@ -0,0 +1,94 @@
+package framework;
+
+import org.mvss.karta.framework.plugins.impl.kriya.StepExpressionIndex;
+import org.mvss.karta.framework.utils.StepTextTokenizer;
+
+import java.util.List;
+
+public class TestStepExpressionIndex {
+    private static void add(StepExpressionIndex index, String definition, boolean expectedAdded) {
+        if (index.add(StepExpressionIndex.compile(definition)) != expectedAdded) {
+            throw new AssertionError("Step expression " + definition + (expectedAdded ? " not added" : " added"));
+        }
+    }
+
+    private static void assertMatch(StepExpressionIndex index, String stepText, String expectedDefinition, String... expectedArguments) {
+        StepTextTokenizer.TokenizedStep tokenizedStep = StepTextTokenizer.tokenize(stepText);
+        StepExpressionIndex.Match match = index.match(tokenizedStep.getSanitizedIdentifier(), tokenizedStep.getInlineArguments());
+
+        if (expectedDefinition == null) {
+            if (match != null) {
+                throw new AssertionError("Step " + stepText + " unexpectedly matched " + match.getDefinition());
+            }
+            return;
+        }
+
+        if ((match == null) || !expectedDefinition.equals(match.getDefinition())) {
+            throw new AssertionError("Step " + stepText + " expected to match " + expectedDefinition + " but matched " + ((match == null) ? null : match.getDefinition()));
+        }
+        if (!List.of(expectedArguments).equals(match.getArguments())) {
+            throw new AssertionError("Step " + stepText + " expected arguments " + List.of(expectedArguments) + " but was " + match.getArguments());
+        }
+    }
+
+    private static void assertInvalid(String definition) {
+        try {
+            StepExpressionIndex.compile(definition);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        throw new AssertionError("Invalid step expression compiled " + definition);
+    }
+
+    public static void main(String[] args) {
+        StepExpressionIndex index = new StepExpressionIndex();
+
+        // Precedence: literal tokens, then parameters in the order {string}, {int}, {float}, {word}, then composite tokens
+        add(index, "the box has {int} items", true);
+        add(index, "the {word} has {int} items", true);
+        add(index, "the {word} has {float} items", true);
+        add(index, "say \"\"", true);
+        add(index, "say {word}", true);
+        add(index, "wait {word}", true);
+        add(index, "wait {int}ms", true);
+        add(index, "timeout {int}s", true);
+
+        assertMatch(index, "Given the box has 5 items", "the box has {int} items", "5");
+        assertMatch(index, "the cart has 5 items", "the {word} has {int} items", "\"cart\"", "5");
+        assertMatch(index, "the cart has 5.5 items", "the {word} has {float} items", "\"cart\"", "5.5");
+        assertMatch(index, "the box has 5.5 items", "the {word} has {float} items", "\"box\"", "5.5");
+        assertMatch(index, "say \"hello world\"", "say \"\"", "\"hello world\"");
+        assertMatch(index, "say hello", "say {word}", "\"hello\"");
+        assertMatch(index, "wait 5ms", "wait {word}", "\"5ms\"");
+        assertMatch(index, "timeout 30s", "timeout {int}s", "30");
+        assertMatch(index, "timeout xs", null);
+
+        // Literal paths failing later fall back to parameters
+        add(index, "open the door", true);
+        add(index, "open {word} window", true);
+        assertMatch(index, "open the window", "open {word} window", "\"the\"");
+
+        // Optional text matches all its variants
+        add(index, "{int} item(s) (are )added", true);
+        assertMatch(index, "1 item added", "{int} item(s) (are )added", "1");
+        assertMatch(index, "2 items are added", "{int} item(s) (are )added", "2");
+        assertMatch(index, "2 items were added", null);
+
+        // Expressions matching the same step texts as an indexed expression are rejected
+        add(index, "{int} items (are )added", false);
+        add(index, "the {word} has {int} item(s)", false);
+        add(index, "open {word} window(s)", false);
+        assertMatch(index, "the cart has 3 items", "the {word} has {int} items", "\"cart\"", "3");
+        add(index, "open {word} windows", true);
+        if (index.getExpressionCount() != 12) {
+            throw new AssertionError("Expected 12 expressions but found " + index.getExpressionCount());
+        }
+
+        assertInvalid("nested ((optional))");
+        assertInvalid("unknown {type}");
+        assertInvalid("parameter in (optional {int})");
+        assertInvalid("unterminated (optional");
+
+        System.out.println("PASSED");
+    }
+}
@@ -0,0 +1,85 @@
+package framework;
+
+import org.mvss.karta.framework.models.result.StepResult;
+import org.mvss.karta.framework.runtime.ExecutorServiceManager;
+import org.mvss.karta.framework.runtime.StepGraph;
+import org.mvss.karta.framework.runtime.StepGraphVariables;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+
+public class TestStepGraph {
+    private static class GraphStep {
+        private final String name;
+
+        private final List<String> dependsOn;
+
+        private final boolean fail;
+
+        private GraphStep(String name, boolean fail, String... dependsOn) {
+            this.name = name;
+            this.fail = fail;
+            this.dependsOn = List.of(dependsOn);
+        }
+    }
+
+    /**
+     * Runs a diamond (a, b and c after a, d after b and c) and a step e after a failing step f with the graph variables.
+     */
+    public static void main(String[] args) throws Exception {
+        List<GraphStep> steps = List.of(new GraphStep("a", false), new GraphStep("b", false, "a"), new GraphStep("c", false, "a"), new GraphStep("d", false, "b", "c"), new GraphStep("f", true), new GraphStep("e", false, "f"));
+        HashMap<String, Serializable> variables = new HashMap<>();
+        variables.put("initial", "value");
+
+        StepGraph<GraphStep> stepGraph = new StepGraph<>(steps, step -> step.name, step -> null, step -> step.dependsOn);
+        StepGraphVariables graphVariables = new StepGraphVariables(variables);
+
+        try (ExecutorServiceManager executorServiceManager = new ExecutorServiceManager(2)) {
+            StepGraph.Run<StepResult> run = stepGraph.run(executorServiceManager.getTaskScheduler(), (stepIndex, step) -> {
+                HashMap<String, Serializable> stepScope = graphVariables.newStepScope();
+
+                // Every step sees the outputs of its dependencies
+                for (String dependency : step.dependsOn) {
+                    if (!stepScope.containsKey(dependency)) {
+                        throw new AssertionError("Step " + step.name + " does not see the output of " + dependency);
+                    }
+                }
+                if (!"value".equals(stepScope.get("initial"))) {
+                    throw new AssertionError("Step " + step.name + " does not see the initial variables");
+                }
+
+                // Writes to the step scope are local to the step
+                stepScope.put("scratch", step.name);
+                Thread.sleep(20);
+
+                StepResult stepResult = new StepResult();
+                stepResult.setSuccessful(!step.fail);
+                stepResult.getResults().put(step.name, step.name + " output");
+                return stepResult;
+            }, StepResult::isPassed, false, (stepIndex, stepResult) -> graphVariables.merge(stepResult));
+
+            graphVariables.commit();
+
+            if (run.isPassed() || !run.isSkipped(5) || run.isSkipped(3)) {
+                throw new AssertionError("Only the step after the failing step should be skipped");
+            }
+            if (!run.getExceptions().isEmpty()) {
+                throw new AssertionError("Steps failed with exceptions " + run.getExceptions());
+            }
+            if (run.getTiming().getCriticalPath().size() != 3) {
+                throw new AssertionError("Critical path " + run.getTiming().getCriticalPath());
+            }
+        }
+
+        for (String name : List.of("a", "b", "c", "d", "f")) {
+            if (!variables.containsKey(name)) {
+                throw new AssertionError("Output of " + name + " not merged into the variables " + variables);
+            }
+        }
+        if (variables.containsKey("e") || variables.containsKey("scratch")) {
+            throw new AssertionError("Skipped step outputs or step scope writes leaked into the variables " + variables);
+        }
+        System.out.println("PASSED");
+    }
+}
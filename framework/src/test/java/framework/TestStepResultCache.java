@@ -0,0 +1,117 @@
+package framework;
+
+import org.mvss.karta.framework.enums.StepCacheScope;
+import org.mvss.karta.framework.models.result.StepResult;
+import org.mvss.karta.framework.models.run.TestExecutionContext;
+import org.mvss.karta.framework.models.test.PreparedStep;
+import org.mvss.karta.framework.models.test.StepCachePolicy;
+import org.mvss.karta.framework.runtime.StepResultCache;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestStepResultCache {
+    private static PreparedStep step(StepCachePolicy cachePolicy, int iterationIndex, HashMap<String, Serializable> testData) {
+        TestExecutionContext testExecutionContext = new TestExecutionContext("run", "feature", iterationIndex, "scenario", "step", null, testData, new HashMap<>());
+        return PreparedStep.builder().identifier("step").cache(cachePolicy).testExecutionContext(testExecutionContext).build();
+    }
+
+    private static HashMap<String, Serializable> testData(String... keyValues) {
+        HashMap<String, Serializable> testData = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            testData.put(keyValues[i], keyValues[i + 1]);
+        }
+        return testData;
+    }
+
+    private static StepResult passed(AtomicInteger runs) {
+        runs.incrementAndGet();
+        StepResult stepResult = new StepResult();
+        stepResult.setSuccessful(true);
+        return stepResult;
+    }
+
+    private static void assertRuns(String description, int expected, AtomicInteger runs) {
+        System.out.println(description + ": " + runs.get());
+        if (runs.get() != expected) {
+            throw new AssertionError(description + " expected " + expected + " runs but was " + runs.get());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Scope ITERATIONS is keyed by iteration and not the thread running it
+        StepResultCache stepResultCache = new StepResultCache();
+        StepCachePolicy iterationScope = StepCachePolicy.builder().scope(StepCacheScope.ITERATIONS).iterations(1).build();
+        AtomicInteger runs = new AtomicInteger();
+
+        stepResultCache.getOrRun(step(iterationScope, 0, testData()), () -> passed(runs));
+        stepResultCache.getOrRun(step(iterationScope, 1, testData()), () -> passed(runs));
+        assertRuns("Two iterations on one thread", 2, runs);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            ArrayList<Future<StepResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executorService.submit(() -> stepResultCache.getOrRun(step(iterationScope, 1, testData()), () -> passed(runs))));
+            }
+            for (Future<StepResult> future : futures) {
+                if (!future.get().isPassed()) {
+                    throw new AssertionError("Cached result not passed");
+                }
+            }
+            assertRuns("Same iteration on other threads", 2, runs);
+
+            // Blocks of consecutive iterations share a result
+            StepCachePolicy iterationBlockScope = StepCachePolicy.builder().scope(StepCacheScope.ITERATIONS).iterations(3).build();
+            AtomicInteger blockRuns = new AtomicInteger();
+            for (int iterationIndex = 0; iterationIndex < 6; iterationIndex++) {
+                stepResultCache.getOrRun(step(iterationBlockScope, iterationIndex, testData("block", "true")), () -> passed(blockRuns));
+            }
+            assertRuns("Six iterations in blocks of three", 2, blockRuns);
+
+            // Concurrent runs with the same key wait for the first run
+            StepCachePolicy featureScope = StepCachePolicy.builder().build();
+            AtomicInteger slowRuns = new AtomicInteger();
+            CountDownLatch started = new CountDownLatch(1);
+            List<Callable<StepResult>> callables = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                callables.add(() -> stepResultCache.getOrRun(step(featureScope, 0, testData()), () -> {
+                    started.countDown();
+                    Thread.sleep(100);
+                    return passed(slowRuns);
+                }));
+            }
+            for (Future<StepResult> future : executorService.invokeAll(callables)) {
+                future.get();
+            }
+            assertRuns("Concurrent runs of a slow step", 1, slowRuns);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        // Only the test data read by the step are part of the key
+        StepCachePolicy keyedPolicy = StepCachePolicy.builder().testDataKeys(new ArrayList<>(List.of("user"))).build();
+        AtomicInteger keyedRuns = new AtomicInteger();
+        stepResultCache.getOrRun(step(keyedPolicy, 0, testData("user", "a", "unread", "1")), () -> passed(keyedRuns));
+        stepResultCache.getOrRun(step(keyedPolicy, 1, testData("user", "a", "unread", "2")), () -> passed(keyedRuns));
+        assertRuns("Different unread test data", 1, keyedRuns);
+        stepResultCache.getOrRun(step(keyedPolicy, 2, testData("user", "b", "unread", "2")), () -> passed(keyedRuns));
+        assertRuns("Different read test data", 2, keyedRuns);
+
+        // All the test data are part of the key if the keys are not known
+        StepCachePolicy unkeyedPolicy = StepCachePolicy.builder().build();
+        AtomicInteger unkeyedRuns = new AtomicInteger();
+        stepResultCache.getOrRun(step(unkeyedPolicy, 0, testData("user", "c", "unread", "1")), () -> passed(unkeyedRuns));
+        stepResultCache.getOrRun(step(unkeyedPolicy, 1, testData("user", "c", "unread", "2")), () -> passed(unkeyedRuns));
+        assertRuns("Different test data without keys", 2, unkeyedRuns);
+
+        if (stepResultCache.closeFeature("feature").get("step").getHits() == 0) {
+            throw new AssertionError("No cache hits recorded");
+        }
+        System.out.println("PASSED");
+    }
+}
@@ -0,0 +1,69 @@
+package framework;
+
+import org.mvss.karta.framework.plugins.StepRunner;
+import org.mvss.karta.framework.runtime.StepRunnerIndex;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestStepRunnerIndex {
+    private static final String HOT_STEP = "the hot step";
+
+    /**
+     * Returns a step runner implementing all steps which counts the capability checks for the hot step.
+     */
+    private static StepRunner newStepRunner(AtomicInteger hotStepChecks) {
+        return (StepRunner) Proxy.newProxyInstance(StepRunner.class.getClassLoader(), new Class[]{StepRunner.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "stepImplemented":
+                    if (HOT_STEP.equals(args[0])) {
+                        hotStepChecks.incrementAndGet();
+                    }
+                    return true;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    return null;
+            }
+        });
+    }
+
+    public static void main(String[] args) {
+        AtomicInteger hotStepChecks = new AtomicInteger();
+        StepRunner stepRunner = newStepRunner(hotStepChecks);
+        StepRunner otherStepRunner = newStepRunner(new AtomicInteger());
+
+        // Lists with the same step runner instances share the index
+        if (!new StepRunnerIndex.Key(List.of(stepRunner)).equals(new StepRunnerIndex.Key(new ArrayList<>(List.of(stepRunner))))) {
+            throw new AssertionError("Keys for the same step runners are not equal");
+        }
+        if (new StepRunnerIndex.Key(List.of(stepRunner)).equals(new StepRunnerIndex.Key(List.of(otherStepRunner)))) {
+            throw new AssertionError("Keys for different step runners are equal");
+        }
+
+        StepRunnerIndex stepRunnerIndex = new StepRunnerIndex(new StepRunnerIndex.Key(List.of(stepRunner)));
+
+        // Data driven step texts overflow the index while the hot step keeps being used
+        for (int i = 0; i < StepRunnerIndex.MAX_INDEX_SIZE * 3; i++) {
+            if (stepRunnerIndex.getStepRunnerForStep(HOT_STEP) != stepRunner) {
+                throw new AssertionError("Hot step not resolved");
+            }
+            stepRunnerIndex.getStepRunnerForStep("data driven step " + i);
+
+            if (stepRunnerIndex.getStepIndexSize() > StepRunnerIndex.MAX_INDEX_SIZE) {
+                throw new AssertionError("Index grew to " + stepRunnerIndex.getStepIndexSize());
+            }
+        }
+
+        System.out.println("Hot step capability checks " + hotStepChecks.get() + ", index size " + stepRunnerIndex.getStepIndexSize());
+
+        if (hotStepChecks.get() != 1) {
+            throw new AssertionError("Hot step was evicted and resolved " + hotStepChecks.get() + " times");
+        }
+        System.out.println("PASSED");
+    }
+}
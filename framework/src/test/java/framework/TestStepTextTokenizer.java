@@ -0,0 +1,104 @@
+package framework;
+
+import org.apache.commons.lang3.StringUtils;
+import org.mvss.karta.framework.plugins.impl.kriya.KriyaPlugin;
+import org.mvss.karta.framework.utils.StepTextTokenizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class TestStepTextTokenizer {
+    private static final Pattern testDataPattern = Pattern.compile(KriyaPlugin.INLINE_TEST_DATA_PATTERN);
+
+    private static final List<String> conjunctions = List.of("Given", "When", "Then", "And", "But");
+
+    private static final String[] FRAGMENTS = {"Given", "And", "But", "Thenx", "When", " ", "  ", "\t", "\n", "\"", "\"", "\\", "\\\"", "\\\\", "a", "step", "_1", "!", "'", "\u00e9", "\r\n"};
+
+    /**
+     * The sanitization of the step runners before the tokenizer.
+     */
+    private static String regexSanitize(String stepIdentifier) {
+        if (StringUtils.isBlank(stepIdentifier)) {
+            return stepIdentifier;
+        }
+
+        stepIdentifier = stepIdentifier.trim();
+        String[] words = stepIdentifier.split(KriyaPlugin.WORD_FETCH_REGEX);
+        if (conjunctions.contains(words[0])) {
+            stepIdentifier = stepIdentifier.substring(words[0].length()).trim();
+        }
+        return stepIdentifier.replaceAll(KriyaPlugin.INLINE_TEST_DATA_PATTERN, StepTextTokenizer.INLINE_STEP_DEF_PARAM_INDICATOR_STRING);
+    }
+
+    /**
+     * The inline argument parsing of the step runners before the tokenizer.
+     */
+    private static List<String> regexInlineArguments(String stepIdentifier) {
+        ArrayList<String> inlineArguments = new ArrayList<>();
+
+        if (StringUtils.isBlank(stepIdentifier)) {
+            return inlineArguments;
+        }
+
+        Matcher matcher = testDataPattern.matcher(stepIdentifier.trim());
+        while (matcher.find()) {
+            inlineArguments.add(matcher.group());
+        }
+        return inlineArguments;
+    }
+
+    private static String regexConjunction(String stepIdentifier) {
+        if (StringUtils.isBlank(stepIdentifier)) {
+            return "";
+        }
+
+        String[] words = stepIdentifier.trim().split(KriyaPlugin.WORD_FETCH_REGEX);
+        return conjunctions.contains(words[0]) ? words[0] : "";
+    }
+
+    private static void assertEquivalent(String stepText) {
+        // The word split of the old logic fails for texts without word characters
+        if (StringUtils.isNotBlank(stepText) && (stepText.trim().split(KriyaPlugin.WORD_FETCH_REGEX).length == 0)) {
+            return;
+        }
+
+        String description = StringUtils.isBlank(stepText) ? String.valueOf(stepText) : stepText.replace("\n", "\\n").replace("\r", "\\r");
+
+        for (int i = 0; i < 2; i++) {
+            // Tokenized twice for the cached result
+            if (!StringUtils.equals(regexSanitize(stepText), StepTextTokenizer.sanitize(stepText))) {
+                throw new AssertionError("Sanitized identifier mismatch for [" + description + "]: [" + regexSanitize(stepText) + "] != [" + StepTextTokenizer.sanitize(stepText) + "]");
+            }
+            if (!regexInlineArguments(stepText).equals(StepTextTokenizer.getInlineArguments(stepText))) {
+                throw new AssertionError("Inline arguments mismatch for [" + description + "]: " + regexInlineArguments(stepText) + " != " + StepTextTokenizer.getInlineArguments(stepText));
+            }
+            if (!regexConjunction(stepText).equals(StepTextTokenizer.getConjunction(stepText))) {
+                throw new AssertionError("Conjunction mismatch for [" + description + "]");
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        List<String> stepTexts = List.of("Given a step", "  And the user \"john\" logs in with \"pass\\\"word\"  ", "When \"unterminated quote", "Then escaped \"back\\\\slash\" and \"\"",
+                "Andy is not a conjunction", "But \"multi\nline\"", "step \"escape at end\\", "\"leading\" argument", "Given", "Given ", "", "   ", "!Given step", "Given\t\"tab\"", "Given \"a\\\nb\" \"c\"");
+
+        for (String stepText : stepTexts) {
+            assertEquivalent(stepText);
+        }
+        assertEquivalent(null);
+
+        Random random = new Random(2024);
+        for (int i = 0; i < 200000; i++) {
+            StringBuilder stepText = new StringBuilder();
+            int fragments = random.nextInt(12);
+            for (int j = 0; j < fragments; j++) {
+                stepText.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            assertEquivalent(stepText.toString());
+        }
+        System.out.println("PASSED");
+    }
+}
@@ -0,0 +1,106 @@
+package framework;
+
+import org.mvss.karta.framework.models.catalog.Test;
+import org.mvss.karta.framework.models.result.FeatureResult;
+import org.mvss.karta.framework.models.run.TestShard;
+import org.mvss.karta.framework.runtime.TestDurationHistory;
+import org.mvss.karta.framework.runtime.TestScheduler;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Random;
+
+public class TestTestScheduler {
+    private static final int TESTS = 40;
+
+    private static final int TESTS_WITH_HISTORY = 30;
+
+    private static final int MAX_SHARDS = 7;
+
+    /**
+     * Selects every shard of the count and checks that the shards are disjoint and together cover all the tests.
+     */
+    private static void checkShards(ArrayList<Test> tests, int shardCount, boolean balanceByDuration, TestDurationHistory testDurationHistory) {
+        HashSet<String> selected = new HashSet<>();
+        long meanDuration = testDurationHistory.getMeanDuration();
+        long minShardDuration = Long.MAX_VALUE;
+        long maxShardDuration = 0;
+        long maxTestDuration = 0;
+
+        for (int index = 1; index <= shardCount; index++) {
+            TestShard testShard = TestShard.builder().index(index).count(shardCount).balanceByDuration(balanceByDuration).build();
+            long shardDuration = 0;
+
+            for (Test test : TestScheduler.selectShard(tests, testShard, testDurationHistory)) {
+                if (!selected.add(test.getName())) {
+                    throw new AssertionError("Test " + test.getName() + " selected by more than one of " + shardCount + " shards, balanced " + balanceByDuration);
+                }
+                long testDuration = testDurationHistory.getEstimatedDuration(test.getName(), meanDuration);
+                shardDuration += testDuration;
+                maxTestDuration = Math.max(maxTestDuration, testDuration);
+            }
+            minShardDuration = Math.min(minShardDuration, shardDuration);
+            maxShardDuration = Math.max(maxShardDuration, shardDuration);
+        }
+
+        if (selected.size() != tests.size()) {
+            throw new AssertionError(shardCount + " shards, balanced " + balanceByDuration + " selected " + selected.size() + " of " + tests.size() + " tests");
+        }
+
+        // Greedy longest first assignment keeps shards within one test duration of each other
+        if (balanceByDuration && (maxShardDuration - minShardDuration > maxTestDuration)) {
+            throw new AssertionError(shardCount + " shards unbalanced between " + minShardDuration + " and " + maxShardDuration + " ms");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Random random = new Random(7);
+        ArrayList<Test> tests = new ArrayList<>();
+        File historyFile = Files.createTempFile("KartaTestDurationHistory", ".json").toFile();
+        historyFile.deleteOnExit();
+        TestDurationHistory testDurationHistory = new TestDurationHistory(historyFile.getPath());
+
+        for (int i = 0; i < TESTS; i++) {
+            String testName = "test" + i;
+            tests.add(Test.builder().name(testName).build());
+
+            if (i < TESTS_WITH_HISTORY) {
+                testDurationHistory.record(testName, FeatureResult.builder().startTime(new Date(0)).endTime(new Date(100 + random.nextInt(10000))).build());
+            }
+        }
+
+        for (int shardCount = 1; shardCount <= MAX_SHARDS; shardCount++) {
+            checkShards(tests, shardCount, false, testDurationHistory);
+            checkShards(tests, shardCount, true, testDurationHistory);
+        }
+
+        // Shards from a saved and reloaded history partition the tests in the same way
+        testDurationHistory.save();
+        TestDurationHistory loadedHistory = new TestDurationHistory(historyFile.getPath());
+        loadedHistory.load();
+
+        for (int index = 1; index <= MAX_SHARDS; index++) {
+            TestShard testShard = TestShard.builder().index(index).count(MAX_SHARDS).balanceByDuration(true).build();
+            String savedShard = TestScheduler.selectShard(tests, testShard, testDurationHistory).stream().map(Test::getName).toList().toString();
+            String loadedShard = TestScheduler.selectShard(tests, testShard, loadedHistory).stream().map(Test::getName).toList().toString();
+
+            if (!savedShard.equals(loadedShard)) {
+                throw new AssertionError("Shard " + index + " differs after reloading history: " + savedShard + " vs " + loadedShard);
+            }
+        }
+
+        // Tests without history are ordered as if taking the mean duration
+        ArrayList<Test> orderedTests = TestScheduler.orderTests(tests, testDurationHistory);
+        long meanDuration = testDurationHistory.getMeanDuration();
+        for (int i = 1; i < orderedTests.size(); i++) {
+            if (testDurationHistory.getEstimatedDuration(orderedTests.get(i - 1).getName(), meanDuration) < testDurationHistory.getEstimatedDuration(orderedTests.get(i).getName(), meanDuration)) {
+                throw new AssertionError("Tests not ordered longest first at " + i);
+            }
+        }
+
+        System.out.println("PASSED");
+    }
+}
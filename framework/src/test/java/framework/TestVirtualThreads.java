@@ -0,0 +1,56 @@
+package framework;
+
+import org.mvss.karta.framework.runtime.ExecutorServiceManager;
+import org.mvss.karta.framework.threading.BoundedTaskGroup;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+public class TestVirtualThreads {
+    private static final int SCHEDULER_PARALLELISM = 2;
+
+    private static final int GROUP_PARALLELISM = 20;
+
+    private static final int TASKS = 60;
+
+    public static void main(String[] args) throws Exception {
+        try (ExecutorServiceManager executorServiceManager = new ExecutorServiceManager(SCHEDULER_PARALLELISM)) {
+            boolean virtualThreadsSupported = executorServiceManager.isVirtualThreadsSupported();
+            ExecutorService executorService = executorServiceManager.getTaskScheduler(true);
+
+            System.out.println("Virtual threads supported " + virtualThreadsSupported);
+
+            // The virtual thread executor is created once and the shared scheduler is used where virtual threads are not available
+            if (executorService != executorServiceManager.getTaskScheduler(true)) {
+                throw new AssertionError("Virtual thread executor created more than once");
+            }
+            if (virtualThreadsSupported ? (executorService != executorServiceManager.getVirtualThreadExecutor()) : (executorService != executorServiceManager.getTaskScheduler())) {
+                throw new AssertionError("Unexpected executor for virtual threads");
+            }
+            if (executorServiceManager.getTaskScheduler(false) != executorServiceManager.getTaskScheduler()) {
+                throw new AssertionError("Shared scheduler not used without virtual threads");
+            }
+
+            // Tasks of a virtual thread task group run on the selected executor and are still bounded by the group parallelism
+            ConcurrentHashMap<String, Boolean> threadNames = new ConcurrentHashMap<>();
+            BoundedTaskGroup taskGroup = executorServiceManager.createTaskGroup(GROUP_PARALLELISM, true);
+            for (int i = 0; i < TASKS; i++) {
+                taskGroup.submit(() -> threadNames.put(Thread.currentThread().getName(), true));
+            }
+            taskGroup.awaitCompletion();
+
+            String expectedThreadPrefix = virtualThreadsSupported ? ExecutorServiceManager.KARTA_VIRTUAL_THREAD : ExecutorServiceManager.KARTA_SCHEDULER_THREAD;
+            for (String threadName : threadNames.keySet()) {
+                if (!threadName.startsWith(expectedThreadPrefix)) {
+                    throw new AssertionError("Task ran on thread " + threadName + " instead of " + expectedThreadPrefix);
+                }
+            }
+
+            int peakInFlight = TestBoundedTaskGroup.runBlockingTasks(executorServiceManager.createTaskGroup(GROUP_PARALLELISM, true), TASKS, 50);
+            if (peakInFlight != GROUP_PARALLELISM) {
+                throw new AssertionError("Virtual thread group of " + GROUP_PARALLELISM + " peaked at " + peakInFlight);
+            }
+        }
+        System.out.println("PASSED");
+    }
+}
@@ -125,12 +125,13 @@ public class MinionController {
         TestJob job = jobIterationRunInfo.getTestJob();
         TestProperties testProperties = jobIterationRunInfo.getTestProperties();
         int iterationIndex = jobIterationRunInfo.getIterationIndex();
+        long featureRandomSeed = (jobIterationRunInfo.getFeatureRandomSeed() != null) ? jobIterationRunInfo.getFeatureRandomSeed() : runInfo.getFeatureRandomSeed(featureName);
 
         if (job == null) {
             throw new Exception("Missing job to run in JobIterationRunInfo");
         }
 
-        return TestJobRunner.run(kartaRuntime, runInfo, featureName, testProperties, job, iterationIndex, null);
+        return TestJobRunner.run(kartaRuntime, runInfo, featureName, featureRandomSeed, testProperties, job, iterationIndex, null);
     }
 
     @ResponseStatus(HttpStatus.OK)